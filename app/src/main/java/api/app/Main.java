@@ -138,7 +138,7 @@ public class Main {
             localsManagement.importPathsFromJSON("files/Game.json");
             Iterator<Player> iterator = playerManagement.getPlayerList().iterator();
 
-            for (int i = 0; i < localsManagement.getPathGraph().size(); i++) {
+            for (int i = 0; i < localsManagement.getPathGraph().getSlotCount(); i++) {
                 if (localsManagement.getPathGraph().get(i) instanceof Portal) {
                     System.out.println("1");
                     Portal local = (Portal) localsManagement.getPathGraph().get(i);
@@ -163,8 +163,9 @@ public class Main {
 
             while (iterator.hasNext()) {
                 Player player = iterator.next();
-                for (int i = 0; i < localsManagement.getPathGraph().size(); i++) {
-                    if (player.getCurrentLocation().getId() == localsManagement.getPathGraph().get(i).getId()) {
+                for (int i = 0; i < localsManagement.getPathGraph().getSlotCount(); i++) {
+                    if (localsManagement.getPathGraph().get(i) != null
+                            && player.getCurrentLocation().getId() == localsManagement.getPathGraph().get(i).getId()) {
                         // For each player, we check if their current location is the same as the one in the path graph
                         // If it is, we set the current location of the player
                         // to the one in the path graph since the current location is a new instance
@@ -275,6 +276,12 @@ public class Main {
                 System.out.println("Turno do jogador/a " + currentPlayer.getName());
                 System.out.println("Local atual: " + currentPlayer.getCurrentLocation().getName() + " (" + currentPlayer.getCurrentLocation().getClass().getSimpleName() + ")");
 
+                // Show how far the player is from recharging
+                ILocal nearestConnector = localsManagement.getPathGraph().nearestConnector(currentPlayer.getCurrentLocation());
+                if (nearestConnector != null) {
+                    System.out.println("Conector mais proximo: " + nearestConnector.getName() + " (" + localsManagement.getPathGraph().distanceToNearestConnector(currentPlayer.getCurrentLocation()) + " rotas)");
+                }
+
                 // Display the possible actions
                 System.out.println("Possiveis acoes: ");
                 System.out.println("0 - Sair do jogo e guardar o progresso");
@@ -321,6 +328,7 @@ public class Main {
                                 currentPlayer.conquerPortal(energy);
                             }
 
+                            localsManagement.getPathGraph().updateLocal(currentPlayerLocation);
                             playerTurnEnded = true;
                             break;
                         case 2:
@@ -340,6 +348,7 @@ public class Main {
                                 currentPlayer.attackPortal(energy);
                             }
 
+                            localsManagement.getPathGraph().updateLocal(currentPlayerLocation);
                             playerTurnEnded = true;
                             break;
                         case 3:
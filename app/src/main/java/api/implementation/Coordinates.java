@@ -8,6 +8,9 @@ import org.json.simple.JSONObject;
  * Class that represents the coordinates of a location
  */
 public class Coordinates implements ICoordinates {
+
+    //Mean radius of the Earth in kilometres, used to measure distances between locations.
+    public static final double EARTH_RADIUS = 6371.0;
     
     //Represents the longitude coordinates of a location, this value can vary between 0 and 180.
     private double longitude;
@@ -74,6 +77,25 @@ public class Coordinates implements ICoordinates {
         this.latitude = latitude;
     }
 
+    /**
+     * Gets the great-circle distance to another location, using the haversine formula.
+     * The straight line over the sphere is never longer than any route, so it is also a safe lower bound for routing.
+     * @param other The coordinates of the other location
+     * @return The distance in kilometres
+     */
+    @Override
+    public double distanceTo(ICoordinates other) {
+        double lat1 = Math.toRadians(this.latitude);
+        double lat2 = Math.toRadians(other.getLatitude());
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(other.getLongitude() - this.longitude);
+
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+
+        return 2 * EARTH_RADIUS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
     /**
      * This method aims to return a String representing the coordinates related to a location.
      * @return String representing the coordinates related to a location
@@ -113,7 +113,10 @@ public class ImportExportFiles implements IImportExportFiles {
                 long toPortalsIdLong = (long) routesToCreate.get("to");
                 int fromPortalsId = (int) fromPortalsIdLong;
                 int toPortalsId = (int) toPortalsIdLong;
-                for (int i = 0; i < pathGraph.getPathGraph().size(); i++) {
+                for (int i = 0; i < pathGraph.getPathGraph().getSlotCount(); i++) {
+                    if (pathGraph.getPathGraph().get(i) == null) {
+                        continue;
+                    }
                     if (pathGraph.getPathGraph().get(i).getId() == fromPortalsId) {
                         from = pathGraph.getPathGraph().get(i);
                     }
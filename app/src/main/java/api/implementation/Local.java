@@ -156,6 +156,15 @@ public abstract class Local implements ILocal, Comparable<Local>{
         ILocal that = (ILocal) o;
         return getName().equals(that.getName());
     }
+
+    /**
+     * Hash code consistent with {@link #equals(Object)}, so locals can be used as keys of hash based indexes.
+     * @return hash code of the location name
+     */
+    @Override
+    public int hashCode() {
+        return getName().hashCode();
+    }
     
     /**
      * Compares the amount of energy that the local has with the amount of energy that the local that calls the method has
@@ -19,6 +19,7 @@ import api.interfaces.IPlayer;
 import api.interfaces.IPortal;
 import api.interfaces.IRoute;
 import collections.exceptions.EmptyCollectionException;
+import collections.implementation.ProximityGraph;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
@@ -94,6 +95,25 @@ public class LocalsManagement implements ILocalsManagement {
         return "O caminho foi adicionado com sucesso";
     }
 
+    /**
+     * Creates the routes between locals that are close to each other, instead of adding each one by hand.
+     *
+     * @param k number of nearest locals each local is joined to, or 0 to join every local within the distance.
+     * @param maxKilometres longest route to be created, in kilometres, or infinity for no limit.
+     * @param pruning whether routes with a local between their ends are left out, to keep the map sparse.
+     * @return string that informs how many routes were created
+     */
+    @Override
+    public String connectLocalsByProximity(int k, double maxKilometres, ProximityGraph.Pruning pruning) {
+        if (pruning == null) {
+            throw new NullPointerException("Pruning cannot be null!");
+        }
+
+        int added = this.pathGraph.connectByProximity(k, maxKilometres, pruning);
+
+        return "Foram criados " + added + " caminhos";
+    }
+
     @Override
     public String removePath(IRoute route) {
         if (route.getFrom() == null && route.getTo() == null) {
@@ -274,7 +294,7 @@ public class LocalsManagement implements ILocalsManagement {
         String string = "Connectors: {\n";
         IConnector[] connectors = new IConnector[this.pathGraph.getNumberOfConnectores()];
         int i = 0;
-        if (this.pathGraph.getNumberOfPortals() != 0) {
+        if (connectors.length != 0) {
             Iterator<IConnector> iteratorConnectors = this.pathGraph.getConnectores();
             while (iteratorConnectors.hasNext()) {
                 connectors[i++] = iteratorConnectors.next();
@@ -555,7 +575,10 @@ public class LocalsManagement implements ILocalsManagement {
                 long toPortalsIdLong = (long) routesToCreate.get("to");
                 int fromPortalsId = (int) fromPortalsIdLong;
                 int toPortalsId = (int) toPortalsIdLong;
-                for (int i = 0; i < this.pathGraph.size(); i++) {
+                for (int i = 0; i < this.pathGraph.getSlotCount(); i++) {
+                    if (this.pathGraph.get(i) == null) {
+                        continue;
+                    }
                     if (this.pathGraph.get(i).getId() == fromPortalsId) {
                         from = this.pathGraph.get(i);
                     }
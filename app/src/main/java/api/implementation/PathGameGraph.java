@@ -2,18 +2,34 @@ package api.implementation;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
 
 import api.exceptions.NotPlaceInstanceException;
 import api.interfaces.IConnector;
 import api.interfaces.ILocal;
 import api.interfaces.IPathGameGraphADT;
+import api.interfaces.IPathListener;
+import api.interfaces.IPlayer;
 import api.interfaces.IPortal;
 import api.interfaces.IRoute;
 import collections.exceptions.EmptyCollectionException;
-import collections.exceptions.NullException;
 import collections.implementation.*;
 import collections.implementation.ArrayUnorderedList;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
 import collections.interfaces.UnorderedListADT;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -22,355 +38,2537 @@ import org.json.simple.JSONObject;
 
 /**
  * PathGameGraph class.
+ * The locals and routes are kept in an {@link IndexedGraphADT} backend chosen at construction,
+ * either the dense {@link MatrixGraph}, the bit-packed {@link BitMatrixGraph} for small and dense maps,
+ * or the sparse {@link AdjacencyListGraph}.
+ * With {@link #setSnapshotReads(boolean)} the map can be queried from many threads through read-only snapshots
+ * while one thread keeps changing it.
  *
  * @param <T> type of the graph.
  */
-public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphADT <T> {
+public class PathGameGraph<T> implements IPathGameGraphADT <T> {
 
     /**
      * Enum to represent the type of search.
      */
-    private enum SearchType {
+    public enum SearchType {
+        UNRESTRICTED,
         CONNECTOR_REQUIRED,
         PORTAL_ONLY,
         CONNECTOR_ONLY,
     }
 
     /**
-     * Constructor of PathGameGraph.
+     * Graph that stores the locals and the routes between them.
+     */
+    private final IndexedGraphADT<T> graph;
+
+    /**
+     * Number of changes made to the locals and routes, used to know when the precomputed paths are stale.
+     */
+    private int modificationCount;
+
+    /**
+     * Whether routes count one each even when the backend is a network, see {@link #setUnitWeights(boolean)}.
+     */
+    private volatile boolean unitWeights;
+
+    /**
+     * Whether the unrestricted, portal only and connector only searches are answered from precomputed tables.
+     */
+    private boolean precomputedPaths;
+
+    /**
+     * Precomputed tables for each type of search, built lazily and published whole so readers never wait for them.
+     */
+    private final AtomicReferenceArray<Built<AllPairsShortestPaths>> allPairs =
+            new AtomicReferenceArray<>(SearchType.values().length);
+
+    /**
+     * Whether the unrestricted, portal only and connector only searches are answered from contraction hierarchies.
+     */
+    private boolean contractionHierarchies;
+
+    /**
+     * Contraction hierarchy for each type of search, built in the background.
+     */
+    private final AtomicReferenceArray<Built<ContractionHierarchy>> hierarchies =
+            new AtomicReferenceArray<>(SearchType.values().length);
+
+    /**
+     * Build of each hierarchy that is running or was the last to run, swapped in so that only one query starts it.
+     */
+    private final AtomicReferenceArray<CompletableFuture<Void>> hierarchyBuilds =
+            new AtomicReferenceArray<>(SearchType.values().length);
+
+    /**
+     * Words of the locals each type of search may step into, null for the types that accept every local.
+     */
+    private final long[][] typeMasks = new long[SearchType.values().length][];
+
+    /**
+     * Modification count the type masks were built for, volatile so that readers can check it without a lock.
+     */
+    private volatile int typeMasksVersion = -1;
+
+    /**
+     * Nearest local lookups kept up to date as the graph changes, keyed by what they look for.
+     */
+    private final ConcurrentHashMap<String, DistanceField> distanceFields = new ConcurrentHashMap<>();
+
+    /**
+     * Connected components kept up to date as the graph changes, null until they are first needed.
+     */
+    private volatile ConnectedComponents components;
+
+    /**
+     * Key of the nearest connector lookup.
+     */
+    private static final String NEAREST_CONNECTOR = "connector";
+
+    /**
+     * Key of the nearest neutral portal lookup.
+     */
+    private static final String NEAREST_NEUTRAL_PORTAL = "neutral";
+
+    /**
+     * Prefix of the key of the nearest enemy portal lookup, followed by the team.
+     */
+    private static final String NEAREST_ENEMY_PORTAL = "enemy:";
+
+    /**
+     * Largest number of nearest enemy portal lookups kept, one per team asked about.
+     */
+    private static final int MAX_ENEMY_PORTAL_FIELDS = 4;
+
+    /**
+     * Keys of the nearest enemy portal lookups kept, each with the tick of the question that last used it.
+     */
+    private final ConcurrentHashMap<String, Long> enemyPortalUses = new ConcurrentHashMap<>();
+
+    /**
+     * Clock of the questions about nearest enemy portals, so the least recently used lookup can be told apart.
+     */
+    private final AtomicLong enemyPortalTicks = new AtomicLong();
+
+    /**
+     * Prefix of the key of the shortest path tree to a subscribed destiny, followed by its id.
+     */
+    private static final String PATH_TREE = "path:";
+
+    /**
+     * Subscriptions to the shortest path between two locals, grouped by the key of the tree of their destiny.
+     */
+    private final HashMap<String, LinkedHashSet<PathSubscription>> pathSubscriptions = new HashMap<>();
+
+    /**
+     * Whether this graph is a snapshot that rejects every change.
+     */
+    private final boolean readOnly;
+
+    /**
+     * Whether every change is followed by the publication of a new snapshot for concurrent readers.
+     */
+    private boolean snapshotReads;
+
+    /**
+     * Number of batches of changes that were begun and not yet ended.
+     */
+    private int openBatches;
+
+    /**
+     * Latest snapshot published for concurrent readers, null while snapshot reads are disabled.
+     */
+    private volatile PathGameGraph<T> snapshot;
+
+    /**
+     * Indices of the portals in the graph, kept up to date by every change made through this graph.
+     */
+    private final IndexSet portalIndices = new IndexSet();
+
+    /**
+     * Indices of the connectors in the graph, kept up to date by every change made through this graph.
+     */
+    private final IndexSet connectorIndices = new IndexSet();
+
+    /**
+     * Size in degrees of the cells of the spatial index, about five kilometres of latitude.
+     */
+    private static final double SPATIAL_CELL_SIZE = 0.05;
+
+    /**
+     * Grid of the coordinates of the locals, kept up to date as the graph changes, null until it is first needed.
+     */
+    private volatile SpatialGrid spatialIndex;
+
+    /**
+     * Search reused by the reachability and weighted shortest path queries of each thread, replaced when the weight
+     * mode changes.
+     */
+    private final ThreadLocal<BoundedSearch> boundedSearch;
+
+    /**
+     * Search reused by the shortest path queries of each thread that are not answered from tables or a hierarchy,
+     * so concurrent queries neither share nor wait for one another's state.
+     */
+    private final ThreadLocal<BidirectionalBFS> bidirectionalSearch;
+
+    /**
+     * Latest betweenness centrality of every index, with the number of sampled sources it was computed from,
+     * null until it is first asked for.
+     */
+    private volatile Built<double[]> centrality;
+
+    /**
+     * Articulation locals and bridge routes, null until they are first needed or after something is removed.
+     */
+    private volatile Biconnectivity biconnectivity;
+
+    /**
+     * Whether added routes update {@link #biconnectivity} in place instead of discarding it.
+     */
+    private boolean incrementalBiconnectivity;
+
+    /**
+     * Cache of the latest shortest paths, null when disabled.
+     */
+    private LRUCache<PathKey, ILocal[]> pathCache;
+
+    /**
+     * Modification count at which the entries of {@link #pathCache} were computed.
+     */
+    private int pathCacheVersion;
+
+    /**
+     * Key of the path cache: the ids of both ends and the type of search.
+     */
+    private static final class PathKey {
+
+        /**
+         * Id of the starting local.
+         */
+        private final int sourceId;
+
+        /**
+         * Id of the destiny local.
+         */
+        private final int destinyId;
+
+        /**
+         * Type of search.
+         */
+        private final SearchType typeOfSearch;
+
+        /**
+         * Constructor of PathKey.
+         *
+         * @param sourceId id of the starting local.
+         * @param destinyId id of the destiny local.
+         * @param typeOfSearch type of search.
+         */
+        private PathKey(int sourceId, int destinyId, SearchType typeOfSearch) {
+            this.sourceId = sourceId;
+            this.destinyId = destinyId;
+            this.typeOfSearch = typeOfSearch;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PathKey)) {
+                return false;
+            }
+            PathKey other = (PathKey) o;
+            return this.sourceId == other.sourceId && this.destinyId == other.destinyId
+                    && this.typeOfSearch == other.typeOfSearch;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * this.sourceId + this.destinyId) * 31 + this.typeOfSearch.ordinal();
+        }
+    }
+
+    /**
+     * A lookup table together with the state of the map it was built for, published in a single write so that a
+     * reader sees either all of it or none of it.
+     *
+     * @param <V> type of the table.
+     */
+    private static final class Built<V> {
+
+        /**
+         * The table.
+         */
+        private final V value;
+
+        /**
+         * Modification count at which the table was built.
+         */
+        private final int version;
+
+        /**
+         * Setting the table was built with, such as the number of samples, 0 if it has none.
+         */
+        private final int setting;
+
+        /**
+         * Constructor of Built.
+         *
+         * @param value the table.
+         * @param version modification count at which the table was built.
+         * @param setting setting the table was built with.
+         */
+        private Built(V value, int version, int setting) {
+            this.value = value;
+            this.version = version;
+            this.setting = setting;
+        }
+
+        /**
+         * Checks if the table was built for the given state of the map and setting.
+         *
+         * @param version modification count of the map.
+         * @param setting setting asked for.
+         * @return true if the table can be used.
+         */
+        private boolean isFor(int version, int setting) {
+            return this.version == version && this.setting == setting;
+        }
+    }
+
+    /**
+     * Constructor of PathGameGraph, backed by an adjacency matrix.
      */
     public PathGameGraph() {
-        super();
+        this(new MatrixGraph<>());
+    }
+
+    /**
+     * Constructor of PathGameGraph that stores the locals in the given graph.
+     *
+     * @param graph graph used to store the locals and routes, for example an {@link AdjacencyListGraph} for sparse maps.
+     */
+    public PathGameGraph(IndexedGraphADT<T> graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Constructor of PathGameGraph that stores the locals in the given graph, rejecting every change if it is read-only.
+     *
+     * @param graph graph used to store the locals and routes.
+     * @param readOnly true for a snapshot.
+     */
+    private PathGameGraph(IndexedGraphADT<T> graph, boolean readOnly) {
+        if (graph == null) {
+            throw new NullPointerException("Graph cannot be null!");
+        }
+        this.graph = graph;
+        this.readOnly = readOnly;
+        this.bidirectionalSearch = ThreadLocal.withInitial(() -> new BidirectionalBFS(graph));
+        this.boundedSearch = ThreadLocal.withInitial(() -> new BoundedSearch(graph, this.unitWeights));
+        this.modificationCount = 0;
+        this.precomputedPaths = false;
+        this.contractionHierarchies = false;
+        this.rebuildTypeIndices();
+    }
+
+    /**
+     * Iterator over the locals of one type, reading them from the graph by index without copying them.
+     *
+     * @param <E> type of the locals.
+     */
+    private final class TypeIterator<E> implements Iterator<E> {
+
+        /**
+         * Indices of the locals being iterated.
+         */
+        private final IndexSet indices;
+
+        /**
+         * Position of the next local in the indices.
+         */
+        private int next;
+
+        /**
+         * Modification count of the graph when the iterator was created.
+         */
+        private final int expectedModificationCount;
+
+        /**
+         * Creates an iterator over the locals with the given indices.
+         *
+         * @param indices indices of the locals.
+         */
+        private TypeIterator(IndexSet indices) {
+            this.indices = indices;
+            this.next = 0;
+            this.expectedModificationCount = PathGameGraph.this.modificationCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.expectedModificationCount != PathGameGraph.this.modificationCount) {
+                throw new ConcurrentModificationException("The graph changed during the iteration.");
+            }
+            return this.next < this.indices.size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (E) PathGameGraph.this.graph.getVertex(this.indices.get(this.next++));
+        }
+    }
+
+    /**
+     * Adds the local at the index to the indices of its type.
+     *
+     * @param index index of the local.
+     */
+    private void indexType(int index) {
+        T vertex = this.graph.getVertex(index);
+        if (vertex instanceof IPortal) {
+            this.portalIndices.add(index);
+        } else if (vertex instanceof IConnector) {
+            this.connectorIndices.add(index);
+        }
+    }
+
+    /**
+     * Fills the indices of each type with one pass over the graph.
+     */
+    private void rebuildTypeIndices() {
+        this.portalIndices.clear();
+        this.connectorIndices.clear();
+        for (int i = 0; i < this.graph.getSlotCount(); i++) {
+            if (this.graph.indexIsValid(i)) {
+                this.indexType(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of changes made to the locals and routes through this graph.
+     *
+     * @return modification count.
+     */
+    public int getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Enables or disables publishing read-only snapshots of the map for queries made from other threads.
+     * While enabled, every change made through this graph outside a batch, and every batch when it ends,
+     * copies the locals and routes into a new {@link GraphSnapshot} and publishes it at once, so a thread that takes
+     * the snapshot with {@link #getSnapshot()} sees which locals and routes exist either before or after a change,
+     * never halfway, and never waits for the thread making the changes. Each publication costs one pass over the routes.
+     * Only that structure is copied, which leaves two limits.
+     * The snapshot holds the same local objects as this graph, so a change to the state of a local, such as its team
+     * or energy before {@link #updateLocal}, is seen by the readers as it is made, one field at a time.
+     * The weights of a network backend are copied only while they are read, see {@link #setUnitWeights(boolean)}.
+     *
+     * @param enabled true to publish snapshots.
+     */
+    public synchronized void setSnapshotReads(boolean enabled) {
+        this.checkWritable();
+        this.snapshotReads = enabled;
+        if (enabled) {
+            this.publishSnapshot();
+        } else {
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Returns the latest published snapshot of the map, a read-only PathGameGraph with the same indices as this one
+     * that many threads can query at once without waiting for one another. Queries that build a lookup table the
+     * first time they are asked, such as the nearest local lookups, build it without a lock and publish it whole,
+     * so two threads that ask at once may both build it and either copy is kept.
+     * Changes to the snapshot throw an {@link UnsupportedOperationException}.
+     *
+     * @return the latest snapshot, or null if snapshot reads are disabled.
+     */
+    public PathGameGraph<T> getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Checks if this graph is a read-only snapshot.
+     *
+     * @return true if this graph is a snapshot.
+     */
+    public boolean isSnapshot() {
+        return this.readOnly;
+    }
+
+    /**
+     * Begins a batch of changes, so that no snapshot is published until the batch ends.
+     * Batches may be nested, and only the end of the outermost one publishes.
+     */
+    public synchronized void beginBatch() {
+        this.checkWritable();
+        this.openBatches++;
+    }
+
+    /**
+     * Ends a batch of changes, publishing a snapshot with all of them if it was the outermost batch.
+     */
+    public synchronized void endBatch() {
+        if (this.openBatches == 0) {
+            throw new IllegalStateException("There is no batch to end.");
+        }
+
+        this.openBatches--;
+        if (this.openBatches == 0 && this.snapshotReads) {
+            this.publishSnapshot();
+        }
+    }
+
+    /**
+     * Copies the map into a new snapshot and publishes it, carrying over the way shortest paths are answered.
+     */
+    private synchronized void publishSnapshot() {
+        GraphSnapshot<T> graph = this.readsWeights()
+                ? new NetworkSnapshot<>((IndexedNetworkADT<T>) this.graph) : new GraphSnapshot<>(this.graph);
+        PathGameGraph<T> copy = new PathGameGraph<>(graph, true);
+        copy.unitWeights = this.unitWeights;
+        copy.precomputedPaths = this.precomputedPaths;
+        copy.contractionHierarchies = this.contractionHierarchies;
+        copy.buildTypeMasks();
+        this.snapshot = copy;
+    }
+
+    /**
+     * Publishes a snapshot after a change, unless snapshot reads are disabled or a batch is open, and tells the
+     * listeners of the subscribed paths that changed. The listeners are told once the lock is released, so they may
+     * hand work to other threads that query the graph and wait for it.
+     */
+    private void changed() {
+        ArrayUnorderedList<Runnable> notifications;
+        synchronized (this) {
+            notifications = this.collectPathChanges();
+            if (this.snapshotReads && this.openBatches == 0) {
+                this.publishSnapshot();
+            }
+        }
+
+        for (Runnable notification : notifications) {
+            notification.run();
+        }
+    }
+
+    /**
+     * Rejects changes to a snapshot.
+     */
+    private void checkWritable() {
+        if (this.readOnly) {
+            throw new UnsupportedOperationException("A snapshot cannot be changed.");
+        }
+    }
+
+    /**
+     * Chooses how routes are costed when the backend is a network, such as a {@link Network}.
+     * By default the searches that follow costs read the weight of each route from the network: the shortest path
+     * between two locals, whether from a contraction hierarchy or a plain search, {@link #kShortestPaths},
+     * {@link #reachableWithin} and {@link #betweennessCentrality}. The precomputed tables, the batches of
+     * {@link #shortestPaths}, the searches that require a connector and the nearest local lookups always count routes,
+     * so the tables are left unused meanwhile.
+     * Routes added through this class weigh one, so both agree until a weight is changed on the backend.
+     * With unit weights every route counts one whatever its weight, and the weights are neither read nor copied into
+     * snapshots. Other backends always count routes.
+     *
+     * @param enabled true to count one per route.
+     */
+    public synchronized void setUnitWeights(boolean enabled) {
+        this.checkWritable();
+        this.unitWeights = enabled;
+        this.centrality = null;
+        if (this.pathCache != null) {
+            this.pathCache.clear();
+        }
+        if (this.snapshotReads && this.openBatches == 0) {
+            this.publishSnapshot();
+        }
+    }
+
+    /**
+     * Checks if routes count one each even when the backend is a network.
+     *
+     * @return true if unit weights are used.
+     */
+    public boolean usesUnitWeights() {
+        return this.unitWeights;
+    }
+
+    /**
+     * Checks if the searches that follow costs read the weights of the backend.
+     *
+     * @return true if the backend is a network and unit weights are not used.
+     */
+    private boolean readsWeights() {
+        return !this.unitWeights && this.graph instanceof IndexedNetworkADT;
+    }
+
+    /**
+     * Enables or disables answering shortest path queries from precomputed all-pairs tables.
+     * The tables are built the first time a query needs them and again after every change to the locals or routes,
+     * so this pays off when the same map is asked many questions between changes.
+     * Each type of search keeps its own tables of 8 bytes per pair of locals, 128 MB for a map of
+     * {@link AllPairsShortestPaths#MAX_VERTICES} locals; maps larger than that are searched as if this were disabled.
+     * Changes made directly to the backend graph given in the constructor are not noticed.
+     *
+     * @param enabled true to use the precomputed tables.
+     */
+    public synchronized void setPrecomputedPaths(boolean enabled) {
+        this.precomputedPaths = enabled;
+        if (!enabled) {
+            for (int i = 0; i < this.allPairs.length(); i++) {
+                this.allPairs.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Checks if shortest path queries are answered from precomputed tables.
+     *
+     * @return true if the precomputed tables are used.
+     */
+    public boolean usesPrecomputedPaths() {
+        return this.precomputedPaths;
+    }
+
+    /**
+     * Enables or disables answering shortest path queries from contraction hierarchies, one per type of search.
+     * A hierarchy takes a while to build but then answers each query looking at a handful of locals,
+     * which suits maps that stay the same for long periods. When a query finds its hierarchy missing or older than the
+     * last change to the locals or routes, it starts a rebuild in the background and runs a plain search meanwhile.
+     * Changes made directly to the backend graph given in the constructor are not noticed.
+     *
+     * @param enabled true to use the contraction hierarchies.
+     */
+    public synchronized void setContractionHierarchies(boolean enabled) {
+        this.contractionHierarchies = enabled;
+        if (!enabled) {
+            for (int i = 0; i < this.hierarchies.length(); i++) {
+                this.hierarchies.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Starts the build of every stale contraction hierarchy and waits for them, so that the next queries use them.
+     * Does nothing if the hierarchies are disabled.
+     */
+    public void buildContractionHierarchies() {
+        if (!this.contractionHierarchies) {
+            return;
+        }
+        for (SearchType typeOfSearch : SearchType.values()) {
+            if (typeOfSearch != SearchType.CONNECTOR_REQUIRED) {
+                this.getHierarchy(typeOfSearch);
+            }
+        }
+
+        for (int i = 0; i < this.hierarchyBuilds.length(); i++) {
+            CompletableFuture<Void> build = this.hierarchyBuilds.get(i);
+            if (build != null) {
+                build.join();
+            }
+        }
+    }
+
+    /**
+     * Returns the contraction hierarchy for the type of search if it is up to date,
+     * or else starts building it in the background from a copy of the current routes.
+     * Only the query that swaps in the new build starts it, so concurrent queries neither wait nor build it twice.
+     *
+     * @param typeOfSearch type of search, other than {@link SearchType#CONNECTOR_REQUIRED}.
+     * @return the hierarchy, or null while it is being built.
+     */
+    private ContractionHierarchy getHierarchy(SearchType typeOfSearch) {
+        int type = typeOfSearch.ordinal();
+        int version = this.modificationCount;
+        boolean unitWeights = this.unitWeights;
+        // the setting of a hierarchy tells whether it counts routes, so a change of weight mode rebuilds it
+        int setting = unitWeights ? 1 : 0;
+        Built<ContractionHierarchy> hierarchy = this.hierarchies.get(type);
+
+        if (hierarchy != null && hierarchy.isFor(version, setting)) {
+            return hierarchy.value;
+        }
+
+        CompletableFuture<Void> running = this.hierarchyBuilds.get(type);
+        CompletableFuture<Void> build = new CompletableFuture<>();
+        if ((running == null || running.isDone()) && this.hierarchyBuilds.compareAndSet(type, running, build)) {
+            Supplier<ContractionHierarchy> contraction = ContractionHierarchy.prepare(this.graph,
+                    this.typeFilter(typeOfSearch), unitWeights);
+            CompletableFuture.supplyAsync(contraction).whenComplete((built, error) -> {
+                if (error == null) {
+                    this.publishHierarchy(type, new Built<>(built, version, setting));
+                    build.complete(null);
+                } else {
+                    build.completeExceptionally(error);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Keeps a finished hierarchy if no change was made to the locals or routes while it was being built.
+     *
+     * @param type ordinal of the type of search.
+     * @param hierarchy the finished hierarchy, with the modification count and weight mode it was built for.
+     */
+    private synchronized void publishHierarchy(int type, Built<ContractionHierarchy> hierarchy) {
+        if (this.contractionHierarchies && hierarchy.version == this.modificationCount) {
+            this.hierarchies.set(type, hierarchy);
+        }
+    }
+
+    /**
+     * Keeps the latest shortest paths, keyed by the ids of both ends and the type of search, so repeated questions
+     * about the same pair of locals skip the search. The whole cache is dropped when the locals or routes change.
+     * Snapshots do not keep a path cache.
+     *
+     * @param capacity maximum number of paths kept, 0 to disable the cache.
+     */
+    public synchronized void setPathCacheCapacity(int capacity) {
+        this.checkWritable();
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+
+        this.pathCache = capacity == 0 ? null : new LRUCache<>(capacity);
+        this.pathCacheVersion = this.modificationCount;
+    }
+
+    /**
+     * Returns the number of path queries answered from the cache.
+     *
+     * @return cache hits, 0 if the cache is disabled.
+     */
+    public synchronized long getPathCacheHits() {
+        return this.pathCache == null ? 0 : this.pathCache.getHits();
+    }
+
+    /**
+     * Returns the number of path queries that had to run a search while the cache was enabled.
+     *
+     * @return cache misses, 0 if the cache is disabled.
+     */
+    public synchronized long getPathCacheMisses() {
+        return this.pathCache == null ? 0 : this.pathCache.getMisses();
+    }
+
+    /**
+     * Returns the number of paths dropped from the cache to make room for new ones.
+     *
+     * @return cache evictions, 0 if the cache is disabled.
+     */
+    public synchronized long getPathCacheEvictions() {
+        return this.pathCache == null ? 0 : this.pathCache.getEvictions();
+    }
+
+    /**
+     * Returns the path cache, emptied first if the locals or routes changed since its entries were computed.
+     *
+     * @return the path cache, or null if it is disabled.
+     */
+    private synchronized LRUCache<PathKey, ILocal[]> getPathCache() {
+        if (this.pathCache != null && this.pathCacheVersion != this.modificationCount) {
+            this.pathCache.clear();
+            this.pathCacheVersion = this.modificationCount;
+        }
+        return this.pathCache;
+    }
+
+    /**
+     * Checks if a query of the type of search is answered from the precomputed tables.
+     *
+     * @param typeOfSearch type of search.
+     * @return true if the tables are enabled, support the type of search, fit the size of the map and routes are counted.
+     */
+    private boolean usesAllPairs(SearchType typeOfSearch) {
+        return this.precomputedPaths && typeOfSearch != SearchType.CONNECTOR_REQUIRED && !this.readsWeights()
+                && this.graph.getSlotCount() <= AllPairsShortestPaths.MAX_VERTICES;
+    }
+
+    /**
+     * Returns the precomputed table for the type of search, building it if it is missing or stale.
+     * The table is built without a lock and then published, so other queries keep running meanwhile.
+     *
+     * @param typeOfSearch type of search, other than {@link SearchType#CONNECTOR_REQUIRED}.
+     * @return the all-pairs table.
+     */
+    private AllPairsShortestPaths getAllPairs(SearchType typeOfSearch) {
+        int type = typeOfSearch.ordinal();
+        int version = this.modificationCount;
+        Built<AllPairsShortestPaths> table = this.allPairs.get(type);
+
+        if (table == null || !table.isFor(version, 0)) {
+            table = new Built<>(new AllPairsShortestPaths(this.graph, this.typeFilter(typeOfSearch)), version, 0);
+            this.allPairs.set(type, table);
+        }
+        return table.value;
+    }
+
+    /**
+     * Returns the number of routes of the shortest path between two locals.
+     *
+     * @param source starting point.
+     * @param destiny Point of arrival.
+     * @param typeOfSearch which locals the path may cross.
+     * @return number of routes, 0 if both are the same local and -1 if there is no path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public int distanceBetweenTwoPoints(T source, T destiny, SearchType typeOfSearch) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        int startIndex = this.getIndex(source);
+        int targetIndex = this.getIndex(destiny);
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return -1;
+        }
+        if (startIndex == targetIndex) {
+            return 0;
+        }
+        if (this.usesAllPairs(typeOfSearch)) {
+            return this.getAllPairs(typeOfSearch).getDistance(startIndex, targetIndex);
+        }
+
+        return this.shortestPathIndices(typeOfSearch, startIndex, targetIndex).length - 1;
+    }
+
+    /**
+     * Returns the words of the locals a search of the given type may step into, bit i being set for the local at index i.
+     * The masks are built once per change to the graph, so filters test a bit instead of the class of the local.
+     *
+     * @param typeOfSearch type of search.
+     * @return the words of the allowed locals, or null if the search may step into any local.
+     */
+    private long[] getTypeMask(SearchType typeOfSearch) {
+        if (this.typeMasksVersion != this.modificationCount) {
+            this.buildTypeMasks();
+        }
+        return this.typeMasks[typeOfSearch.ordinal()];
+    }
+
+    /**
+     * Builds the type masks for the current state of the graph, if they are stale.
+     */
+    private synchronized void buildTypeMasks() {
+        if (this.typeMasksVersion != this.modificationCount) {
+            int numVertices = this.graph.getSlotCount();
+            long[] portals = new long[BitMatrixGraph.wordsFor(numVertices)];
+            long[] connectors = new long[BitMatrixGraph.wordsFor(numVertices)];
+
+            for (int k = 0; k < this.portalIndices.size(); k++) {
+                int i = this.portalIndices.get(k);
+                portals[i >>> 6] |= 1L << i;
+            }
+            for (int k = 0; k < this.connectorIndices.size(); k++) {
+                int i = this.connectorIndices.get(k);
+                connectors[i >>> 6] |= 1L << i;
+            }
+
+            this.typeMasks[SearchType.PORTAL_ONLY.ordinal()] = portals;
+            this.typeMasks[SearchType.CONNECTOR_ONLY.ordinal()] = connectors;
+            this.typeMasksVersion = this.modificationCount;
+        }
+    }
+
+    /**
+     * Returns a filter that accepts the locals a search of the given type may step into.
+     *
+     * @param typeOfSearch type of search.
+     * @return filter over the indices of the graph, or null if the search may step into any local.
+     */
+    private IntPredicate typeFilter(SearchType typeOfSearch) {
+        long[] mask = this.getTypeMask(typeOfSearch);
+        return mask == null ? null : vertex -> BitMatrixGraph.isSet(mask, vertex);
+    }
+
+    /**
+     * Finds the shortest path in kilometres between two locals with an A* search, where each route costs the
+     * great-circle distance between its locals and the straight-line distance to the target is the heuristic.
+     * That heuristic never overestimates and respects the triangle inequality, so every local is expanded at most once
+     * and only the locals whose estimate is below the length of the best route are looked at.
+     * For {@link SearchType#CONNECTOR_REQUIRED} the search runs over (local, has crossed a connector) states,
+     * where any connector of the path, endpoints included, counts.
+     * Locals without coordinates cannot be measured, so the search never steps into them.
+     *
+     * @param typeOfSearch type of search.
+     * @param startIndex start index.
+     * @param targetIndex target index.
+     * @return the path, its length and the number of expanded states.
+     * @throws EmptyCollectionException if the collection is empty.
+     */
+    private WeightedPath<ILocal> geographicSearch(SearchType typeOfSearch, int startIndex, int targetIndex) throws EmptyCollectionException {
+        int numVertices = this.graph.getSlotCount();
+        boolean layered = typeOfSearch == SearchType.CONNECTOR_REQUIRED;
+        int numStates = layered ? 2 * numVertices : numVertices;
+
+        double[] distance = new double[numStates];
+        int[] predecessor = new int[numStates];
+        boolean[] closed = new boolean[numStates];
+        IndexedMinHeap open = new IndexedMinHeap(numStates);
+        Coordinates target = this.get(targetIndex).getCoordinates();
+        IntPredicate allowed = this.typeFilter(typeOfSearch);
+
+        for (int i = 0; i < numStates; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+
+        int startState = (layered && this.get(startIndex) instanceof IConnector) ? startIndex + numVertices : startIndex;
+        distance[startState] = 0;
+        open.insert(startState, this.get(startIndex).getCoordinates().distanceTo(target));
+        int expanded = 0;
+
+        while (!open.isEmpty()) {
+            int state = open.removeMin();
+            int index = state % numVertices;
+            boolean crossedConnector = state >= numVertices;
+            closed[state] = true;
+            expanded++;
+
+            if (index == targetIndex && (!layered || crossedConnector)) {
+                ArrayUnorderedList<ILocal> path = new ArrayUnorderedList<>();
+                for (int current = state; current != -1; current = predecessor[current]) {
+                    path.addToFront(this.get(current % numVertices));
+                }
+                return new WeightedPath<>(path, distance[state], expanded);
+            }
+
+            Coordinates coordinates = this.get(index).getCoordinates();
+            for (int i : this.graph.getNeighbourIndices(index)) {
+                Coordinates neighbour = this.get(i).getCoordinates();
+                if (neighbour == null || (allowed != null && !allowed.test(i))) {
+                    continue;
+                }
+
+                int next = (layered && (crossedConnector || this.get(i) instanceof IConnector)) ? i + numVertices : i;
+                if (closed[next]) {
+                    continue;
+                }
+
+                double candidate = distance[state] + coordinates.distanceTo(neighbour);
+                if (candidate < distance[next]) {
+                    distance[next] = candidate;
+                    predecessor[next] = state;
+                    open.insertOrDecrease(next, candidate + neighbour.distanceTo(target));
+                }
+            }
+        }
+
+        return WeightedPath.unreachable(expanded);
+    }
+
+    /**
+     * Returns the indices of the shortest path between two vertices determined by the type of search.
+     * The unrestricted, portal only and connector only searches follow the precomputed tables or the contraction
+     * hierarchies when they are enabled and ready, or else run a {@link BidirectionalBFS} that only steps into
+     * the locals the type of search allows, or a {@link BoundedSearch} while network weights are read.
+     * {@link SearchType#CONNECTOR_REQUIRED} runs a {@link LayeredBFS} that requires a connector on the path.
+     * @param typeOfSearch type of search.
+     * @param startIndex start index.
+     * @param targetIndex target index.
+     * @return indices of the shortest path, empty if there is no path or both indices are the same.
+     */
+    private int[] shortestPathIndices(SearchType typeOfSearch, int startIndex, int targetIndex) {
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)
+                || (startIndex == targetIndex)) {
+            return new int[0];
+        }
+
+        if (typeOfSearch == SearchType.CONNECTOR_REQUIRED) {
+            return new LayeredBFS(this.graph).search(startIndex, targetIndex, this.localTypeFilter(IConnector.class));
+        } else if (this.usesAllPairs(typeOfSearch)) {
+            return this.getAllPairs(typeOfSearch).path(startIndex, targetIndex);
+        } else if (this.contractionHierarchies) {
+            ContractionHierarchy hierarchy = this.getHierarchy(typeOfSearch);
+            if (hierarchy != null) {
+                return hierarchy.path(startIndex, targetIndex);
+            }
+        }
+        if (this.readsWeights()) {
+            return this.getBoundedSearch().path(startIndex, targetIndex, this.typeFilter(typeOfSearch));
+        }
+        if (this.graph instanceof BitMatrixGraph) {
+            return ((BitMatrixGraph<T>) this.graph).shortestPath(startIndex, targetIndex, this.getTypeMask(typeOfSearch));
+        }
+        return this.bidirectionalSearch.get().search(startIndex, targetIndex, this.typeFilter(typeOfSearch));
+    }
+
+    /**
+     * Returns the bounded search of the calling thread, replaced first if it was made for the other weight mode.
+     *
+     * @return the bounded search.
+     */
+    private BoundedSearch getBoundedSearch() {
+        BoundedSearch search = this.boundedSearch.get();
+        if (search.readsWeights() != this.readsWeights()) {
+            search = new BoundedSearch(this.graph, this.unitWeights);
+            this.boundedSearch.set(search);
+        }
+        return search;
+    }
+
+    /**
+     * Returns a filter that accepts the indices of the locals of the given type.
+     *
+     * @param localType type of local, for example {@link IPortal} or {@link IConnector}.
+     * @return filter over the indices of the graph.
+     */
+    private IntPredicate localTypeFilter(Class<?> localType) {
+        return vertex -> localType.isInstance(this.graph.getVertex(vertex));
+    }
+
+    /**
+     * Shortest path between two locals that crosses at least one local of each of the given types,
+     * such as a path that must go through a connector and an enemy portal.
+     * The ends count as crossed and the path may go through the same local twice.
+     *
+     * @param source starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @param localTypes types of local the path must cross, at most {@link LayeredBFS#MAX_REQUIREMENTS}.
+     * @return iterator with the path, empty if there is no such path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public Iterator<ILocal> shortestPathThroughTypes(T source, T destiny, Class<?>... localTypes) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        IntPredicate[] requirements = new IntPredicate[localTypes.length];
+        for (int k = 0; k < localTypes.length; k++) {
+            requirements[k] = this.localTypeFilter(localTypes[k]);
+        }
+
+        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
+        int startIndex = this.getIndex(source);
+        int targetIndex = this.getIndex(destiny);
+        if (indexIsValid(startIndex) && indexIsValid(targetIndex) && startIndex != targetIndex) {
+            for (int i : new LayeredBFS(this.graph).search(startIndex, targetIndex, requirements)) {
+                resultList.addToRear(this.get(i));
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Answers many shortest path queries at once, such as the routes asked for at the start of a turn.
+     * The queries are grouped by starting local and one search is run per distinct start, answering every
+     * destiny asked from it, with the starts spread across the common fork/join pool.
+     * When the precomputed tables are enabled the paths are read from them instead.
+     * The paths come back as indices, which {@link #get(int)} turns into locals.
+     *
+     * @param sources starting point of each query.
+     * @param destinies Point of arrival of each query.
+     * @param typeOfSearch which locals the paths may cross.
+     * @return the path of each query, in the order of the queries.
+     * @throws NotPlaceInstanceException if a point is not {@link ILocal local} instance.
+     */
+    public PathBatch shortestPaths(T[] sources, T[] destinies, SearchType typeOfSearch) throws NotPlaceInstanceException {
+        if (sources.length != destinies.length) {
+            throw new IllegalArgumentException("There must be one destiny per source.");
+        }
+
+        int[] startIndices = new int[sources.length];
+        int[] targetIndices = new int[destinies.length];
+        for (int q = 0; q < sources.length; q++) {
+            if (!(sources[q] instanceof ILocal) || !(destinies[q] instanceof ILocal)) {
+                throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+            }
+            startIndices[q] = this.getIndex(sources[q]);
+            targetIndices[q] = this.getIndex(destinies[q]);
+        }
+
+        if (this.usesAllPairs(typeOfSearch)) {
+            AllPairsShortestPaths table = this.getAllPairs(typeOfSearch);
+            int[][] paths = new int[sources.length][];
+            int[] distances = new int[sources.length];
+            for (int q = 0; q < sources.length; q++) {
+                paths[q] = table.path(startIndices[q], targetIndices[q]);
+                distances[q] = table.getDistance(startIndices[q], targetIndices[q]);
+            }
+            return new PathBatch(paths, distances);
+        }
+
+        BatchShortestPaths batch = typeOfSearch == SearchType.CONNECTOR_REQUIRED
+                ? new BatchShortestPaths(this.graph, null, this.localTypeFilter(IConnector.class))
+                : new BatchShortestPaths(this.graph, this.typeFilter(typeOfSearch), null);
+        return batch.search(startIndices, targetIndices);
+    }
+
+    /**
+     * Up to K alternative routes between two locals, each without repeated locals, the shortest first,
+     * so a player can pick a second or third route when the best one crosses enemy portals.
+     * The cost of each route follows {@link #setUnitWeights(boolean)}.
+     *
+     * @param source starting point.
+     * @param destiny Point of arrival.
+     * @param k number of routes wanted.
+     * @param typeOfSearch which locals the routes may cross.
+     * @return iterator with the routes and their costs, fewer than K if there are no more.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public Iterator<WeightedPath<ILocal>> kShortestPaths(T source, T destiny, int k, SearchType typeOfSearch) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        KShortestPaths search;
+        int[][] paths;
+        if (typeOfSearch == SearchType.CONNECTOR_REQUIRED) {
+            search = new KShortestPaths(this.graph, null, this.unitWeights);
+            paths = search.search(this.getIndex(source), this.getIndex(destiny), k, this.localTypeFilter(IConnector.class));
+        } else {
+            search = new KShortestPaths(this.graph, this.typeFilter(typeOfSearch), this.unitWeights);
+            paths = search.search(this.getIndex(source), this.getIndex(destiny), k);
+        }
+
+        ArrayUnorderedList<WeightedPath<ILocal>> resultList = new ArrayUnorderedList<>();
+        for (int rank = 0; rank < paths.length; rank++) {
+            ArrayUnorderedList<ILocal> path = new ArrayUnorderedList<>();
+            for (int index : paths[rank]) {
+                path.addToRear(this.get(index));
+            }
+            resultList.addToRear(new WeightedPath<>(path, search.getCost(rank)));
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Every local that can be reached from a local within a budget, such as the locals a player can get to this turn,
+     * found with a single search that stops as soon as the budget is spent instead of one shortest path per local.
+     * Routes cost as chosen with {@link #setUnitWeights(boolean)}.
+     * Each local comes in a pair with its cost and the pair of the local it is reached from, so the way to any of
+     * them can be followed back to the source.
+     *
+     * @param source starting point.
+     * @param budget largest cost of a path, such as the number of moves left.
+     * @param typeOfSearch which locals the paths may cross; {@link SearchType#CONNECTOR_REQUIRED} is not supported.
+     * @return iterator with the locals reached, cheapest first, starting with the source itself.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public Iterator<Pair<ILocal>> reachableWithin(T source, double budget, SearchType typeOfSearch) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source is not a ILocal instance.");
+        }
+        if (typeOfSearch == SearchType.CONNECTOR_REQUIRED) {
+            throw new IllegalArgumentException("Reachability cannot require a connector.");
+        }
+
+        BoundedSearch search = this.getBoundedSearch();
+        int[] reached = search.search(this.getIndex(source), budget, this.typeFilter(typeOfSearch));
+        ArrayUnorderedList<Pair<ILocal>> resultList = new ArrayUnorderedList<>();
+        HashMap<Integer, Pair<ILocal>> pairs = new HashMap<>();
+
+        for (int position = 0; position < reached.length; position++) {
+            Pair<ILocal> previous = pairs.get(search.getPredecessor(position));
+            Pair<ILocal> pair = new Pair<>(previous, this.get(reached[position]), search.getCost(position));
+            pairs.put(reached[position], pair);
+            resultList.addToRear(pair);
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * How many shortest paths between other locals go through each local, which tells the chokepoints of the map.
+     * Each pair of locals counts once, shared evenly when it has several shortest paths, with routes costed as chosen
+     * with {@link #setUnitWeights(boolean)}. The searches run in parallel on the common fork/join pool, and on large
+     * maps only a sample of starting locals may be searched, estimating the rest. The sample is chosen from the
+     * modification count, so the same map always gives the same estimate. The result is kept until the graph or the
+     * weight mode changes, and computed without a lock, so other queries keep running meanwhile.
+     *
+     * @param samples number of starting locals to search, or 0 to search them all for exact values.
+     * @return the centrality of each index, 0 for the holes of removed locals.
+     */
+    public double[] betweennessCentrality(int samples) {
+        int version = this.modificationCount;
+        boolean unitWeights = this.unitWeights;
+        Built<double[]> centrality = this.centrality;
+
+        if (centrality == null || !centrality.isFor(version, samples)) {
+            centrality = new Built<>(new BetweennessCentrality(this.graph, unitWeights).compute(samples, version,
+                    ForkJoinPool.commonPool()), version, samples);
+            // a result computed under the old weight mode is returned but not kept
+            if (unitWeights == this.unitWeights) {
+                this.centrality = centrality;
+            }
+        }
+        return centrality.value.clone();
+    }
+
+    /**
+     * Portals ranked by how many shortest paths between other locals go through them, so the ones that control the
+     * most routes come first.
+     *
+     * @param samples number of starting locals to search, or 0 to search them all for exact values.
+     * @return iterator with every portal, the most central first.
+     */
+    public Iterator<IPortal> portalsByBetweenness(int samples) {
+        double[] scores = this.betweennessCentrality(samples);
+        Integer[] portals = new Integer[this.portalIndices.size()];
+        for (int k = 0; k < portals.length; k++) {
+            portals[k] = this.portalIndices.get(k);
+        }
+        Arrays.sort(portals, (a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : Integer.compare(a, b));
+
+        ArrayUnorderedList<IPortal> resultList = new ArrayUnorderedList<>();
+        for (int index : portals) {
+            resultList.addToRear((IPortal) this.get(index));
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Enables or disables keeping the articulation locals and bridge routes up to date as routes are added,
+     * instead of finding them again with a new search after every change.
+     * Each added route then costs time proportional to the path between its ends, which pays off when routes are
+     * added one at a time between queries; removals always discard them.
+     *
+     * @param enabled true to update them in place.
+     */
+    public synchronized void setIncrementalBiconnectivity(boolean enabled) {
+        this.incrementalBiconnectivity = enabled;
+    }
+
+    /**
+     * Returns the articulation locals and bridge routes, finding them with one search the first time.
+     *
+     * @return the analysis of the graph.
+     */
+    private Biconnectivity getBiconnectivity() {
+        Biconnectivity biconnectivity = this.biconnectivity;
+        if (biconnectivity == null) {
+            biconnectivity = new Biconnectivity(this.graph);
+            this.biconnectivity = biconnectivity;
+        }
+        return biconnectivity;
+    }
+
+    /**
+     * Gets the locals whose loss would split the map, leaving some locals unable to reach others.
+     *
+     * @return iterator of articulation locals.
+     */
+    @Override
+    public Iterator<ILocal> getArticulationLocals() {
+        UnorderedListADT<ILocal> resultList = new ArrayUnorderedList<>();
+        for (int index : this.getBiconnectivity().getArticulationPoints()) {
+            resultList.addToRear(this.get(index));
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Gets the routes whose loss would split the map, leaving some locals unable to reach others.
+     *
+     * @return iterator of bridge routes, each going from and to the locals it joins.
+     */
+    @Override
+    public Iterator<IRoute<ILocal>> getBridgeRoutes() {
+        UnorderedListADT<IRoute<ILocal>> resultList = new ArrayUnorderedList<>();
+        for (int[] bridge : this.getBiconnectivity().getBridges()) {
+            resultList.addToRear(new Route<>(this.get(bridge[0]), this.get(bridge[1])));
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Checks if losing a local would split the map.
+     *
+     * @param vertex local to check.
+     * @return true if the local is an articulation local.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    public boolean isArticulationLocal(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.getBiconnectivity().isArticulationPoint(this.getIndex(vertex));
+    }
+
+    /**
+     * Checks if losing the route between two locals would split the map.
+     *
+     * @param vertex1 one end of the route.
+     * @param vertex2 the other end of the route.
+     * @return true if there is a route between them and it is a bridge.
+     * @throws NotPlaceInstanceException if a vertex is not {@link ILocal local} instance.
+     */
+    public boolean isBridgeRoute(T vertex1, T vertex2) throws NotPlaceInstanceException {
+        if (!(vertex1 instanceof ILocal) || !(vertex2 instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.getBiconnectivity().isBridge(this.getIndex(vertex1), this.getIndex(vertex2));
+    }
+
+    /**
+     * Returns the local with the given index.
+     *
+     * @param index index of local.
+     * @return local with the given index, or null if the index is the hole of a removed local.
+     */
+    public ILocal get(int index) {
+        return (ILocal) this.graph.getVertex(index);
+    }
+
+    /**
+     * Returns the index of the local in the graph.
+     *
+     * @param vertex local to be found.
+     * @return index of the local, or -1 if it is not in the graph.
+     */
+    public int getIndex(T vertex) {
+        return this.graph.getIndex(vertex);
+    }
+
+    /**
+     * Checks if the index belongs to a local of the graph.
+     *
+     * @param index index to be checked.
+     * @return true if the index is valid, false otherwise.
+     */
+    public boolean indexIsValid(int index) {
+        return this.graph.indexIsValid(index);
+    }
+
+    /**
+     * Returns all the locals in the graph as an array.
+     *
+     * @return array of the locals.
+     */
+    @Override
+    public T[] getVertices() {
+        return this.graph.getVertices();
+    }
+
+    /**
+     * Adds a local to the graph.
+     *
+     * @param vertex local to be added.
+     */
+    @Override
+    public void addVertex(T vertex) {
+        this.checkWritable();
+        this.graph.addVertex(vertex);
+        this.modificationCount++;
+
+        int index = this.graph.getIndex(vertex);
+        this.indexType(index);
+        if (this.spatialIndex != null) {
+            this.placeInSpatialIndex(index);
+        }
+        for (DistanceField field : this.distanceFields.values()) {
+            field.vertexAdded(index);
+        }
+        if (this.components != null) {
+            this.components.vertexAdded();
+        }
+        if (this.biconnectivity != null) {
+            this.biconnectivity.vertexAdded();
+        }
+        this.changed();
+    }
+
+    /**
+     * Removes a local from the graph.
+     *
+     * @param vertex local to be removed.
+     */
+    @Override
+    public void removeVertex(T vertex) {
+        this.checkWritable();
+        int index = this.graph.getIndex(vertex);
+        for (DistanceField field : this.distanceFields.values()) {
+            field.vertexRemoving(index);
+        }
+        if (this.components != null) {
+            this.components.vertexRemoving(index);
+        }
+
+        int slots = this.graph.getSlotCount();
+        this.graph.removeVertex(vertex);
+        this.modificationCount++;
+
+        if (this.graph.getSlotCount() < slots) {
+            this.portalIndices.indexRemoved(index);
+            this.connectorIndices.indexRemoved(index);
+            if (this.spatialIndex != null) {
+                this.spatialIndex.indexRemoved(index);
+            }
+        } else {
+            this.portalIndices.remove(index);
+            this.connectorIndices.remove(index);
+            if (this.spatialIndex != null) {
+                this.spatialIndex.remove(index);
+            }
+        }
+        for (DistanceField field : this.distanceFields.values()) {
+            field.vertexRemoved(index);
+        }
+        if (this.components != null) {
+            this.components.vertexRemoved(index);
+        }
+        this.biconnectivity = null;
+        this.changed();
+    }
+
+    /**
+     * Adds a route between two locals, weighing one if the backend is a network.
+     * Nothing changes, not even the modification count, if either local is not in the graph or the route exists.
+     *
+     * @param vertex1 first local.
+     * @param vertex2 second local.
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2) {
+        this.checkWritable();
+        int index1 = this.graph.getIndex(vertex1);
+        int index2 = this.graph.getIndex(vertex2);
+        if (index1 == -1 || index2 == -1 || this.graph.isAdjacent(index1, index2)) {
+            return;
+        }
+
+        if (this.graph instanceof IndexedNetworkADT) {
+            try {
+                ((IndexedNetworkADT<T>) this.graph).addEdge(vertex1, vertex2, 1.0);
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+        } else {
+            this.graph.addEdge(vertex1, vertex2);
+        }
+        this.modificationCount++;
+
+        for (DistanceField field : this.distanceFields.values()) {
+            field.edgeAdded(index1, index2);
+        }
+        if (this.components != null) {
+            this.components.edgeAdded(index1, index2);
+        }
+        if (this.biconnectivity != null && this.incrementalBiconnectivity) {
+            this.biconnectivity.edgeAdded(index1, index2);
+        } else {
+            this.biconnectivity = null;
+        }
+        this.changed();
+    }
+
+    /**
+     * Removes the route between two locals.
+     * Nothing changes, not even the modification count, if there is no such route.
+     *
+     * @param vertex1 first local.
+     * @param vertex2 second local.
+     */
+    @Override
+    public void removeEdge(T vertex1, T vertex2) {
+        this.checkWritable();
+        int index1 = this.graph.getIndex(vertex1);
+        int index2 = this.graph.getIndex(vertex2);
+        if (index1 == -1 || index2 == -1 || !this.graph.isAdjacent(index1, index2)) {
+            return;
+        }
+
+        this.graph.removeEdge(vertex1, vertex2);
+        this.modificationCount++;
+
+        for (DistanceField field : this.distanceFields.values()) {
+            field.edgeRemoved(index1, index2);
+        }
+        if (this.components != null) {
+            this.components.edgeRemoved(index1, index2);
+        }
+        this.biconnectivity = null;
+        this.changed();
+    }
+
+    /**
+     * Returns a breadth first iterator starting with the given local.
+     *
+     * @param startVertex starting local.
+     * @return breadth first iterator.
+     */
+    @Override
+    public Iterator<T> iteratorBFS(T startVertex) {
+        return this.graph.iteratorBFS(startVertex);
+    }
+
+    /**
+     * Returns a depth first iterator starting with the given local.
+     *
+     * @param startVertex starting local.
+     * @return depth first iterator.
+     */
+    @Override
+    public Iterator<T> iteratorDFS(T startVertex) {
+        return this.graph.iteratorDFS(startVertex);
+    }
+
+    /**
+     * Returns an iterator with the shortest path between two locals.
+     *
+     * @param startVertex  starting local.
+     * @param targetVertex target local.
+     * @return iterator with the path.
+     */
+    @Override
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex) {
+        return this.graph.iteratorShortestPath(startVertex, targetVertex);
+    }
+
+    /**
+     * Checks if the graph has no locals.
+     *
+     * @return true if the graph is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.graph.isEmpty();
+    }
+
+    /**
+     * Checks if every local can be reached from every other local.
+     * Answered from the connected components kept by the graph, without a search.
+     *
+     * @return true if the graph is connected.
+     */
+    @Override
+    public boolean isConnected() {
+        return this.getComponents().isConnected();
+    }
+
+    /**
+     * Gets the number of locals in the graph.
+     *
+     * @return number of locals.
+     */
+    @Override
+    public int size() {
+        return this.graph.size();
+    }
+
+    /**
+     * Gets the number of index slots, one more than the highest index of a local.
+     *
+     * @return number of index slots.
+     */
+    @Override
+    public int getSlotCount() {
+        return this.graph.getSlotCount();
+    }
+
+    /**
+     * Closes the holes left by removed locals so that their indices are contiguous again.
+     * Everything kept by index is rebuilt, so this is best scheduled while the map is idle.
+     */
+    @Override
+    public void compact() {
+        this.checkWritable();
+        this.graph.compact();
+        this.modificationCount++;
+        this.rebuildTypeIndices();
+        this.spatialIndex = null;
+        this.biconnectivity = null;
+
+        for (DistanceField field : this.distanceFields.values()) {
+            field.rebuild();
+        }
+        if (this.components != null) {
+            this.components.rebuild();
+        }
+        this.changed();
+    }
+
+    /**
+     * Returns a string representation of the graph.
+     *
+     * @return string representation of the graph.
+     */
+    @Override
+    public String toString() {
+        return this.graph.toString();
+    }
+
+    /**
+     * Gets the number of {@link Connector connectores} in graph, kept as locals are added and removed.
+     *
+     * @return the number of {@link Connector connectores} in graph.
+     */
+    @Override
+    public int getNumberOfConnectores() {
+        return this.connectorIndices.size();
+    }
+
+    /**
+     * Gets the number of {@link Portal portals} in graph, kept as locals are added and removed.
+     *
+     * @return the number of {@link Portal portals} in graph.
+     */
+    @Override
+    public int getNumberOfPortals() {
+        return this.portalIndices.size();
+    }
+
+    /**
+     * Gets the connectores on graph.
+     *
+     * The locals are read from the graph as the iterator advances, so no list is built, and
+     * the iterator fails with a {@link ConcurrentModificationException} if the graph changes meanwhile.
+     *
+     * @return iterator of connectores.
+     */
+    @Override
+    public Iterator<IConnector> getConnectores() {
+        return new TypeIterator<>(this.connectorIndices);
+    }
+
+    /**
+     * Gets the Portals on graph.
+     *
+     * The locals are read from the graph as the iterator advances, so no list is built, and
+     * the iterator fails with a {@link ConcurrentModificationException} if the graph changes meanwhile.
+     *
+     * @return iterator of portals.
+     */
+    @Override
+    public Iterator<IPortal> getPortals() {
+        return new TypeIterator<>(this.portalIndices);
+    }
+
+    /**
+     * Gets the paths existences on the graph
+     *
+     * @return iterator of paths.
+     */
+    @Override
+    public Iterator<IRoute<ILocal>> getRoutes() {
+        UnorderedListADT<IRoute<ILocal>> resultList = new ArrayUnorderedList<>();
+        for (int i = 0; i < this.graph.getSlotCount(); i++) {
+            for (int j : this.graph.getNeighbourIndices(i)) {
+                if (j >= i) {
+                    Local tempVertix1 = (Local) this.graph.getVertex(i);
+                    Local tempVertix2 = (Local) this.graph.getVertex(j);
+                    Route<ILocal> path = new Route(tempVertix1.getId(), tempVertix2.getId());
+                    resultList.addToRear(path);
+                }
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Shortest path between two points.
+     *
+     * @param source  starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @return iterator with the path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    @Override
+    public Iterator<ILocal> shortestPathBetweenTwoPoints(T source, T destiny) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        return this.shortestPath(SearchType.UNRESTRICTED, source, destiny);
+    }
+
+    /**
+     * Shortest path considering crossing only through portals.
+     *
+     * @param source  starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @return iterator with the path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    @Override
+    public Iterator<ILocal> shortestPathWithOnlyPortals(T source, T destiny) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        return this.shortestPath(SearchType.PORTAL_ONLY, source, destiny);
+    }
+
+    /**
+     * Shortest path with crossing only by connectors.
+     *
+     * @param source  starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @return iterator with the path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    @Override
+    public Iterator<ILocal> shortestPathWithOnlyConnectors(T source, T destiny) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        return this.shortestPath(SearchType.CONNECTOR_ONLY, source, destiny);
+    }
+
+    /**
+     * Shortest path between two points, crossing through at least one connector.
+     * @param source starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @return iterator with the path.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    @Override
+    public Iterator<ILocal> shortestPathAtleastOneConnector(T source, T destiny) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        return this.shortestPath(SearchType.CONNECTOR_REQUIRED, source, destiny);
+    }
+
+    /**
+     * Shortest path between two locals for the type of search, answered from the path cache when it is enabled.
+     *
+     * @param typeOfSearch type of search.
+     * @param source starting point.
+     * @param destiny Point of arrival.
+     * @return iterator with the path, empty if there is no path.
+     */
+    private Iterator<ILocal> shortestPath(SearchType typeOfSearch, T source, T destiny) {
+        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
+        int startIndex = this.getIndex(source);
+        int targetIndex = this.getIndex(destiny);
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return resultList.iterator();
+        }
+
+        LRUCache<PathKey, ILocal[]> cache = this.readOnly ? null : this.getPathCache();
+        PathKey key = null;
+        if (cache != null) {
+            key = new PathKey(((ILocal) source).getId(), ((ILocal) destiny).getId(), typeOfSearch);
+            ILocal[] cached = cache.get(key);
+
+            if (cached != null) {
+                for (ILocal local : cached) {
+                    resultList.addToRear(local);
+                }
+                return resultList.iterator();
+            }
+        }
+
+        for (int i : this.shortestPathIndices(typeOfSearch, startIndex, targetIndex)) {
+            resultList.addToRear(this.get(i));
+        }
+
+        if (cache != null) {
+            ILocal[] path = new ILocal[resultList.size()];
+            int i = 0;
+            for (ILocal local : resultList) {
+                path[i++] = local;
+            }
+            cache.put(key, path);
+        }
+
+        return resultList.iterator();
+    }
+
+    /**
+     * Shortest path between two locals that a player with the given energy can walk.
+     * Every route costs the same amount of energy and arriving at a connector recharges the amount of energy it has,
+     * up to the maximum energy. A route can only be taken with at least its cost in energy.
+     *
+     * @param source starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @param startEnergy energy available at the starting point.
+     * @param moveCost energy spent on each route.
+     * @param maxEnergy maximum energy the player can hold.
+     * @return the path, its number of routes as cost and the number of labels settled; empty if no path is feasible.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public WeightedPath<ILocal> shortestPathWithEnergy(T source, T destiny, int startEnergy, int moveCost, int maxEnergy) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+
+        if (startEnergy < 0 || moveCost < 0 || maxEnergy < startEnergy) {
+            throw new IllegalArgumentException("Energy values must be positive and the start energy cannot exceed the maximum.");
+        }
+
+        int startIndex = this.getIndex(source);
+        int targetIndex = this.getIndex(destiny);
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return WeightedPath.unreachable(0);
+        }
+
+        return this.energySearch(startIndex, targetIndex, startEnergy, moveCost, maxEnergy);
+    }
+
+    /**
+     * Shortest path between two locals that the player can walk with their current energy.
+     *
+     * @param source starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @param player player that walks the path.
+     * @param moveCost energy spent on each route.
+     * @return the path, its number of routes as cost and the number of labels settled; empty if no path is feasible.
+     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     */
+    public WeightedPath<ILocal> shortestPathWithEnergy(T source, T destiny, IPlayer player, int moveCost) throws NotPlaceInstanceException {
+        return this.shortestPathWithEnergy(source, destiny, player.getCurrentEnergy(), moveCost, Math.max(player.getMaxEnergy(), player.getCurrentEnergy()));
+    }
+
+    /**
+     * Label-setting search over (local, energy left) labels.
+     * Labels are settled in order of routes taken, so a new label at a local is dominated, and dropped,
+     * when an earlier label at that local already had at least as much energy.
+     * Each local therefore keeps only labels of strictly growing energy, at most maxEnergy + 1 of them.
+     *
+     * @param startIndex start index.
+     * @param targetIndex target index.
+     * @param startEnergy energy available at the starting point.
+     * @param moveCost energy spent on each route.
+     * @param maxEnergy maximum energy the player can hold.
+     * @return the path, its number of routes as cost and the number of labels settled.
+     */
+    private WeightedPath<ILocal> energySearch(int startIndex, int targetIndex, int startEnergy, int moveCost, int maxEnergy) {
+        int numVertices = this.graph.getSlotCount();
+        int[] bestEnergy = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            bestEnergy[i] = -1;
+        }
+
+        // labels in the order they were created, which is also the order they are settled in
+        int capacity = numVertices;
+        int[] labelVertex = new int[capacity];
+        int[] labelEnergy = new int[capacity];
+        int[] labelParent = new int[capacity];
+        int[] labelMoves = new int[capacity];
+        int count = 1;
+        int settled = 0;
+
+        labelVertex[0] = startIndex;
+        labelEnergy[0] = startEnergy;
+        labelParent[0] = -1;
+        labelMoves[0] = 0;
+        bestEnergy[startIndex] = startEnergy;
+
+        while (settled < count) {
+            int label = settled++;
+            int index = labelVertex[label];
+
+            if (index == targetIndex) {
+                ArrayUnorderedList<ILocal> path = new ArrayUnorderedList<>();
+                for (int current = label; current != -1; current = labelParent[current]) {
+                    path.addToFront(this.get(labelVertex[current]));
+                }
+                return new WeightedPath<>(path, labelMoves[label], settled);
+            }
+
+            if (labelEnergy[label] < moveCost) {
+                continue;
+            }
+
+            for (int i : this.graph.getNeighbourIndices(index)) {
+                int energy = labelEnergy[label] - moveCost;
+                ILocal local = this.get(i);
+                if (local instanceof IConnector) {
+                    energy = (int) Math.min((long) maxEnergy, (long) energy + local.getAmountEnergyItHas());
+                }
+
+                if (energy <= bestEnergy[i]) {
+                    continue;
+                }
+                bestEnergy[i] = energy;
+
+                if (count == capacity) {
+                    capacity *= 2;
+                    labelVertex = Arrays.copyOf(labelVertex, capacity);
+                    labelEnergy = Arrays.copyOf(labelEnergy, capacity);
+                    labelParent = Arrays.copyOf(labelParent, capacity);
+                    labelMoves = Arrays.copyOf(labelMoves, capacity);
+                }
+                labelVertex[count] = i;
+                labelEnergy[count] = energy;
+                labelParent[count] = label;
+                labelMoves[count] = labelMoves[label] + 1;
+                count++;
+            }
+        }
+
+        return WeightedPath.unreachable(settled);
+    }
+
+    /**
+     * Returns the nearest local lookup for the given key, building it with one multi-source search the first time.
+     *
+     * @param key what the lookup looks for.
+     * @param isTarget which locals the lookup looks for.
+     * @return the distance field of the lookup.
+     */
+    private DistanceField getDistanceField(String key, IntPredicate isTarget) {
+        DistanceField field = this.distanceFields.get(key);
+        if (field == null) {
+            DistanceField built = new DistanceField(this.graph, isTarget);
+            field = this.distanceFields.putIfAbsent(key, built);
+            if (field == null) {
+                field = built;
+            }
+        }
+        return field;
     }
 
     /**
-     * Counts the number of instances that exists of type.
+     * Returns the nearest enemy portal lookup of a team. Each lookup is as large as the map and is repaired on every
+     * change, so only the {@link #MAX_ENEMY_PORTAL_FIELDS} teams asked about most recently keep theirs.
      *
-     * @param type object to be compared.
-     * @param <T>  type of to be compared.
-     * @return number of times.
+     * @param team team of the player asking.
+     * @return the distance field of the lookup.
      */
-    private <T extends ILocal> int getNumberOf(T type) {
-        int count = 0;
-        for (int i = 0; i < super.numVertices; i++) {
-            if (super.vertices[i].getClass().isInstance(type)) {
-                count++;
+    private DistanceField getEnemyPortalField(String team) {
+        String key = NEAREST_ENEMY_PORTAL + team;
+        this.enemyPortalUses.put(key, this.enemyPortalTicks.incrementAndGet());
+
+        if (this.enemyPortalUses.size() > MAX_ENEMY_PORTAL_FIELDS) {
+            Map.Entry<String, Long> eldest = null;
+            for (Map.Entry<String, Long> use : this.enemyPortalUses.entrySet()) {
+                if (eldest == null || use.getValue() < eldest.getValue()) {
+                    eldest = use;
+                }
+            }
+            // a team asked about again meanwhile has a newer tick and keeps its lookup
+            if (this.enemyPortalUses.remove(eldest.getKey(), eldest.getValue())) {
+                this.distanceFields.remove(eldest.getKey());
             }
         }
-        return count;
+        return this.getDistanceField(key, this.enemyPortalFilter(team));
     }
 
     /**
-     * Returns the iterator of the shortest path between two vertices determined by the type of search.
-     * @param typeOfSearch type of search.
-     * @param startIndex start index.
-     * @param targetIndex target index.
-     * @return iterator of the shortest path.
-     * @throws EmptyCollectionException if the collection is empty.
-     * @throws NullException if the object is null.
+     * Returns the local a distance field points to from the given local.
+     *
+     * @param field distance field.
+     * @param vertex local to start from.
+     * @return the nearest local, or null if none can be reached.
      */
-    private Iterator<Integer> iteratorShortestPathIndices(SearchType typeOfSearch, int startIndex, int targetIndex) throws EmptyCollectionException, NullException {
-        int index = startIndex;
-        int[] pathLength = new int[this.numVertices];
-        int[] predecessor = new int[this.numVertices];
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<>();
-        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
+    private ILocal nearestIn(DistanceField field, T vertex) {
+        int nearest = field.getNearest(this.getIndex(vertex));
+        return nearest == -1 ? null : this.get(nearest);
+    }
 
-        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)
-                || (startIndex == targetIndex)) {
-            return resultList.iterator();
-        }
+    /**
+     * Returns a filter that accepts the portals that belong to no team.
+     *
+     * @return filter over the indices of the graph.
+     */
+    private IntPredicate neutralPortalFilter() {
+        return vertex -> this.graph.getVertex(vertex) instanceof IPortal
+                && "NEUTRAL".equals(((IPortal) this.graph.getVertex(vertex)).getPlayerTeam());
+    }
 
-        boolean[] visited = new boolean[this.numVertices];
-        for (int i = 0; i < this.numVertices; i++) {
-            visited[i] = false;
-        }
+    /**
+     * Returns a filter that accepts the portals owned by a team other than the given one.
+     *
+     * @param team team of the player.
+     * @return filter over the indices of the graph.
+     */
+    private IntPredicate enemyPortalFilter(String team) {
+        return vertex -> {
+            if (!(this.graph.getVertex(vertex) instanceof IPortal)) {
+                return false;
+            }
+            String owner = ((IPortal) this.graph.getVertex(vertex)).getPlayerTeam();
+            return owner != null && !owner.equals("NEUTRAL") && !owner.equals(team);
+        };
+    }
 
-        traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
-        pathLength[startIndex] = 0;
-        predecessor[startIndex] = -1;
+    /**
+     * Subscription to the shortest path between two locals, kept up to date as routes and locals change.
+     */
+    public final class PathSubscription {
+
+        /**
+         * Starting point of the path.
+         */
+        private final T source;
+
+        /**
+         * Point of arrival of the path.
+         */
+        private final T destiny;
+
+        /**
+         * Listener told when the path changes.
+         */
+        private final IPathListener listener;
+
+        /**
+         * Key of the shortest path tree to the destiny.
+         */
+        private final String key;
+
+        /**
+         * Latest path, empty if the destiny cannot be reached.
+         */
+        private ILocal[] path;
+
+        /**
+         * Constructor of PathSubscription.
+         *
+         * @param source starting point of the path.
+         * @param destiny Point of arrival of the path.
+         * @param listener listener told when the path changes.
+         * @param key key of the shortest path tree to the destiny.
+         */
+        private PathSubscription(T source, T destiny, IPathListener listener, String key) {
+            this.source = source;
+            this.destiny = destiny;
+            this.listener = listener;
+            this.key = key;
+            this.path = new ILocal[0];
+        }
 
-        ArrayUnorderedList<Integer> visitedConnectors = new ArrayUnorderedList<>();
+        /**
+         * Gets the starting point of the path.
+         *
+         * @return starting point.
+         */
+        public T getSource() {
+            return this.source;
+        }
 
-        if (typeOfSearch == SearchType.CONNECTOR_ONLY) {
-            while (!traversalQueue.isEmpty() && (index != targetIndex)) {
-                index = (traversalQueue.dequeue());
+        /**
+         * Gets the point of arrival of the path.
+         *
+         * @return point of arrival.
+         */
+        public T getDestiny() {
+            return this.destiny;
+        }
 
-                // Update the pathLength for each unvisited vertex adjacent to the vertex at the current index
-                for (int i = 0; i < this.numVertices; i++) {
-                    if (this.adjMatrix[index][i] && !visited[i] && this.vertices[i] instanceof IConnector) {
-                        pathLength[i] = pathLength[index] + 1;
-                        predecessor[i] = index;
-                        traversalQueue.enqueue(i);
-                        visited[i] = true;
-                    }
-                }
+        /**
+         * Gets the latest shortest path.
+         *
+         * @return iterator with the path, empty if the destiny cannot be reached.
+         */
+        public Iterator<ILocal> getPath() {
+            synchronized (PathGameGraph.this) {
+                return pathIterator(this.path);
             }
-        } else if (typeOfSearch == SearchType.PORTAL_ONLY) {
-            while (!traversalQueue.isEmpty() && (index != targetIndex)) {
-                index = (traversalQueue.dequeue());
-
-                // Update the pathLength for each unvisited vertex adjacent to the vertex at the current index
-                for (int i = 0; i < this.numVertices; i++) {
-                    if (this.adjMatrix[index][i] && !visited[i] && this.vertices[i] instanceof IPortal) {
-                        pathLength[i] = pathLength[index] + 1;
-                        predecessor[i] = index;
-                        traversalQueue.enqueue(i);
-                        visited[i] = true;
-                    }
-                }
+        }
+
+        /**
+         * Gets the number of routes of the latest shortest path.
+         *
+         * @return number of routes, or -1 if the destiny cannot be reached.
+         */
+        public int getDistance() {
+            synchronized (PathGameGraph.this) {
+                return this.path.length - 1;
             }
-        } else if (typeOfSearch == SearchType.CONNECTOR_REQUIRED) {
-            int numberOfTimesStartIndexIsVisited = 0;
-            while (!traversalQueue.isEmpty()) {
-                index = (traversalQueue.dequeue());
-
-                // Update the pathLength for each unvisited vertex adjacent to the vertex at the current index
-                for (int i = 0; i < this.numVertices; i++) {
-                    if (this.adjMatrix[index][i] && !visited[i]) {
-                        pathLength[i] = pathLength[index] + 1;
-                        predecessor[i] = index;
-                        traversalQueue.enqueue(i);
-                        visited[i] = true;
-
-                        Local local = (Local) this.vertices[i];
-
-                        // if the vertex is a connector, mark it as visited
-                        if (local.getLocalType().equals("Connector")) {
-                            visitedConnectors.addToRear(i);
-                        }
-                    }
+        }
+
+        /**
+         * Stops following the path. Once the last subscription to a destiny is cancelled its tree is dropped.
+         */
+        public void cancel() {
+            unsubscribePath(this);
+        }
+    }
+
+    /**
+     * Follows the shortest path between two locals, telling the listener whenever a change to the map gives it a
+     * different path. Every subscription to the same destiny shares one shortest path tree, which each added or
+     * removed route repairs only where it is affected, and only the subscriptions whose starting point was reached
+     * by a repair have their path looked at again.
+     *
+     * @param source starting point, starting point
+     * @param destiny Point of arrival, place where you want to go
+     * @param listener listener told when the path changes.
+     * @return the subscription, which holds the current path and can be cancelled.
+     * @throws NotPlaceInstanceException if source or destiny is not {@link ILocal local} instance.
+     */
+    public synchronized PathSubscription subscribePath(T source, T destiny, IPathListener listener) throws NotPlaceInstanceException {
+        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener cannot be null!");
+        }
+        this.checkWritable();
+
+        // keyed by id like the path cache, since locals of different types may share a name
+        String key = PATH_TREE + ((ILocal) destiny).getId();
+        DistanceField field = this.getDistanceField(key, vertex -> destiny.equals(this.graph.getVertex(vertex)));
+        field.trackChanges();
+
+        PathSubscription subscription = new PathSubscription(source, destiny, listener, key);
+        subscription.path = this.pathInTree(field, subscription.source);
+        this.pathSubscriptions.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Drops a subscription, and the tree of its destiny if no other subscription uses it.
+     *
+     * @param subscription subscription to be dropped.
+     */
+    private synchronized void unsubscribePath(PathSubscription subscription) {
+        LinkedHashSet<PathSubscription> subscriptions = this.pathSubscriptions.get(subscription.key);
+        if (subscriptions != null && subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+            this.pathSubscriptions.remove(subscription.key);
+            this.distanceFields.remove(subscription.key);
+        }
+    }
+
+    /**
+     * Looks again at the subscriptions whose starting point was reached by the latest repairs of their trees,
+     * and prepares a notification for each one whose path is now different.
+     *
+     * @return the notifications, to be run once the lock is released.
+     */
+    private synchronized ArrayUnorderedList<Runnable> collectPathChanges() {
+        ArrayUnorderedList<Runnable> notifications = new ArrayUnorderedList<>();
+
+        for (LinkedHashSet<PathSubscription> subscriptions : this.pathSubscriptions.values()) {
+            DistanceField field = this.distanceFields.get(subscriptions.iterator().next().key);
+            for (PathSubscription subscription : subscriptions) {
+                int index = this.getIndex(subscription.source);
+                if (index != -1 && !field.hasChanged(index)) {
+                    continue;
                 }
 
-                // if the target index was reached and a connector was visited, break the loop
-                // otherwise, if a connector was not visited, continue the loop
-                if (index == targetIndex && !visitedConnectors.isEmpty()) {
-                    break;
+                ILocal[] path = this.pathInTree(field, subscription.source);
+                if (!Arrays.equals(path, subscription.path)) {
+                    subscription.path = path;
+                    ILocal source = (ILocal) subscription.source;
+                    ILocal destiny = (ILocal) subscription.destiny;
+                    notifications.addToRear(() -> subscription.listener.pathChanged(source, destiny, pathIterator(path)));
                 }
             }
+            field.clearChanges();
         }
+        return notifications;
+    }
 
-        // no path must have been found
-        if (index != targetIndex) {
-            return resultList.iterator();
+    /**
+     * Follows a shortest path tree from a local to its root.
+     *
+     * @param field shortest path tree.
+     * @param source local to start from.
+     * @return the locals of the path, empty if the root cannot be reached.
+     */
+    private ILocal[] pathInTree(DistanceField field, T source) {
+        int index = this.getIndex(source);
+        int distance = field.getDistance(index);
+        if (distance == -1) {
+            return new ILocal[0];
         }
 
-        LinkedStack<Integer> stack = new LinkedStack<>();
-        index = targetIndex;
-        stack.push(index);
-        do {
-            index = predecessor[index];
-            stack.push(index);
-        } while (index != startIndex);
-
-        while (!stack.isEmpty()) {
-            resultList.addToRear(stack.pop());
+        ILocal[] path = new ILocal[distance + 1];
+        for (int k = 0; k <= distance; k++) {
+            path[k] = this.get(index);
+            index = field.getNextHop(index);
         }
+        return path;
+    }
 
+    /**
+     * Turns a path into an iterator of its locals.
+     *
+     * @param path locals of the path.
+     * @return iterator with the path.
+     */
+    private static Iterator<ILocal> pathIterator(ILocal[] path) {
+        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
+        for (ILocal local : path) {
+            resultList.addToRear(local);
+        }
         return resultList.iterator();
     }
 
     /**
-     * Returns the local with the given index.
+     * Gets the connector closest to a local, counting routes.
+     * The distances to every connector are found at once and then kept up to date as locals and routes change.
      *
-     * @param index index of local.
-     * @return local with the given index.
+     * @param vertex local to start from.
+     * @return the nearest connector, or null if none can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
-    public ILocal get(int index) {
-        return (ILocal) this.vertices[index];
+    @Override
+    public ILocal nearestConnector(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.nearestIn(this.getDistanceField(NEAREST_CONNECTOR, this.localTypeFilter(IConnector.class)), vertex);
     }
 
     /**
-     * Gets the number of {@link Connector connectores} in graph.
+     * Gets the number of routes from a local to the connector closest to it.
      *
-     * @return the number of {@link Connector connectores} in graph.
+     * @param vertex local to start from.
+     * @return number of routes, or -1 if no connector can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
     @Override
-    public int getNumberOfConnectores() {
-        return this.getNumberOf(new Connector(3, 1, "Igreja São Pedro", 100, new Coordinates(90, 45)));
+    public int distanceToNearestConnector(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.getDistanceField(NEAREST_CONNECTOR, this.localTypeFilter(IConnector.class)).getDistance(this.getIndex(vertex));
     }
 
     /**
-     * Gets the number of {@link Portal portals} in graph.
+     * Gets the portal that belongs to no team closest to a local, counting routes.
      *
-     * @return the number of {@link Portal portals} in graph.
+     * @param vertex local to start from.
+     * @return the nearest neutral portal, or null if none can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
-    @Override
-    public int getNumberOfPortals() {
-        return this.getNumberOf(new Portal(100, 5, "Palácio da Pena", 50, new Coordinates(97.55, 60.79)));
+    public ILocal nearestNeutralPortal(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.nearestIn(this.getDistanceField(NEAREST_NEUTRAL_PORTAL, this.neutralPortalFilter()), vertex);
     }
 
     /**
-     * Gets the connectores on graph.
+     * Gets the number of routes from a local to the neutral portal closest to it.
      *
-     * @return iterator of connectores.
+     * @param vertex local to start from.
+     * @return number of routes, or -1 if no neutral portal can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
-    @Override
-    public Iterator<IConnector> getConnectores() {
-        UnorderedListADT<IConnector> resultList = new ArrayUnorderedList<>();
-        for (int i = 0; i < super.numVertices; i++) {
-            if (super.vertices[i] instanceof IConnector) {
-                resultList.addToRear((IConnector) super.vertices[i]);
-            }
+    public int distanceToNearestNeutralPortal(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
         }
-        return resultList.iterator();
+        return this.getDistanceField(NEAREST_NEUTRAL_PORTAL, this.neutralPortalFilter()).getDistance(this.getIndex(vertex));
     }
 
     /**
-     * Gets the Portals on graph.
+     * Gets the portal owned by another team closest to a local, counting routes.
      *
-     * @return iterator of portals.
+     * @param vertex local to start from.
+     * @param team team of the player asking.
+     * @return the nearest enemy portal, or null if none can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
-    @Override
-    public Iterator<IPortal> getPortals() {
-        UnorderedListADT<IPortal> resultList = new ArrayUnorderedList<>();
-        for (int i = 0; i < super.numVertices; i++) {
-            if (super.vertices[i] instanceof IPortal) {
-                resultList.addToRear((IPortal) super.vertices[i]);
-            }
+    public ILocal nearestEnemyPortal(T vertex, String team) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
         }
-        return resultList.iterator();
+        return this.nearestIn(this.getEnemyPortalField(team), vertex);
     }
 
     /**
-     * Gets the paths existences on the graph
+     * Gets the number of routes from a local to the portal owned by another team closest to it.
      *
-     * @return iterator of paths.
+     * @param vertex local to start from.
+     * @param team team of the player asking.
+     * @return number of routes, or -1 if no enemy portal can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
-    @Override
-    public Iterator<IRoute<ILocal>> getRoutes() {
-        UnorderedListADT<IRoute<ILocal>> resultList = new ArrayUnorderedList<>();
-        for (int i = 0; i < super.numVertices; i++) {
-            for (int j = i; j < super.numVertices; j++) {
-                if (super.adjMatrix[i][j]) {
-                    Local tempVertix1 = (Local) super.vertices[i];
-                    Local tempVertix2 = (Local) super.vertices[j];
-                    Route<ILocal> path = new Route(tempVertix1.getId(), tempVertix2.getId());
-                    resultList.addToRear(path);
+    public int distanceToNearestEnemyPortal(T vertex, String team) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
+        }
+        return this.getEnemyPortalField(team).getDistance(this.getIndex(vertex));
+    }
+
+    /**
+     * Returns the spatial index of the coordinates of the locals, building it with one pass over the locals the first time.
+     *
+     * @return the spatial index.
+     */
+    private SpatialGrid getSpatialIndex() {
+        SpatialGrid grid = this.spatialIndex;
+        if (grid == null) {
+            grid = new SpatialGrid(SPATIAL_CELL_SIZE, Coordinates.EARTH_RADIUS);
+            for (int i = 0; i < this.graph.getSlotCount(); i++) {
+                if (this.graph.indexIsValid(i)) {
+                    this.placeInSpatialIndex(grid, i);
                 }
             }
+            this.spatialIndex = grid;
+        }
+        return grid;
+    }
+
+    /**
+     * Puts the local at the index where its coordinates are now in the spatial index.
+     *
+     * @param index index of the local.
+     */
+    private void placeInSpatialIndex(int index) {
+        this.placeInSpatialIndex(this.spatialIndex, index);
+    }
+
+    /**
+     * Puts the local at the index where its coordinates are now in a spatial index,
+     * or takes it out if it has no coordinates.
+     *
+     * @param grid spatial index.
+     * @param index index of the local.
+     */
+    private void placeInSpatialIndex(SpatialGrid grid, int index) {
+        Coordinates coordinates = this.get(index).getCoordinates();
+        if (coordinates == null) {
+            grid.remove(index);
+        } else {
+            grid.add(index, coordinates.getLongitude(), coordinates.getLatitude());
+        }
+    }
+
+    /**
+     * Returns a filter over the indices of the graph for the spatial queries,
+     * answered from the indices of each type for portals and connectors.
+     *
+     * @param localType type of local accepted, or null to accept every local.
+     * @return the filter, or null if every local is accepted.
+     */
+    private IntPredicate spatialFilter(Class<?> localType) {
+        if (localType == null) {
+            return null;
+        }
+        if (localType == IPortal.class) {
+            return this.portalIndices::contains;
+        }
+        if (localType == IConnector.class) {
+            return this.connectorIndices::contains;
+        }
+        return this.localTypeFilter(localType);
+    }
+
+    /**
+     * Turns indices found by the spatial index into an iterator of locals, keeping their order.
+     *
+     * @param indices indices of the locals.
+     * @return iterator of the locals.
+     */
+    private Iterator<ILocal> localsAt(int[] indices) {
+        UnorderedListADT<ILocal> resultList = new ArrayUnorderedList<>();
+        for (int index : indices) {
+            resultList.addToRear(this.get(index));
         }
         return resultList.iterator();
     }
 
     /**
-     * Shortest path between two points.
+     * Gets the locals closest to a position as the crow flies, nearest first.
+     * The locals are kept in a grid by their coordinates, so only the cells around the position are looked at.
      *
-     * @param source  starting point, starting point
-     * @param destiny Point of arrival, place where you want to go
-     * @return iterator with the path.
-     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     * @param longitude longitude of the position.
+     * @param latitude latitude of the position.
+     * @param k number of locals wanted.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with at most k locals.
      */
     @Override
-    public Iterator<ILocal> shortestPathBetweenTwoPoints(T source, T destiny) throws NotPlaceInstanceException {
-        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
-            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
-        }
+    public Iterator<ILocal> nearestLocals(double longitude, double latitude, int k, Class<?> localType) {
+        return this.localsAt(this.getSpatialIndex().nearest(longitude, latitude, k, this.spatialFilter(localType)));
+    }
 
-        Iterator<ILocal> iterator = (Iterator<ILocal>) super.iteratorShortestPath(source, destiny);
-        return iterator;
+    /**
+     * Gets the locals within a distance of a position as the crow flies, nearest first.
+     *
+     * @param longitude longitude of the position.
+     * @param latitude latitude of the position.
+     * @param kilometres largest distance, in kilometres.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with the locals.
+     */
+    @Override
+    public Iterator<ILocal> localsWithinDistance(double longitude, double latitude, double kilometres, Class<?> localType) {
+        return this.localsAt(this.getSpatialIndex().withinDistance(longitude, latitude, kilometres, this.spatialFilter(localType)));
     }
 
     /**
-     * Shortest path considering crossing only through portals.
+     * Gets the locals whose coordinates are inside a box, edges included, in no particular order.
      *
-     * @param source  starting point, starting point
-     * @param destiny Point of arrival, place where you want to go
-     * @return iterator with the path.
-     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     * @param minLongitude western edge of the box.
+     * @param minLatitude southern edge of the box.
+     * @param maxLongitude eastern edge of the box.
+     * @param maxLatitude northern edge of the box.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with the locals.
      */
     @Override
-    public Iterator<ILocal> shortestPathWithOnlyPortals(T source, T destiny) throws NotPlaceInstanceException {
-        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
-            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
-        }
+    public Iterator<ILocal> localsInBoundingBox(double minLongitude, double minLatitude, double maxLongitude,
+                                                double maxLatitude, Class<?> localType) {
+        return this.localsAt(this.getSpatialIndex().inBox(minLongitude, minLatitude, maxLongitude, maxLatitude,
+                this.spatialFilter(localType)));
+    }
 
-        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
-        if (!indexIsValid(this.getIndex(source)) || !indexIsValid(this.getIndex(destiny))) {
-            return resultList.iterator();
-        }
+    /**
+     * Adds routes between locals that are close to each other as the crow flies, as when the routes of a new map are
+     * drawn from the coordinates of its locals. The neighbours of each local are found through the spatial index
+     * rather than by measuring every pair of locals, and the new routes are published as a single batch.
+     *
+     * @param k number of nearest locals each local is joined to, or 0 to join every local within the distance.
+     * @param maxKilometres longest route to be added, in kilometres, or infinity for no limit.
+     * @param pruning whether routes with a local between their ends are left out, to keep the map sparse.
+     * @return number of routes added, not counting the ones that already existed.
+     */
+    @Override
+    public int connectByProximity(int k, double maxKilometres, ProximityGraph.Pruning pruning) {
+        this.checkWritable();
+        int[][] links = new ProximityGraph(this.getSpatialIndex()).connect(k, maxKilometres, pruning);
 
-        Iterator<Integer> it;
+        int added = 0;
+        this.beginBatch();
         try {
-            it = iteratorShortestPathIndices(SearchType.PORTAL_ONLY, this.getIndex(source), this.getIndex(destiny));
+            for (int[] link : links) {
+                if (!this.graph.isAdjacent(link[0], link[1])) {
+                    this.addEdge(this.graph.getVertex(link[0]), this.graph.getVertex(link[1]));
+                    added++;
+                }
+            }
+        } finally {
+            this.endBatch();
+        }
+        return added;
+    }
 
-            while (it.hasNext()) {
-                resultList.addToRear((ILocal) this.vertices[it.next()]);
+    /**
+     * Tells the graph that something about a local changed, such as the team that owns a portal or its coordinates,
+     * so that the nearest local lookups take it into account.
+     *
+     * @param vertex local that changed.
+     */
+    @Override
+    public void updateLocal(T vertex) {
+        this.checkWritable();
+        int index = this.getIndex(vertex);
+        if (index != -1) {
+            this.portalIndices.remove(index);
+            this.connectorIndices.remove(index);
+            this.indexType(index);
+            if (this.spatialIndex != null) {
+                this.placeInSpatialIndex(index);
             }
+        }
+        for (DistanceField field : this.distanceFields.values()) {
+            field.sourceChanged(index);
+        }
+        this.changed();
+    }
 
-        } catch (EmptyCollectionException | NullException e) {
-            e.printStackTrace();
+    /**
+     * Returns the connected components of the graph, building them with one pass over the routes the first time.
+     *
+     * @return the connected components.
+     */
+    private ConnectedComponents getComponents() {
+        ConnectedComponents components = this.components;
+        if (components == null) {
+            components = new ConnectedComponents(this.graph);
+            this.components = components;
         }
+        return components;
+    }
 
-        return resultList.iterator();
+    /**
+     * Gets the number of groups of locals that cannot reach each other.
+     *
+     * @return number of connected components.
+     */
+    @Override
+    public int getNumberOfComponents() {
+        return this.getComponents().getNumberOfComponents();
     }
 
     /**
-     * Shortest path with crossing only by connectors.
+     * Gets an id of the group of locals that can be reached from a local.
+     * Every local of the group has the same id, which is only valid until the graph changes.
      *
-     * @param source  starting point, starting point
-     * @param destiny Point of arrival, place where you want to go
-     * @return iterator with the path.
-     * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     * @param vertex local to check.
+     * @return id of its connected component, or -1 if the local is not in the graph.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
      */
     @Override
-    public Iterator<ILocal> shortestPathWithOnlyConnectors(T source, T destiny) throws NotPlaceInstanceException {
-        if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
-            throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
+    public int getComponentId(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
         }
+        return this.getComponents().getComponent(this.getIndex(vertex));
+    }
 
-        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
-        if (!indexIsValid(this.getIndex(source)) || !indexIsValid(this.getIndex(destiny))) {
-            return resultList.iterator();
+    /**
+     * Gets the number of locals that can be reached from a local, counting itself.
+     *
+     * @param vertex local to check.
+     * @return size of its connected component, or 0 if the local is not in the graph.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    @Override
+    public int getComponentSize(T vertex) throws NotPlaceInstanceException {
+        if (!(vertex instanceof ILocal)) {
+            throw new NotPlaceInstanceException("Vertex is not a ILocal instance.");
         }
+        return this.getComponents().getComponentSize(this.getIndex(vertex));
+    }
 
-        Iterator<Integer> it;
-        try {
-            it = iteratorShortestPathIndices(SearchType.CONNECTOR_ONLY, this.getIndex(source), this.getIndex(destiny));
-
-            while (it.hasNext()) {
-                resultList.addToRear((ILocal) this.vertices[it.next()]);
+    /**
+     * Gets the locals that have no route to any other local.
+     *
+     * @return iterator of isolated locals.
+     */
+    @Override
+    public Iterator<ILocal> getIsolatedLocals() {
+        ConnectedComponents components = this.getComponents();
+        UnorderedListADT<ILocal> resultList = new ArrayUnorderedList<>();
+        for (int i = 0; i < this.graph.getSlotCount(); i++) {
+            if (components.isIsolated(i)) {
+                resultList.addToRear(this.get(i));
             }
-
-        } catch (EmptyCollectionException | NullException e) {
-            e.printStackTrace();
         }
-
         return resultList.iterator();
     }
 
     /**
-     * Shortest path between two points, crossing through at least one connector.
+     * Shortest path in kilometres between two locals, following the coordinates of each local.
+     * Unlike the other searches, which count routes, this one weighs every route by the distance it covers.
+     * Locals without coordinates are never crossed.
+     *
      * @param source starting point, starting point
      * @param destiny Point of arrival, place where you want to go
-     * @return iterator with the path.
+     * @param typeOfSearch which locals the path may cross.
+     * @return the path, its length in kilometres and how many locals were expanded; empty if there is no path.
      * @throws NotPlaceInstanceException if start point is not {@link ILocal local} instance.
+     * @throws IllegalArgumentException if the source or the destiny has no coordinates.
      */
-    @Override
-    public Iterator<ILocal> shortestPathAtleastOneConnector(T source, T destiny) throws NotPlaceInstanceException {
+    public WeightedPath<ILocal> geographicShortestPath(T source, T destiny, SearchType typeOfSearch) throws NotPlaceInstanceException {
         if (!(source instanceof ILocal) || !(destiny instanceof ILocal)) {
             throw new NotPlaceInstanceException("Source or destiny is not a ILocal instance.");
         }
 
-        ArrayUnorderedList<ILocal> resultList = new ArrayUnorderedList<>();
-        if (!indexIsValid(this.getIndex(source)) || !indexIsValid(this.getIndex(destiny))) {
-            return resultList.iterator();
+        int startIndex = this.getIndex(source);
+        int targetIndex = this.getIndex(destiny);
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return WeightedPath.unreachable(0);
+        }
+        if (this.get(startIndex).getCoordinates() == null || this.get(targetIndex).getCoordinates() == null) {
+            throw new IllegalArgumentException("Source and destiny must have coordinates.");
         }
 
-        Iterator<Integer> it;
         try {
-            it = iteratorShortestPathIndices(SearchType.CONNECTOR_REQUIRED, this.getIndex(source), this.getIndex(destiny));
-
-            while (it.hasNext()) {
-                resultList.addToRear((ILocal) this.vertices[it.next()]);
-            }
-
-        } catch (EmptyCollectionException | NullException e) {
+            return this.geographicSearch(typeOfSearch, startIndex, targetIndex);
+        } catch (EmptyCollectionException e) {
             e.printStackTrace();
         }
 
-        return resultList.iterator();
+        return WeightedPath.unreachable(0);
     }
 
     /**
@@ -386,19 +2584,10 @@ public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphAD
         }
 
         ArrayUnorderedList<ILocal> neighours = new ArrayUnorderedList<>();
-        int index = super.getIndex(vertex);
-        int i;
+        int index = this.graph.getIndex(vertex);
 
-        for (i = 0; i < super.numVertices; i++) {
-            if (super.adjMatrix[i][index]) {
-                neighours.addToRear((ILocal) super.vertices[i]);
-            }
-        }
-
-        for (i = 0; i < super.numVertices; i++) {
-            if (super.adjMatrix[index][i] && !neighours.contains((ILocal) super.vertices[i])) {
-                neighours.addToRear((ILocal) super.vertices[i]);
-            }
+        for (int i : this.graph.getNeighbourIndices(index)) {
+            neighours.addToRear((ILocal) this.graph.getVertex(i));
         }
 
         return neighours;
@@ -424,15 +2613,7 @@ public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphAD
             throw new IllegalArgumentException("File name must end with .json");
         }
 
-        int counterIfInsideGraph = 0;
-
-        for (int i = 0; i < this.numVertices; i++) {
-            if (this.vertices[i].toString().equals(source.toString()) || this.vertices[i].toString().equals(destiny.toString())) {
-                counterIfInsideGraph++;
-            }
-        }
-
-        if (counterIfInsideGraph != 2) {
+        if (!this.graph.indexIsValid(this.graph.getIndex(source)) || !this.graph.indexIsValid(this.graph.getIndex(destiny))) {
             throw new IllegalArgumentException("Source or destiny is not inside the graph.");
         }
 
@@ -482,15 +2663,7 @@ public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphAD
             throw new IllegalArgumentException("File name must end with .json");
         }
 
-        int counterIfInsideGraph = 0;
-
-        for (int i = 0; i < this.numVertices; i++) {
-            if (this.vertices[i].toString().equals(source.toString()) || this.vertices[i].toString().equals(destiny.toString())) {
-                counterIfInsideGraph++;
-            }
-        }
-
-        if (counterIfInsideGraph != 2) {
+        if (!this.graph.indexIsValid(this.graph.getIndex(source)) || !this.graph.indexIsValid(this.graph.getIndex(destiny))) {
             throw new IllegalArgumentException("Source or destiny is not inside the graph.");
         }
 
@@ -540,15 +2713,7 @@ public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphAD
             throw new IllegalArgumentException("File name must end with .json");
         }
 
-        int counterIfInsideGraph = 0;
-
-        for (int i = 0; i < this.numVertices; i++) {
-            if (this.vertices[i].toString().equals(source.toString()) || this.vertices[i].toString().equals(destiny.toString())) {
-                counterIfInsideGraph++;
-            }
-        }
-
-        if (counterIfInsideGraph != 2) {
+        if (!this.graph.indexIsValid(this.graph.getIndex(source)) || !this.graph.indexIsValid(this.graph.getIndex(destiny))) {
             throw new IllegalArgumentException("Source or destiny is not inside the graph.");
         }
 
@@ -598,15 +2763,7 @@ public class PathGameGraph<T> extends MatrixGraph<T> implements IPathGameGraphAD
             throw new IllegalArgumentException("File name must end with .json");
         }
 
-        int counterIfInsideGraph = 0;
-
-        for (int i = 0; i < this.numVertices; i++) {
-            if (this.vertices[i].toString().equals(source.toString()) || this.vertices[i].toString().equals(destiny.toString())) {
-                counterIfInsideGraph++;
-            }
-        }
-
-        if (counterIfInsideGraph != 2) {
+        if (!this.graph.indexIsValid(this.graph.getIndex(source)) || !this.graph.indexIsValid(this.graph.getIndex(destiny))) {
             throw new IllegalArgumentException("Source or destiny is not inside the graph.");
         }
 
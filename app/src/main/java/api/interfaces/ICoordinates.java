@@ -31,6 +31,14 @@ public interface ICoordinates {
      */
     public void setLatitude(double latitude);
 
+    /**
+     * Gets the great-circle distance to another location.
+     *
+     * @param other The coordinates of the other location
+     * @return The distance in kilometres
+     */
+    double distanceTo(ICoordinates other);
+
     /**
      * Gets the string representation of the coordinates.
      * @return The string representation of the coordinates
@@ -6,6 +6,7 @@ import api.exceptions.ElementAlreadyExistsException;
 import api.implementation.ConnectorPlayerInteration;
 import collections.exceptions.EmptyCollectionException;
 import collections.implementation.MatrixGraph;
+import collections.implementation.ProximityGraph;
 
 /**
  * Class for managing locations and routes
@@ -36,6 +37,16 @@ public interface ILocalsManagement {
      */
     public String addPath(IRoute route);
 
+    /**
+     * Creates the routes between locals that are close to each other as the crow flies.
+     *
+     * @param k number of nearest locals each local is joined to, or 0 to join every local within the distance
+     * @param maxKilometres longest route to be created, in kilometres, or infinity for no limit
+     * @param pruning whether routes with a local between their ends are left out, to keep the map sparse
+     * @return String with the result of the operation
+     */
+    public String connectLocalsByProximity(int k, double maxKilometres, ProximityGraph.Pruning pruning);
+
     /**
      * Remove a path between two points on graph.
      *
@@ -4,6 +4,7 @@ import java.util.Iterator;
 
 import api.exceptions.NotPlaceInstanceException;
 import collections.implementation.ArrayUnorderedList;
+import collections.implementation.ProximityGraph;
 import collections.interfaces.GraphADT;
 
 /**
@@ -16,10 +17,23 @@ public interface IPathGameGraphADT<T> extends GraphADT<T> {
     /**
      * Returns the local with the given index.
      * @param index index of local.
-     * @return local with the given index.
+     * @return local with the given index, or null if the index is the hole of a removed local.
      */
     ILocal get(int index);
 
+    /**
+     * Gets the number of index slots, one more than the highest index of a local.
+     * It is larger than {@link #size()} while removed locals leave holes, until {@link #compact()} runs.
+     * @return number of index slots.
+     */
+    int getSlotCount();
+
+    /**
+     * Closes the holes left by removed locals so that their indices are contiguous again.
+     * Indices taken before the call become stale.
+     */
+    void compact();
+
     /**
      * Gets the number of connectors in graph.
      * @return the number of connectors in graph.
@@ -130,4 +144,109 @@ public interface IPathGameGraphADT<T> extends GraphADT<T> {
      * @throws NotPlaceInstanceException if source or destiny is not a {@link ILocal local} instance.
      */
     void exportShortestPathAtleastOneConnector(T source, T destiny, String fileName) throws NotPlaceInstanceException;
-}
\ No newline at end of file
+
+    /**
+     * Gets the connector closest to a local, counting routes.
+     * @param vertex local to start from.
+     * @return the nearest connector, or null if none can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    ILocal nearestConnector(T vertex) throws NotPlaceInstanceException;
+
+    /**
+     * Gets the number of routes from a local to the connector closest to it.
+     * @param vertex local to start from.
+     * @return number of routes, or -1 if no connector can be reached.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    int distanceToNearestConnector(T vertex) throws NotPlaceInstanceException;
+
+    /**
+     * Gets the locals closest to a position as the crow flies, nearest first.
+     * @param longitude longitude of the position.
+     * @param latitude latitude of the position.
+     * @param k number of locals wanted.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with at most k locals.
+     */
+    Iterator<ILocal> nearestLocals(double longitude, double latitude, int k, Class<?> localType);
+
+    /**
+     * Gets the locals within a distance of a position as the crow flies, nearest first.
+     * @param longitude longitude of the position.
+     * @param latitude latitude of the position.
+     * @param kilometres largest distance, in kilometres.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with the locals.
+     */
+    Iterator<ILocal> localsWithinDistance(double longitude, double latitude, double kilometres, Class<?> localType);
+
+    /**
+     * Gets the locals whose coordinates are inside a box, edges included, in no particular order.
+     * @param minLongitude western edge of the box.
+     * @param minLatitude southern edge of the box.
+     * @param maxLongitude eastern edge of the box.
+     * @param maxLatitude northern edge of the box.
+     * @param localType type of local wanted, such as {@link IPortal} or {@link IConnector}, or null for any local.
+     * @return iterator with the locals.
+     */
+    Iterator<ILocal> localsInBoundingBox(double minLongitude, double minLatitude, double maxLongitude,
+                                         double maxLatitude, Class<?> localType);
+
+    /**
+     * Adds routes between locals that are close to each other as the crow flies.
+     * @param k number of nearest locals each local is joined to, or 0 to join every local within the distance.
+     * @param maxKilometres longest route to be added, in kilometres, or infinity for no limit.
+     * @param pruning whether routes with a local between their ends are left out, to keep the map sparse.
+     * @return number of routes added, not counting the ones that already existed.
+     */
+    int connectByProximity(int k, double maxKilometres, ProximityGraph.Pruning pruning);
+
+    /**
+     * Tells the graph that something about a local changed, such as the team that owns a portal or its coordinates,
+     * so that the nearest local lookups take it into account.
+     * @param vertex local that changed.
+     */
+    void updateLocal(T vertex);
+
+    /**
+     * Gets the number of groups of locals that cannot reach each other.
+     * @return number of connected components.
+     */
+    int getNumberOfComponents();
+
+    /**
+     * Gets an id of the group of locals that can be reached from a local, shared by the whole group
+     * and only valid until the graph changes.
+     * @param vertex local to check.
+     * @return id of its connected component, or -1 if the local is not in the graph.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    int getComponentId(T vertex) throws NotPlaceInstanceException;
+
+    /**
+     * Gets the number of locals that can be reached from a local, counting itself.
+     * @param vertex local to check.
+     * @return size of its connected component, or 0 if the local is not in the graph.
+     * @throws NotPlaceInstanceException if vertex is not {@link ILocal local} instance.
+     */
+    int getComponentSize(T vertex) throws NotPlaceInstanceException;
+
+    /**
+     * Gets the locals that have no route to any other local.
+     * @return iterator of isolated locals.
+     */
+    Iterator<ILocal> getIsolatedLocals();
+
+    /**
+     * Gets the locals whose loss would split the map, leaving some locals unable to reach others.
+     * @return iterator of articulation locals.
+     */
+    Iterator<ILocal> getArticulationLocals();
+
+    /**
+     * Gets the routes whose loss would split the map, leaving some locals unable to reach others.
+     * @return iterator of bridge routes.
+     */
+    Iterator<IRoute<ILocal>> getBridgeRoutes();
+}
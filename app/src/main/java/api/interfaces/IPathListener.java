@@ -0,0 +1,16 @@
+package api.interfaces;
+
+import java.util.Iterator;
+
+/** Contract of a listener told when the shortest path between two locals changes. */
+public interface IPathListener {
+
+    /**
+     * Called after a change to the map gave a subscribed pair of locals a different shortest path.
+     *
+     * @param source starting point of the path.
+     * @param destiny Point of arrival of the path.
+     * @param path iterator with the new path, empty if the destiny can no longer be reached.
+     */
+    void pathChanged(ILocal source, ILocal destiny, Iterator<ILocal> path);
+}
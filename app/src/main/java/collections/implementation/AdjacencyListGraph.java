@@ -0,0 +1,639 @@
+package collections.implementation;
+
+import collections.exceptions.ElementNotFoundException;
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.NonComparableElementException;
+import collections.exceptions.NullException;
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * AdjacencyListGraph implements the GraphADT interface using a growable array of neighbour indices per vertex.
+ * Memory grows with V + E instead of V², and neighbour enumeration costs O(degree) instead of O(V),
+ * which makes it the better backend for large and sparse maps.
+ * @param <T> the type of elements in this graph
+ */
+public class AdjacencyListGraph<T> implements IndexedGraphADT<T> {
+
+    /**
+     * The default capacity of the graph
+     */
+    protected final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The default capacity of the neighbour array of each vertex
+     */
+    protected final int DEFAULT_DEGREE = 4;
+
+    /**
+     * The number of vertices in the graph
+     */
+    protected int numVertices;
+
+    /**
+     * The neighbour indices of each vertex, only the first degree[i] positions of row i are used
+     */
+    protected int[][] adjacency;
+
+    /**
+     * The number of neighbours of each vertex
+     */
+    protected int[] degree;
+
+    /**
+     * The array of values of the vertices
+     */
+    protected T[] vertices;
+
+    /**
+     * The index of each vertex in the vertices array, so vertices can be resolved without scanning the array
+     */
+    protected HashMap<T, Integer> vertexIndex;
+
+    /**
+     * Creates an empty graph.
+     */
+    @SuppressWarnings("unchecked")
+    public AdjacencyListGraph() {
+        this.numVertices = 0;
+        this.adjacency = new int[DEFAULT_CAPACITY][];
+        this.degree = new int[DEFAULT_CAPACITY];
+        this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
+        this.vertexIndex = new HashMap<>();
+    }
+
+    /**
+     * Returns a reference to the vertex array.
+     * @return a reference to the vertex array
+     */
+    @Override
+    public T[] getVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Adds the specified vertex to this graph.
+     * @param vertex the vertex to be added to this graph
+     */
+    @Override
+    public void addVertex(T vertex) {
+        if (numVertices == vertices.length) {
+            expandCapacity();
+        }
+
+        vertices[numVertices] = vertex;
+        vertexIndex.putIfAbsent(vertex, numVertices);
+        adjacency[numVertices] = new int[DEFAULT_DEGREE];
+        degree[numVertices] = 0;
+        numVertices++;
+    }
+
+    /**
+     * Expands the capacity of the graph by creating larger arrays and copying the contents of the old arrays to the new ones.
+     */
+    @SuppressWarnings("unchecked")
+    protected void expandCapacity() {
+        T[] largerVertices = (T[]) (new Object[vertices.length * 2]);
+        int[][] largerAdjacency = new int[vertices.length * 2][];
+        int[] largerDegree = new int[vertices.length * 2];
+
+        for (int i = 0; i < numVertices; i++) {
+            largerVertices[i] = vertices[i];
+            largerAdjacency[i] = adjacency[i];
+            largerDegree[i] = degree[i];
+        }
+
+        vertices = largerVertices;
+        adjacency = largerAdjacency;
+        degree = largerDegree;
+    }
+
+    /**
+     * Removes a single vertex with the given value from this graph.
+     *
+     * @param vertex the vertex to be removed from this graph
+     */
+    @Override
+    public void removeVertex(T vertex) {
+        int index = getIndex(vertex);
+
+        if (!indexIsValid(index)) {
+            throw new ElementNotFoundException("Vertex not found");
+        }
+
+        removeVertex(index);
+    }
+
+    /**
+     * Removes a single vertex with the given index from this graph.
+     * The vertices after it are shifted down by one, keeping their relative order, so the graph never has holes
+     * and every index above the removed one changes.
+     * This costs O(V + E), since every stored index above the removed one has to be renumbered.
+     *
+     * @param vertex the index of the vertex to be removed from this graph
+     */
+    @Override
+    public void removeVertex(int vertex) {
+        if (!indexIsValid(vertex)) {
+            return;
+        }
+
+        while (degree[vertex] > 0) {
+            removeEdge(vertex, adjacency[vertex][0]);
+        }
+
+        T removed = this.vertices[vertex];
+        this.numVertices--;
+        shiftRowsDown(vertex);
+        this.vertices[this.numVertices] = null;
+        this.adjacency[this.numVertices] = null;
+        this.degree[this.numVertices] = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            for (int j = 0; j < degree[i]; j++) {
+                if (adjacency[i][j] > vertex) {
+                    adjacency[i][j]--;
+                }
+            }
+        }
+
+        reindexAfterRemoval(removed, vertex);
+    }
+
+    /**
+     * Moves every vertex after the given index one position down, overwriting the vertex at that index.
+     * @param index the index that is being vacated
+     */
+    protected void shiftRowsDown(int index) {
+        for (int i = index; i < this.numVertices; i++) {
+            this.vertices[i] = this.vertices[i + 1];
+            this.adjacency[i] = this.adjacency[i + 1];
+            this.degree[i] = this.degree[i + 1];
+        }
+    }
+
+    /**
+     * Adds an edge between two vertices of this graph.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2) {
+        addEdge(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Returns the index of the vertex in the vertices array.
+     * Vertices are resolved through the vertex index, so this is O(1) and relies on the vertex equals and hashCode.
+     * @param vertex the vertex to be found
+     * @return the index of the vertex in the vertices array, or -1 if it is not in the graph
+     */
+    @Override
+    public int getIndex(T vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        Integer index = vertexIndex.get(vertex);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Updates the vertex index after the vertex at the given index was removed and the vertices after it shifted down.
+     * @param removed the vertex that was removed
+     * @param index the index the removed vertex had
+     */
+    protected void reindexAfterRemoval(T removed, int index) {
+        boolean wasIndexed = vertexIndex.remove(removed, index);
+
+        for (int i = index; i < numVertices; i++) {
+            Integer stored = vertexIndex.get(vertices[i]);
+            if (stored != null && stored == i + 1) {
+                vertexIndex.put(vertices[i], i);
+            }
+        }
+
+        // an equal vertex may have been hidden behind the removed one
+        if (wasIndexed) {
+            for (int i = 0; i < numVertices; i++) {
+                if (removed.equals(vertices[i])) {
+                    vertexIndex.putIfAbsent(vertices[i], i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an edge between two vertices of this graph.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     */
+    protected void addEdge(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2) && !isAdjacent(index1, index2)) {
+            appendNeighbour(index1, index2);
+            if (index1 != index2) {
+                appendNeighbour(index2, index1);
+            }
+        }
+    }
+
+    /**
+     * Appends a neighbour to the row of the given vertex, growing the row if it is full.
+     * @param index the index of the vertex
+     * @param neighbour the index of the new neighbour
+     * @return the position of the neighbour in the row
+     */
+    protected int appendNeighbour(int index, int neighbour) {
+        if (degree[index] == adjacency[index].length) {
+            growRow(index, adjacency[index].length * 2);
+        }
+
+        adjacency[index][degree[index]] = neighbour;
+        return degree[index]++;
+    }
+
+    /**
+     * Replaces the row of the given vertex with a larger one.
+     * @param index the index of the vertex
+     * @param capacity the new capacity of the row
+     */
+    protected void growRow(int index, int capacity) {
+        int[] larger = new int[capacity];
+
+        for (int i = 0; i < degree[index]; i++) {
+            larger[i] = adjacency[index][i];
+        }
+        adjacency[index] = larger;
+    }
+
+    /**
+     * Returns the position of a neighbour in the row of the given vertex.
+     * @param index the index of the vertex
+     * @param neighbour the index of the neighbour
+     * @return the position in the row, or -1 if they are not adjacent
+     */
+    protected int findNeighbour(int index, int neighbour) {
+        for (int i = 0; i < degree[index]; i++) {
+            if (adjacency[index][i] == neighbour) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the neighbour at the given position of the row, moving the last neighbour into its place.
+     * @param index the index of the vertex
+     * @param position the position in the row to be removed
+     */
+    protected void removeNeighbourAt(int index, int position) {
+        degree[index]--;
+        adjacency[index][position] = adjacency[index][degree[index]];
+    }
+
+    /**
+     * Checks if the index is valid. The index is valid if it is greater than or equal to 0 and less than the number of vertices.
+     * @param index the index to be checked
+     * @return true if the index is valid, false otherwise
+     */
+    @Override
+    public boolean indexIsValid(int index) {
+        return ((index >= 0) && (index < numVertices));
+    }
+
+    /**
+     * Returns the number of index slots, which is the number of vertices since removals shift the vertices down.
+     * @return the number of index slots
+     */
+    @Override
+    public int getSlotCount() {
+        return this.numVertices;
+    }
+
+    /**
+     * Does nothing, since removals already shift the vertices down and leave no holes.
+     */
+    @Override
+    public void compact() {
+    }
+
+    /**
+     * Returns the vertex stored at the given index.
+     * @param index the index of the vertex
+     * @return the vertex at the given index, or null if the index is not valid
+     */
+    @Override
+    public T getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        return vertices[index];
+    }
+
+    /**
+     * Checks if there is an edge between the two given indices.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if both vertices are adjacent, false otherwise
+     */
+    @Override
+    public boolean isAdjacent(int index1, int index2) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return false;
+        }
+
+        // search the shorter row
+        if (degree[index2] < degree[index1]) {
+            return findNeighbour(index2, index1) != -1;
+        }
+        return findNeighbour(index1, index2) != -1;
+    }
+
+    /**
+     * Returns the indices of the vertices adjacent to the vertex at the given index, in insertion order.
+     * @param index the index of the vertex
+     * @return the indices of the neighbours, empty if the index is not valid
+     */
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        if (!indexIsValid(index)) {
+            return new int[0];
+        }
+
+        int[] neighbours = new int[degree[index]];
+        for (int i = 0; i < degree[index]; i++) {
+            neighbours[i] = adjacency[index][i];
+        }
+        return neighbours;
+    }
+
+    /**
+     * Removes an edge between two vertices of this graph.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void removeEdge(T vertex1, T vertex2) {
+        removeEdge(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Removes an edge between two vertices of this graph.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     */
+    public void removeEdge(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            int position = findNeighbour(index1, index2);
+            if (position != -1) {
+                removeNeighbourAt(index1, position);
+            }
+
+            position = findNeighbour(index2, index1);
+            if (position != -1) {
+                removeNeighbourAt(index2, position);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator that performs a breadth-first traversal starting at the given index.
+     * @param startVertex the starting vertex
+     * @return an iterator that performs a breadth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorBFS(T startVertex) {
+        return iteratorBFS(getIndex(startVertex));
+    }
+
+    /**
+     * Returns an iterator that performs a breadth-first traversal starting at the given index.
+     * @param startIndex the index of the starting vertex
+     * @return an iterator that performs a breadth-first traversal
+     */
+    private Iterator<T> iteratorBFS(int startIndex) {
+        Integer x;
+        LinkedQueue<Integer> traversalQueue = new LinkedQueue<>();
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        boolean[] visited = new boolean[numVertices];
+
+        traversalQueue.enqueue(startIndex);
+        visited[startIndex] = true;
+
+        while (!traversalQueue.isEmpty()) {
+            try {
+                x = traversalQueue.dequeue();
+                resultList.addToRear(vertices[x]);
+
+                // Queue up the neighbours of x that have not been visited
+                for (int i = 0; i < degree[x]; i++) {
+                    int neighbour = adjacency[x][i];
+                    if (!visited[neighbour]) {
+                        traversalQueue.enqueue(neighbour);
+                        visited[neighbour] = true;
+                    }
+                }
+            } catch (EmptyCollectionException ex) {
+                System.out.println(ex.getMessage());
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an ordered list with the immediate neighbours of a vertex.
+     * @param vertex the vertex to be checked
+     * @return an ordered list with the immediate neighbours of a vertex
+     * @throws EmptyCollectionException if the graph is empty
+     * @throws NonComparableElementException if the vertex is not comparable
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayOrderedList<T> getNeighbours(Comparable<T> vertex) throws EmptyCollectionException, NonComparableElementException {
+        if (this.isEmpty()) {
+            throw new EmptyCollectionException("Removing element in empty graph.");
+        }
+
+        int index = this.getIndex((T) vertex);
+        ArrayOrderedList<T> list = new ArrayOrderedList<>();
+
+        if (indexIsValid(index)) {
+            for (int i = 0; i < degree[index]; i++) {
+                list.add(this.vertices[adjacency[index][i]]);
+            }
+        }
+
+        return list;
+    }
+
+    /**
+     * Returns an iterator that performs a depth-first traversal starting at the given index.
+     * @param startVertex the index of the starting vertex
+     * @return an iterator that performs a depth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorDFS(T startVertex) {
+        return iteratorDFS(getIndex(startVertex));
+    }
+
+    /**
+     * Returns an iterator that performs a depth-first traversal starting at the given index.
+     * Each vertex keeps a cursor into its row, so every edge is looked at a constant number of times.
+     * @param startIndex the index of the starting vertex
+     * @return an iterator that performs a depth-first traversal
+     */
+    private Iterator<T> iteratorDFS(int startIndex) {
+        Integer x;
+        boolean found;
+        LinkedStack<Integer> traversalStack = new LinkedStack<>();
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        boolean[] visited = new boolean[numVertices];
+        int[] cursor = new int[numVertices];
+
+        traversalStack.push(startIndex);
+        resultList.addToRear(vertices[startIndex]);
+        visited[startIndex] = true;
+        while (!traversalStack.isEmpty()) {
+            try {
+                x = traversalStack.peek();
+
+                found = false;
+
+                // Find a vertex adjacent to x that has not been visited and push it on the stack
+                while (cursor[x] < degree[x] && !found) {
+                    int neighbour = adjacency[x][cursor[x]++];
+                    if (!visited[neighbour]) {
+                        traversalStack.push(neighbour);
+                        resultList.addToRear(vertices[neighbour]);
+                        visited[neighbour] = true;
+                        found = true;
+                    }
+                }
+                if (!found && !traversalStack.isEmpty()) {
+                    traversalStack.pop();
+                }
+            } catch (NullException ex) {
+                Logger.getLogger(AdjacencyListGraph.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an iterator that returns the shortest path between two vertices.
+     * @param startVertex  the starting vertex
+     * @param targetVertex the ending vertex
+     * @return an iterator that returns the shortest path between two vertices
+     */
+    @Override
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex) {
+        return iteratorShortestPath(getIndex(startVertex), getIndex(targetVertex));
+    }
+
+    /**
+     * Returns an iterator that returns the shortest path between two vertices,
+     * found with a {@link BidirectionalBFS} that searches from both ends until they meet.
+     * @param startIndex  the starting vertex
+     * @param targetIndex the ending vertex
+     * @return an iterator that returns the shortest path between two vertices
+     */
+    private Iterator<T> iteratorShortestPath(int startIndex, int targetIndex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return resultList.iterator();
+        }
+
+        for (int index : new BidirectionalBFS(this).search(startIndex, targetIndex)) {
+            resultList.addToRear(vertices[index]);
+        }
+
+        return resultList.iterator();
+    }
+
+    /**
+     * Checks if the graph is empty.
+     * @return true if the graph is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return (this.numVertices == 0);
+    }
+
+    /**
+     * Checks if the graph is connected.
+     * @return true if the graph is connected, false otherwise
+     */
+    @Override
+    public boolean isConnected() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        Iterator<T> it = iteratorBFS(0);
+        int count = 0;
+
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return (count == numVertices);
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     * @return the number of vertices in the graph
+     */
+    @Override
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns a string representation of the graph.
+     * @return a string representation of the graph
+     */
+    @Override
+    public String toString() {
+        if (numVertices == 0)
+            return "Graph is empty";
+
+        String result = "";
+
+        result += "\n\t\tAdjacency Lists\n";
+        result += "\t\t-----------------------------------------\n";
+        result += "index\tneighbours\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            result += "" + i + "\t";
+
+            for (int j = 0; j < degree[i]; j++) {
+                result += adjacency[i][j] + " ";
+            }
+            result += "\n";
+        }
+
+        result += "\nVertex Values";
+        result += "\n-------------\n";
+        result += "index\tvalue\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            result += "" + i + "\t";
+            result += vertices[i].toString() + "\n";
+        }
+        return result;
+    }
+}
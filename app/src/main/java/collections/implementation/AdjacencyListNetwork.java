@@ -0,0 +1,310 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.UnknownPathException;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Iterator;
+
+/**
+ * Network that implements the NetWorkADT interface on top of adjacency lists.
+ * The weight of each edge is kept in a row parallel to the neighbour row of {@link AdjacencyListGraph},
+ * so a network with E edges only stores E weights instead of a V×V matrix.
+ * @param <T> The type of the elements in the network.
+ */
+public class AdjacencyListNetwork<T> extends AdjacencyListGraph<T> implements IndexedNetworkADT<T> {
+
+    /**
+     * The weights of the edges, weights[i][k] is the weight of the edge to adjacency[i][k].
+     */
+    protected double[][] weights;
+
+    /**
+     * Creates an empty network.
+     */
+    public AdjacencyListNetwork() {
+        super();
+        this.weights = new double[this.DEFAULT_CAPACITY][];
+    }
+
+    /**
+     * Adds the specified vertex to this network.
+     * @param vertex the vertex to be added to this network
+     */
+    @Override
+    public void addVertex(T vertex) {
+        super.addVertex(vertex);
+        this.weights[this.numVertices - 1] = new double[this.adjacency[this.numVertices - 1].length];
+    }
+
+    /**
+     * Expands the capacity of the network, keeping the weight rows aligned with the neighbour rows.
+     */
+    @Override
+    protected void expandCapacity() {
+        double[][] largerWeights = new double[this.vertices.length * 2][];
+
+        for (int i = 0; i < this.numVertices; i++) {
+            largerWeights[i] = this.weights[i];
+        }
+
+        this.weights = largerWeights;
+        super.expandCapacity();
+    }
+
+    /**
+     * Moves every vertex after the given index one position down, together with its weight row.
+     * @param index the index that is being vacated
+     */
+    @Override
+    protected void shiftRowsDown(int index) {
+        for (int i = index; i < this.numVertices; i++) {
+            this.weights[i] = this.weights[i + 1];
+        }
+        this.weights[this.numVertices] = null;
+        super.shiftRowsDown(index);
+    }
+
+    /**
+     * Replaces the neighbour and weight rows of the given vertex with larger ones.
+     * @param index the index of the vertex
+     * @param capacity the new capacity of the rows
+     */
+    @Override
+    protected void growRow(int index, int capacity) {
+        double[] larger = new double[capacity];
+
+        for (int i = 0; i < this.degree[index]; i++) {
+            larger[i] = this.weights[index][i];
+        }
+        this.weights[index] = larger;
+        super.growRow(index, capacity);
+    }
+
+    /**
+     * Removes the neighbour at the given position of the row, moving the last weight along with the last neighbour.
+     * @param index the index of the vertex
+     * @param position the position in the row to be removed
+     */
+    @Override
+    protected void removeNeighbourAt(int index, int position) {
+        this.weights[index][position] = this.weights[index][this.degree[index] - 1];
+        super.removeNeighbourAt(index, position);
+    }
+
+    /**
+     * Adds an edge between the two specified vertices of this network, or updates its weight if it already exists.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @param weight the weight of the edge
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2, double weight) {
+        if (weight < 0.0D) {
+            throw new IllegalArgumentException("The weight cannot be under the default.");
+        }
+
+        int first = this.getIndex(vertex1);
+        int second = this.getIndex(vertex2);
+
+        if (indexIsValid(first) && indexIsValid(second)) {
+            super.addEdge(first, second);
+            this.setEdgeWeight(first, second, weight);
+        }
+    }
+
+    /**
+     * Sets the weight of the edge between the two specified vertices.
+     * @param firstVertex the first vertex
+     * @param secondVertex the second vertex
+     * @param weight the weight of the edge
+     */
+    public void setEdgeWeight(T firstVertex, T secondVertex, double weight) {
+        if (weight < 0.0D) {
+            throw new IllegalArgumentException("The weight cannot be under the default.");
+        }
+
+        this.setEdgeWeight(this.getIndex(firstVertex), this.getIndex(secondVertex), weight);
+    }
+
+    /**
+     * Sets the weight of the edge between the two specified indices, in both directions.
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @param weight the weight of the edge
+     */
+    private void setEdgeWeight(int first, int second, double weight) {
+        if (!indexIsValid(first) || !indexIsValid(second)) {
+            return;
+        }
+
+        int position = this.findNeighbour(first, second);
+        if (position != -1) {
+            this.weights[first][position] = weight;
+        }
+
+        position = this.findNeighbour(second, first);
+        if (position != -1) {
+            this.weights[second][position] = weight;
+        }
+    }
+
+    /**
+     * Returns the weight of the edge between the two specified vertices.
+     * @param firstVertex the first vertex
+     * @param secondVertex the second vertex
+     * @return the weight of the edge, or positive infinity if the vertices are not adjacent
+     */
+    public double getEdgeWeight(T firstVertex, T secondVertex) {
+        return this.getEdgeWeight(this.getIndex(firstVertex), this.getIndex(secondVertex));
+    }
+
+    /**
+     * Returns the weight of the edge between the two specified indices.
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @return the weight of the edge, or positive infinity if the vertices are not adjacent
+     */
+    @Override
+    public double getEdgeWeight(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int position = this.findNeighbour(first, second);
+        if (position == -1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.weights[first][position];
+    }
+
+    /**
+     * Returns an iterator that returns the shortest path between the two specified vertices.
+     * @param startVertex the starting vertex
+     * @param targetVertex the ending vertex
+     * @return an iterator that returns the shortest path between the two specified vertices
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    public Iterator<T> iteratorShortestWeight(T startVertex, T targetVertex) throws UnknownPathException, EmptyCollectionException {
+        return shortestPathWeight(startVertex, targetVertex).iterator();
+    }
+
+    /**
+     * Returns the cheapest path between the two specified vertices.
+     * @param vertex1 the starting vertex
+     * @param vertex2 the ending vertex
+     * @return the shortest path between the two specified vertices
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    @Override
+    public ArrayUnorderedList<T> shortestPathWeight(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
+        return shortestWeightedPath(vertex1, vertex2).getPath();
+    }
+
+    /**
+     * Returns the cheapest path between the two specified vertices and its total cost, using Dijkstra's algorithm
+     * over the neighbour rows with an {@link IndexedMinHeap}, in O((V + E) log V).
+     * @param vertex1 the starting vertex
+     * @param vertex2 the ending vertex
+     * @return the cheapest path between the two specified vertices and its cost
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    @Override
+    public WeightedPath<T> shortestWeightedPath(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Network is empty");
+        }
+
+        int start = getIndex(vertex1);
+        int target = getIndex(vertex2);
+
+        if (!indexIsValid(start) || !indexIsValid(target)) {
+            throw new UnknownPathException("Path doesn't exist");
+        }
+
+        double[] distance = new double[numVertices];
+        int[] predecessor = new int[numVertices];
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
+
+        for (int i = 0; i < numVertices; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+        distance[start] = 0;
+        heap.insert(start, 0);
+        int expanded = 0;
+
+        while (!heap.isEmpty()) {
+            int current = heap.removeMin();
+            expanded++;
+
+            if (current == target) {
+                return WeightedPath.fromPredecessors(vertices, predecessor, target, distance[target], expanded);
+            }
+
+            for (int k = 0; k < degree[current]; k++) {
+                int neighbour = adjacency[current][k];
+                double candidate = distance[current] + weights[current][k];
+                if (candidate < distance[neighbour]) {
+                    distance[neighbour] = candidate;
+                    predecessor[neighbour] = current;
+                    heap.insertOrDecrease(neighbour, candidate);
+                }
+            }
+        }
+
+        throw new UnknownPathException("Path doesn't exist");
+    }
+
+    /**
+     * Returns the minimum spanning forest of the network, built with Kruskal's algorithm in O(E log E).
+     * The result has every vertex of the network, in the same order, and for each connected component the
+     * edges of its minimum spanning tree.
+     * @return the minimum spanning forest of the network
+     */
+    public AdjacencyListNetwork<T> mstNetwork() {
+        AdjacencyListNetwork<T> resultGraph = new AdjacencyListNetwork<>();
+        MinimumSpanningForest forest = new MinimumSpanningForest(this);
+
+        for (int i = 0; i < numVertices; i++) {
+            resultGraph.addVertex(this.vertices[i]);
+        }
+        for (int i = 0; i < forest.getNumberOfEdges(); i++) {
+            resultGraph.addEdge(this.vertices[forest.getFirstEnd(i)], this.vertices[forest.getSecondEnd(i)],
+                    forest.getWeight(i));
+        }
+        return resultGraph;
+    }
+
+    /**
+     * Returns the string representation of the network.
+     * @return the string representation of the network
+     */
+    @Override
+    public String toString() {
+        if (numVertices == 0)
+            return "Graph is empty";
+
+        String result = super.toString();
+
+        //Print the weights of the edges
+        result += "\n\nWeights of Edges";
+        result += "\n----------------\n";
+        result += "index\tweight\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            for (int k = 0; k < degree[i]; k++) {
+                if (adjacency[i][k] > i) {
+                    result += i + " to " + adjacency[i][k] + "\t";
+                    result += weights[i][k] + "\n";
+                }
+            }
+        }
+
+        result += "\n";
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * AllPairsShortestPaths keeps the number of edges of the shortest path between every pair of vertices of an
+ * {@link IndexedGraphADT}, together with the first vertex of that path.
+ * The tables are filled with one breadth-first search per source, run in parallel, in O(V * (V + E)),
+ * after which a path is rebuilt by following the next hops in O(path length).
+ * The tables are a snapshot: they must be built again after the graph changes.
+ * They take 8 bytes per pair of index slots, so they are only built for graphs of at most {@link #MAX_VERTICES} slots,
+ * which is 128 MB; larger graphs should be searched instead.
+ */
+public class AllPairsShortestPaths {
+
+    /**
+     * The largest number of index slots the tables are built for
+     */
+    public static final int MAX_VERTICES = 4096;
+
+    /**
+     * The number of vertices of the graph when the tables were built
+     */
+    private final int numVertices;
+
+    /**
+     * distance[source * numVertices + target] is the number of edges of the shortest path, -1 if there is none
+     */
+    private final int[] distance;
+
+    /**
+     * nextHop[source * numVertices + target] is the vertex after the source in the shortest path, -1 if there is none
+     */
+    private final int[] nextHop;
+
+    /**
+     * Builds the tables for every pair of vertices of the graph.
+     * @param graph the graph, which must not change while the tables are being built
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     * @throws IllegalArgumentException if the graph has more than {@link #MAX_VERTICES} index slots
+     */
+    public AllPairsShortestPaths(IndexedGraphADT<?> graph, IntPredicate allowed) {
+        this.numVertices = graph.getSlotCount();
+        if (this.numVertices > MAX_VERTICES) {
+            long bytes = 8L * this.numVertices * this.numVertices;
+            throw new IllegalArgumentException("All-pairs tables for " + this.numVertices + " slots would take "
+                    + bytes + " bytes; the limit is " + MAX_VERTICES + " slots.");
+        }
+        this.distance = new int[this.numVertices * this.numVertices];
+        this.nextHop = new int[this.numVertices * this.numVertices];
+
+        int[][] neighbours = new int[this.numVertices][];
+        boolean[] accepted = new boolean[this.numVertices];
+        for (int i = 0; i < this.numVertices; i++) {
+            neighbours[i] = graph.getNeighbourIndices(i);
+            accepted[i] = allowed == null || allowed.test(i);
+        }
+
+        IntStream.range(0, this.numVertices).parallel()
+                .forEach(source -> this.searchFrom(source, neighbours, accepted));
+    }
+
+    /**
+     * Fills the row of the given source with a breadth-first search.
+     * @param source the index of the source
+     * @param neighbours the neighbour indices of every vertex
+     * @param accepted the vertices a path may step into
+     */
+    private void searchFrom(int source, int[][] neighbours, boolean[] accepted) {
+        int row = source * this.numVertices;
+        int[] queue = new int[this.numVertices];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            this.distance[row + i] = -1;
+            this.nextHop[row + i] = -1;
+        }
+
+        this.distance[row + source] = 0;
+        queue[tail++] = source;
+
+        while (head < tail) {
+            int index = queue[head++];
+
+            for (int i : neighbours[index]) {
+                if (this.distance[row + i] == -1 && accepted[i]) {
+                    this.distance[row + i] = this.distance[row + index] + 1;
+                    // the first hop is inherited from the predecessor, except for the neighbours of the source
+                    this.nextHop[row + i] = index == source ? i : this.nextHop[row + index];
+                    queue[tail++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of vertices the tables were built for.
+     * @return the number of vertices
+     */
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Checks if the index is inside the tables.
+     * @param index the index to be checked
+     * @return true if the index is inside the tables
+     */
+    private boolean indexIsValid(int index) {
+        return index >= 0 && index < this.numVertices;
+    }
+
+    /**
+     * Returns the number of edges of the shortest path between two vertices.
+     * @param source the index of the source
+     * @param target the index of the target
+     * @return the number of edges of the shortest path, -1 if there is none
+     */
+    public int getDistance(int source, int target) {
+        if (!indexIsValid(source) || !indexIsValid(target)) {
+            return -1;
+        }
+        return this.distance[source * this.numVertices + target];
+    }
+
+    /**
+     * Returns the vertex after the source in the shortest path between two vertices.
+     * @param source the index of the source
+     * @param target the index of the target
+     * @return the index of the next vertex, -1 if there is no path or the source is the target
+     */
+    public int getNextHop(int source, int target) {
+        if (!indexIsValid(source) || !indexIsValid(target)) {
+            return -1;
+        }
+        return this.nextHop[source * this.numVertices + target];
+    }
+
+    /**
+     * Returns the indices of the shortest path between two vertices, following the next hops.
+     * @param source the index of the source
+     * @param target the index of the target
+     * @return the indices of the path from the source to the target, empty if there is no path or the source is the target
+     */
+    public int[] path(int source, int target) {
+        int length = getDistance(source, target);
+        if (length <= 0) {
+            return new int[0];
+        }
+
+        int[] path = new int[length + 1];
+        path[0] = source;
+        for (int i = 1; i <= length; i++) {
+            path[i] = this.nextHop[path[i - 1] * this.numVertices + target];
+        }
+        return path;
+    }
+}
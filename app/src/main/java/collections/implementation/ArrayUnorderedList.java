@@ -21,10 +21,10 @@ public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedList
      */
     @Override
     public void addToFront(T element) {
-        T[] unorderedList = list;
-        if (rear == unorderedList.length - 1) {
+        if (rear == list.length - 1) {
             expandCapacity();
         }
+        T[] unorderedList = list;
         for (int i = rear; i > front; i--) {
             unorderedList[i] = unorderedList[i - 1];
         }
@@ -34,16 +34,16 @@ public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedList
     }
 
     /**
-     * Expands the capacity of the list by one
+     * Doubles the capacity of the list
      */
     private void expandCapacity() {
         T[] unorderedList = list;
-        int tam = unorderedList.length + 1;
+        int tam = unorderedList.length * 2;
         T[] temp = (T[]) (new Object[tam]);
         for (int i = 0; i < rear; i++) {
             temp[i] = unorderedList[i];
         }
-        unorderedList = temp;
+        list = temp;
     }
 
     /**
@@ -52,10 +52,10 @@ public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedList
      */
     @Override
     public void addToRear(T element) {
-        T[] unorderedList = list;
-        if (rear == unorderedList.length - 1) {
+        if (rear == list.length - 1) {
             expandCapacity();
         }
+        T[] unorderedList = list;
         unorderedList[rear] = element;
         rear++;
         modCount++;
@@ -69,10 +69,10 @@ public class ArrayUnorderedList<T> extends ArrayList<T> implements UnorderedList
      */
     @Override
     public void addAfter(T element, T target) throws EmptyCollectionException {
-        T[] unorderedList = list;
-        if (rear == unorderedList.length - 1) {
+        if (rear == list.length - 1) {
             expandCapacity();
         }
+        T[] unorderedList = list;
         int position = 0;
         for (int i = 0; i < rear; i++) {
             if (target.equals(unorderedList[i])) {
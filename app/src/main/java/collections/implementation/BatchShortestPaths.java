@@ -0,0 +1,371 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * BatchShortestPaths answers many shortest path queries of an {@link IndexedGraphADT} at once.
+ * The queries are grouped by source and a single breadth-first search is run from each distinct source,
+ * stopping as soon as every target asked from it was reached, so a batch costs one search per source instead of
+ * one per query. The sources are spread across a {@link ForkJoinPool}.
+ * A path may be limited to the vertices accepted by a filter, and may be required to pass through a vertex of one
+ * kind, in which case the search runs over (vertex, has passed one) states as {@link LayeredBFS} does.
+ * The graph is read once when the search is created, so it may change afterwards without affecting the answers.
+ */
+public class BatchShortestPaths {
+
+    /**
+     * The number of distinct sources below which a task searches them itself instead of splitting them
+     */
+    private static final int SEQUENTIAL_SOURCES = 8;
+
+    /**
+     * The number of index slots of the graph
+     */
+    private final int numVertices;
+
+    /**
+     * The neighbour indices of every vertex
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The slots that held a vertex when the graph was copied
+     */
+    private final boolean[] present;
+
+    /**
+     * The vertices a path may step into
+     */
+    private final boolean[] accepted;
+
+    /**
+     * The vertices that meet the requirement, null if there is none
+     */
+    private final boolean[] required;
+
+    /**
+     * Copies the graph for a batch of searches.
+     * @param graph the graph, which must not change while it is being copied
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     * @param requirement the kind of vertex every path must pass through, ends included, or null for none
+     */
+    public BatchShortestPaths(IndexedGraphADT<?> graph, IntPredicate allowed, IntPredicate requirement) {
+        this.numVertices = graph.getSlotCount();
+        this.neighbours = new int[this.numVertices][];
+        this.present = new boolean[this.numVertices];
+        this.accepted = new boolean[this.numVertices];
+        this.required = requirement == null ? null : new boolean[this.numVertices];
+
+        for (int i = 0; i < this.numVertices; i++) {
+            this.neighbours[i] = graph.getNeighbourIndices(i);
+            this.present[i] = graph.indexIsValid(i);
+            this.accepted[i] = this.present[i] && (allowed == null || allowed.test(i));
+            if (this.required != null) {
+                this.required[i] = this.present[i] && requirement.test(i);
+            }
+        }
+    }
+
+    /**
+     * Answers a batch of queries on the common fork/join pool.
+     * @param sources the index of the start of each query
+     * @param targets the index of the target of each query
+     * @return the path of each query, in the order of the queries
+     */
+    public PathBatch search(int[] sources, int[] targets) {
+        return search(sources, targets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Answers a batch of queries on the given fork/join pool.
+     * @param sources the index of the start of each query
+     * @param targets the index of the target of each query
+     * @param pool the pool the searches run on
+     * @return the path of each query, in the order of the queries
+     */
+    public PathBatch search(int[] sources, int[] targets, ForkJoinPool pool) {
+        if (sources.length != targets.length) {
+            throw new IllegalArgumentException("There must be one target per source.");
+        }
+
+        int count = sources.length;
+        int[][] paths = new int[count][];
+        int[] distances = new int[count];
+
+        // sort the queries by source, so the queries of each source are next to each other
+        long[] keys = new long[count];
+        for (int q = 0; q < count; q++) {
+            keys[q] = ((long) sources[q] << 32) | q;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[count];
+        int[] groupStart = new int[count + 1];
+        int groups = 0;
+        for (int k = 0; k < count; k++) {
+            order[k] = (int) keys[k];
+            if (k == 0 || sources[order[k]] != sources[order[k - 1]]) {
+                groupStart[groups++] = k;
+            }
+        }
+        groupStart[groups] = count;
+
+        pool.invoke(new SourceTask(sources, targets, order, groupStart, 0, groups, paths, distances));
+        return new PathBatch(paths, distances);
+    }
+
+    /**
+     * Searches from a range of the distinct sources, splitting the range in two while it is large.
+     */
+    private final class SourceTask extends RecursiveAction {
+
+        /**
+         * The version of the serialized form, which fork/join tasks inherit but never use
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The start of each query
+         */
+        private final int[] sources;
+
+        /**
+         * The target of each query
+         */
+        private final int[] targets;
+
+        /**
+         * The queries sorted by source
+         */
+        private final int[] order;
+
+        /**
+         * Where the queries of each source start in the order
+         */
+        private final int[] groupStart;
+
+        /**
+         * The first group of this task
+         */
+        private final int from;
+
+        /**
+         * One past the last group of this task
+         */
+        private final int to;
+
+        /**
+         * Where the path of each query is written
+         */
+        private final int[][] paths;
+
+        /**
+         * Where the distance of each query is written
+         */
+        private final int[] distances;
+
+        /**
+         * Creates a task for the groups of queries in [from, to).
+         * @param sources the start of each query
+         * @param targets the target of each query
+         * @param order the queries sorted by source
+         * @param groupStart where the queries of each source start in the order
+         * @param from the first group
+         * @param to one past the last group
+         * @param paths where the path of each query is written
+         * @param distances where the distance of each query is written
+         */
+        private SourceTask(int[] sources, int[] targets, int[] order, int[] groupStart, int from, int to,
+                           int[][] paths, int[] distances) {
+            this.sources = sources;
+            this.targets = targets;
+            this.order = order;
+            this.groupStart = groupStart;
+            this.from = from;
+            this.to = to;
+            this.paths = paths;
+            this.distances = distances;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > SEQUENTIAL_SOURCES) {
+                int middle = (this.from + this.to) >>> 1;
+                invokeAll(new SourceTask(this.sources, this.targets, this.order, this.groupStart, this.from, middle,
+                                this.paths, this.distances),
+                        new SourceTask(this.sources, this.targets, this.order, this.groupStart, middle, this.to,
+                                this.paths, this.distances));
+                return;
+            }
+
+            Search search = new Search();
+            for (int group = this.from; group < this.to; group++) {
+                search.run(this.sources, this.targets, this.order, this.groupStart[group], this.groupStart[group + 1],
+                        this.paths, this.distances);
+            }
+        }
+    }
+
+    /**
+     * The arrays of one breadth-first search, reused by every source searched in the same task.
+     */
+    private final class Search {
+
+        /**
+         * The number of states, one or two per vertex
+         */
+        private final int numStates;
+
+        /**
+         * The stamp of the last search that reached each state, so the arrays need no clearing
+         */
+        private final int[] reached;
+
+        /**
+         * The stamp of the last search that asked for each state as a target
+         */
+        private final int[] wanted;
+
+        /**
+         * The state each state was reached from
+         */
+        private final int[] predecessor;
+
+        /**
+         * The number of edges from the source to each state
+         */
+        private final int[] distance;
+
+        /**
+         * The states waiting to be expanded
+         */
+        private final int[] queue;
+
+        /**
+         * The stamp of the current search
+         */
+        private int stamp;
+
+        /**
+         * Creates the arrays of a search.
+         */
+        private Search() {
+            this.numStates = (required == null ? 1 : 2) * numVertices;
+            this.reached = new int[this.numStates];
+            this.wanted = new int[this.numStates];
+            this.predecessor = new int[this.numStates];
+            this.distance = new int[this.numStates];
+            this.queue = new int[this.numStates];
+            this.stamp = 0;
+        }
+
+        /**
+         * Returns the state in which a path ends at the target.
+         * @param target the index of the target
+         * @return the index of the state
+         */
+        private int goal(int target) {
+            return required == null ? target : target + numVertices;
+        }
+
+        /**
+         * Searches from the source of a group of queries and writes the path of each of them.
+         * @param sources the start of each query
+         * @param targets the target of each query
+         * @param order the queries sorted by source
+         * @param first the position in the order of the first query of the group
+         * @param last one past the position of the last query of the group
+         * @param paths where the path of each query is written
+         * @param distances where the distance of each query is written
+         */
+        private void run(int[] sources, int[] targets, int[] order, int first, int last, int[][] paths, int[] distances) {
+            int source = sources[order[first]];
+            boolean validSource = isVertex(source);
+            this.stamp++;
+
+            int missing = 0;
+            for (int k = first; k < last; k++) {
+                int target = targets[order[k]];
+                if (validSource && target != source && isVertex(target) && accepted[target]
+                        && this.wanted[goal(target)] != this.stamp) {
+                    this.wanted[goal(target)] = this.stamp;
+                    missing++;
+                }
+            }
+
+            if (missing > 0) {
+                int startState = (required != null && required[source]) ? source + numVertices : source;
+                int head = 0;
+                int tail = 0;
+                this.reached[startState] = this.stamp;
+                this.predecessor[startState] = -1;
+                this.distance[startState] = 0;
+                this.queue[tail++] = startState;
+
+                while (head < tail && missing > 0) {
+                    int state = this.queue[head++];
+                    int index = state % numVertices;
+                    int layer = state - index;
+
+                    for (int i : neighbours[index]) {
+                        if (!accepted[i]) {
+                            continue;
+                        }
+
+                        int next = (required != null && required[i]) ? i + numVertices : i + layer;
+                        if (this.reached[next] != this.stamp) {
+                            this.reached[next] = this.stamp;
+                            this.predecessor[next] = state;
+                            this.distance[next] = this.distance[state] + 1;
+                            this.queue[tail++] = next;
+                            if (this.wanted[next] == this.stamp) {
+                                missing--;
+                            }
+                        }
+                    }
+                }
+            }
+
+            for (int k = first; k < last; k++) {
+                int query = order[k];
+                int target = targets[query];
+                paths[query] = new int[0];
+                distances[query] = -1;
+
+                if (!validSource || !isVertex(target)) {
+                    continue;
+                }
+                if (target == source) {
+                    distances[query] = 0;
+                    continue;
+                }
+
+                int state = goal(target);
+                if (this.wanted[state] == this.stamp && this.reached[state] == this.stamp) {
+                    int[] path = new int[this.distance[state] + 1];
+                    for (int current = state, position = path.length - 1; current != -1;
+                         current = this.predecessor[current]) {
+                        path[position--] = current % numVertices;
+                    }
+                    paths[query] = path;
+                    distances[query] = this.distance[state];
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if an index held a vertex when the graph was copied.
+     * @param index the index to be checked
+     * @return true if there was a vertex at the index
+     */
+    private boolean isVertex(int index) {
+        return index >= 0 && index < this.numVertices && this.present[index];
+    }
+}
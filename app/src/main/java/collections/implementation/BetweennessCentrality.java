@@ -0,0 +1,363 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * BetweennessCentrality measures how many shortest paths of an {@link IndexedGraphADT} go through each vertex,
+ * counting each pair of ends once and splitting a pair evenly between its shortest paths when there are several.
+ * It uses Brandes' algorithm: one search from each source counts the shortest paths to every vertex, and walking
+ * the vertices back from the farthest adds up how much each one is needed, so the whole graph costs one search per
+ * source instead of one per pair. Edges count one, or their weight when the graph is an {@link IndexedNetworkADT}.
+ * The sources are spread across a {@link ForkJoinPool}, each task adding into its own array, and on large graphs
+ * only a random sample of sources may be searched, scaling the result up to estimate the full count.
+ * The graph is read once when the measure is created, so it may change afterwards without affecting the answers.
+ */
+public class BetweennessCentrality {
+
+    /**
+     * The number of sources below which a task searches them itself instead of splitting them
+     */
+    private static final int SEQUENTIAL_SOURCES = 16;
+
+    /**
+     * The largest difference between two costs that are taken as equal, so paths of equal weight are all counted
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * The number of index slots of the graph
+     */
+    private final int numVertices;
+
+    /**
+     * The neighbour indices of every vertex
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The weight of the edge to each neighbour, null if every edge costs one
+     */
+    private final double[][] weights;
+
+    /**
+     * The indices that held a vertex when the graph was copied
+     */
+    private final int[] vertices;
+
+    /**
+     * Copies the graph to be measured.
+     * @param graph the graph, which must not change while it is being copied
+     */
+    public BetweennessCentrality(IndexedGraphADT<?> graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Copies the graph to be measured, choosing whether network weights are read.
+     * @param graph the graph, which must not change while it is being copied
+     * @param unitWeights true to count one per edge even when the graph is an {@link IndexedNetworkADT}
+     */
+    public BetweennessCentrality(IndexedGraphADT<?> graph, boolean unitWeights) {
+        this.numVertices = graph.getSlotCount();
+        this.neighbours = new int[this.numVertices][];
+        IndexedNetworkADT<?> network = !unitWeights && graph instanceof IndexedNetworkADT
+                ? (IndexedNetworkADT<?>) graph : null;
+        this.weights = network == null ? null : new double[this.numVertices][];
+
+        int count = 0;
+        int[] present = new int[this.numVertices];
+        for (int i = 0; i < this.numVertices; i++) {
+            this.neighbours[i] = graph.getNeighbourIndices(i);
+            if (network != null) {
+                this.weights[i] = new double[this.neighbours[i].length];
+                for (int k = 0; k < this.neighbours[i].length; k++) {
+                    this.weights[i][k] = network.getEdgeWeight(i, this.neighbours[i][k]);
+                }
+            }
+            if (graph.indexIsValid(i)) {
+                present[count++] = i;
+            }
+        }
+        this.vertices = Arrays.copyOf(present, count);
+    }
+
+    /**
+     * Measures every vertex exactly, searching from every source on the common fork/join pool.
+     * @return the centrality of each index, 0 for the holes of removed vertices
+     */
+    public double[] compute() {
+        return compute(0, 0, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Measures every vertex, exactly or from a sample of sources.
+     * @param samples the number of sources to search, picked at random, or 0 to search every source
+     * @param seed the seed of the random choice of sources
+     * @param pool the pool the searches run on
+     * @return the centrality of each index, 0 for the holes of removed vertices
+     */
+    public double[] compute(int samples, long seed, ForkJoinPool pool) {
+        if (samples < 0) {
+            throw new IllegalArgumentException("The number of samples cannot be negative.");
+        }
+
+        int[] sources = this.vertices.clone();
+        int count = sources.length;
+        if (samples > 0 && samples < count) {
+            // a partial shuffle puts a random sample of distinct sources at the front
+            Random random = new Random(seed);
+            for (int s = 0; s < samples; s++) {
+                int pick = s + random.nextInt(count - s);
+                int swap = sources[s];
+                sources[s] = sources[pick];
+                sources[pick] = swap;
+            }
+            count = samples;
+        }
+
+        double[] centrality = pool.invoke(new SourceTask(sources, 0, count));
+
+        // every pair was counted from both of its ends, and a sample stands for all the sources
+        double scale = 0.5 * this.vertices.length / Math.max(1, count);
+        for (int i = 0; i < centrality.length; i++) {
+            centrality[i] *= scale;
+        }
+        return centrality;
+    }
+
+    /**
+     * Searches from a range of the sources, splitting the range in two while it is large, and adds up the results.
+     */
+    private final class SourceTask extends RecursiveTask<double[]> {
+
+        /**
+         * The version of the serialized form, which fork/join tasks inherit but never use
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The sources to be searched
+         */
+        private final int[] sources;
+
+        /**
+         * The first source of this task
+         */
+        private final int from;
+
+        /**
+         * One past the last source of this task
+         */
+        private final int to;
+
+        /**
+         * Creates a task for the sources in [from, to).
+         * @param sources the sources to be searched
+         * @param from the first source
+         * @param to one past the last source
+         */
+        private SourceTask(int[] sources, int from, int to) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (this.to - this.from > SEQUENTIAL_SOURCES) {
+                int middle = (this.from + this.to) >>> 1;
+                SourceTask left = new SourceTask(this.sources, this.from, middle);
+                SourceTask right = new SourceTask(this.sources, middle, this.to);
+                left.fork();
+                double[] sum = right.compute();
+                double[] other = left.join();
+                for (int i = 0; i < sum.length; i++) {
+                    sum[i] += other[i];
+                }
+                return sum;
+            }
+
+            double[] sum = new double[numVertices];
+            Search search = new Search();
+            for (int s = this.from; s < this.to; s++) {
+                search.run(this.sources[s], sum);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * The arrays of one search, reused by every source searched in the same task.
+     */
+    private final class Search {
+
+        /**
+         * The stamp of the last search that reached each vertex, so the arrays need no clearing
+         */
+        private final int[] reached;
+
+        /**
+         * The cost of the shortest paths from the source to each vertex
+         */
+        private final double[] distance;
+
+        /**
+         * The number of shortest paths from the source to each vertex
+         */
+        private final double[] paths;
+
+        /**
+         * How much each vertex is needed by the shortest paths from the source to the vertices past it
+         */
+        private final double[] dependency;
+
+        /**
+         * The vertices in the order they were settled, so they can be walked back from the farthest
+         */
+        private final int[] order;
+
+        /**
+         * The position of each vertex in the order, so a vertex is only counted before the ones settled after it
+         */
+        private final int[] position;
+
+        /**
+         * The vertices waiting to be settled, only used on weighted graphs
+         */
+        private final IndexedMinHeap heap;
+
+        /**
+         * The stamp of the current search
+         */
+        private int stamp;
+
+        /**
+         * Creates the arrays of a search.
+         */
+        private Search() {
+            this.reached = new int[numVertices];
+            this.distance = new double[numVertices];
+            this.paths = new double[numVertices];
+            this.dependency = new double[numVertices];
+            this.order = new int[numVertices];
+            this.position = new int[numVertices];
+            this.heap = weights == null ? null : new IndexedMinHeap(numVertices);
+            this.stamp = 0;
+        }
+
+        /**
+         * Searches from a source and adds how much every other vertex is needed by its shortest paths.
+         * @param source the index of the source
+         * @param sum where the results are added
+         */
+        private void run(int source, double[] sum) {
+            this.stamp++;
+            this.reached[source] = this.stamp;
+            this.distance[source] = 0;
+            this.paths[source] = 1;
+            int settled = weights == null ? this.breadthFirst(source) : this.dijkstra(source);
+
+            for (int k = 0; k < settled; k++) {
+                this.dependency[this.order[k]] = 0;
+            }
+            for (int k = settled - 1; k > 0; k--) {
+                int w = this.order[k];
+                double share = (1 + this.dependency[w]) / this.paths[w];
+                for (int n = 0; n < neighbours[w].length; n++) {
+                    int v = neighbours[w][n];
+                    if (this.isPredecessor(v, w, n)) {
+                        this.dependency[v] += this.paths[v] * share;
+                    }
+                }
+                sum[w] += this.dependency[w];
+            }
+        }
+
+        /**
+         * Checks if a neighbour comes right before a vertex on a shortest path from the source.
+         * @param v the neighbour
+         * @param w the vertex
+         * @param n the position of the neighbour among the neighbours of the vertex
+         * @return true if a shortest path to the vertex goes through the neighbour
+         */
+        private boolean isPredecessor(int v, int w, int n) {
+            if (this.reached[v] != this.stamp || this.position[v] >= this.position[w]) {
+                return false;
+            }
+            double step = weights == null ? 1 : weights[w][n];
+            return Math.abs(this.distance[v] + step - this.distance[w]) <= EPSILON;
+        }
+
+        /**
+         * Counts the shortest paths level by level.
+         * @param source the index of the source
+         * @return the number of vertices reached, left in the order they were reached
+         */
+        private int breadthFirst(int source) {
+            int head = 0;
+            int tail = 0;
+            this.position[source] = tail;
+            this.order[tail++] = source;
+
+            while (head < tail) {
+                int v = this.order[head++];
+                for (int w : neighbours[v]) {
+                    if (this.reached[w] != this.stamp) {
+                        this.reached[w] = this.stamp;
+                        this.distance[w] = this.distance[v] + 1;
+                        this.paths[w] = 0;
+                        this.position[w] = tail;
+                        this.order[tail++] = w;
+                    }
+                    if (this.distance[w] == this.distance[v] + 1) {
+                        this.paths[w] += this.paths[v];
+                    }
+                }
+            }
+            return tail;
+        }
+
+        /**
+         * Counts the shortest paths cheapest vertex first.
+         * Each vertex adds its paths to its neighbours when it is settled, by which time it has all of its own.
+         * @param source the index of the source
+         * @return the number of vertices reached, left in the order they were settled
+         */
+        private int dijkstra(int source) {
+            int settled = 0;
+            this.heap.clear();
+            this.heap.insert(source, 0);
+
+            try {
+                while (!this.heap.isEmpty()) {
+                    int v = this.heap.removeMin();
+                    this.position[v] = settled;
+                    this.order[settled++] = v;
+
+                    for (int n = 0; n < neighbours[v].length; n++) {
+                        int w = neighbours[v][n];
+                        double candidate = this.distance[v] + weights[v][n];
+                        if (this.reached[w] != this.stamp || candidate < this.distance[w] - EPSILON) {
+                            this.reached[w] = this.stamp;
+                            this.distance[w] = candidate;
+                            this.paths[w] = this.paths[v];
+                            this.heap.insertOrDecrease(w, candidate);
+                        } else if (Math.abs(candidate - this.distance[w]) <= EPSILON && this.heap.contains(w)) {
+                            this.paths[w] += this.paths[v];
+                        }
+                    }
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+            return settled;
+        }
+    }
+}
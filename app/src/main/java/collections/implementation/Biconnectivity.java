@@ -0,0 +1,313 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.Arrays;
+
+/**
+ * Biconnectivity finds the articulation points of an {@link IndexedGraphADT}, the vertices whose removal splits their
+ * connected component, and its bridges, the edges whose removal does the same.
+ * They are found with Tarjan's depth-first search in time linear in the size of the graph, run with an explicit stack
+ * so that graphs of any depth can be searched without overflowing the call stack.
+ * The search leaves a spanning forest and the blocks of its edges, the sets of edges that lie on a common cycle, kept
+ * in a {@link UnionFind}. A vertex is an articulation point when its edges in the forest belong to two or more blocks,
+ * and an edge of the forest is a bridge when its block holds nothing else; edges outside the forest never are.
+ * This lets the answers be kept up to date as edges are added, which only ever join blocks: an edge between two
+ * trees joins them into one, and an edge within a tree joins the blocks along the path between its ends.
+ * Removals are not followed; the owner of the graph must report every added vertex and edge, and build a new
+ * instance after anything is removed.
+ */
+public class Biconnectivity {
+
+    /**
+     * The graph being analysed
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * The number of vertices covered
+     */
+    private int numVertices;
+
+    /**
+     * The parent of each vertex in the spanning forest, -1 for roots and holes
+     */
+    private int[] parent;
+
+    /**
+     * The id in {@link #blocks} of the edge from each vertex to its parent, -1 for roots and holes
+     */
+    private int[] parentEdge;
+
+    /**
+     * The number of edges from each vertex to the root of its tree
+     */
+    private int[] depth;
+
+    /**
+     * The number of different blocks the forest edges of each vertex belong to
+     */
+    private int[] blocksAt;
+
+    /**
+     * The blocks of the forest edges, each edge identified by the id it was given when it joined the forest
+     */
+    private final UnionFind blocks;
+
+    /**
+     * The trees of the spanning forest
+     */
+    private final UnionFind trees;
+
+    /**
+     * Analyses the graph as it is now.
+     * @param graph the graph to be analysed
+     */
+    public Biconnectivity(IndexedGraphADT<?> graph) {
+        this.graph = graph;
+        this.numVertices = graph.getSlotCount();
+        this.parent = new int[this.numVertices];
+        this.parentEdge = new int[this.numVertices];
+        this.depth = new int[this.numVertices];
+        this.blocksAt = new int[this.numVertices];
+        this.blocks = new UnionFind(0);
+        this.trees = new UnionFind(this.numVertices);
+        this.search();
+    }
+
+    /**
+     * Runs Tarjan's search over every tree of the graph, keeping the stack of open vertices in an array.
+     * Each vertex keeps a cursor into its neighbours, so every edge is looked at a constant number of times.
+     */
+    private void search() {
+        int[][] neighbours = new int[this.numVertices][];
+        int[] discovery = new int[this.numVertices];
+        int[] low = new int[this.numVertices];
+        int[] cursor = new int[this.numVertices];
+        int[] stack = new int[this.numVertices];
+        Arrays.fill(discovery, -1);
+        Arrays.fill(this.parent, -1);
+        Arrays.fill(this.parentEdge, -1);
+        int time = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            neighbours[i] = this.graph.getNeighbourIndices(i);
+        }
+
+        for (int root = 0; root < this.numVertices; root++) {
+            if (!this.graph.indexIsValid(root) || discovery[root] != -1) {
+                continue;
+            }
+
+            int top = 0;
+            stack[top++] = root;
+            discovery[root] = low[root] = time++;
+
+            while (top > 0) {
+                int x = stack[top - 1];
+                if (cursor[x] < neighbours[x].length) {
+                    int y = neighbours[x][cursor[x]++];
+                    if (discovery[y] == -1) {
+                        discovery[y] = low[y] = time++;
+                        this.parent[y] = x;
+                        this.parentEdge[y] = this.blocks.add();
+                        this.depth[y] = this.depth[x] + 1;
+                        this.blocksAt[y]++;
+                        this.trees.union(x, y);
+                        stack[top++] = y;
+                    } else if (y != this.parent[x]) {
+                        low[x] = Math.min(low[x], discovery[y]);
+                    }
+                    continue;
+                }
+
+                top--;
+                int p = this.parent[x];
+                if (p != -1) {
+                    low[p] = Math.min(low[p], low[x]);
+                    if (low[x] < discovery[p]) {
+                        // the subtree of x reaches above p, so the edge to x lies on a cycle with the edge above p
+                        this.blocks.union(this.parentEdge[x], this.parentEdge[p]);
+                    } else {
+                        this.blocksAt[p]++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if removing the vertex would split its connected component.
+     * @param index the index of the vertex
+     * @return true if the vertex is an articulation point
+     */
+    public boolean isArticulationPoint(int index) {
+        return index >= 0 && index < this.numVertices && this.blocksAt[index] >= 2;
+    }
+
+    /**
+     * Returns every articulation point.
+     * @return the indices of the articulation points, in increasing order
+     */
+    public int[] getArticulationPoints() {
+        int[] points = new int[this.numVertices];
+        int count = 0;
+        for (int i = 0; i < this.numVertices; i++) {
+            if (this.blocksAt[i] >= 2) {
+                points[count++] = i;
+            }
+        }
+        return Arrays.copyOf(points, count);
+    }
+
+    /**
+     * Checks if removing the edge between two vertices would split their connected component.
+     * @param first the index of one end
+     * @param second the index of the other end
+     * @return true if the vertices are adjacent and the edge between them is a bridge
+     */
+    public boolean isBridge(int first, int second) {
+        if (first < 0 || second < 0 || first >= this.numVertices || second >= this.numVertices) {
+            return false;
+        }
+        if (this.parent[second] == first) {
+            return this.blocks.getSetSize(this.parentEdge[second]) == 1;
+        }
+        if (this.parent[first] == second) {
+            return this.blocks.getSetSize(this.parentEdge[first]) == 1;
+        }
+        return false;
+    }
+
+    /**
+     * Returns every bridge.
+     * @return the ends of each bridge, the smaller index first
+     */
+    public int[][] getBridges() {
+        int[][] bridges = new int[this.numVertices][];
+        int count = 0;
+        for (int i = 0; i < this.numVertices; i++) {
+            if (this.parent[i] != -1 && this.blocks.getSetSize(this.parentEdge[i]) == 1) {
+                bridges[count++] = new int[] {Math.min(i, this.parent[i]), Math.max(i, this.parent[i])};
+            }
+        }
+        return Arrays.copyOf(bridges, count);
+    }
+
+    /**
+     * Covers the vertices added to the graph since the last call, each of which starts as a tree of its own.
+     */
+    public void vertexAdded() {
+        int slots = this.graph.getSlotCount();
+        if (slots <= this.numVertices) {
+            return;
+        }
+
+        this.parent = Arrays.copyOf(this.parent, slots);
+        this.parentEdge = Arrays.copyOf(this.parentEdge, slots);
+        this.depth = Arrays.copyOf(this.depth, slots);
+        this.blocksAt = Arrays.copyOf(this.blocksAt, slots);
+        for (int i = this.numVertices; i < slots; i++) {
+            this.parent[i] = -1;
+            this.parentEdge[i] = -1;
+            this.trees.add();
+        }
+        this.numVertices = slots;
+    }
+
+    /**
+     * Follows an edge added to the graph.
+     * An edge between two trees becomes a bridge, with the smaller tree hung from the larger one.
+     * An edge within a tree joins every block along the path between its ends, which takes time proportional to
+     * the length of that path in the forest.
+     * @param first the index of one end
+     * @param second the index of the other end
+     */
+    public void edgeAdded(int first, int second) {
+        this.vertexAdded();
+        if (first == second || this.parent[first] == second || this.parent[second] == first) {
+            return;
+        }
+
+        if (!this.trees.connected(first, second)) {
+            boolean firstSmaller = this.trees.getSetSize(first) <= this.trees.getSetSize(second);
+            int hung = firstSmaller ? first : second;
+            int other = firstSmaller ? second : first;
+
+            this.reroot(hung, other, this.blocks.add());
+            this.blocksAt[first]++;
+            this.blocksAt[second]++;
+            this.trees.union(first, second);
+            return;
+        }
+
+        int x = first;
+        int y = second;
+        int lastX = -1;
+        int lastY = -1;
+        while (x != y) {
+            if (this.depth[x] >= this.depth[y]) {
+                lastX = this.joinAt(x, lastX);
+                x = this.parent[x];
+            } else {
+                lastY = this.joinAt(y, lastY);
+                y = this.parent[y];
+            }
+        }
+        if (lastX != -1 && lastY != -1 && this.blocks.union(lastX, lastY)) {
+            this.blocksAt[x]--;
+        }
+    }
+
+    /**
+     * Joins the edge above a vertex of a path with the edge of the path below it, if they are in different blocks.
+     * @param vertex the vertex of the path
+     * @param below the id of the edge of the path below the vertex, -1 if the path starts at the vertex
+     * @return the id of the edge above the vertex
+     */
+    private int joinAt(int vertex, int below) {
+        int above = this.parentEdge[vertex];
+        if (below != -1 && this.blocks.union(below, above)) {
+            this.blocksAt[vertex]--;
+        }
+        return above;
+    }
+
+    /**
+     * Makes a vertex the root of its tree and hangs that tree from a vertex of another tree.
+     * The edges of the path to the old root turn around, each keeping its id, and the depths of the hung tree
+     * are measured again.
+     * @param vertex the vertex to be hung
+     * @param newParent the vertex it is hung from
+     * @param edge the id of the new edge between them
+     */
+    private void reroot(int vertex, int newParent, int edge) {
+        int current = vertex;
+        int above = newParent;
+        int aboveEdge = edge;
+        while (current != -1) {
+            int oldParent = this.parent[current];
+            int oldEdge = this.parentEdge[current];
+            this.parent[current] = above;
+            this.parentEdge[current] = aboveEdge;
+            above = current;
+            aboveEdge = oldEdge;
+            current = oldParent;
+        }
+
+        int[] queue = new int[this.trees.getSetSize(vertex)];
+        int head = 0;
+        int tail = 0;
+        this.depth[vertex] = this.depth[newParent] + 1;
+        queue[tail++] = vertex;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int y : this.graph.getNeighbourIndices(x)) {
+                if (this.parent[y] == x) {
+                    this.depth[y] = this.depth[x] + 1;
+                    queue[tail++] = y;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.function.IntPredicate;
+
+/**
+ * BidirectionalBFS finds the path with the fewest edges between two vertices of an {@link IndexedGraphADT}
+ * by running one breadth-first search from each end and stopping as soon as the two searches meet.
+ * Each round expands a whole level of the smaller frontier, so on long, thin graphs the searches only
+ * look at the vertices close to the two ends instead of everything within reach of the start.
+ * The arrays are kept between searches and marked with a stamp instead of being cleared, so a search costs about as
+ * much as the part of the graph it reaches. A search is not safe to run from several threads at once.
+ */
+public class BidirectionalBFS {
+
+    /**
+     * The graph being searched
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * The number of vertices reached by the last search, from both sides
+     */
+    private int visitedVertices;
+
+    /**
+     * The stamp of the last search that reached each vertex from the start
+     */
+    private int[] forwardVisited;
+
+    /**
+     * The stamp of the last search that reached each vertex from the target
+     */
+    private int[] backwardVisited;
+
+    /**
+     * The vertex each vertex was reached from by the search from the start, -1 for the start
+     */
+    private int[] forwardPredecessor;
+
+    /**
+     * The vertex each vertex was reached from by the search from the target, -1 for the target
+     */
+    private int[] backwardPredecessor;
+
+    /**
+     * The number of edges from the start to each vertex reached from it
+     */
+    private int[] forwardLength;
+
+    /**
+     * The number of edges from each vertex reached from the target to the target
+     */
+    private int[] backwardLength;
+
+    /**
+     * The current level of the search from the start
+     */
+    private int[] forwardFrontier;
+
+    /**
+     * The current level of the search from the target
+     */
+    private int[] backwardFrontier;
+
+    /**
+     * The level being built by the side that is expanding
+     */
+    private int[] nextFrontier;
+
+    /**
+     * The stamp of the current search
+     */
+    private int stamp;
+
+    /**
+     * Creates a search over the given graph.
+     * @param graph the graph to be searched
+     */
+    public BidirectionalBFS(IndexedGraphADT<?> graph) {
+        this.graph = graph;
+        this.visitedVertices = 0;
+        this.forwardVisited = new int[0];
+        this.backwardVisited = new int[0];
+        this.forwardPredecessor = new int[0];
+        this.backwardPredecessor = new int[0];
+        this.forwardLength = new int[0];
+        this.backwardLength = new int[0];
+        this.forwardFrontier = new int[0];
+        this.backwardFrontier = new int[0];
+        this.nextFrontier = new int[0];
+        this.stamp = 0;
+    }
+
+    /**
+     * Returns the number of vertices reached by the last search, counting both sides.
+     * @return the number of vertices reached by the last search
+     */
+    public int getVisitedVertices() {
+        return this.visitedVertices;
+    }
+
+    /**
+     * Returns the indices of a path with the fewest edges between two vertices.
+     * @param startIndex the starting vertex
+     * @param targetIndex the ending vertex
+     * @return the indices of the path from the start to the target, empty if there is no path
+     */
+    public int[] search(int startIndex, int targetIndex) {
+        return search(startIndex, targetIndex, null);
+    }
+
+    /**
+     * Returns the indices of a path with the fewest edges between two vertices that only steps into
+     * vertices accepted by the filter. The start does not need to be accepted, the target does.
+     * As with the one-sided search, an empty path is returned when the start is the target.
+     * @param startIndex the starting vertex
+     * @param targetIndex the ending vertex
+     * @param allowed the vertices the path may step into, or null to accept every vertex
+     * @return the indices of the path from the start to the target, empty if there is no path
+     */
+    public int[] search(int startIndex, int targetIndex, IntPredicate allowed) {
+        this.visitedVertices = 0;
+
+        if (!this.graph.indexIsValid(startIndex) || !this.graph.indexIsValid(targetIndex)
+                || (startIndex == targetIndex) || (allowed != null && !allowed.test(targetIndex))) {
+            return new int[0];
+        }
+
+        this.prepare();
+        int current = this.stamp;
+        int[] forwardVisited = this.forwardVisited;
+        int[] backwardVisited = this.backwardVisited;
+        int[] forwardPredecessor = this.forwardPredecessor;
+        int[] backwardPredecessor = this.backwardPredecessor;
+        int[] forwardLength = this.forwardLength;
+        int[] backwardLength = this.backwardLength;
+
+        int[] forwardFrontier = this.forwardFrontier;
+        int[] backwardFrontier = this.backwardFrontier;
+        int[] nextFrontier = this.nextFrontier;
+        int forwardCount = 1;
+        int backwardCount = 1;
+
+        forwardFrontier[0] = startIndex;
+        forwardVisited[startIndex] = current;
+        forwardPredecessor[startIndex] = -1;
+        forwardLength[startIndex] = 0;
+        backwardFrontier[0] = targetIndex;
+        backwardVisited[targetIndex] = current;
+        backwardPredecessor[targetIndex] = -1;
+        backwardLength[targetIndex] = 0;
+        this.visitedVertices = 2;
+
+        int meeting = -1;
+        int bestLength = Integer.MAX_VALUE;
+
+        while (meeting == -1 && forwardCount > 0 && backwardCount > 0) {
+            boolean forward = forwardCount <= backwardCount;
+            int[] frontier = forward ? forwardFrontier : backwardFrontier;
+            int count = forward ? forwardCount : backwardCount;
+            int[] visited = forward ? forwardVisited : backwardVisited;
+            int[] otherVisited = forward ? backwardVisited : forwardVisited;
+            int[] predecessor = forward ? forwardPredecessor : backwardPredecessor;
+            int[] length = forward ? forwardLength : backwardLength;
+            int[] otherLength = forward ? backwardLength : forwardLength;
+            int nextCount = 0;
+
+            // Expand the whole level so that the best meeting point of this level is kept
+            for (int k = 0; k < count; k++) {
+                int index = frontier[k];
+
+                for (int i : this.graph.getNeighbourIndices(index)) {
+                    if (visited[i] == current || (i != startIndex && allowed != null && !allowed.test(i))) {
+                        continue;
+                    }
+
+                    visited[i] = current;
+                    predecessor[i] = index;
+                    length[i] = length[index] + 1;
+                    nextFrontier[nextCount++] = i;
+                    this.visitedVertices++;
+
+                    if (otherVisited[i] == current && length[i] + otherLength[i] < bestLength) {
+                        bestLength = length[i] + otherLength[i];
+                        meeting = i;
+                    }
+                }
+            }
+
+            if (forward) {
+                forwardFrontier = nextFrontier;
+                nextFrontier = frontier;
+                forwardCount = nextCount;
+            } else {
+                backwardFrontier = nextFrontier;
+                nextFrontier = frontier;
+                backwardCount = nextCount;
+            }
+        }
+
+        // the frontiers swap places during the search, so keep whichever arrays they ended up in
+        this.forwardFrontier = forwardFrontier;
+        this.backwardFrontier = backwardFrontier;
+        this.nextFrontier = nextFrontier;
+
+        if (meeting == -1) {
+            return new int[0];
+        }
+
+        int[] path = new int[bestLength + 1];
+        int position = forwardLength[meeting];
+        for (int index = meeting; index != -1; index = forwardPredecessor[index]) {
+            path[position--] = index;
+        }
+        position = forwardLength[meeting];
+        for (int index = backwardPredecessor[meeting]; index != -1; index = backwardPredecessor[index]) {
+            path[++position] = index;
+        }
+
+        return path;
+    }
+
+    /**
+     * Grows the arrays when the graph has more slots than at the last search, and moves on to the next stamp.
+     */
+    private void prepare() {
+        int slots = this.graph.getSlotCount();
+        if (slots > this.forwardVisited.length || this.stamp == Integer.MAX_VALUE) {
+            int size = Math.max(slots, this.forwardVisited.length);
+            this.forwardVisited = new int[size];
+            this.backwardVisited = new int[size];
+            this.forwardPredecessor = new int[size];
+            this.backwardPredecessor = new int[size];
+            this.forwardLength = new int[size];
+            this.backwardLength = new int[size];
+            this.forwardFrontier = new int[size];
+            this.backwardFrontier = new int[size];
+            this.nextFrontier = new int[size];
+            this.stamp = 0;
+        }
+        this.stamp++;
+    }
+}
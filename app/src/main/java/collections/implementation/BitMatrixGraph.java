@@ -0,0 +1,606 @@
+package collections.implementation;
+
+import collections.exceptions.ElementNotFoundException;
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * BitMatrixGraph implements the GraphADT interface using an adjacency matrix packed into bits,
+ * where each row is an array of long words and bit j of row i is set when i and j are adjacent.
+ * It takes an eighth of the memory of the boolean matrix of {@link MatrixGraph}, and the searches work on
+ * 64 vertices at a time: a row is ANDed with the words of the vertices not yet visited, and only the bits
+ * left are walked with {@link Long#numberOfTrailingZeros(long)}.
+ * It is the better backend for small and dense maps.
+ * @param <T> the type of elements in this graph
+ */
+public class BitMatrixGraph<T> implements IndexedGraphADT<T> {
+
+    /**
+     * The default capacity of the graph, one word per row
+     */
+    protected final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The number of vertices in the graph
+     */
+    protected int numVertices;
+
+    /**
+     * The adjacency rows, bit j of word j / 64 of row i is set when i and j are adjacent
+     */
+    protected long[][] rows;
+
+    /**
+     * The array of values of the vertices
+     */
+    protected T[] vertices;
+
+    /**
+     * The index of each vertex in the vertices array, so vertices can be resolved without scanning the array
+     */
+    protected HashMap<T, Integer> vertexIndex;
+
+    /**
+     * Creates an empty graph.
+     */
+    @SuppressWarnings("unchecked")
+    public BitMatrixGraph() {
+        this.numVertices = 0;
+        this.rows = new long[DEFAULT_CAPACITY][];
+        this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
+        this.vertexIndex = new HashMap<>();
+    }
+
+    /**
+     * Returns the number of words needed for the given number of bits.
+     * @param bits the number of bits
+     * @return the number of words
+     */
+    public static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Checks if a bit is set in an array of words.
+     * @param words the words
+     * @param index the index of the bit
+     * @return true if the bit is set
+     */
+    public static boolean isSet(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Removes a bit from an array of words, moving every bit above it one position down.
+     * @param words the words
+     * @param index the index of the bit to be removed
+     */
+    public static void removeBit(long[] words, int index) {
+        int word = index >>> 6;
+        long below = (1L << index) - 1;
+
+        words[word] = (words[word] & below) | ((words[word] >>> 1) & ~below);
+        for (int w = word; w < words.length - 1; w++) {
+            words[w] |= words[w + 1] << 63;
+            words[w + 1] >>>= 1;
+        }
+    }
+
+    /**
+     * Returns the number of words in use by each row.
+     * @return the number of words
+     */
+    private int usedWords() {
+        return wordsFor(this.numVertices);
+    }
+
+    /**
+     * Returns a reference to the vertex array.
+     * @return a reference to the vertex array
+     */
+    @Override
+    public T[] getVertices() {
+        return this.vertices;
+    }
+
+    /**
+     * Adds the specified vertex to this graph.
+     * @param vertex the vertex to be added to this graph
+     */
+    @Override
+    public void addVertex(T vertex) {
+        if (numVertices == vertices.length) {
+            expandCapacity();
+        }
+
+        vertices[numVertices] = vertex;
+        vertexIndex.putIfAbsent(vertex, numVertices);
+        rows[numVertices] = new long[wordsFor(vertices.length)];
+        numVertices++;
+    }
+
+    /**
+     * Expands the capacity of the graph by creating larger arrays and copying the contents of the old arrays to the new ones.
+     * Every row grows to the words of the new capacity.
+     */
+    @SuppressWarnings("unchecked")
+    protected void expandCapacity() {
+        T[] largerVertices = (T[]) (new Object[vertices.length * 2]);
+        long[][] largerRows = new long[vertices.length * 2][];
+        int words = wordsFor(vertices.length * 2);
+
+        for (int i = 0; i < numVertices; i++) {
+            largerVertices[i] = vertices[i];
+            largerRows[i] = new long[words];
+            System.arraycopy(rows[i], 0, largerRows[i], 0, rows[i].length);
+        }
+
+        vertices = largerVertices;
+        rows = largerRows;
+    }
+
+    /**
+     * Removes a single vertex with the given value from this graph.
+     *
+     * @param vertex the vertex to be removed from this graph
+     */
+    @Override
+    public void removeVertex(T vertex) {
+        int index = getIndex(vertex);
+
+        if (!indexIsValid(index)) {
+            throw new ElementNotFoundException("Vertex not found");
+        }
+
+        removeVertex(index);
+    }
+
+    /**
+     * Removes a single vertex with the given index from this graph.
+     * The vertices after it and their rows are shifted down by one, keeping their relative order, so the graph never has
+     * holes and every index above the removed one changes.
+     * Each row drops the bit of the vertex a word at a time, so this costs O(V² / 64).
+     *
+     * @param vertex the index of the vertex to be removed from this graph
+     */
+    @Override
+    public void removeVertex(int vertex) {
+        if (!indexIsValid(vertex)) {
+            return;
+        }
+
+        T removed = this.vertices[vertex];
+        this.numVertices--;
+
+        for (int i = vertex; i < this.numVertices; i++) {
+            this.vertices[i] = this.vertices[i + 1];
+            this.rows[i] = this.rows[i + 1];
+        }
+        this.vertices[this.numVertices] = null;
+        this.rows[this.numVertices] = null;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            removeBit(this.rows[i], vertex);
+        }
+
+        reindexAfterRemoval(removed, vertex);
+    }
+
+    /**
+     * Updates the vertex index after the vertex at the given index was removed and the vertices after it shifted down.
+     * @param removed the vertex that was removed
+     * @param index the index the removed vertex had
+     */
+    protected void reindexAfterRemoval(T removed, int index) {
+        boolean wasIndexed = vertexIndex.remove(removed, index);
+
+        for (int i = index; i < numVertices; i++) {
+            Integer stored = vertexIndex.get(vertices[i]);
+            if (stored != null && stored == i + 1) {
+                vertexIndex.put(vertices[i], i);
+            }
+        }
+
+        // an equal vertex may have been hidden behind the removed one
+        if (wasIndexed) {
+            for (int i = 0; i < numVertices; i++) {
+                if (removed.equals(vertices[i])) {
+                    vertexIndex.putIfAbsent(vertices[i], i);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an edge between two vertices of this graph.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2) {
+        addEdge(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Adds an edge between two vertices of this graph.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     */
+    public void addEdge(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            rows[index1][index2 >>> 6] |= 1L << index2;
+            rows[index2][index1 >>> 6] |= 1L << index1;
+        }
+    }
+
+    /**
+     * Removes an edge between two vertices of this graph.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void removeEdge(T vertex1, T vertex2) {
+        removeEdge(getIndex(vertex1), getIndex(vertex2));
+    }
+
+    /**
+     * Removes an edge between two vertices of this graph.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     */
+    public void removeEdge(int index1, int index2) {
+        if (indexIsValid(index1) && indexIsValid(index2)) {
+            rows[index1][index2 >>> 6] &= ~(1L << index2);
+            rows[index2][index1 >>> 6] &= ~(1L << index1);
+        }
+    }
+
+    /**
+     * Returns the index of the vertex in the vertices array.
+     * Vertices are resolved through the vertex index, so this is O(1) and relies on the vertex equals and hashCode.
+     * @param vertex the vertex to be found
+     * @return the index of the vertex in the vertices array, or -1 if it is not in the graph
+     */
+    @Override
+    public int getIndex(T vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        Integer index = vertexIndex.get(vertex);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Checks if the index is valid. The index is valid if it is greater than or equal to 0 and less than the number of vertices.
+     * @param index the index to be checked
+     * @return true if the index is valid, false otherwise
+     */
+    @Override
+    public boolean indexIsValid(int index) {
+        return ((index >= 0) && (index < numVertices));
+    }
+
+    /**
+     * Returns the number of index slots, which is the number of vertices since removals shift the vertices down.
+     * @return the number of index slots
+     */
+    @Override
+    public int getSlotCount() {
+        return this.numVertices;
+    }
+
+    /**
+     * Does nothing, since removals already shift the vertices down and leave no holes.
+     */
+    @Override
+    public void compact() {
+    }
+
+    /**
+     * Returns the vertex stored at the given index.
+     * @param index the index of the vertex
+     * @return the vertex at the given index, or null if the index is not valid
+     */
+    @Override
+    public T getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        return vertices[index];
+    }
+
+    /**
+     * Checks if there is an edge between the two given indices.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if both vertices are adjacent, false otherwise
+     */
+    @Override
+    public boolean isAdjacent(int index1, int index2) {
+        return indexIsValid(index1) && indexIsValid(index2) && isSet(rows[index1], index2);
+    }
+
+    /**
+     * Returns the number of vertices adjacent to the vertex at the given index, counted a word at a time.
+     * @param index the index of the vertex
+     * @return the number of neighbours, 0 if the index is not valid
+     */
+    public int getDegree(int index) {
+        if (!indexIsValid(index)) {
+            return 0;
+        }
+
+        int degree = 0;
+        for (int w = 0; w < usedWords(); w++) {
+            degree += Long.bitCount(rows[index][w]);
+        }
+        return degree;
+    }
+
+    /**
+     * Returns the indices of the vertices adjacent to the vertex at the given index, in increasing order.
+     * @param index the index of the vertex
+     * @return the indices of the neighbours, empty if the index is not valid
+     */
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        int[] neighbours = new int[getDegree(index)];
+        int count = 0;
+
+        for (int w = 0; count < neighbours.length; w++) {
+            for (long bits = rows[index][w]; bits != 0; bits &= bits - 1) {
+                neighbours[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Returns an iterator that performs a breadth-first traversal starting at the given vertex.
+     * @param startVertex the starting vertex
+     * @return an iterator that performs a breadth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorBFS(T startVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int startIndex = getIndex(startVertex);
+
+        if (indexIsValid(startIndex)) {
+            int[] order = new int[numVertices];
+            int count = traverseBFS(startIndex, order);
+            for (int i = 0; i < count; i++) {
+                resultList.addToRear(vertices[order[i]]);
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Visits every vertex reachable from the start in breadth-first order.
+     * The unvisited neighbours of each vertex are found a word at a time, by clearing the visited bits of its row.
+     * @param startIndex the index of the starting vertex
+     * @param order receives the visited indices, in order
+     * @return the number of vertices visited
+     */
+    private int traverseBFS(int startIndex, int[] order) {
+        int words = usedWords();
+        long[] visited = new long[words];
+        int head = 0;
+        int tail = 0;
+
+        visited[startIndex >>> 6] |= 1L << startIndex;
+        order[tail++] = startIndex;
+
+        while (head < tail) {
+            long[] row = rows[order[head++]];
+
+            for (int w = 0; w < words; w++) {
+                long bits = row[w] & ~visited[w];
+                visited[w] |= bits;
+
+                for (; bits != 0; bits &= bits - 1) {
+                    order[tail++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Returns an iterator that performs a depth-first traversal starting at the given vertex.
+     * Each vertex keeps a cursor to the word of its row where the search last stopped, since the visited
+     * words only gain bits and earlier words have nothing left to give.
+     * @param startVertex the starting vertex
+     * @return an iterator that performs a depth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorDFS(T startVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int startIndex = getIndex(startVertex);
+
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        int words = usedWords();
+        long[] visited = new long[words];
+        int[] cursor = new int[numVertices];
+        int[] stack = new int[numVertices];
+        int top = 0;
+
+        stack[top++] = startIndex;
+        visited[startIndex >>> 6] |= 1L << startIndex;
+        resultList.addToRear(vertices[startIndex]);
+
+        while (top > 0) {
+            int x = stack[top - 1];
+            long[] row = rows[x];
+            int next = -1;
+
+            while (next == -1 && cursor[x] < words) {
+                long bits = row[cursor[x]] & ~visited[cursor[x]];
+                if (bits != 0) {
+                    next = (cursor[x] << 6) + Long.numberOfTrailingZeros(bits);
+                } else {
+                    cursor[x]++;
+                }
+            }
+
+            if (next == -1) {
+                top--;
+            } else {
+                visited[next >>> 6] |= 1L << next;
+                stack[top++] = next;
+                resultList.addToRear(vertices[next]);
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an iterator that returns the shortest path between two vertices.
+     * @param startVertex  the starting vertex
+     * @param targetVertex the ending vertex
+     * @return an iterator that returns the shortest path between two vertices
+     */
+    @Override
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+
+        for (int index : shortestPath(getIndex(startVertex), getIndex(targetVertex), null)) {
+            resultList.addToRear(vertices[index]);
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns the indices of the path with the fewest edges between two vertices, found with a breadth-first search
+     * that takes the unvisited and allowed neighbours of each vertex a word at a time.
+     * As with the other searches, an empty path is returned when the start is the target.
+     * @param startIndex the starting vertex
+     * @param targetIndex the ending vertex
+     * @param allowed the words of the vertices the path may step into, or null to accept every vertex.
+     *                The start does not need to be allowed
+     * @return the indices of the path from the start to the target, empty if there is no path
+     */
+    public int[] shortestPath(int startIndex, int targetIndex, long[] allowed) {
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex) || startIndex == targetIndex
+                || (allowed != null && !isSet(allowed, targetIndex))) {
+            return new int[0];
+        }
+
+        int words = usedWords();
+        long[] open = new long[words];
+        for (int w = 0; w < words; w++) {
+            open[w] = allowed == null ? -1L : allowed[w];
+        }
+        open[startIndex >>> 6] &= ~(1L << startIndex);
+
+        int[] predecessor = new int[numVertices];
+        int[] queue = new int[numVertices];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startIndex;
+        predecessor[startIndex] = -1;
+
+        while (head < tail && isSet(open, targetIndex)) {
+            int x = queue[head++];
+            long[] row = rows[x];
+
+            for (int w = 0; w < words; w++) {
+                long bits = row[w] & open[w];
+                open[w] &= ~bits;
+
+                for (; bits != 0; bits &= bits - 1) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    predecessor[i] = x;
+                    queue[tail++] = i;
+                }
+            }
+        }
+
+        if (isSet(open, targetIndex)) {
+            return new int[0];
+        }
+
+        int length = 0;
+        for (int i = targetIndex; i != -1; i = predecessor[i]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int i = targetIndex; i != -1; i = predecessor[i]) {
+            path[--length] = i;
+        }
+        return path;
+    }
+
+    /**
+     * Checks if the graph is empty.
+     * @return true if the graph is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return (this.numVertices == 0);
+    }
+
+    /**
+     * Checks if the graph is connected.
+     * @return true if the graph is connected, false otherwise
+     */
+    @Override
+    public boolean isConnected() {
+        if (isEmpty()) {
+            return false;
+        }
+        return traverseBFS(0, new int[numVertices]) == numVertices;
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     * @return the number of vertices in the graph
+     */
+    @Override
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns a string representation of the graph.
+     * @return a string representation of the graph
+     */
+    @Override
+    public String toString() {
+        if (numVertices == 0)
+            return "Graph is empty";
+
+        String result = "";
+
+        result += "\n\t\tAdjacency Bits\n";
+        result += "\t\t-----------------------------------------\n";
+        result += "index\tneighbours\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            result += "" + i + "\t";
+
+            for (int j : getNeighbourIndices(i)) {
+                result += j + " ";
+            }
+            result += "\n";
+        }
+
+        result += "\nVertex Values";
+        result += "\n-------------\n";
+        result += "index\tvalue\n\n";
+
+        for (int i = 0; i < numVertices; i++) {
+            result += "" + i + "\t";
+            result += vertices[i].toString() + "\n";
+        }
+        return result;
+    }
+}
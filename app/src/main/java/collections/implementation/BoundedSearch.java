@@ -0,0 +1,301 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * BoundedSearch finds every vertex of an {@link IndexedGraphADT} that can be reached from a start within a budget,
+ * with the cost of reaching it. Each edge costs one, or its weight when the graph is an {@link IndexedNetworkADT},
+ * so the search is a breadth-first search or Dijkstra's algorithm that stops as soon as the budget is spent.
+ * The graph is read as it is at each search rather than copied, and the arrays are kept between searches and marked
+ * with a stamp instead of being cleared, so a search costs about as much as the part of the graph it reaches.
+ * A search is not safe to run from several threads at once.
+ */
+public class BoundedSearch {
+
+    /**
+     * The graph to be searched
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * The graph as a network, null if every edge costs one
+     */
+    private final IndexedNetworkADT<?> network;
+
+    /**
+     * The stamp of the last search that reached each vertex, so the arrays need no clearing
+     */
+    private int[] reached;
+
+    /**
+     * The stamp of the last search that settled each vertex
+     */
+    private int[] settled;
+
+    /**
+     * The cheapest cost found to each vertex
+     */
+    private double[] cost;
+
+    /**
+     * The vertex each vertex was reached from, -1 for the start
+     */
+    private int[] predecessor;
+
+    /**
+     * The vertices waiting to be expanded by a breadth-first search
+     */
+    private int[] queue;
+
+    /**
+     * The vertices waiting to be expanded by Dijkstra's algorithm
+     */
+    private IndexedMinHeap heap;
+
+    /**
+     * The stamp of the current search
+     */
+    private int stamp;
+
+    /**
+     * The vertices reached by the last search, cheapest first
+     */
+    private int[] result;
+
+    /**
+     * Creates a search over a graph.
+     * @param graph the graph to be searched
+     */
+    public BoundedSearch(IndexedGraphADT<?> graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Creates a search over a graph, choosing whether network weights are read.
+     * @param graph the graph to be searched
+     * @param unitWeights true to count one per edge even when the graph is an {@link IndexedNetworkADT}
+     */
+    public BoundedSearch(IndexedGraphADT<?> graph, boolean unitWeights) {
+        this.graph = graph;
+        this.network = !unitWeights && graph instanceof IndexedNetworkADT ? (IndexedNetworkADT<?>) graph : null;
+        this.reached = new int[0];
+        this.settled = new int[0];
+        this.cost = new double[0];
+        this.predecessor = new int[0];
+        this.queue = new int[0];
+        this.heap = new IndexedMinHeap(0);
+        this.stamp = 0;
+        this.result = new int[0];
+    }
+
+    /**
+     * Returns the vertices that can be reached from a start with a cost no larger than the budget.
+     * @param source the index of the start
+     * @param budget the largest cost of a path
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start does not need to be accepted
+     * @return the indices of the vertices reached, cheapest first, starting with the start itself;
+     *         empty if the start is not valid or the budget is negative
+     */
+    public int[] search(int source, double budget, IntPredicate allowed) {
+        this.result = new int[0];
+        if (!this.graph.indexIsValid(source) || !(budget >= 0)) {
+            return this.result;
+        }
+
+        int found = this.run(source, budget, allowed, -1);
+        this.result = Arrays.copyOf(this.queue, found);
+        return this.result;
+    }
+
+    /**
+     * Returns the cheapest path between two vertices, stopping as soon as the target is found.
+     * The vertices found on the way become the last result.
+     * @param source the index of the start
+     * @param target the index of the target
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start does not need to be accepted
+     * @return the indices of the path from the start to the target, empty if there is none or both are the same
+     */
+    public int[] path(int source, int target, IntPredicate allowed) {
+        this.result = new int[0];
+        if (!this.graph.indexIsValid(source) || !this.graph.indexIsValid(target) || source == target) {
+            return this.result;
+        }
+
+        int found = this.run(source, Double.POSITIVE_INFINITY, allowed, target);
+        this.result = Arrays.copyOf(this.queue, found);
+        if (this.reached[target] != this.stamp) {
+            return new int[0];
+        }
+
+        int length = 0;
+        for (int index = target; index != -1; index = this.predecessor[index]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int index = target; index != -1; index = this.predecessor[index]) {
+            path[--length] = index;
+        }
+        return path;
+    }
+
+    /**
+     * Checks if the search reads the weights of a network.
+     * @return true if each edge costs its weight, false if each costs one
+     */
+    public boolean readsWeights() {
+        return this.network != null;
+    }
+
+    /**
+     * Returns the cost of reaching one of the vertices found by the last search.
+     * @param position the position of the vertex in the last result
+     * @return the cost of the cheapest path to it
+     */
+    public double getCost(int position) {
+        return this.cost[this.resultAt(position)];
+    }
+
+    /**
+     * Returns the vertex one of the vertices found by the last search was reached from.
+     * @param position the position of the vertex in the last result
+     * @return the index of the previous vertex on its cheapest path, -1 for the start
+     */
+    public int getPredecessor(int position) {
+        return this.predecessor[this.resultAt(position)];
+    }
+
+    /**
+     * Returns the vertex at a position of the last result.
+     * @param position the position of the vertex
+     * @return the index of the vertex
+     */
+    private int resultAt(int position) {
+        if (position < 0 || position >= this.result.length) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of " + this.result.length + " vertices.");
+        }
+        return this.result[position];
+    }
+
+    /**
+     * Starts a new search from the start and runs it until the budget is spent or the target is found.
+     * @param source the index of the start
+     * @param budget the largest cost of a path
+     * @param allowed the vertices a path may step into, or null for every vertex
+     * @param target the index of the vertex that ends the search once found, or -1 for none
+     * @return the number of vertices found, left at the front of the queue
+     */
+    private int run(int source, double budget, IntPredicate allowed, int target) {
+        this.prepare();
+        this.stamp++;
+        this.reached[source] = this.stamp;
+        this.cost[source] = 0;
+        this.predecessor[source] = -1;
+
+        return this.network == null ? this.breadthFirst(source, budget, allowed, target)
+                : this.dijkstra(source, budget, allowed, target);
+    }
+
+    /**
+     * Grows the arrays when the graph has more slots than at the last search.
+     */
+    private void prepare() {
+        int slots = this.graph.getSlotCount();
+        if (slots > this.reached.length) {
+            this.reached = new int[slots];
+            this.settled = new int[slots];
+            this.cost = new double[slots];
+            this.predecessor = new int[slots];
+            this.queue = new int[slots];
+            this.heap = new IndexedMinHeap(slots);
+            this.stamp = 0;
+        }
+    }
+
+    /**
+     * Expands the vertices level by level until the next level would cost more than the budget.
+     * The vertices are left in the queue in the order they were reached.
+     * @param source the index of the start
+     * @param budget the largest cost of a path
+     * @param allowed the vertices a path may step into, or null for every vertex
+     * @param target the index of the vertex that ends the search once reached, or -1 for none
+     * @return the number of vertices reached
+     */
+    private int breadthFirst(int source, double budget, IntPredicate allowed, int target) {
+        int head = 0;
+        int tail = 0;
+        this.queue[tail++] = source;
+
+        while (head < tail) {
+            int index = this.queue[head++];
+            if (this.cost[index] + 1 > budget) {
+                break;
+            }
+
+            for (int i : this.graph.getNeighbourIndices(index)) {
+                if (this.reached[i] != this.stamp && (allowed == null || allowed.test(i))) {
+                    this.reached[i] = this.stamp;
+                    this.cost[i] = this.cost[index] + 1;
+                    this.predecessor[i] = index;
+                    this.queue[tail++] = i;
+                    if (i == target) {
+                        return tail;
+                    }
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Settles the vertices cheapest first until the cheapest one left costs more than the budget.
+     * The settled vertices are written to the queue in the order they were settled.
+     * @param source the index of the start
+     * @param budget the largest cost of a path
+     * @param allowed the vertices a path may step into, or null for every vertex
+     * @param target the index of the vertex that ends the search once settled, or -1 for none
+     * @return the number of vertices settled
+     */
+    private int dijkstra(int source, double budget, IntPredicate allowed, int target) {
+        int found = 0;
+        this.heap.clear();
+        this.heap.insert(source, 0);
+
+        try {
+            while (!this.heap.isEmpty()) {
+                int index = this.heap.removeMin();
+                this.settled[index] = this.stamp;
+                this.queue[found++] = index;
+                if (index == target) {
+                    break;
+                }
+
+                for (int i : this.graph.getNeighbourIndices(index)) {
+                    if (this.settled[i] == this.stamp || (allowed != null && !allowed.test(i))) {
+                        continue;
+                    }
+
+                    double candidate = this.cost[index] + this.network.getEdgeWeight(index, i);
+                    if (candidate > budget) {
+                        continue;
+                    }
+                    if (this.reached[i] != this.stamp || candidate < this.cost[i]) {
+                        this.reached[i] = this.stamp;
+                        this.cost[i] = candidate;
+                        this.predecessor[i] = index;
+                        this.heap.insertOrDecrease(i, candidate);
+                    }
+                }
+            }
+        } catch (EmptyCollectionException e) {
+            e.printStackTrace();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,334 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.Arrays;
+
+/**
+ * ConnectedComponents keeps the connected components of an {@link IndexedGraphADT} in a {@link UnionFind},
+ * so the component of a vertex, its size and whether the graph is connected are answered without a search.
+ * Added edges just join two sets. A removed edge starts a search from both of its ends at the same time, which
+ * stops as soon as they meet again, and only when they do not is the old component split and joined again.
+ * A removed vertex splits and rebuilds just its own component.
+ * The holes a backend leaves in place of removed vertices are kept as sets of their own, which are not counted.
+ * The owner of the graph must report every change through the methods of this class.
+ */
+public class ConnectedComponents {
+
+    /**
+     * The graph whose components are kept
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * The components, one set per component
+     */
+    private UnionFind sets;
+
+    /**
+     * The stamp of the last search that reached each vertex, so marks need no clearing
+     */
+    private int[] mark;
+
+    /**
+     * The stamp of the current search, the two ends of a removed edge use stamp and stamp + 1
+     */
+    private int stamp;
+
+    /**
+     * The queue of the search from the first end, which also collects the vertices of a component
+     */
+    private int[] firstQueue;
+
+    /**
+     * The queue of the search from the second end
+     */
+    private int[] secondQueue;
+
+    /**
+     * The number of holes left by removed vertices, each one a set of its own
+     */
+    private int holes;
+
+    /**
+     * The number of vertices of the component collected by {@link #vertexRemoving(int)}
+     */
+    private int removedComponentSize;
+
+    /**
+     * Builds the components of the graph as it is now.
+     * @param graph the graph
+     */
+    public ConnectedComponents(IndexedGraphADT<?> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    /**
+     * Recomputes every component, joining the ends of every edge, in O(V + E).
+     */
+    public void rebuild() {
+        int numVertices = this.graph.getSlotCount();
+        int capacity = Math.max(10, numVertices);
+        this.sets = new UnionFind(numVertices);
+        this.mark = new int[capacity];
+        this.firstQueue = new int[capacity];
+        this.secondQueue = new int[capacity];
+        this.stamp = 0;
+        this.holes = 0;
+
+        for (int i = 0; i < numVertices; i++) {
+            if (!this.graph.indexIsValid(i)) {
+                this.holes++;
+            }
+            for (int j : this.graph.getNeighbourIndices(i)) {
+                if (i < j) {
+                    this.sets.union(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of index slots covered.
+     * @return the number of slots
+     */
+    public int size() {
+        return this.sets.size();
+    }
+
+    /**
+     * Checks if the index is covered and belongs to a vertex.
+     * @param index the index to be checked
+     * @return true if the index is covered
+     */
+    private boolean indexIsValid(int index) {
+        return index >= 0 && index < this.sets.size() && this.graph.indexIsValid(index);
+    }
+
+    /**
+     * Returns the number of connected components.
+     * @return the number of components
+     */
+    public int getNumberOfComponents() {
+        return this.sets.getNumberOfSets() - this.holes;
+    }
+
+    /**
+     * Checks if every vertex can be reached from every other vertex, as {@link IndexedGraphADT#isConnected()}.
+     * @return true if the graph has vertices and a single component
+     */
+    public boolean isConnected() {
+        return getNumberOfComponents() == 1;
+    }
+
+    /**
+     * Returns an id of the component of the vertex, shared by every vertex of that component.
+     * The ids are only valid until the graph changes.
+     * @param index the index of the vertex
+     * @return the id of its component, or -1 if the index is not covered
+     */
+    public int getComponent(int index) {
+        return indexIsValid(index) ? this.sets.find(index) : -1;
+    }
+
+    /**
+     * Returns the number of vertices of the component of the vertex.
+     * @param index the index of the vertex
+     * @return the size of its component, or 0 if the index is not covered
+     */
+    public int getComponentSize(int index) {
+        return indexIsValid(index) ? this.sets.getSetSize(index) : 0;
+    }
+
+    /**
+     * Checks if two vertices are in the same component.
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @return true if a path joins them
+     */
+    public boolean connected(int first, int second) {
+        return indexIsValid(first) && indexIsValid(second) && this.sets.connected(first, second);
+    }
+
+    /**
+     * Checks if the vertex is alone in its component.
+     * @param index the index of the vertex
+     * @return true if no other vertex can be reached from it
+     */
+    public boolean isIsolated(int index) {
+        return getComponentSize(index) == 1;
+    }
+
+    /**
+     * Covers a vertex the graph has added, at the end or in the slot of a removed vertex.
+     */
+    public void vertexAdded() {
+        if (this.graph.getSlotCount() == this.sets.size()) {
+            // no slot was added, so the vertex took a hole
+            this.holes--;
+        }
+
+        while (this.sets.size() < this.graph.getSlotCount()) {
+            int index = this.sets.add();
+
+            if (index == this.mark.length) {
+                this.mark = Arrays.copyOf(this.mark, index * 2);
+                this.firstQueue = new int[index * 2];
+                this.secondQueue = new int[index * 2];
+            }
+        }
+    }
+
+    /**
+     * Joins the components of the ends of an edge the graph has added.
+     * @param first the index of one end
+     * @param second the index of the other end
+     */
+    public void edgeAdded(int first, int second) {
+        if (indexIsValid(first) && indexIsValid(second)) {
+            this.sets.union(first, second);
+        }
+    }
+
+    /**
+     * Splits the component of an edge the graph has removed, if its ends are no longer joined.
+     * Both ends are searched one vertex at a time, so the cost is bounded by the smaller side when the
+     * component splits and by the distance around the edge when it does not.
+     * @param first the index of one end
+     * @param second the index of the other end
+     */
+    public void edgeRemoved(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second) || first == second
+                || !this.sets.connected(first, second) || this.graph.isAdjacent(first, second)) {
+            return;
+        }
+
+        int firstMark = ++this.stamp;
+        int secondMark = ++this.stamp;
+        int firstHead = 0;
+        int firstTail = 0;
+        int secondHead = 0;
+        int secondTail = 0;
+
+        this.mark[first] = firstMark;
+        this.firstQueue[firstTail++] = first;
+        this.mark[second] = secondMark;
+        this.secondQueue[secondTail++] = second;
+
+        while (firstHead < firstTail && secondHead < secondTail) {
+            for (int i : this.graph.getNeighbourIndices(this.firstQueue[firstHead++])) {
+                if (this.mark[i] == secondMark) {
+                    return;
+                } else if (this.mark[i] != firstMark) {
+                    this.mark[i] = firstMark;
+                    this.firstQueue[firstTail++] = i;
+                }
+            }
+            for (int i : this.graph.getNeighbourIndices(this.secondQueue[secondHead++])) {
+                if (this.mark[i] == firstMark) {
+                    return;
+                } else if (this.mark[i] != secondMark) {
+                    this.mark[i] = secondMark;
+                    this.secondQueue[secondTail++] = i;
+                }
+            }
+        }
+
+        // one side ran out without meeting the other: the component split, so collect both sides whole
+        firstTail = collect(this.firstQueue, firstHead, firstTail, firstMark);
+        secondTail = collect(this.secondQueue, secondHead, secondTail, secondMark);
+        System.arraycopy(this.secondQueue, 0, this.firstQueue, firstTail, secondTail);
+        rejoin(firstTail + secondTail);
+    }
+
+    /**
+     * Collects the component of a vertex that is about to be removed.
+     * Must be followed by {@link #vertexRemoved(int)} once the graph has removed it.
+     * @param index the index of the vertex
+     */
+    public void vertexRemoving(int index) {
+        if (!indexIsValid(index)) {
+            this.removedComponentSize = 0;
+            return;
+        }
+
+        int mark = ++this.stamp;
+        this.mark[index] = mark;
+        this.firstQueue[0] = index;
+        this.removedComponentSize = collect(this.firstQueue, 0, 1, mark);
+    }
+
+    /**
+     * Drops a vertex the graph has removed and rebuilds the rest of its component.
+     * If the graph moved the vertices after it one position down, so do the components,
+     * otherwise its slot is kept as a hole until a vertex reuses it.
+     * @param index the index the vertex had
+     */
+    public void vertexRemoved(int index) {
+        if (index < 0 || index >= this.sets.size() || this.removedComponentSize == 0) {
+            return;
+        }
+
+        if (this.graph.getSlotCount() == this.sets.size()) {
+            this.holes++;
+            rejoin(this.removedComponentSize);
+            this.removedComponentSize = 0;
+            return;
+        }
+
+        this.sets.split(this.firstQueue, this.removedComponentSize);
+        this.sets.remove(index);
+
+        int count = 0;
+        for (int k = 0; k < this.removedComponentSize; k++) {
+            int member = this.firstQueue[k];
+            if (member != index) {
+                this.firstQueue[count++] = member > index ? member - 1 : member;
+            }
+        }
+        this.removedComponentSize = 0;
+        join(count);
+    }
+
+    /**
+     * Finishes a breadth-first search, adding every vertex it reaches to the queue.
+     * @param queue the queue of the search
+     * @param head the position of the next vertex to expand
+     * @param tail the position after the last queued vertex
+     * @param mark the stamp of the search
+     * @return the number of vertices reached
+     */
+    private int collect(int[] queue, int head, int tail, int mark) {
+        while (head < tail) {
+            for (int i : this.graph.getNeighbourIndices(queue[head++])) {
+                if (this.mark[i] != mark) {
+                    this.mark[i] = mark;
+                    queue[tail++] = i;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Splits the component collected in the first queue and joins its vertices again along the edges left.
+     * @param count the number of vertices of the component
+     */
+    private void rejoin(int count) {
+        this.sets.split(this.firstQueue, count);
+        join(count);
+    }
+
+    /**
+     * Joins the vertices collected in the first queue along their edges.
+     * @param count the number of vertices collected
+     */
+    private void join(int count) {
+        for (int k = 0; k < count; k++) {
+            for (int i : this.graph.getNeighbourIndices(this.firstQueue[k])) {
+                this.sets.union(this.firstQueue[k], i);
+            }
+        }
+    }
+}
@@ -0,0 +1,711 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * ContractionHierarchy is a preprocessed index over the topology of an {@link IndexedGraphADT} that answers
+ * point-to-point shortest path queries by looking at a small part of the graph.
+ * <p>
+ * Vertices are contracted one at a time, least important first. Removing a vertex adds a shortcut between two of its
+ * neighbours whenever it lay on the only shortest path between them, so distances among the remaining vertices stay
+ * the same. A query then runs Dijkstra from both ends using only edges that lead to vertices contracted later,
+ * which meet at the most important vertex of the shortest path. Shortcuts remember the vertex they skip, so the
+ * full path is unpacked at the end.
+ * <p>
+ * Edge weights are read from an {@link IndexedNetworkADT}, every other graph counts one per edge.
+ * The index is a snapshot: it must be built again after the graph changes.
+ */
+public class ContractionHierarchy {
+
+    /**
+     * The largest number of vertices a witness search settles before giving up and adding the shortcut
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 64;
+
+    /**
+     * The number of vertices of the graph when the index was built
+     */
+    private final int numVertices;
+
+    /**
+     * The original neighbours of each vertex, used to leave a start that is not part of the hierarchy
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The weight of each original edge, parallel to {@link #neighbours}
+     */
+    private final double[][] weights;
+
+    /**
+     * Whether each vertex is part of the hierarchy
+     */
+    private final boolean[] accepted;
+
+    /**
+     * The position in which each vertex was contracted, -1 if it is not part of the hierarchy
+     */
+    private final int[] rank;
+
+    /**
+     * The vertices contracted after each vertex that it has an edge or shortcut to
+     */
+    private final int[][] upTarget;
+
+    /**
+     * The weight of each upward edge, parallel to {@link #upTarget}
+     */
+    private final double[][] upWeight;
+
+    /**
+     * The vertex skipped by each upward shortcut, -1 for an original edge, parallel to {@link #upTarget}
+     */
+    private final int[][] upVia;
+
+    /**
+     * The search state of each thread, so that concurrent queries never wait for one another
+     */
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+
+    /**
+     * Copies the topology of the graph now and returns a task that contracts the copy, so that the slow part
+     * can run on another thread while the graph keeps changing.
+     * @param graph the graph
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     * @return a task that builds the hierarchy of the graph as it is now
+     */
+    public static Supplier<ContractionHierarchy> prepare(IndexedGraphADT<?> graph, IntPredicate allowed) {
+        return prepare(graph, allowed, false);
+    }
+
+    /**
+     * Copies the topology of the graph now and returns a task that contracts the copy, so that the slow part
+     * can run on another thread while the graph keeps changing.
+     * @param graph the graph
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     * @param unitWeights true to count one per edge even when the graph is an {@link IndexedNetworkADT}
+     * @return a task that builds the hierarchy of the graph as it is now
+     */
+    public static Supplier<ContractionHierarchy> prepare(IndexedGraphADT<?> graph, IntPredicate allowed,
+                                                         boolean unitWeights) {
+        int numVertices = graph.getSlotCount();
+        int[][] neighbours = new int[numVertices][];
+        double[][] weights = new double[numVertices][];
+        boolean[] accepted = new boolean[numVertices];
+        IndexedNetworkADT<?> network = !unitWeights && graph instanceof IndexedNetworkADT
+                ? (IndexedNetworkADT<?>) graph : null;
+
+        for (int i = 0; i < numVertices; i++) {
+            neighbours[i] = graph.getNeighbourIndices(i);
+            weights[i] = new double[neighbours[i].length];
+            for (int k = 0; k < neighbours[i].length; k++) {
+                weights[i][k] = network == null ? 1.0 : network.getEdgeWeight(i, neighbours[i][k]);
+            }
+            accepted[i] = allowed == null || allowed.test(i);
+        }
+
+        return () -> new Contraction(neighbours, weights, accepted).run();
+    }
+
+    /**
+     * Builds the hierarchy of the graph as it is now.
+     * @param graph the graph, which must not change while the hierarchy is being built
+     * @param allowed the vertices a path may step into, or null to accept every vertex
+     * @return the hierarchy of the graph
+     */
+    public static ContractionHierarchy build(IndexedGraphADT<?> graph, IntPredicate allowed) {
+        return prepare(graph, allowed).get();
+    }
+
+    /**
+     * Creates a hierarchy from an index that is already built.
+     * @param neighbours the original neighbours of each vertex
+     * @param weights the weight of each original edge
+     * @param accepted whether each vertex is part of the hierarchy
+     * @param rank the position in which each vertex was contracted
+     * @param upTarget the upward edges of each vertex
+     * @param upWeight the weight of each upward edge
+     * @param upVia the vertex skipped by each upward shortcut
+     */
+    private ContractionHierarchy(int[][] neighbours, double[][] weights, boolean[] accepted, int[] rank,
+                                 int[][] upTarget, double[][] upWeight, int[][] upVia) {
+        this.numVertices = neighbours.length;
+        this.neighbours = neighbours;
+        this.weights = weights;
+        this.accepted = accepted;
+        this.rank = rank;
+        this.upTarget = upTarget;
+        this.upWeight = upWeight;
+        this.upVia = upVia;
+    }
+
+    /**
+     * Returns the number of vertices the index was built for.
+     * @return the number of vertices
+     */
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns the number of upward edges and shortcuts kept by the index.
+     * @return the number of upward edges
+     */
+    public int getNumberOfEdges() {
+        int count = 0;
+        for (int i = 0; i < this.numVertices; i++) {
+            count += this.upTarget[i].length;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the weight of the shortest path between two vertices.
+     * @param source the index of the source
+     * @param target the index of the target
+     * @return the weight of the shortest path, positive infinity if there is none
+     */
+    public double distance(int source, int target) {
+        Query query = this.queries.get();
+        int meeting = query.search(source, target);
+        double result = meeting == -1 ? Double.POSITIVE_INFINITY
+                : query.forwardDistance[meeting] + query.backwardDistance[meeting];
+
+        query.reset();
+        return result;
+    }
+
+    /**
+     * Returns the indices of the shortest path between two vertices, with every shortcut unpacked.
+     * @param source the index of the source
+     * @param target the index of the target
+     * @return the indices of the path from the source to the target, empty if there is no path
+     */
+    public int[] path(int source, int target) {
+        Query query = this.queries.get();
+        int meeting = query.search(source, target);
+        if (meeting == -1) {
+            query.reset();
+            return new int[0];
+        }
+
+        // the vertices met on the way up from both ends, before unpacking
+        int[] upward = new int[this.numVertices + 1];
+        int count = 0;
+        for (int index = meeting; index != -1; index = query.forwardParent[index]) {
+            upward[count++] = index;
+        }
+        if (!this.accepted[source] && source != upward[count - 1]) {
+            upward[count++] = source;
+        }
+        reverse(upward, count);
+        for (int index = query.backwardParent[meeting]; index != -1; index = query.backwardParent[index]) {
+            upward[count++] = index;
+        }
+        query.reset();
+
+        int[] path = new int[Math.max(16, count)];
+        int length = 1;
+        path[0] = upward[0];
+        int[] stack = new int[32];
+
+        for (int k = 1; k < count; k++) {
+            int top = 0;
+            stack[top++] = upward[k - 1];
+            stack[top++] = upward[k];
+
+            while (top > 0) {
+                int to = stack[--top];
+                int from = stack[--top];
+                int via = viaOf(from, to);
+
+                if (via == -1) {
+                    if (length == path.length) {
+                        path = Arrays.copyOf(path, length * 2);
+                    }
+                    path[length++] = to;
+                } else {
+                    if (top + 4 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    // the second half is pushed first so that the first half is unpacked first
+                    stack[top++] = via;
+                    stack[top++] = to;
+                    stack[top++] = from;
+                    stack[top++] = via;
+                }
+            }
+        }
+
+        return Arrays.copyOf(path, length);
+    }
+
+    /**
+     * Returns the vertex skipped by the edge between two vertices, which is stored by the one contracted first.
+     * @param first one end of the edge
+     * @param second the other end of the edge
+     * @return the skipped vertex, -1 if the edge is an original one
+     */
+    private int viaOf(int first, int second) {
+        int low = this.rank[first] < this.rank[second] ? first : second;
+        int high = low == first ? second : first;
+
+        for (int k = 0; k < this.upTarget[low].length; k++) {
+            if (this.upTarget[low][k] == high) {
+                return this.upVia[low][k];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reverses the first entries of the array.
+     */
+    private static void reverse(int[] array, int count) {
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * The distances, predecessors and heaps of one thread's queries, reset after each query.
+     */
+    private final class Query {
+
+        /**
+         * Distances of the forward search
+         */
+        private final double[] forwardDistance = new double[numVertices];
+
+        /**
+         * Distances of the backward search
+         */
+        private final double[] backwardDistance = new double[numVertices];
+
+        /**
+         * Predecessor of each vertex in the forward search, -1 for the start of the search
+         */
+        private final int[] forwardParent = new int[numVertices];
+
+        /**
+         * Predecessor of each vertex in the backward search, -1 for the target
+         */
+        private final int[] backwardParent = new int[numVertices];
+
+        /**
+         * The heap of the forward search
+         */
+        private final IndexedMinHeap forwardHeap = new IndexedMinHeap(numVertices);
+
+        /**
+         * The heap of the backward search
+         */
+        private final IndexedMinHeap backwardHeap = new IndexedMinHeap(numVertices);
+
+        /**
+         * The vertices given a distance in the last query, so that only those are reset
+         */
+        private int[] touched = new int[16];
+
+        /**
+         * The number of entries in {@link #touched}
+         */
+        private int touchedCount;
+
+        /**
+         * Creates the state of a thread with every distance unknown.
+         */
+        private Query() {
+            Arrays.fill(this.forwardDistance, Double.POSITIVE_INFINITY);
+            Arrays.fill(this.backwardDistance, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Runs the bidirectional upward search and leaves its distances and predecessors in place.
+         * @param source the index of the source
+         * @param target the index of the target
+         * @return the vertex where the best paths from both ends meet, -1 if there is no path
+         */
+        private int search(int source, int target) {
+            if (source < 0 || source >= numVertices || target < 0 || target >= numVertices
+                    || !accepted[target]) {
+                return -1;
+            }
+
+            IndexedMinHeap forwardHeap = this.forwardHeap;
+            IndexedMinHeap backwardHeap = this.backwardHeap;
+
+            if (accepted[source]) {
+                relax(this.forwardDistance, this.forwardParent, forwardHeap, source, 0, -1);
+            } else {
+                // a start outside the hierarchy steps straight into its accepted neighbours
+                for (int k = 0; k < neighbours[source].length; k++) {
+                    int neighbour = neighbours[source][k];
+                    if (accepted[neighbour]) {
+                        relax(this.forwardDistance, this.forwardParent, forwardHeap, neighbour, weights[source][k], -1);
+                    }
+                }
+            }
+            relax(this.backwardDistance, this.backwardParent, backwardHeap, target, 0, -1);
+
+            double best = Double.POSITIVE_INFINITY;
+            int meeting = -1;
+
+            try {
+                while (true) {
+                    boolean forwardActive = !forwardHeap.isEmpty() && forwardHeap.getKey(forwardHeap.findMin()) < best;
+                    boolean backwardActive = !backwardHeap.isEmpty() && backwardHeap.getKey(backwardHeap.findMin()) < best;
+                    if (!forwardActive && !backwardActive) {
+                        break;
+                    }
+
+                    boolean forward = forwardActive && (!backwardActive
+                            || forwardHeap.getKey(forwardHeap.findMin()) <= backwardHeap.getKey(backwardHeap.findMin()));
+                    double[] distance = forward ? this.forwardDistance : this.backwardDistance;
+                    double[] otherDistance = forward ? this.backwardDistance : this.forwardDistance;
+                    int[] parent = forward ? this.forwardParent : this.backwardParent;
+                    IndexedMinHeap heap = forward ? forwardHeap : backwardHeap;
+
+                    int current = heap.removeMin();
+                    if (distance[current] + otherDistance[current] < best) {
+                        best = distance[current] + otherDistance[current];
+                        meeting = current;
+                    }
+
+                    for (int k = 0; k < upTarget[current].length; k++) {
+                        relax(distance, parent, heap, upTarget[current][k], distance[current] + upWeight[current][k], current);
+                    }
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+
+            return meeting;
+        }
+
+        /**
+         * Lowers the distance of a vertex in one of the searches if the candidate is shorter.
+         */
+        private void relax(double[] distance, int[] parent, IndexedMinHeap heap, int index, double candidate, int from) {
+            if (candidate < distance[index]) {
+                if (this.forwardDistance[index] == Double.POSITIVE_INFINITY
+                        && this.backwardDistance[index] == Double.POSITIVE_INFINITY) {
+                    if (this.touchedCount == this.touched.length) {
+                        this.touched = Arrays.copyOf(this.touched, this.touchedCount * 2);
+                    }
+                    this.touched[this.touchedCount++] = index;
+                }
+                distance[index] = candidate;
+                parent[index] = from;
+                heap.insertOrDecrease(index, candidate);
+            }
+        }
+
+        /**
+         * Clears the distances left by the last query.
+         */
+        private void reset() {
+            for (int i = 0; i < this.touchedCount; i++) {
+                this.forwardDistance[this.touched[i]] = Double.POSITIVE_INFINITY;
+                this.backwardDistance[this.touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            this.touchedCount = 0;
+            this.forwardHeap.clear();
+            this.backwardHeap.clear();
+        }
+    }
+
+    /**
+     * The edges and shortcuts of one vertex not yet contracted, in a class of its own so they can be kept in an array.
+     */
+    private static final class Edges {
+
+        /**
+         * The weight of the edge or shortcut to each neighbour
+         */
+        private final HashMap<Integer, Double> weights = new HashMap<>();
+    }
+
+    /**
+     * The contraction of a topology into a hierarchy, kept apart because its working state is only needed while building.
+     */
+    private static final class Contraction {
+
+        /**
+         * The neighbours of each vertex in the original topology
+         */
+        private final int[][] neighbours;
+
+        /**
+         * The weight of each original edge
+         */
+        private final double[][] weights;
+
+        /**
+         * Whether each vertex is part of the hierarchy
+         */
+        private final boolean[] accepted;
+
+        /**
+         * The edges and shortcuts among the vertices not yet contracted
+         */
+        private final Edges[] remaining;
+
+        /**
+         * The vertex skipped by each shortcut, keyed by both ends
+         */
+        private final HashMap<Long, Integer> shortcutVia;
+
+        /**
+         * Whether each vertex has been contracted
+         */
+        private final boolean[] contracted;
+
+        /**
+         * The number of neighbours of each vertex that were already contracted, to spread contraction evenly
+         */
+        private final int[] contractedNeighbours;
+
+        /**
+         * Distances of the witness search, reset after each search
+         */
+        private final double[] witnessDistance;
+
+        /**
+         * The heap of the witness search
+         */
+        private final IndexedMinHeap witnessHeap;
+
+        /**
+         * The vertices reached by the last witness search
+         */
+        private final int[] witnessTouched;
+
+        /**
+         * The number of entries in {@link #witnessTouched}
+         */
+        private int witnessTouchedCount;
+
+        /**
+         * Prepares the contraction of the topology.
+         */
+        private Contraction(int[][] neighbours, double[][] weights, boolean[] accepted) {
+            int numVertices = neighbours.length;
+            this.neighbours = neighbours;
+            this.weights = weights;
+            this.accepted = accepted;
+            this.remaining = new Edges[numVertices];
+            this.shortcutVia = new HashMap<>();
+            this.contracted = new boolean[numVertices];
+            this.contractedNeighbours = new int[numVertices];
+            this.witnessDistance = new double[numVertices];
+            this.witnessHeap = new IndexedMinHeap(numVertices);
+            this.witnessTouched = new int[numVertices];
+            Arrays.fill(this.witnessDistance, Double.POSITIVE_INFINITY);
+
+            for (int i = 0; i < numVertices; i++) {
+                this.remaining[i] = new Edges();
+            }
+            for (int i = 0; i < numVertices; i++) {
+                if (!accepted[i]) {
+                    continue;
+                }
+                for (int k = 0; k < neighbours[i].length; k++) {
+                    int neighbour = neighbours[i][k];
+                    if (neighbour != i && accepted[neighbour]) {
+                        this.remaining[i].weights.merge(neighbour, weights[i][k], Math::min);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Contracts every accepted vertex and returns the resulting hierarchy.
+         */
+        private ContractionHierarchy run() {
+            int numVertices = this.neighbours.length;
+            int[] rank = new int[numVertices];
+            int[][] upTarget = new int[numVertices][];
+            double[][] upWeight = new double[numVertices][];
+            int[][] upVia = new int[numVertices][];
+            IndexedMinHeap queue = new IndexedMinHeap(numVertices);
+
+            for (int i = 0; i < numVertices; i++) {
+                rank[i] = -1;
+                upTarget[i] = new int[0];
+                upWeight[i] = new double[0];
+                upVia[i] = new int[0];
+                if (this.accepted[i]) {
+                    queue.insert(i, priority(i));
+                }
+            }
+
+            int order = 0;
+            try {
+                while (!queue.isEmpty()) {
+                    int vertex = queue.removeMin();
+
+                    // the priority may be stale, contract only if it is still the smallest
+                    double current = priority(vertex);
+                    if (!queue.isEmpty() && current > queue.getKey(queue.findMin())) {
+                        queue.insert(vertex, current);
+                        continue;
+                    }
+
+                    int degree = this.remaining[vertex].weights.size();
+                    upTarget[vertex] = new int[degree];
+                    upWeight[vertex] = new double[degree];
+                    upVia[vertex] = new int[degree];
+                    int k = 0;
+                    for (Integer neighbour : this.remaining[vertex].weights.keySet()) {
+                        upTarget[vertex][k] = neighbour;
+                        upWeight[vertex][k] = this.remaining[vertex].weights.get(neighbour);
+                        Integer via = this.shortcutVia.get(key(vertex, neighbour));
+                        upVia[vertex][k] = via == null ? -1 : via;
+                        k++;
+                    }
+
+                    contract(vertex, false);
+                    rank[vertex] = order++;
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+
+            return new ContractionHierarchy(this.neighbours, this.weights, this.accepted, rank, upTarget, upWeight, upVia);
+        }
+
+        /**
+         * Returns how attractive it is to contract the vertex now, lower first:
+         * the shortcuts it would add minus the edges it removes, plus its contracted neighbours.
+         */
+        private double priority(int vertex) {
+            return contract(vertex, true) - this.remaining[vertex].weights.size() + this.contractedNeighbours[vertex];
+        }
+
+        /**
+         * Removes the vertex from the remaining graph, adding the shortcuts needed to keep distances, or only counts them.
+         * @param vertex the vertex
+         * @param simulate true to only count the shortcuts
+         * @return the number of shortcuts needed
+         */
+        private int contract(int vertex, boolean simulate) {
+            int degree = this.remaining[vertex].weights.size();
+            int[] around = new int[degree];
+            double[] aroundWeight = new double[degree];
+            int k = 0;
+            double maxWeight = 0;
+
+            for (Integer neighbour : this.remaining[vertex].weights.keySet()) {
+                around[k] = neighbour;
+                aroundWeight[k] = this.remaining[vertex].weights.get(neighbour);
+                maxWeight = Math.max(maxWeight, aroundWeight[k]);
+                k++;
+            }
+
+            int shortcuts = 0;
+            for (int i = 0; i < degree; i++) {
+                witnessSearch(around[i], vertex, aroundWeight[i] + maxWeight);
+
+                for (int j = i + 1; j < degree; j++) {
+                    double viaWeight = aroundWeight[i] + aroundWeight[j];
+                    if (this.witnessDistance[around[j]] <= viaWeight) {
+                        continue;
+                    }
+
+                    shortcuts++;
+                    if (!simulate) {
+                        this.remaining[around[i]].weights.put(around[j], viaWeight);
+                        this.remaining[around[j]].weights.put(around[i], viaWeight);
+                        this.shortcutVia.put(key(around[i], around[j]), vertex);
+                    }
+                }
+                clearWitness();
+            }
+
+            if (!simulate) {
+                for (int i = 0; i < degree; i++) {
+                    this.remaining[around[i]].weights.remove(vertex);
+                    this.contractedNeighbours[around[i]]++;
+                }
+                this.remaining[vertex].weights.clear();
+                this.contracted[vertex] = true;
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Runs a bounded Dijkstra from the start over the remaining graph without the excluded vertex.
+         * @param start the start of the search
+         * @param excluded the vertex being contracted
+         * @param limit the distance after which the search stops
+         */
+        private void witnessSearch(int start, int excluded, double limit) {
+            this.witnessDistance[start] = 0;
+            this.witnessTouched[this.witnessTouchedCount++] = start;
+            this.witnessHeap.insert(start, 0);
+            int settled = 0;
+
+            try {
+                while (!this.witnessHeap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                    int current = this.witnessHeap.removeMin();
+                    if (this.witnessDistance[current] > limit) {
+                        break;
+                    }
+                    settled++;
+
+                    for (Integer neighbour : this.remaining[current].weights.keySet()) {
+                        if (neighbour == excluded) {
+                            continue;
+                        }
+
+                        double candidate = this.witnessDistance[current] + this.remaining[current].weights.get(neighbour);
+                        if (candidate < this.witnessDistance[neighbour]) {
+                            if (this.witnessDistance[neighbour] == Double.POSITIVE_INFINITY) {
+                                this.witnessTouched[this.witnessTouchedCount++] = neighbour;
+                            }
+                            this.witnessDistance[neighbour] = candidate;
+                            this.witnessHeap.insertOrDecrease(neighbour, candidate);
+                        }
+                    }
+                }
+
+                while (!this.witnessHeap.isEmpty()) {
+                    this.witnessHeap.removeMin();
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+        }
+
+        /**
+         * Clears the distances left by the last witness search.
+         */
+        private void clearWitness() {
+            for (int i = 0; i < this.witnessTouchedCount; i++) {
+                this.witnessDistance[this.witnessTouched[i]] = Double.POSITIVE_INFINITY;
+            }
+            this.witnessTouchedCount = 0;
+        }
+
+        /**
+         * Returns the key of the edge between two vertices, the same in both directions.
+         */
+        private long key(int first, int second) {
+            long low = Math.min(first, second);
+            long high = Math.max(first, second);
+            return (low << 32) | high;
+        }
+    }
+}
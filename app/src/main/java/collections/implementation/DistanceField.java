@@ -0,0 +1,441 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * DistanceField keeps, for every vertex of an {@link IndexedGraphADT}, the number of edges to the nearest source
+ * vertex, which source that is and the next vertex on the way there.
+ * It is filled with a single breadth-first search started from every source at once, and then kept up to date as
+ * the graph changes: added edges and sources only spread shorter distances, while removed edges and sources
+ * recompute just the vertices whose way to a source went through them.
+ * The owner of the graph must report every change through the methods of this class.
+ * With a single source the field is a shortest path tree to it, repaired in place as edges come and go, and it can
+ * record which vertices had their way to a source touched, so paths that go through none of them can be left alone.
+ */
+public class DistanceField {
+
+    /**
+     * The distance given to vertices that cannot reach a source
+     */
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * The graph the distances are measured on
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * Decides which vertices are sources
+     */
+    private final IntPredicate isSource;
+
+    /**
+     * The number of vertices covered
+     */
+    private int numVertices;
+
+    /**
+     * The number of edges from each vertex to its nearest source
+     */
+    private int[] distance;
+
+    /**
+     * The nearest source of each vertex, -1 if it cannot reach one
+     */
+    private int[] nearest;
+
+    /**
+     * The next vertex on the way to the nearest source, -1 for sources and vertices that cannot reach one
+     */
+    private int[] nextHop;
+
+    /**
+     * A vertex that is about to be removed and must be ignored, -1 if none
+     */
+    private int blocked;
+
+    /**
+     * The vertices whose distance changed and still have to spread it, reused between changes
+     */
+    private IndexedMinHeap heap;
+
+    /**
+     * The stamp of the last repair that marked each vertex as affected, so marks need no clearing
+     */
+    private int[] mark;
+
+    /**
+     * The stamp of the current repair
+     */
+    private int stamp;
+
+    /**
+     * The vertices affected by the current repair
+     */
+    private int[] region;
+
+    /**
+     * The vertices whose distance or next hop was written since the changes were last cleared, null when not recorded
+     */
+    private IndexSet changes;
+
+    /**
+     * Whether every vertex should be taken as changed, after the field was rebuilt
+     */
+    private boolean allChanged;
+
+    /**
+     * Builds the field for the graph as it is now.
+     * @param graph the graph
+     * @param isSource decides which vertices are sources
+     */
+    public DistanceField(IndexedGraphADT<?> graph, IntPredicate isSource) {
+        this.graph = graph;
+        this.isSource = isSource;
+        this.blocked = -1;
+        rebuild();
+    }
+
+    /**
+     * Recomputes every distance with a multi-source breadth-first search, in O(V + E).
+     */
+    public void rebuild() {
+        this.numVertices = this.graph.getSlotCount();
+        int capacity = Math.max(10, this.numVertices);
+        this.distance = new int[capacity];
+        this.nearest = new int[capacity];
+        this.nextHop = new int[capacity];
+        this.heap = new IndexedMinHeap(capacity);
+        this.mark = new int[capacity];
+        this.region = new int[capacity];
+        this.stamp = 0;
+        this.allChanged = true;
+
+        int[] queue = new int[this.numVertices];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            this.nextHop[i] = -1;
+            if (this.isSource.test(i)) {
+                this.distance[i] = 0;
+                this.nearest[i] = i;
+                queue[tail++] = i;
+            } else {
+                this.distance[i] = UNREACHABLE;
+                this.nearest[i] = -1;
+            }
+        }
+
+        while (head < tail) {
+            int index = queue[head++];
+            for (int i : this.graph.getNeighbourIndices(index)) {
+                if (this.distance[i] == UNREACHABLE) {
+                    this.distance[i] = this.distance[index] + 1;
+                    this.nearest[i] = this.nearest[index];
+                    this.nextHop[i] = index;
+                    queue[tail++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the index is covered by the field.
+     * @param index the index to be checked
+     * @return true if the index is covered
+     */
+    private boolean indexIsValid(int index) {
+        return index >= 0 && index < this.numVertices;
+    }
+
+    /**
+     * Returns the number of edges from the vertex to its nearest source.
+     * @param index the index of the vertex
+     * @return the distance, or -1 if the vertex cannot reach a source
+     */
+    public int getDistance(int index) {
+        if (!indexIsValid(index) || this.distance[index] == UNREACHABLE) {
+            return -1;
+        }
+        return this.distance[index];
+    }
+
+    /**
+     * Returns the nearest source of the vertex.
+     * @param index the index of the vertex
+     * @return the index of the nearest source, or -1 if the vertex cannot reach one
+     */
+    public int getNearest(int index) {
+        return indexIsValid(index) ? this.nearest[index] : -1;
+    }
+
+    /**
+     * Returns the next vertex on the way from the vertex to its nearest source.
+     * @param index the index of the vertex
+     * @return the index of the next vertex, or -1 for sources and vertices that cannot reach one
+     */
+    public int getNextHop(int index) {
+        return indexIsValid(index) ? this.nextHop[index] : -1;
+    }
+
+    /**
+     * Starts recording which vertices have their way to a source touched by each change.
+     */
+    public void trackChanges() {
+        if (this.changes == null) {
+            this.changes = new IndexSet();
+        }
+    }
+
+    /**
+     * Checks if the way from a vertex to its nearest source may have changed since the changes were last cleared.
+     * A vertex whose distance and next hop were written again with the same values also counts as changed.
+     * @param index the index of the vertex
+     * @return true if the vertex was touched, or every vertex is taken as changed
+     */
+    public boolean hasChanged(int index) {
+        return this.allChanged || (this.changes != null && this.changes.contains(index));
+    }
+
+    /**
+     * Forgets the recorded changes.
+     */
+    public void clearChanges() {
+        this.allChanged = false;
+        if (this.changes != null) {
+            this.changes.clear();
+        }
+    }
+
+    /**
+     * Records that the way from a vertex to its nearest source was written.
+     * @param index the index of the vertex
+     */
+    private void touch(int index) {
+        if (this.changes != null) {
+            this.changes.add(index);
+        }
+    }
+
+    /**
+     * Covers a vertex the graph has added, at the end or in the slot of a removed vertex.
+     * @param index the index of the new vertex
+     */
+    public void vertexAdded(int index) {
+        while (this.numVertices < this.graph.getSlotCount()) {
+            if (this.numVertices == this.distance.length) {
+                this.distance = Arrays.copyOf(this.distance, this.numVertices * 2);
+                this.nearest = Arrays.copyOf(this.nearest, this.numVertices * 2);
+                this.nextHop = Arrays.copyOf(this.nextHop, this.numVertices * 2);
+                this.mark = Arrays.copyOf(this.mark, this.numVertices * 2);
+                this.region = new int[this.numVertices * 2];
+                this.heap = new IndexedMinHeap(this.numVertices * 2);
+            }
+
+            int slot = this.numVertices++;
+            touch(slot);
+            this.distance[slot] = UNREACHABLE;
+            this.nearest[slot] = -1;
+            this.nextHop[slot] = -1;
+        }
+        sourceChanged(index);
+    }
+
+    /**
+     * Detaches a vertex that is about to be removed, recomputing the vertices that reached a source through it.
+     * Must be followed by {@link #vertexRemoved(int)} once the graph has removed it.
+     * @param index the index of the vertex
+     */
+    public void vertexRemoving(int index) {
+        if (!indexIsValid(index)) {
+            return;
+        }
+
+        this.blocked = index;
+        repair(new int[] {index});
+    }
+
+    /**
+     * Drops a vertex the graph has removed. If the graph moved the vertices after it one position down,
+     * so does the field, otherwise the slot is left unreachable until a vertex reuses it.
+     * @param index the index the vertex had
+     */
+    public void vertexRemoved(int index) {
+        if (!indexIsValid(index)) {
+            return;
+        }
+
+        if (this.graph.getSlotCount() == this.numVertices) {
+            // vertexRemoving already left the slot unreachable
+            this.blocked = -1;
+            return;
+        }
+
+        if (this.changes != null) {
+            this.changes.indexRemoved(index);
+        }
+        for (int i = index; i < this.numVertices - 1; i++) {
+            this.distance[i] = this.distance[i + 1];
+            this.nearest[i] = this.nearest[i + 1];
+            this.nextHop[i] = this.nextHop[i + 1];
+        }
+        this.numVertices--;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            if (this.nearest[i] > index) {
+                this.nearest[i]--;
+            }
+            if (this.nextHop[i] > index) {
+                this.nextHop[i]--;
+            }
+        }
+        this.blocked = -1;
+    }
+
+    /**
+     * Spreads the shorter distances made possible by an edge the graph has added.
+     * @param first the index of one end
+     * @param second the index of the other end
+     */
+    public void edgeAdded(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second)) {
+            return;
+        }
+
+        offer(second, first);
+        offer(first, second);
+        spread();
+    }
+
+    /**
+     * Recomputes the vertices that reached a source through an edge the graph has removed.
+     * @param first the index of one end
+     * @param second the index of the other end
+     */
+    public void edgeRemoved(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second)) {
+            return;
+        }
+
+        if (this.nextHop[second] == first) {
+            repair(new int[] {second});
+        } else if (this.nextHop[first] == second) {
+            repair(new int[] {first});
+        }
+    }
+
+    /**
+     * Checks again whether the vertex is a source, after something about it changed.
+     * @param index the index of the vertex
+     */
+    public void sourceChanged(int index) {
+        if (!indexIsValid(index)) {
+            return;
+        }
+
+        boolean source = this.isSource.test(index);
+        if (source && this.distance[index] != 0) {
+            touch(index);
+            this.distance[index] = 0;
+            this.nearest[index] = index;
+            this.nextHop[index] = -1;
+            this.heap.insertOrDecrease(index, 0);
+            spread();
+        } else if (!source && this.nearest[index] == index) {
+            repair(new int[] {index});
+        }
+    }
+
+    /**
+     * Gives the vertex the distance it would have by going through the given neighbour, if that is shorter.
+     * @param index the vertex
+     * @param through the neighbour
+     */
+    private void offer(int index, int through) {
+        if (index == this.blocked || through == this.blocked || this.distance[through] == UNREACHABLE) {
+            return;
+        }
+
+        if (this.distance[through] + 1 < this.distance[index]) {
+            touch(index);
+            this.distance[index] = this.distance[through] + 1;
+            this.nearest[index] = this.nearest[through];
+            this.nextHop[index] = through;
+            this.heap.insertOrDecrease(index, this.distance[index]);
+        }
+    }
+
+    /**
+     * Spreads the distances of the queued vertices to their neighbours, nearest first.
+     */
+    private void spread() {
+        try {
+            while (!this.heap.isEmpty()) {
+                int index = this.heap.removeMin();
+                for (int i : this.graph.getNeighbourIndices(index)) {
+                    offer(i, index);
+                }
+            }
+        } catch (EmptyCollectionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Forgets the distances of the given vertices and of every vertex that reached a source through them,
+     * then recomputes them from the vertices around that were not affected.
+     * @param roots the vertices whose way to a source is no longer valid
+     */
+    private void repair(int[] roots) {
+        int[] region = this.region;
+        int count = 0;
+        this.stamp++;
+
+        for (int root : roots) {
+            if (this.mark[root] != this.stamp) {
+                this.mark[root] = this.stamp;
+                region[count++] = root;
+            }
+        }
+
+        // the vertices that reach a source through the region are the neighbours whose next hop is in it
+        for (int k = 0; k < count; k++) {
+            for (int i : this.graph.getNeighbourIndices(region[k])) {
+                if (this.mark[i] != this.stamp && this.nextHop[i] == region[k]) {
+                    this.mark[i] = this.stamp;
+                    region[count++] = i;
+                }
+            }
+        }
+
+        for (int k = 0; k < count; k++) {
+            int index = region[k];
+            touch(index);
+            this.nextHop[index] = -1;
+
+            if (index != this.blocked && this.isSource.test(index)) {
+                this.distance[index] = 0;
+                this.nearest[index] = index;
+                this.heap.insertOrDecrease(index, 0);
+            } else {
+                this.distance[index] = UNREACHABLE;
+                this.nearest[index] = -1;
+            }
+        }
+
+        // start again from the best neighbour outside the region
+        for (int k = 0; k < count; k++) {
+            for (int i : this.graph.getNeighbourIndices(region[k])) {
+                if (this.mark[i] != this.stamp) {
+                    offer(region[k], i);
+                }
+            }
+        }
+        spread();
+    }
+}
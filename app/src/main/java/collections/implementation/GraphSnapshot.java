@@ -0,0 +1,422 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * GraphSnapshot is a read-only copy of an {@link IndexedGraphADT} taken at one moment, keeping the same indices,
+ * holes included. The neighbours of every vertex are packed one after the other in a single array, with the
+ * position where each vertex starts kept in another, so the whole topology is two arrays that never change.
+ * Since nothing is written after the copy is made, any number of threads can read a snapshot at once without locks,
+ * while the original graph goes on changing. Every method that would change the graph throws an
+ * {@link UnsupportedOperationException}.
+ * Only the vertices and edges are copied: the vertices are the same objects as in the original, so any state they
+ * hold is shared with it, and the weights of an {@link collections.interfaces.IndexedNetworkADT} are left behind;
+ * a {@link NetworkSnapshot} copies those too.
+ * @param <T> the type of elements in this graph
+ */
+public class GraphSnapshot<T> implements IndexedGraphADT<T> {
+
+    /**
+     * The number of index slots
+     */
+    private final int numSlots;
+
+    /**
+     * The number of vertices, not counting holes
+     */
+    private final int numVertices;
+
+    /**
+     * The vertices, null for the holes of removed vertices
+     */
+    protected final T[] vertices;
+
+    /**
+     * The index of each vertex
+     */
+    private final HashMap<T, Integer> vertexIndex;
+
+    /**
+     * Where the neighbours of each vertex start in {@link #neighbours}, with one more entry marking the end
+     */
+    protected final int[] offsets;
+
+    /**
+     * The neighbours of every vertex, one vertex after the other
+     */
+    protected final int[] neighbours;
+
+    /**
+     * Copies the graph as it is now. The graph must not change while it is being copied.
+     * @param graph the graph to be copied
+     */
+    @SuppressWarnings("unchecked")
+    public GraphSnapshot(IndexedGraphADT<T> graph) {
+        this.numSlots = graph.getSlotCount();
+        this.vertices = (T[]) (new Object[this.numSlots]);
+        this.vertexIndex = new HashMap<>();
+        this.offsets = new int[this.numSlots + 1];
+
+        int[][] rows = new int[this.numSlots][];
+        int count = 0;
+        int edges = 0;
+        for (int i = 0; i < this.numSlots; i++) {
+            if (graph.indexIsValid(i)) {
+                this.vertices[i] = graph.getVertex(i);
+                this.vertexIndex.putIfAbsent(this.vertices[i], i);
+                count++;
+            }
+            rows[i] = graph.getNeighbourIndices(i);
+            edges += rows[i].length;
+        }
+        this.numVertices = count;
+
+        this.neighbours = new int[edges];
+        for (int i = 0; i < this.numSlots; i++) {
+            this.offsets[i + 1] = this.offsets[i] + rows[i].length;
+            System.arraycopy(rows[i], 0, this.neighbours, this.offsets[i], rows[i].length);
+        }
+    }
+
+    /**
+     * Returns a copy of the vertex array, with null in the holes.
+     * @return the vertices
+     */
+    @Override
+    public T[] getVertices() {
+        return Arrays.copyOf(this.vertices, this.numSlots);
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param vertex the vertex
+     */
+    @Override
+    public void addVertex(T vertex) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param vertex the vertex
+     */
+    @Override
+    public void removeVertex(T vertex) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param index the index of the vertex
+     */
+    @Override
+    public void removeVertex(int index) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     */
+    @Override
+    public void removeEdge(T vertex1, T vertex2) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Not supported, a snapshot keeps the indices of the graph it was copied from.
+     */
+    @Override
+    public void compact() {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Returns the index of the vertex.
+     * @param vertex the vertex to be found
+     * @return the index of the vertex, or -1 if it is not in the graph
+     */
+    @Override
+    public int getIndex(T vertex) {
+        if (vertex == null) {
+            return -1;
+        }
+
+        Integer index = this.vertexIndex.get(vertex);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Checks if the index belongs to a vertex.
+     * @param index the index to be checked
+     * @return true if there is a vertex at the index
+     */
+    @Override
+    public boolean indexIsValid(int index) {
+        return index >= 0 && index < this.numSlots && this.vertices[index] != null;
+    }
+
+    /**
+     * Returns the vertex stored at the given index.
+     * @param index the index of the vertex
+     * @return the vertex, or null if the index is not valid
+     */
+    @Override
+    public T getVertex(int index) {
+        return indexIsValid(index) ? this.vertices[index] : null;
+    }
+
+    /**
+     * Checks if there is an edge between the two given indices, looking through the shorter list of neighbours.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if both vertices are adjacent
+     */
+    @Override
+    public boolean isAdjacent(int index1, int index2) {
+        if (!indexIsValid(index1) || !indexIsValid(index2)) {
+            return false;
+        }
+
+        if (getDegree(index2) < getDegree(index1)) {
+            int swap = index1;
+            index1 = index2;
+            index2 = swap;
+        }
+        for (int k = this.offsets[index1]; k < this.offsets[index1 + 1]; k++) {
+            if (this.neighbours[k] == index2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of neighbours of the vertex.
+     * @param index the index of the vertex
+     * @return the number of neighbours, 0 if the index is not valid
+     */
+    public int getDegree(int index) {
+        return indexIsValid(index) ? this.offsets[index + 1] - this.offsets[index] : 0;
+    }
+
+    /**
+     * Returns the indices of the vertices adjacent to the vertex at the given index.
+     * @param index the index of the vertex
+     * @return the indices of the neighbours, empty if the index is not valid
+     */
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        if (!indexIsValid(index)) {
+            return new int[0];
+        }
+        return Arrays.copyOfRange(this.neighbours, this.offsets[index], this.offsets[index + 1]);
+    }
+
+    /**
+     * Returns the number of index slots, the same as the graph had when it was copied.
+     * @return the number of index slots
+     */
+    @Override
+    public int getSlotCount() {
+        return this.numSlots;
+    }
+
+    /**
+     * Returns an iterator that performs a breadth-first traversal starting at the given vertex.
+     * @param startVertex the starting vertex
+     * @return an iterator that performs a breadth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorBFS(T startVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int[] order = traverse(getIndex(startVertex));
+
+        for (int index : order) {
+            resultList.addToRear(this.vertices[index]);
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an iterator that performs a depth-first traversal starting at the given vertex.
+     * Each vertex keeps a cursor into its neighbours, so every edge is looked at a constant number of times.
+     * @param startVertex the starting vertex
+     * @return an iterator that performs a depth-first traversal
+     */
+    @Override
+    public Iterator<T> iteratorDFS(T startVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int startIndex = getIndex(startVertex);
+        if (!indexIsValid(startIndex)) {
+            return resultList.iterator();
+        }
+
+        boolean[] visited = new boolean[this.numSlots];
+        int[] cursor = new int[this.numSlots];
+        int[] stack = new int[this.numSlots];
+        int top = 0;
+
+        stack[top++] = startIndex;
+        visited[startIndex] = true;
+        resultList.addToRear(this.vertices[startIndex]);
+        for (int i = 0; i < this.numSlots; i++) {
+            cursor[i] = this.offsets[i];
+        }
+
+        while (top > 0) {
+            int x = stack[top - 1];
+            if (cursor[x] == this.offsets[x + 1]) {
+                top--;
+                continue;
+            }
+
+            int neighbour = this.neighbours[cursor[x]++];
+            if (!visited[neighbour]) {
+                visited[neighbour] = true;
+                stack[top++] = neighbour;
+                resultList.addToRear(this.vertices[neighbour]);
+            }
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns an iterator with the shortest path between two vertices, found with a {@link BidirectionalBFS}.
+     * @param startVertex the starting vertex
+     * @param targetVertex the ending vertex
+     * @return an iterator with the path, empty if there is none
+     */
+    @Override
+    public Iterator<T> iteratorShortestPath(T startVertex, T targetVertex) {
+        ArrayUnorderedList<T> resultList = new ArrayUnorderedList<>();
+        int startIndex = getIndex(startVertex);
+        int targetIndex = getIndex(targetVertex);
+        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)) {
+            return resultList.iterator();
+        }
+
+        for (int index : new BidirectionalBFS(this).search(startIndex, targetIndex)) {
+            resultList.addToRear(this.vertices[index]);
+        }
+        return resultList.iterator();
+    }
+
+    /**
+     * Returns the indices reached by a breadth-first search from the start, in the order they were reached.
+     * @param startIndex the index of the starting vertex
+     * @return the indices reached, empty if the start is not valid
+     */
+    private int[] traverse(int startIndex) {
+        if (!indexIsValid(startIndex)) {
+            return new int[0];
+        }
+
+        boolean[] visited = new boolean[this.numSlots];
+        int[] queue = new int[this.numSlots];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = startIndex;
+        visited[startIndex] = true;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int k = this.offsets[x]; k < this.offsets[x + 1]; k++) {
+                if (!visited[this.neighbours[k]]) {
+                    visited[this.neighbours[k]] = true;
+                    queue[tail++] = this.neighbours[k];
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Checks if the graph has no vertices.
+     * @return true if the graph is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.numVertices == 0;
+    }
+
+    /**
+     * Checks if every vertex can be reached from every other vertex.
+     * @return true if the graph is connected, false if it is not or is empty
+     */
+    @Override
+    public boolean isConnected() {
+        if (isEmpty()) {
+            return false;
+        }
+
+        int start = 0;
+        while (!indexIsValid(start)) {
+            start++;
+        }
+        return traverse(start).length == this.numVertices;
+    }
+
+    /**
+     * Returns the number of vertices, not counting holes.
+     * @return the number of vertices
+     */
+    @Override
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns a string representation of the graph.
+     * @return a string representation of the graph
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "Graph is empty";
+        }
+
+        String result = "";
+
+        result += "\n\t\tAdjacency Lists\n";
+        result += "\t\t-----------------------------------------\n";
+        result += "index\tneighbours\n\n";
+
+        for (int i = 0; i < this.numSlots; i++) {
+            if (indexIsValid(i)) {
+                result += "" + i + "\t";
+                for (int k = this.offsets[i]; k < this.offsets[i + 1]; k++) {
+                    result += this.neighbours[k] + " ";
+                }
+                result += "\n";
+            }
+        }
+
+        result += "\nVertex Values";
+        result += "\n-------------\n";
+        result += "index\tvalue\n\n";
+
+        for (int i = 0; i < this.numSlots; i++) {
+            if (indexIsValid(i)) {
+                result += "" + i + "\t";
+                result += this.vertices[i].toString() + "\n";
+            }
+        }
+        return result;
+    }
+}
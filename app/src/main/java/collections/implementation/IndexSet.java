@@ -0,0 +1,148 @@
+package collections.implementation;
+
+import java.util.Arrays;
+
+/**
+ * IndexSet is a set of non-negative indices kept as a dense array of members plus the position of each index in it.
+ * Adding, removing and checking an index take constant time, and the members can be walked in time proportional
+ * to how many there are rather than to the largest index.
+ * Removing a member moves the last member into its place, so the order of the members is not kept.
+ */
+public class IndexSet {
+
+    /**
+     * The members, in no particular order
+     */
+    private int[] members;
+
+    /**
+     * The number of members
+     */
+    private int count;
+
+    /**
+     * The position of each index in the members, -1 if it is not a member
+     */
+    private int[] position;
+
+    /**
+     * Creates an empty set.
+     */
+    public IndexSet() {
+        this.members = new int[10];
+        this.position = new int[10];
+        this.count = 0;
+        Arrays.fill(this.position, -1);
+    }
+
+    /**
+     * Returns the number of members.
+     * @return the number of members
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Checks if the set has no members.
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Checks if the index is a member.
+     * @param index the index to be checked
+     * @return true if the index is a member
+     */
+    public boolean contains(int index) {
+        return index >= 0 && index < this.position.length && this.position[index] != -1;
+    }
+
+    /**
+     * Returns the member at a position, from 0 to size() - 1.
+     * @param position the position
+     * @return the index at that position
+     */
+    public int get(int position) {
+        if (position < 0 || position >= this.count) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of " + this.count + " members.");
+        }
+        return this.members[position];
+    }
+
+    /**
+     * Adds an index to the set.
+     * @param index the index, not negative
+     * @return true if the index was not a member
+     */
+    public boolean add(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index " + index + " cannot be negative.");
+        }
+        if (contains(index)) {
+            return false;
+        }
+
+        if (index >= this.position.length) {
+            int length = this.position.length;
+            this.position = Arrays.copyOf(this.position, Math.max(length * 2, index + 1));
+            Arrays.fill(this.position, length, this.position.length, -1);
+        }
+        if (this.count == this.members.length) {
+            this.members = Arrays.copyOf(this.members, this.count * 2);
+        }
+
+        this.position[index] = this.count;
+        this.members[this.count++] = index;
+        return true;
+    }
+
+    /**
+     * Removes an index from the set, moving the last member into its position.
+     * @param index the index
+     * @return true if the index was a member
+     */
+    public boolean remove(int index) {
+        if (!contains(index)) {
+            return false;
+        }
+
+        int at = this.position[index];
+        int last = this.members[--this.count];
+        this.members[at] = last;
+        this.position[last] = at;
+        this.position[index] = -1;
+        return true;
+    }
+
+    /**
+     * Follows a removal that moved every index after the removed one a position down, as some graphs do.
+     * The removed index is dropped first if it is still a member. Takes time proportional to the largest index.
+     * @param index the index that was removed
+     */
+    public void indexRemoved(int index) {
+        remove(index);
+
+        for (int i = 0; i < this.count; i++) {
+            if (this.members[i] > index) {
+                this.members[i]--;
+            }
+        }
+        if (index < this.position.length) {
+            System.arraycopy(this.position, index + 1, this.position, index, this.position.length - index - 1);
+            this.position[this.position.length - 1] = -1;
+        }
+    }
+
+    /**
+     * Removes every member.
+     */
+    public void clear() {
+        for (int i = 0; i < this.count; i++) {
+            this.position[this.members[i]] = -1;
+        }
+        this.count = 0;
+    }
+}
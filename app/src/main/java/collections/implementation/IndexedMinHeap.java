@@ -0,0 +1,223 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+
+/**
+ * IndexedMinHeap is a binary min-heap of vertex indices ordered by a double key.
+ * Besides the heap array it keeps the position of every index inside the heap, so the key of an index
+ * that is already queued can be lowered in O(log n) instead of queueing a duplicate entry.
+ * Indices must be in the range [0, capacity).
+ */
+public class IndexedMinHeap {
+
+    /**
+     * The indices in heap order
+     */
+    private int[] heap;
+
+    /**
+     * The position of each index in the heap, or -1 if the index is not queued
+     */
+    private int[] position;
+
+    /**
+     * The key of each index
+     */
+    private double[] keys;
+
+    /**
+     * The number of indices in the heap
+     */
+    private int count;
+
+    /**
+     * Creates an empty heap for indices in the range [0, capacity).
+     * @param capacity the number of indices that can be queued
+     */
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        this.count = 0;
+
+        for (int i = 0; i < capacity; i++) {
+            this.position[i] = -1;
+        }
+    }
+
+    /**
+     * Returns true if the heap has no indices.
+     * @return true if the heap is empty
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     * Returns the number of indices in the heap.
+     * @return the number of indices in the heap
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Checks if the index is currently queued.
+     * @param index the index to be checked
+     * @return true if the index is in the heap
+     */
+    public boolean contains(int index) {
+        return this.position[index] != -1;
+    }
+
+    /**
+     * Returns the last key given to the index.
+     * @param index the index
+     * @return the key of the index
+     */
+    public double getKey(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * Adds an index with the given key.
+     * @param index the index to be added
+     * @param key the key of the index
+     */
+    public void insert(int index, double key) {
+        if (contains(index)) {
+            throw new IllegalArgumentException("Index " + index + " is already in the heap");
+        }
+
+        this.keys[index] = key;
+        this.heap[this.count] = index;
+        this.position[index] = this.count;
+        this.count++;
+        siftUp(this.count - 1);
+    }
+
+    /**
+     * Lowers the key of an index that is already in the heap.
+     * @param index the index
+     * @param key the new key, not greater than the current one
+     */
+    public void decreaseKey(int index, double key) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException("Index " + index + " is not in the heap");
+        }
+        if (key > this.keys[index]) {
+            throw new IllegalArgumentException("The new key cannot be greater than the current one");
+        }
+
+        this.keys[index] = key;
+        siftUp(this.position[index]);
+    }
+
+    /**
+     * Adds the index if it is not queued, or lowers its key if the given key is smaller.
+     * @param index the index
+     * @param key the key of the index
+     * @return true if the heap changed
+     */
+    public boolean insertOrDecrease(int index, double key) {
+        if (!contains(index)) {
+            insert(index, key);
+            return true;
+        }
+        if (key < this.keys[index]) {
+            decreaseKey(index, key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes every index from the heap, in time proportional to the number of indices queued.
+     */
+    public void clear() {
+        for (int i = 0; i < this.count; i++) {
+            this.position[this.heap[i]] = -1;
+        }
+        this.count = 0;
+    }
+
+    /**
+     * Returns the index with the smallest key without removing it.
+     * @return the index with the smallest key
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public int findMin() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Heap is empty");
+        }
+        return this.heap[0];
+    }
+
+    /**
+     * Removes and returns the index with the smallest key.
+     * @return the index with the smallest key
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    public int removeMin() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Heap is empty");
+        }
+
+        int min = this.heap[0];
+        this.count--;
+        if (this.count > 0) {
+            this.heap[0] = this.heap[this.count];
+            this.position[this.heap[0]] = 0;
+            siftDown(0);
+        }
+        this.position[min] = -1;
+        return min;
+    }
+
+    /**
+     * Moves the entry at the given heap position up until its parent has a smaller key.
+     * @param node the heap position
+     */
+    private void siftUp(int node) {
+        int index = this.heap[node];
+        double key = this.keys[index];
+
+        while (node > 0) {
+            int parent = (node - 1) / 2;
+            if (this.keys[this.heap[parent]] <= key) {
+                break;
+            }
+            this.heap[node] = this.heap[parent];
+            this.position[this.heap[node]] = node;
+            node = parent;
+        }
+
+        this.heap[node] = index;
+        this.position[index] = node;
+    }
+
+    /**
+     * Moves the entry at the given heap position down until both children have greater keys.
+     * @param node the heap position
+     */
+    private void siftDown(int node) {
+        int index = this.heap[node];
+        double key = this.keys[index];
+
+        while (2 * node + 1 < this.count) {
+            int child = 2 * node + 1;
+            if (child + 1 < this.count && this.keys[this.heap[child + 1]] < this.keys[this.heap[child]]) {
+                child++;
+            }
+            if (key <= this.keys[this.heap[child]]) {
+                break;
+            }
+            this.heap[node] = this.heap[child];
+            this.position[this.heap[node]] = node;
+            node = child;
+        }
+
+        this.heap[node] = index;
+        this.position[index] = node;
+    }
+}
@@ -0,0 +1,584 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.function.IntPredicate;
+
+/**
+ * KShortestPaths finds the K cheapest loopless paths between two vertices of an {@link IndexedGraphADT} with
+ * Yen's algorithm, weighing each edge by the network weight when the graph is an {@link IndexedNetworkADT}
+ * and by one otherwise.
+ * Every path after the first leaves one of the paths already found at some vertex, the spur, and reaches the target
+ * without going back through the part before the spur or repeating a way out of the spur already taken.
+ * A single shortest path tree towards the target is built per query and shared by every spur search: most spur
+ * searches can simply follow the tree, and the others use its distances as an exact lower bound to guide an A* search,
+ * so they look at little more than the vertices on their own path.
+ */
+public class KShortestPaths {
+
+    /**
+     * The most loopless paths looked at when a requirement filters them, so a requirement that is rarely met
+     * cannot make a query run through every path of the graph
+     */
+    public static final int MAX_EXAMINED_PATHS = 1000;
+
+    /**
+     * The number of index slots of the graph
+     */
+    private final int numVertices;
+
+    /**
+     * The neighbour indices of every vertex
+     */
+    private final int[][] neighbours;
+
+    /**
+     * The weight of the edge to each neighbour
+     */
+    private final double[][] weights;
+
+    /**
+     * The slots that held a vertex when the graph was copied
+     */
+    private final boolean[] present;
+
+    /**
+     * The vertices a path may step into
+     */
+    private final boolean[] accepted;
+
+    /**
+     * The cost of each path found by the last search
+     */
+    private double[] costs;
+
+    /**
+     * Copies the graph for K shortest path queries.
+     * @param graph the graph, which must not change while it is being copied
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     */
+    public KShortestPaths(IndexedGraphADT<?> graph, IntPredicate allowed) {
+        this(graph, allowed, false);
+    }
+
+    /**
+     * Copies the graph for K shortest path queries, choosing whether network weights are read.
+     * @param graph the graph, which must not change while it is being copied
+     * @param allowed the vertices a path may step into, or null to accept every vertex.
+     *                The start of a path does not need to be accepted
+     * @param unitWeights true to count one per edge even when the graph is an {@link IndexedNetworkADT}
+     */
+    public KShortestPaths(IndexedGraphADT<?> graph, IntPredicate allowed, boolean unitWeights) {
+        this.numVertices = graph.getSlotCount();
+        this.neighbours = new int[this.numVertices][];
+        this.weights = new double[this.numVertices][];
+        this.present = new boolean[this.numVertices];
+        this.accepted = new boolean[this.numVertices];
+        this.costs = new double[0];
+        IndexedNetworkADT<?> network = !unitWeights && graph instanceof IndexedNetworkADT
+                ? (IndexedNetworkADT<?>) graph : null;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            this.neighbours[i] = graph.getNeighbourIndices(i);
+            this.weights[i] = new double[this.neighbours[i].length];
+            for (int k = 0; k < this.neighbours[i].length; k++) {
+                this.weights[i][k] = network == null ? 1.0 : network.getEdgeWeight(i, this.neighbours[i][k]);
+            }
+            this.present[i] = graph.indexIsValid(i);
+            this.accepted[i] = this.present[i] && (allowed == null || allowed.test(i));
+        }
+    }
+
+    /**
+     * Returns the cost of one of the paths found by the last search.
+     * @param rank the position of the path, 0 for the cheapest
+     * @return the sum of the weights of its edges
+     */
+    public double getCost(int rank) {
+        if (rank < 0 || rank >= this.costs.length) {
+            throw new IndexOutOfBoundsException("Path " + rank + " out of " + this.costs.length + " paths.");
+        }
+        return this.costs[rank];
+    }
+
+    /**
+     * Returns the K cheapest loopless paths between two vertices, cheapest first.
+     * @param source the starting vertex
+     * @param target the ending vertex
+     * @param k the number of paths wanted
+     * @return the indices of each path, fewer than K if there are no more paths, none if the source is the target
+     */
+    public int[][] search(int source, int target, int k) {
+        return search(source, target, k, null);
+    }
+
+    /**
+     * Returns the K cheapest loopless paths between two vertices that pass through at least one vertex accepted
+     * by the requirement, ends included, cheapest first.
+     * Paths are still enumerated in order and the ones that do not meet the requirement skipped,
+     * up to {@link #MAX_EXAMINED_PATHS} paths.
+     * @param source the starting vertex
+     * @param target the ending vertex
+     * @param k the number of paths wanted
+     * @param requirement the kind of vertex every path must pass through, or null for none
+     * @return the indices of each path, fewer than K if there are no more paths, none if the source is the target
+     */
+    public int[][] search(int source, int target, int k, IntPredicate requirement) {
+        this.costs = new double[0];
+        if (k < 1 || !isVertex(source) || !isVertex(target) || source == target || !this.accepted[target]) {
+            return new int[0][];
+        }
+
+        Query query = new Query(target);
+        int[][] result = new int[k][];
+        double[] resultCosts = new double[k];
+        int found = 0;
+
+        int[] first = query.treePath(source);
+        if (first == null) {
+            return new int[0][];
+        }
+        query.addCandidate(first, query.costOf(first));
+
+        int examined = 0;
+        while (found < k && query.candidateCount > 0 && examined < MAX_EXAMINED_PATHS) {
+            int[] path = query.takeCheapest();
+            double cost = query.lastCost;
+            examined++;
+
+            if (requirement == null || meets(path, requirement)) {
+                result[found] = path;
+                resultCosts[found] = cost;
+                found++;
+            }
+            if (found < k) {
+                query.spurFrom(path);
+            }
+        }
+
+        this.costs = Arrays.copyOf(resultCosts, found);
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Checks if a path passes through a vertex accepted by the requirement.
+     * @param path the indices of the path
+     * @param requirement the requirement
+     * @return true if some vertex of the path meets it
+     */
+    private static boolean meets(int[] path, IntPredicate requirement) {
+        for (int index : path) {
+            if (requirement.test(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if an index held a vertex when the graph was copied.
+     * @param index the index to be checked
+     * @return true if there was a vertex at the index
+     */
+    private boolean isVertex(int index) {
+        return index >= 0 && index < this.numVertices && this.present[index];
+    }
+
+    /**
+     * Returns the weight of the edge between two adjacent vertices.
+     * @param from one end
+     * @param to the other end
+     * @return the weight of the edge
+     */
+    private double weightOf(int from, int to) {
+        for (int k = 0; k < this.neighbours[from].length; k++) {
+            if (this.neighbours[from][k] == to) {
+                return this.weights[from][k];
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * A path wrapped so it can be kept in a hash set, to avoid queueing the same candidate twice.
+     */
+    private static final class PathKey {
+
+        /**
+         * The indices of the path
+         */
+        private final int[] path;
+
+        /**
+         * Wraps a path.
+         * @param path the indices of the path
+         */
+        private PathKey(int[] path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PathKey && Arrays.equals(this.path, ((PathKey) o).path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.path);
+        }
+    }
+
+    /**
+     * The state of one query: the tree towards the target, the paths taken so far and the candidates.
+     */
+    private final class Query {
+
+        /**
+         * The target of the query
+         */
+        private final int target;
+
+        /**
+         * The cost of the cheapest path from each vertex to the target, infinite if there is none
+         */
+        private final double[] toTarget;
+
+        /**
+         * The next vertex on the cheapest path from each vertex to the target, -1 if there is none
+         */
+        private final int[] nextHop;
+
+        /**
+         * The paths taken so far, in order
+         */
+        private int[][] taken;
+
+        /**
+         * The number of paths taken
+         */
+        private int takenCount;
+
+        /**
+         * The candidates not taken yet
+         */
+        private int[][] candidates;
+
+        /**
+         * The cost of each candidate
+         */
+        private double[] candidateCosts;
+
+        /**
+         * The number of candidates
+         */
+        private int candidateCount;
+
+        /**
+         * Every path ever queued as a candidate
+         */
+        private final HashSet<PathKey> seen;
+
+        /**
+         * The cost of the last candidate taken
+         */
+        private double lastCost;
+
+        /**
+         * The stamp of the last spur search that blocked each vertex
+         */
+        private final int[] blocked;
+
+        /**
+         * The stamp of the last spur search that forbade each vertex as the first step out of the spur
+         */
+        private final int[] forbidden;
+
+        /**
+         * The stamp of the last spur search that reached each vertex
+         */
+        private final int[] reached;
+
+        /**
+         * The cost from the spur to each vertex reached by the current spur search
+         */
+        private final double[] distance;
+
+        /**
+         * The vertex each vertex was reached from in the current spur search
+         */
+        private final int[] predecessor;
+
+        /**
+         * The open vertices of the spur search, ordered by cost so far plus cost still to go
+         */
+        private final IndexedMinHeap open;
+
+        /**
+         * The stamp of the current spur search
+         */
+        private int stamp;
+
+        /**
+         * Builds the shortest path tree towards the target with Dijkstra's algorithm.
+         * @param target the target of the query
+         */
+        private Query(int target) {
+            this.target = target;
+            this.toTarget = new double[numVertices];
+            this.nextHop = new int[numVertices];
+            this.taken = new int[4][];
+            this.candidates = new int[4][];
+            this.candidateCosts = new double[4];
+            this.seen = new HashSet<>();
+            this.blocked = new int[numVertices];
+            this.forbidden = new int[numVertices];
+            this.reached = new int[numVertices];
+            this.distance = new double[numVertices];
+            this.predecessor = new int[numVertices];
+            this.open = new IndexedMinHeap(numVertices);
+            this.stamp = 0;
+
+            Arrays.fill(this.toTarget, Double.POSITIVE_INFINITY);
+            Arrays.fill(this.nextHop, -1);
+            this.toTarget[target] = 0;
+            this.open.insert(target, 0);
+
+            try {
+                while (!this.open.isEmpty()) {
+                    int index = this.open.removeMin();
+                    // a path steps into this vertex from its neighbours, so it must be accepted
+                    if (!accepted[index]) {
+                        continue;
+                    }
+
+                    for (int k = 0; k < neighbours[index].length; k++) {
+                        int i = neighbours[index][k];
+                        double candidate = this.toTarget[index] + weights[index][k];
+                        if (candidate < this.toTarget[i]) {
+                            this.toTarget[i] = candidate;
+                            this.nextHop[i] = index;
+                            this.open.insertOrDecrease(i, candidate);
+                        }
+                    }
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+        }
+
+        /**
+         * Returns the path from a vertex to the target along the tree.
+         * @param from the starting vertex
+         * @return the indices of the path, or null if the target cannot be reached
+         */
+        private int[] treePath(int from) {
+            if (this.toTarget[from] == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+
+            int length = 1;
+            for (int i = from; i != this.target; i = this.nextHop[i]) {
+                length++;
+            }
+
+            int[] path = new int[length];
+            path[0] = from;
+            for (int p = 1; p < length; p++) {
+                path[p] = this.nextHop[path[p - 1]];
+            }
+            return path;
+        }
+
+        /**
+         * Returns the cost of a path.
+         * @param path the indices of the path
+         * @return the sum of the weights of its edges
+         */
+        private double costOf(int[] path) {
+            double cost = 0;
+            for (int p = 1; p < path.length; p++) {
+                cost += weightOf(path[p - 1], path[p]);
+            }
+            return cost;
+        }
+
+        /**
+         * Queues a candidate path, unless it was already queued.
+         * @param path the indices of the path
+         * @param cost the cost of the path
+         */
+        private void addCandidate(int[] path, double cost) {
+            if (!this.seen.add(new PathKey(path))) {
+                return;
+            }
+
+            if (this.candidateCount == this.candidates.length) {
+                this.candidates = Arrays.copyOf(this.candidates, this.candidateCount * 2);
+                this.candidateCosts = Arrays.copyOf(this.candidateCosts, this.candidateCount * 2);
+            }
+            this.candidates[this.candidateCount] = path;
+            this.candidateCosts[this.candidateCount] = cost;
+            this.candidateCount++;
+        }
+
+        /**
+         * Removes the cheapest candidate, preferring the one with fewer vertices on ties, and marks it as taken.
+         * @return the indices of the candidate, whose cost is left in {@link #lastCost}
+         */
+        private int[] takeCheapest() {
+            int best = 0;
+            for (int c = 1; c < this.candidateCount; c++) {
+                if (this.candidateCosts[c] < this.candidateCosts[best]
+                        || (this.candidateCosts[c] == this.candidateCosts[best]
+                        && this.candidates[c].length < this.candidates[best].length)) {
+                    best = c;
+                }
+            }
+
+            int[] path = this.candidates[best];
+            this.lastCost = this.candidateCosts[best];
+            this.candidateCount--;
+            this.candidates[best] = this.candidates[this.candidateCount];
+            this.candidateCosts[best] = this.candidateCosts[this.candidateCount];
+            this.candidates[this.candidateCount] = null;
+
+            if (this.takenCount == this.taken.length) {
+                this.taken = Arrays.copyOf(this.taken, this.takenCount * 2);
+            }
+            this.taken[this.takenCount++] = path;
+            return path;
+        }
+
+        /**
+         * Queues the candidates that leave the given path at each of its vertices.
+         * @param path the indices of the path just taken
+         */
+        private void spurFrom(int[] path) {
+            double rootCost = 0;
+
+            for (int i = 0; i < path.length - 1; i++) {
+                int spur = path[i];
+                this.stamp++;
+
+                // the part before the spur cannot be visited again
+                for (int p = 0; p < i; p++) {
+                    this.blocked[path[p]] = this.stamp;
+                }
+                // nor can the spur be left the way a path with the same beginning already left it
+                for (int t = 0; t < this.takenCount; t++) {
+                    int[] other = this.taken[t];
+                    if (other.length > i + 1 && samePrefix(other, path, i + 1)) {
+                        this.forbidden[other[i + 1]] = this.stamp;
+                    }
+                }
+
+                int[] spurPath = this.followTree(spur);
+                if (spurPath == null) {
+                    spurPath = this.searchFrom(spur);
+                }
+                if (spurPath != null) {
+                    int[] candidate = new int[i + spurPath.length];
+                    System.arraycopy(path, 0, candidate, 0, i);
+                    System.arraycopy(spurPath, 0, candidate, i, spurPath.length);
+                    this.addCandidate(candidate, rootCost + this.costOf(spurPath));
+                }
+
+                rootCost += weightOf(spur, path[i + 1]);
+            }
+        }
+
+        /**
+         * Returns the path from the spur along the tree, if it avoids every blocked vertex and forbidden first step.
+         * Since the tree gives the cheapest cost to the target without any restriction, such a path is the cheapest
+         * spur path.
+         * @param spur the spur vertex
+         * @return the indices of the path, or null if the tree path cannot be used
+         */
+        private int[] followTree(int spur) {
+            int next = this.nextHop[spur];
+            if (next == -1 || this.forbidden[next] == this.stamp) {
+                return null;
+            }
+
+            for (int i = next; i != -1; i = this.nextHop[i]) {
+                if (this.blocked[i] == this.stamp) {
+                    return null;
+                }
+            }
+            return this.treePath(spur);
+        }
+
+        /**
+         * Finds the cheapest path from the spur to the target that avoids the blocked vertices and forbidden first
+         * steps, with an A* search guided by the exact costs to the target of the tree.
+         * @param spur the spur vertex
+         * @return the indices of the path, or null if there is none
+         */
+        private int[] searchFrom(int spur) {
+            this.open.clear();
+            this.reached[spur] = this.stamp;
+            this.distance[spur] = 0;
+            this.predecessor[spur] = -1;
+            this.open.insert(spur, this.toTarget[spur]);
+
+            try {
+                while (!this.open.isEmpty()) {
+                    int index = this.open.removeMin();
+                    if (index == this.target) {
+                        int length = 0;
+                        for (int i = index; i != -1; i = this.predecessor[i]) {
+                            length++;
+                        }
+                        int[] path = new int[length];
+                        for (int i = index; i != -1; i = this.predecessor[i]) {
+                            path[--length] = i;
+                        }
+                        this.open.clear();
+                        return path;
+                    }
+
+                    for (int k = 0; k < neighbours[index].length; k++) {
+                        int i = neighbours[index][k];
+                        if (!accepted[i] || i == spur || this.blocked[i] == this.stamp
+                                || (index == spur && this.forbidden[i] == this.stamp)
+                                || this.toTarget[i] == Double.POSITIVE_INFINITY) {
+                            continue;
+                        }
+
+                        double candidate = this.distance[index] + weights[index][k];
+                        if (this.reached[i] != this.stamp || candidate < this.distance[i]) {
+                            this.reached[i] = this.stamp;
+                            this.distance[i] = candidate;
+                            this.predecessor[i] = index;
+                            this.open.insertOrDecrease(i, candidate + this.toTarget[i]);
+                        }
+                    }
+                }
+            } catch (EmptyCollectionException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Checks if two paths start with the same vertices.
+     * @param first one path
+     * @param second the other path
+     * @param length the number of vertices compared
+     * @return true if the first vertices of both paths are the same
+     */
+    private static boolean samePrefix(int[] first, int[] second, int length) {
+        for (int p = 0; p < length; p++) {
+            if (first[p] != second[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
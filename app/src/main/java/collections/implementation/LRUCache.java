@@ -0,0 +1,136 @@
+package collections.implementation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRUCache is a map with a fixed number of entries that, when full, drops the entry that was used least recently.
+ * It counts hits, misses and evictions so that its capacity can be sized against real traffic.
+ * Every method is synchronized, so the cache can be shared between threads.
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class LRUCache<K, V> {
+
+    /**
+     * The maximum number of entries
+     */
+    private final int capacity;
+
+    /**
+     * The entries, in access order from the least to the most recently used
+     */
+    private final LinkedHashMap<K, V> entries;
+
+    /**
+     * The number of lookups that found an entry
+     */
+    private long hits;
+
+    /**
+     * The number of lookups that did not find an entry
+     */
+    private long misses;
+
+    /**
+     * The number of entries dropped to make room for new ones
+     */
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     * @param capacity the maximum number of entries, at least one
+     */
+    public LRUCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least one.");
+        }
+
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LRUCache.this.capacity) {
+                    LRUCache.this.evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the value of the key and marks it as the most recently used.
+     * @param key the key
+     * @return the value, or null if the key is not cached
+     */
+    public synchronized V get(K key) {
+        V value = this.entries.get(key);
+
+        if (value == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Adds or replaces the value of the key, dropping the least recently used entry if the cache is full.
+     * @param key the key
+     * @param value the value, not null
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value cannot be null.");
+        }
+        this.entries.put(key, value);
+    }
+
+    /**
+     * Removes every entry, keeping the counters.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Returns the number of entries.
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found an entry.
+     * @return the number of hits
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find an entry.
+     * @return the number of misses
+     */
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the number of entries dropped to make room for new ones.
+     * @return the number of evictions
+     */
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+}
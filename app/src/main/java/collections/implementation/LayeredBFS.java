@@ -0,0 +1,135 @@
+package collections.implementation;
+
+import collections.interfaces.IndexedGraphADT;
+
+import java.util.function.IntPredicate;
+
+/**
+ * LayeredBFS finds the path with the fewest edges between two vertices of an {@link IndexedGraphADT}
+ * that passes through at least one vertex of each of K required kinds.
+ * The search runs over (vertex, kinds already passed) states, one copy of the graph per subset of kinds,
+ * so it takes O(2^K * (V + E)) and the path it returns is the shortest one that meets every requirement.
+ * Since the state remembers what was already passed, the path may go through the same vertex twice,
+ * for example to step into a required vertex and come back.
+ * Each state takes 9 bytes, so the arrays of a search take 9 * 2^K * V bytes: about 29 MB for
+ * {@link #MAX_REQUIREMENTS} requirements on a graph of 50 000 vertices.
+ */
+public class LayeredBFS {
+
+    /**
+     * The largest number of requirements accepted, the states grow with 2^K
+     */
+    public static final int MAX_REQUIREMENTS = 6;
+
+    /**
+     * The graph being searched
+     */
+    private final IndexedGraphADT<?> graph;
+
+    /**
+     * Creates a search over the given graph.
+     * @param graph the graph to be searched
+     */
+    public LayeredBFS(IndexedGraphADT<?> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Returns the indices of the shortest path between two vertices that passes through a vertex accepted by each
+     * requirement. The start and the target count towards the requirements.
+     * As with the other searches, an empty path is returned when the start is the target.
+     * @param startIndex the starting vertex
+     * @param targetIndex the ending vertex
+     * @param requirements the kinds of vertex the path must pass through
+     * @return the indices of the path from the start to the target, empty if there is no such path
+     * @throws IllegalArgumentException if there are more than {@link #MAX_REQUIREMENTS} requirements,
+     *                                  or too many states to be kept in an array
+     */
+    public int[] search(int startIndex, int targetIndex, IntPredicate... requirements) {
+        if (requirements.length > MAX_REQUIREMENTS) {
+            throw new IllegalArgumentException("At most " + MAX_REQUIREMENTS + " requirements are supported.");
+        }
+        if (!this.graph.indexIsValid(startIndex) || !this.graph.indexIsValid(targetIndex)
+                || (startIndex == targetIndex)) {
+            return new int[0];
+        }
+
+        int numVertices = this.graph.getSlotCount();
+        int layers = 1 << requirements.length;
+        int complete = layers - 1;
+        if ((long) numVertices * layers > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many states for " + numVertices + " vertices and "
+                    + requirements.length + " requirements.");
+        }
+
+        // kinds[i] is the set of requirements vertex i meets, -1 until it is first needed
+        int[] kinds = new int[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            kinds[i] = -1;
+        }
+
+        int[] predecessor = new int[numVertices * layers];
+        boolean[] visited = new boolean[numVertices * layers];
+        int[] queue = new int[numVertices * layers];
+        int head = 0;
+        int tail = 0;
+
+        int startState = kindsOf(startIndex, kinds, requirements) * numVertices + startIndex;
+        visited[startState] = true;
+        predecessor[startState] = -1;
+        queue[tail++] = startState;
+
+        int targetState = complete * numVertices + targetIndex;
+
+        while (head < tail && !visited[targetState]) {
+            int state = queue[head++];
+            int index = state % numVertices;
+            int layer = state / numVertices;
+
+            for (int i : this.graph.getNeighbourIndices(index)) {
+                int next = (layer | kindsOf(i, kinds, requirements)) * numVertices + i;
+
+                if (!visited[next]) {
+                    visited[next] = true;
+                    predecessor[next] = state;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        if (!visited[targetState]) {
+            return new int[0];
+        }
+
+        int length = 0;
+        for (int state = targetState; state != -1; state = predecessor[state]) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int state = targetState; state != -1; state = predecessor[state]) {
+            path[--length] = state % numVertices;
+        }
+        return path;
+    }
+
+    /**
+     * Returns the set of requirements the vertex meets, as a bit mask, working it out the first time.
+     * @param index the index of the vertex
+     * @param kinds the masks worked out so far
+     * @param requirements the requirements
+     * @return the bit mask of the requirements met by the vertex
+     */
+    private int kindsOf(int index, int[] kinds, IntPredicate[] requirements) {
+        if (kinds[index] == -1) {
+            int mask = 0;
+            for (int k = 0; k < requirements.length; k++) {
+                if (requirements[k].test(index)) {
+                    mask |= 1 << k;
+                }
+            }
+            kinds[index] = mask;
+        }
+        return kinds[index];
+    }
+}
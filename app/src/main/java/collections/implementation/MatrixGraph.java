@@ -5,17 +5,21 @@ import collections.exceptions.ElementNotFoundException;
 import collections.exceptions.EmptyCollectionException;
 import collections.exceptions.NonComparableElementException;
 import collections.exceptions.NullException;
-import collections.interfaces.GraphADT;
+import collections.interfaces.IndexedGraphADT;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * MatrixGraph implements the GraphADT interface using an adjacency matrix.
+ * Every vertex keeps its slot of the matrix for as long as it is in the graph: a removed vertex only clears its row
+ * and column and leaves its slot as a hole, which the next added vertex reuses, so removals cost O(V) instead of
+ * shifting the whole matrix. {@link #compact()} closes the holes when the indices need to be contiguous again.
  * @param <T> the type of elements in this graph
  */
-public class MatrixGraph<T> implements GraphADT<T> {
+public class MatrixGraph<T> implements IndexedGraphADT<T> {
 
     /**
      * The default capacity of the graph
@@ -23,10 +27,20 @@ public class MatrixGraph<T> implements GraphADT<T> {
     protected final int DEFAULT_CAPACITY = 10;
 
     /**
-     * The number of vertices in the graph
+     * The number of slots in use, counting the holes left by removed vertices
      */
     protected int numVertices;
 
+    /**
+     * The slots of removed vertices, ready to be reused
+     */
+    protected int[] freeSlots;
+
+    /**
+     * The number of slots in the free list
+     */
+    protected int numFree;
+
     /**
      * The adjacency matrix
      */
@@ -37,6 +51,11 @@ public class MatrixGraph<T> implements GraphADT<T> {
      */
     protected T[] vertices;
 
+    /**
+     * The index of each vertex in the vertices array, so vertices can be resolved without scanning the array
+     */
+    protected HashMap<T, Integer> vertexIndex;
+
     /**
      * Creates an empty graph.
      */
@@ -45,10 +64,13 @@ public class MatrixGraph<T> implements GraphADT<T> {
         this.numVertices = 0;
         this.adjMatrix = new boolean[DEFAULT_CAPACITY][DEFAULT_CAPACITY];
         this.vertices = (T[]) (new Object[DEFAULT_CAPACITY]);
+        this.vertexIndex = new HashMap<>();
+        this.freeSlots = new int[DEFAULT_CAPACITY];
+        this.numFree = 0;
     }
 
     /**
-     * Returns a reference to the vertex array.
+     * Returns a reference to the vertex array, where the holes left by removed vertices are null.
      * @return a reference to the vertex array
      */
     public T[] getVertices() {
@@ -56,21 +78,30 @@ public class MatrixGraph<T> implements GraphADT<T> {
     }
 
     /**
-     * Adds the specified vertex to this graph.
+     * Adds the specified vertex to this graph, in the slot of the last removed vertex if there is one.
      * @param vertex the vertex to be added to this graph
      */
     @Override
     public void addVertex(T vertex) {
-        if (numVertices == vertices.length) {
-            expandCapacity();
-        }
+        int slot;
+
+        if (numFree > 0) {
+            // the row and column were cleared when the slot was freed
+            slot = freeSlots[--numFree];
+        } else {
+            if (numVertices == vertices.length) {
+                expandCapacity();
+            }
 
-        vertices[numVertices] = vertex;
-        for (int i = 0; i <= numVertices; i++) {
-            adjMatrix[numVertices][i] = false;
-            adjMatrix[i][numVertices] = false;
+            slot = numVertices++;
+            for (int i = 0; i <= slot; i++) {
+                adjMatrix[slot][i] = false;
+                adjMatrix[i][slot] = false;
+            }
         }
-        numVertices++;
+
+        vertices[slot] = vertex;
+        vertexIndex.putIfAbsent(vertex, slot);
     }
 
     /**
@@ -100,45 +131,91 @@ public class MatrixGraph<T> implements GraphADT<T> {
      */
     @Override
     public void removeVertex(T vertex) {
-        for (int i = 0; i < numVertices; i++) {
-            if (vertex.toString().equals(vertices[i].toString())) {
-                removeVertex(i);
-                return;
-            }
+        int index = getIndex(vertex);
+
+        if (!indexIsValid(index)) {
+            throw new ElementNotFoundException("Vertex not found");
         }
 
-        throw new ElementNotFoundException("Vertex not found");
+        removeVertex(index);
     }
 
     /**
-     * Removes a single vertex with the given value from this graph.
+     * Removes a single vertex with the given index from this graph.
+     * Only the row and column of the vertex are cleared and its slot goes to the free list, so this costs O(V)
+     * and the indices of the other vertices do not change.
      *
-     * @param vertex the vertex to be removed from this graph
+     * @param vertex the index of the vertex to be removed from this graph
      */
+    @Override
     public void removeVertex(int vertex) {
         if (this.indexIsValid(vertex)) {
-            this.numVertices--;
+            T removed = this.vertices[vertex];
 
-            for (int i = vertex; i < this.numVertices; i++) {
-                this.vertices[i] = this.vertices[i + 1];
+            for (int i = 0; i < this.numVertices; i++) {
+                this.adjMatrix[vertex][i] = false;
+                this.adjMatrix[i][vertex] = false;
             }
-            this.vertices[this.numVertices] = null;
+            this.vertices[vertex] = null;
 
-            for (int i = vertex; i < this.numVertices; i++) {
-                for (int j = 0; j < this.numVertices; j++) {
-                    this.adjMatrix[i][j] = this.adjMatrix[i + 1][j];
-                    this.adjMatrix[i + 1][j] = false;
-                }
+            if (this.numFree == this.freeSlots.length) {
+                int[] largerFreeSlots = new int[this.freeSlots.length * 2];
+                System.arraycopy(this.freeSlots, 0, largerFreeSlots, 0, this.numFree);
+                this.freeSlots = largerFreeSlots;
             }
+            this.freeSlots[this.numFree++] = vertex;
 
-            for (int i = 0; i < this.numVertices; i++) {
-                for (int j = vertex; j < this.numVertices; j++) {
-                    this.adjMatrix[i][j] = this.adjMatrix[i][j + 1];
-                    this.adjMatrix[i][j + 1] = false;
+            unindex(removed, vertex);
+        }
+    }
+
+    /**
+     * Moves the vertices down into the holes left by removed vertices, keeping their relative order.
+     * Each vertex that moves takes its row and column with it, so this costs O(V²) and is meant to be run
+     * when the graph is idle.
+     */
+    @Override
+    public void compact() {
+        int next = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            if (this.vertices[i] != null) {
+                if (i != next) {
+                    moveSlot(i, next);
                 }
+                next++;
             }
+        }
 
-            this.adjMatrix[this.numVertices][this.numVertices] = false;
+        this.numVertices = next;
+        this.numFree = 0;
+    }
+
+    /**
+     * Moves the vertex in one slot to an empty slot before it, with its edges.
+     * @param from the slot of the vertex
+     * @param to the empty slot
+     */
+    protected void moveSlot(int from, int to) {
+        boolean selfLoop = this.adjMatrix[from][from];
+
+        for (int i = 0; i < this.numVertices; i++) {
+            if (i != from) {
+                this.adjMatrix[to][i] = this.adjMatrix[from][i];
+                this.adjMatrix[i][to] = this.adjMatrix[i][from];
+                this.adjMatrix[from][i] = false;
+                this.adjMatrix[i][from] = false;
+            }
+        }
+        this.adjMatrix[from][from] = false;
+        this.adjMatrix[to][to] = selfLoop;
+
+        this.vertices[to] = this.vertices[from];
+        this.vertices[from] = null;
+
+        Integer stored = this.vertexIndex.get(this.vertices[to]);
+        if (stored != null && stored == from) {
+            this.vertexIndex.put(this.vertices[to], to);
         }
     }
 
@@ -154,16 +231,35 @@ public class MatrixGraph<T> implements GraphADT<T> {
 
     /**
      * Returns the index of the vertex in the vertices array.
+     * Vertices are resolved through the vertex index, so this is O(1) and relies on the vertex equals and hashCode.
      * @param vertex the vertex to be found
-     * @return the index of the vertex in the vertices array
+     * @return the index of the vertex in the vertices array, or -1 if it is not in the graph
      */
+    @Override
     public int getIndex(T vertex) {
-        for (int i = 0; i < numVertices; i++) {
-            if (vertices[i].toString().equals(vertex.toString())) {
-                return i;
+        if (vertex == null) {
+            return -1;
+        }
+
+        Integer index = vertexIndex.get(vertex);
+        return (index == null) ? -1 : index;
+    }
+
+    /**
+     * Updates the vertex index after the vertex at the given index was removed.
+     * @param removed the vertex that was removed
+     * @param index the index the removed vertex had
+     */
+    protected void unindex(T removed, int index) {
+        // an equal vertex may have been hidden behind the removed one
+        if (vertexIndex.remove(removed, index)) {
+            for (int i = 0; i < numVertices; i++) {
+                if (removed.equals(vertices[i])) {
+                    vertexIndex.putIfAbsent(vertices[i], i);
+                    return;
+                }
             }
         }
-        return -1;
     }
 
     /**
@@ -179,12 +275,75 @@ public class MatrixGraph<T> implements GraphADT<T> {
     }
 
     /**
-     * Checks if the index is valid. The index is valid if it is greater than or equal to 0 and less than the number of vertices.
+     * Checks if the index is valid. The index is valid if it is a slot in use that is not a hole.
      * @param index the index to be checked
      * @return true if the index is valid, false otherwise
      */
+    @Override
     public boolean indexIsValid(int index) {
-        return ((index >= 0) && (index < numVertices));
+        return ((index >= 0) && (index < numVertices) && (vertices[index] != null));
+    }
+
+    /**
+     * Returns the number of slots in use, counting the holes left by removed vertices.
+     * @return the number of index slots
+     */
+    @Override
+    public int getSlotCount() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns the vertex stored at the given index.
+     * @param index the index of the vertex
+     * @return the vertex at the given index, or null if the index is not valid
+     */
+    @Override
+    public T getVertex(int index) {
+        if (!indexIsValid(index)) {
+            return null;
+        }
+        return vertices[index];
+    }
+
+    /**
+     * Checks if there is an edge between the two given indices.
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if both vertices are adjacent, false otherwise
+     */
+    @Override
+    public boolean isAdjacent(int index1, int index2) {
+        return indexIsValid(index1) && indexIsValid(index2) && adjMatrix[index1][index2];
+    }
+
+    /**
+     * Returns the indices of the vertices adjacent to the vertex at the given index, in ascending order.
+     * The whole row of the matrix has to be scanned, so this is O(V) regardless of the degree.
+     * @param index the index of the vertex
+     * @return the indices of the neighbours, empty if the index is not valid
+     */
+    @Override
+    public int[] getNeighbourIndices(int index) {
+        if (!indexIsValid(index)) {
+            return new int[0];
+        }
+
+        int count = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (adjMatrix[index][i]) {
+                count++;
+            }
+        }
+
+        int[] neighbours = new int[count];
+        count = 0;
+        for (int i = 0; i < numVertices; i++) {
+            if (adjMatrix[index][i]) {
+                neighbours[count++] = i;
+            }
+        }
+        return neighbours;
     }
 
     /**
@@ -362,7 +521,8 @@ public class MatrixGraph<T> implements GraphADT<T> {
     }
 
     /**
-     * Returns an iterator that returns the shortest path between two vertices.
+     * Returns an iterator that returns the shortest path between two vertices,
+     * found with a {@link BidirectionalBFS} that searches from both ends until they meet.
      * @param startIndex  the starting vertex
      * @param targetIndex the ending vertex
      * @return an iterator that returns the shortest path between two vertices
@@ -373,77 +533,8 @@ public class MatrixGraph<T> implements GraphADT<T> {
             return resultList.iterator();
         }
 
-        Iterator<Integer> it;
-        try {
-            it = iteratorShortestPathIndices(startIndex, targetIndex);
-
-            while (it.hasNext()) {
-                resultList.addToRear(vertices[it.next()]);
-            }
-
-        } catch (EmptyCollectionException | NullException e) {
-            e.printStackTrace();
-        }
-
-        return resultList.iterator();
-    }
-
-    /**
-     * Returns an iterator that returns the shortest path between two vertices as indices.
-     * @param startIndex  the starting vertex
-     * @param targetIndex the ending vertex
-     * @return an iterator that returns the shortest path between two vertices as indices
-     */
-    private Iterator<Integer> iteratorShortestPathIndices(int startIndex, int targetIndex) throws EmptyCollectionException, NullException {
-        int index = startIndex;
-        int[] pathLength = new int[numVertices];
-        int[] predecessor = new int[numVertices];
-        LinkedQueue<Integer> traversalQueue = new LinkedQueue<>();
-        ArrayUnorderedList<Integer> resultList = new ArrayUnorderedList<>();
-
-        if (!indexIsValid(startIndex) || !indexIsValid(targetIndex)
-                || (startIndex == targetIndex)) {
-            return resultList.iterator();
-        }
-
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++) {
-            visited[i] = false;
-        }
-
-        traversalQueue.enqueue(startIndex);
-        visited[startIndex] = true;
-        pathLength[startIndex] = 0;
-        predecessor[startIndex] = -1;
-
-        while (!traversalQueue.isEmpty() && (index != targetIndex)) {
-            index = (traversalQueue.dequeue());
-
-            // Update the pathLength for each unvisited vertex adjacent to the vertex at the current index
-            for (int i = 0; i < numVertices; i++) {
-                if (adjMatrix[index][i] && !visited[i]) {
-                    pathLength[i] = pathLength[index] + 1;
-                    predecessor[i] = index;
-                    traversalQueue.enqueue(i);
-                    visited[i] = true;
-                }
-            }
-        }
-        // no path must have been found
-        if (index != targetIndex) {
-            return resultList.iterator();
-        }
-
-        LinkedStack<Integer> stack = new LinkedStack<>();
-        index = targetIndex;
-        stack.push(index);
-        do {
-            index = predecessor[index];
-            stack.push(index);
-        } while (index != startIndex);
-
-        while (!stack.isEmpty()) {
-            resultList.addToRear(stack.pop());
+        for (int index : new BidirectionalBFS(this).search(startIndex, targetIndex)) {
+            resultList.addToRear(vertices[index]);
         }
 
         return resultList.iterator();
@@ -455,7 +546,7 @@ public class MatrixGraph<T> implements GraphADT<T> {
      */
     @Override
     public boolean isEmpty() {
-        return (this.numVertices == 0);
+        return (size() == 0);
     }
 
     /**
@@ -468,14 +559,19 @@ public class MatrixGraph<T> implements GraphADT<T> {
             return false;
         }
 
-        Iterator<T> it = iteratorBFS(0);
+        int start = 0;
+        while (!indexIsValid(start)) {
+            start++;
+        }
+
+        Iterator<T> it = iteratorBFS(start);
         int count = 0;
 
         while (it.hasNext()) {
             it.next();
             count++;
         }
-        return (count == numVertices);
+        return (count == size());
     }
 
     /**
@@ -484,7 +580,7 @@ public class MatrixGraph<T> implements GraphADT<T> {
      */
     @Override
     public int size() {
-        return this.numVertices;
+        return this.numVertices - this.numFree;
     }
 
     /**
@@ -508,7 +604,7 @@ public class MatrixGraph<T> implements GraphADT<T> {
      */
     @Override
     public String toString() {
-        if (numVertices == 0)
+        if (isEmpty())
             return "Graph is empty";
 
         String result = "";
@@ -539,8 +635,10 @@ public class MatrixGraph<T> implements GraphADT<T> {
         result += "index\tvalue\n\n";
 
         for (int i = 0; i < numVertices; i++) {
-            result += "" + i + "\t";
-            result += vertices[i].toString() + "\n";
+            if (vertices[i] != null) {
+                result += "" + i + "\t";
+                result += vertices[i].toString() + "\n";
+            }
         }
         return result;
     }
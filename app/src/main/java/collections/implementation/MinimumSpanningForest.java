@@ -0,0 +1,188 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.interfaces.IndexedNetworkADT;
+
+/**
+ * MinimumSpanningForest holds the edges of a minimum spanning tree of every connected component of an
+ * {@link IndexedNetworkADT}, found with Kruskal's algorithm.
+ * Every edge is kept once as a (weight, first, second) record, the records are ordered by weight in an
+ * {@link IndexedMinHeap} and a {@link UnionFind} rejects the edges that would close a cycle, so the forest
+ * is built in O(E log E) after one pass over the neighbours of every vertex.
+ * The forest is a snapshot: it must be built again after the network changes.
+ */
+public class MinimumSpanningForest {
+
+    /**
+     * The number of vertices of the network when the forest was built
+     */
+    private final int numVertices;
+
+    /**
+     * The first end of each edge of the forest
+     */
+    private final int[] firstEnds;
+
+    /**
+     * The second end of each edge of the forest
+     */
+    private final int[] secondEnds;
+
+    /**
+     * The weight of each edge of the forest
+     */
+    private final double[] weights;
+
+    /**
+     * The number of edges of the forest
+     */
+    private int numberOfEdges;
+
+    /**
+     * The sum of the weights of the edges of the forest
+     */
+    private double totalWeight;
+
+    /**
+     * The number of trees of the forest, one per connected component
+     */
+    private final int numberOfTrees;
+
+    /**
+     * Builds the minimum spanning forest of the network as it is now.
+     * @param network the network
+     */
+    public MinimumSpanningForest(IndexedNetworkADT<?> network) {
+        this.numVertices = network.getSlotCount();
+
+        int numberOfCandidates = 0;
+        for (int i = 0; i < this.numVertices; i++) {
+            for (int j : network.getNeighbourIndices(i)) {
+                if (i < j) {
+                    numberOfCandidates++;
+                }
+            }
+        }
+
+        // the edge records, each undirected edge once
+        int[] candidateFirst = new int[numberOfCandidates];
+        int[] candidateSecond = new int[numberOfCandidates];
+        IndexedMinHeap heap = new IndexedMinHeap(numberOfCandidates);
+        int edge = 0;
+
+        for (int i = 0; i < this.numVertices; i++) {
+            for (int j : network.getNeighbourIndices(i)) {
+                if (i < j) {
+                    candidateFirst[edge] = i;
+                    candidateSecond[edge] = j;
+                    heap.insert(edge, network.getEdgeWeight(i, j));
+                    edge++;
+                }
+            }
+        }
+
+        int capacity = Math.max(0, this.numVertices - 1);
+        this.firstEnds = new int[capacity];
+        this.secondEnds = new int[capacity];
+        this.weights = new double[capacity];
+
+        UnionFind components = new UnionFind(this.numVertices);
+        try {
+            while (!heap.isEmpty() && this.numberOfEdges < capacity) {
+                double weight = heap.getKey(heap.findMin());
+                edge = heap.removeMin();
+
+                if (components.union(candidateFirst[edge], candidateSecond[edge])) {
+                    this.firstEnds[this.numberOfEdges] = candidateFirst[edge];
+                    this.secondEnds[this.numberOfEdges] = candidateSecond[edge];
+                    this.weights[this.numberOfEdges] = weight;
+                    this.totalWeight += weight;
+                    this.numberOfEdges++;
+                }
+            }
+        } catch (EmptyCollectionException e) {
+            e.printStackTrace();
+        }
+
+        // the holes left by removed vertices are sets of their own, but not trees
+        int holes = 0;
+        for (int i = 0; i < this.numVertices; i++) {
+            if (!network.indexIsValid(i)) {
+                holes++;
+            }
+        }
+        this.numberOfTrees = components.getNumberOfSets() - holes;
+    }
+
+    /**
+     * Returns the number of index slots of the network when the forest was built.
+     * @return the number of slots
+     */
+    public int size() {
+        return this.numVertices;
+    }
+
+    /**
+     * Returns the number of edges of the forest, the number of vertices minus the number of trees.
+     * @return the number of edges
+     */
+    public int getNumberOfEdges() {
+        return this.numberOfEdges;
+    }
+
+    /**
+     * Returns the number of trees of the forest, one per connected component of the network.
+     * @return the number of trees
+     */
+    public int getNumberOfTrees() {
+        return this.numberOfTrees;
+    }
+
+    /**
+     * Returns the sum of the weights of the edges of the forest.
+     * @return the total weight
+     */
+    public double getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    /**
+     * Returns the first end of an edge of the forest.
+     * @param edge the position of the edge, in the order the edges were chosen
+     * @return the index of the first end
+     */
+    public int getFirstEnd(int edge) {
+        checkEdge(edge);
+        return this.firstEnds[edge];
+    }
+
+    /**
+     * Returns the second end of an edge of the forest.
+     * @param edge the position of the edge, in the order the edges were chosen
+     * @return the index of the second end
+     */
+    public int getSecondEnd(int edge) {
+        checkEdge(edge);
+        return this.secondEnds[edge];
+    }
+
+    /**
+     * Returns the weight of an edge of the forest.
+     * @param edge the position of the edge, in the order the edges were chosen
+     * @return the weight of the edge
+     */
+    public double getWeight(int edge) {
+        checkEdge(edge);
+        return this.weights[edge];
+    }
+
+    /**
+     * Checks that the position is an edge of the forest.
+     * @param edge the position to be checked
+     */
+    private void checkEdge(int edge) {
+        if (edge < 0 || edge >= this.numberOfEdges) {
+            throw new IndexOutOfBoundsException("Edge " + edge + " is not in the forest.");
+        }
+    }
+}
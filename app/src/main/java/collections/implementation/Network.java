@@ -2,8 +2,7 @@ package collections.implementation;
 
 import collections.exceptions.EmptyCollectionException;
 import collections.exceptions.UnknownPathException;
-import collections.interfaces.NetWorkADT;
-import collections.interfaces.UnorderedListADT;
+import collections.interfaces.IndexedNetworkADT;
 
 import java.util.Iterator;
 
@@ -11,7 +10,7 @@ import java.util.Iterator;
  * Network class that implements the NetWorkADT interface.
  * @param <T> The type of the elements in the network.
  */
-public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
+public class Network<T> extends MatrixGraph<T> implements IndexedNetworkADT<T> {
     /**
      * The default capacity of the network.
      */
@@ -43,6 +42,46 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
         super.addVertex(vertex);
     }
 
+    /**
+     * Removes a single vertex with the given index from this network, clearing its weights together with its edges
+     * so that a vertex that later reuses the slot starts without any.
+     *
+     * @param vertex the index of the vertex to be removed from this network
+     */
+    @Override
+    public void removeVertex(int vertex) {
+        if (indexIsValid(vertex)) {
+            for (int i = 0; i < this.numVertices; i++) {
+                this.adjMatrix[vertex][i] = 0;
+                this.adjMatrix[i][vertex] = 0;
+            }
+            super.removeVertex(vertex);
+        }
+    }
+
+    /**
+     * Moves the vertex in one slot to an empty slot before it, with its edges and their weights.
+     * @param from the slot of the vertex
+     * @param to the empty slot
+     */
+    @Override
+    protected void moveSlot(int from, int to) {
+        double selfLoop = this.adjMatrix[from][from];
+
+        for (int i = 0; i < this.numVertices; i++) {
+            if (i != from) {
+                this.adjMatrix[to][i] = this.adjMatrix[from][i];
+                this.adjMatrix[i][to] = this.adjMatrix[i][from];
+                this.adjMatrix[from][i] = 0;
+                this.adjMatrix[i][from] = 0;
+            }
+        }
+        this.adjMatrix[from][from] = 0;
+        this.adjMatrix[to][to] = selfLoop;
+
+        super.moveSlot(from, to);
+    }
+
     /**
      * Adds an edge between the two specified vertices of this graph.
      * @param vertex1 the first vertex
@@ -59,28 +98,6 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
         }
     }
 
-    /**
-     * Return an array containing the vertices with the specified weight.
-     * @param weight the weight of the edge
-     * @param visited the array used to mark the visited vertices
-     * @return an array containing the vertices with the specified weight
-     */
-    protected int[] getEdgeWithWeightOf(double weight, boolean[] visited) {
-        int[] edge = new int[2];
-        for (int i = 0; i < numVertices; i++)
-            for (int j = 0; j < numVertices; j++)
-                if ((adjMatrix[i][j] == weight) && (visited[i] ^ visited[j])) {
-                    edge[0] = i;
-                    edge[1] = j;
-                    return edge;
-                }
-
-        // Will only get to here if a valid edge is not found
-        edge[0] = -1;
-        edge[1] = -1;
-        return edge;
-    }
-
     /**
      * Sets the weight of the edge between the two specified vertices.
      * @param firstVertex the first vertex
@@ -100,6 +117,7 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
             this.adjMatrix[second][first] = 0;
         } else {
             this.adjMatrix[first][second] = weight;
+            this.adjMatrix[second][first] = weight;
         }
 
     }
@@ -117,6 +135,20 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
         return this.adjMatrix[first][second];
     }
 
+    /**
+     * Returns the weight of the edge between the two specified indices.
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @return the weight of the edge, or positive infinity if the vertices are not adjacent
+     */
+    @Override
+    public double getEdgeWeight(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second) || !super.adjMatrix[first][second]) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.adjMatrix[first][second];
+    }
+
     /**
      * Expands the capacity of the matrix by creating a new matrix and copying the contents of the old matrix to it.
      */
@@ -154,36 +186,60 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
      */
     @Override
     public ArrayUnorderedList<T> shortestPathWeight(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
-        PriorityQueue<Pair<T>> priorityQueue = new PriorityQueue<>();
-        UnorderedListADT<T> verticesFromPossiblePath = new ArrayUnorderedList<>();
-        ArrayUnorderedList<T> result = new ArrayUnorderedList<>();
-        Pair<T> startPair = new Pair<>(null, vertex1, 0.0);
+        return shortestWeightedPath(vertex1, vertex2).getPath();
+    }
 
-        priorityQueue.addElement(startPair, (int) startPair.cost);
+    /**
+     * Returns the cheapest path between the two specified vertices and its total cost, using Dijkstra's algorithm.
+     * Tentative distances are kept in an {@link IndexedMinHeap} with decrease-key, so every vertex is settled once
+     * and the fractional weights are compared as doubles.
+     * @param vertex1 the starting vertex
+     * @param vertex2 the ending vertex
+     * @return the cheapest path between the two specified vertices and its cost
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    @Override
+    public WeightedPath<T> shortestWeightedPath(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Network is empty");
+        }
 
-        while (!priorityQueue.isEmpty()) {
-            Pair<T> pair = priorityQueue.removeNext();
-            T vertex = pair.vertex;
-            double minCost = pair.cost;
+        int start = getIndex(vertex1);
+        int target = getIndex(vertex2);
 
-            if (vertex.equals(vertex2)) {
-                Pair<T> finalPair = pair;
+        if (!indexIsValid(start) || !indexIsValid(target)) {
+            throw new UnknownPathException("Path doesn't exist");
+        }
 
-                while (finalPair != null) {
-                    result.addToFront(finalPair.vertex);
-                    finalPair = finalPair.previous;
-                }
+        double[] distance = new double[numVertices];
+        int[] predecessor = new int[numVertices];
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices);
 
-                return result;
-            }
+        for (int i = 0; i < numVertices; i++) {
+            distance[i] = Double.POSITIVE_INFINITY;
+            predecessor[i] = -1;
+        }
+        distance[start] = 0;
+        heap.insert(start, 0);
+        int expanded = 0;
+
+        while (!heap.isEmpty()) {
+            int current = heap.removeMin();
+            expanded++;
 
-            verticesFromPossiblePath.addToRear(vertex);
+            if (current == target) {
+                return WeightedPath.fromPredecessors(vertices, predecessor, target, distance[target], expanded);
+            }
 
             for (int i = 0; i < numVertices; i++) {
-                if (super.adjMatrix[getIndex(vertex)][i] && !verticesFromPossiblePath.contains(vertices[i])) {
-                    double minCostToVertex = minCost + adjMatrix[getIndex(vertex)][i];
-                    Pair<T> tmpPair = new Pair<>(pair, vertices[i], minCostToVertex);
-                    priorityQueue.addElement(tmpPair, (int) tmpPair.cost);
+                if (super.adjMatrix[current][i]) {
+                    double candidate = distance[current] + adjMatrix[current][i];
+                    if (candidate < distance[i]) {
+                        distance[i] = candidate;
+                        predecessor[i] = current;
+                        heap.insertOrDecrease(i, candidate);
+                    }
                 }
             }
         }
@@ -192,68 +248,25 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
     }
 
     /**
-     * Returns the minimum spanning tree of the network.
-     * @return the minimum spanning tree of the network
+     * Returns the minimum spanning forest of the network, built with Kruskal's algorithm in O(E log E).
+     * The result has every vertex of the network, in the same order but without the holes of removed vertices,
+     * and for each connected component the edges of its minimum spanning tree, so a disconnected network gives a
+     * forest instead of nothing.
+     * @return the minimum spanning forest of the network
      */
-    @SuppressWarnings("unchecked")
     public Network<T> mstNetwork() {
-        int x, y;
-        int index;
-        double weight;
-        int[] edge = new int[2];
-        LinkedHeap<Double> minHeap = new LinkedHeap<>();
         Network<T> resultGraph = new Network<>();
-        if (isEmpty() || !isConnected())
-            return resultGraph;
-        resultGraph.adjMatrix = new double[numVertices][numVertices];
-        for (int i = 0; i < numVertices; i++)
-            for (int j = 0; j < numVertices; j++)
-                resultGraph.adjMatrix[i][j] = Double.POSITIVE_INFINITY;
-        resultGraph.vertices = (T[]) (new Object[numVertices]);
-        boolean[] visited = new boolean[numVertices];
-        for (int i = 0; i < numVertices; i++)
-            visited[i] = false;
-
-        edge[0] = 0;
-        resultGraph.vertices[0] = this.vertices[0];
-        resultGraph.numVertices++;
-        visited[0] = true;
-
-        // Add all edges, which are adjacent to the starting vertex, to the heap
-        for (int i = 0; i < numVertices; i++)
-            minHeap.addElement(adjMatrix[0][i]);
-        while ((resultGraph.size() < this.size()) && !minHeap.isEmpty()) {
-            // Get the edge with the smallest weight that has exactly one vertex already in the resultGraph
-            do {
-                try {
-                    weight = minHeap.removeMin();
-                    edge = getEdgeWithWeightOf(weight, visited);
-                } catch (EmptyCollectionException e) {
-                    System.out.println(e.getMessage());
-                }
-            } while (!indexIsValid(edge[0]) || !indexIsValid(edge[1]));
-            x = edge[0];
-            y = edge[1];
-            if (!visited[x])
-                index = x;
-            else
-                index = y;
-            // Add the new edge and vertex to the resultGraph
-            resultGraph.vertices[index] = this.vertices[index];
-            visited[index] = true;
-            resultGraph.numVertices++;
-            resultGraph.adjMatrix[x][y] = this.adjMatrix[x][y];
-            resultGraph.adjMatrix[y][x] = this.adjMatrix[y][x];
-
-            // Add all edges, that are adjacent to the newly added vertex, to the heap
-            for (int i = 0; i < numVertices; i++) {
-                if (!visited[i] && (this.adjMatrix[i][index] < Double.POSITIVE_INFINITY)) {
-                    edge[0] = index;
-                    edge[1] = i;
-                    minHeap.addElement(adjMatrix[index][i]);
-                }
+        MinimumSpanningForest forest = new MinimumSpanningForest(this);
+
+        for (int i = 0; i < numVertices; i++) {
+            if (this.vertices[i] != null) {
+                resultGraph.addVertex(this.vertices[i]);
             }
         }
+        for (int i = 0; i < forest.getNumberOfEdges(); i++) {
+            resultGraph.addEdge(this.vertices[forest.getFirstEnd(i)], this.vertices[forest.getSecondEnd(i)],
+                    forest.getWeight(i));
+        }
         return resultGraph;
     }
 
@@ -262,7 +275,7 @@ public class Network<T> extends MatrixGraph<T> implements NetWorkADT<T> {
      * @return the string representation of the network
      */
     public String toString() {
-        if (numVertices == 0)
+        if (isEmpty())
             return "Graph is empty";
 
         String result = super.toString();
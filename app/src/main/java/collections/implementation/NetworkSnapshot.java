@@ -0,0 +1,136 @@
+package collections.implementation;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.UnknownPathException;
+import collections.interfaces.IndexedNetworkADT;
+
+import java.util.Arrays;
+
+/**
+ * NetworkSnapshot is a read-only copy of an {@link IndexedNetworkADT} taken at one moment, with the weight of every
+ * edge. The weights are packed in one array parallel to the neighbours of the {@link GraphSnapshot}, so reading one
+ * looks only through the neighbours of a single vertex, and any number of threads can read them at once without locks.
+ * Every method that would change the network throws an {@link UnsupportedOperationException}.
+ * @param <T> the type of elements in this network
+ */
+public class NetworkSnapshot<T> extends GraphSnapshot<T> implements IndexedNetworkADT<T> {
+
+    /**
+     * The weight of every edge, parallel to {@link #neighbours}
+     */
+    private final double[] weights;
+
+    /**
+     * Copies the network as it is now. The network must not change while it is being copied.
+     * @param network the network to be copied
+     */
+    public NetworkSnapshot(IndexedNetworkADT<T> network) {
+        super(network);
+        this.weights = new double[this.neighbours.length];
+
+        for (int i = 0; i < this.getSlotCount(); i++) {
+            for (int k = this.offsets[i]; k < this.offsets[i + 1]; k++) {
+                this.weights[k] = network.getEdgeWeight(i, this.neighbours[k]);
+            }
+        }
+    }
+
+    /**
+     * Not supported, a snapshot cannot be changed.
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @param weight the weight of the edge
+     */
+    @Override
+    public void addEdge(T vertex1, T vertex2, double weight) {
+        throw new UnsupportedOperationException("A snapshot cannot be changed.");
+    }
+
+    /**
+     * Returns the weight of the edge between the two specified indices.
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @return the weight of the edge, or positive infinity if the vertices are not adjacent
+     */
+    @Override
+    public double getEdgeWeight(int first, int second) {
+        if (!indexIsValid(first) || !indexIsValid(second)) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        for (int k = this.offsets[first]; k < this.offsets[first + 1]; k++) {
+            if (this.neighbours[k] == second) {
+                return this.weights[k];
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the cheapest path between the two specified vertices.
+     * @param vertex1 the starting vertex
+     * @param vertex2 the ending vertex
+     * @return the shortest path between the two specified vertices
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    @Override
+    public ArrayUnorderedList<T> shortestPathWeight(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
+        return shortestWeightedPath(vertex1, vertex2).getPath();
+    }
+
+    /**
+     * Returns the cheapest path between the two specified vertices and its total cost, using Dijkstra's algorithm
+     * over the packed neighbours with an {@link IndexedMinHeap}, in O((V + E) log V).
+     * @param vertex1 the starting vertex
+     * @param vertex2 the ending vertex
+     * @return the cheapest path between the two specified vertices and its cost
+     * @throws UnknownPathException the exception thrown when the path is unknown
+     * @throws EmptyCollectionException the exception thrown when the collection is empty
+     */
+    @Override
+    public WeightedPath<T> shortestWeightedPath(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException("Network is empty");
+        }
+
+        int start = getIndex(vertex1);
+        int target = getIndex(vertex2);
+
+        if (!indexIsValid(start) || !indexIsValid(target)) {
+            throw new UnknownPathException("Path doesn't exist");
+        }
+
+        int numSlots = getSlotCount();
+        double[] distance = new double[numSlots];
+        int[] predecessor = new int[numSlots];
+        IndexedMinHeap heap = new IndexedMinHeap(numSlots);
+
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessor, -1);
+        distance[start] = 0;
+        heap.insert(start, 0);
+        int expanded = 0;
+
+        while (!heap.isEmpty()) {
+            int current = heap.removeMin();
+            expanded++;
+
+            if (current == target) {
+                return WeightedPath.fromPredecessors(this.vertices, predecessor, target, distance[target], expanded);
+            }
+
+            for (int k = this.offsets[current]; k < this.offsets[current + 1]; k++) {
+                int neighbour = this.neighbours[k];
+                double candidate = distance[current] + this.weights[k];
+                if (candidate < distance[neighbour]) {
+                    distance[neighbour] = candidate;
+                    predecessor[neighbour] = current;
+                    heap.insertOrDecrease(neighbour, candidate);
+                }
+            }
+        }
+
+        throw new UnknownPathException("Path doesn't exist");
+    }
+}
@@ -0,0 +1,110 @@
+package collections.implementation;
+
+/**
+ * PathBatch holds the answers to a batch of shortest path queries in two flat arrays instead of one list per query:
+ * the vertices of every path one after the other, and where the path of each query starts.
+ * The length of each path is kept apart, so a query with no path can be told from one whose start is its target,
+ * both of which have an empty path as in the other searches.
+ */
+public class PathBatch {
+
+    /**
+     * Where the path of each query starts in {@link #vertices}, with one more entry marking the end
+     */
+    private final int[] offsets;
+
+    /**
+     * The indices of the vertices of every path, one path after the other
+     */
+    private final int[] vertices;
+
+    /**
+     * The number of edges of the path of each query, -1 if there is none
+     */
+    private final int[] distances;
+
+    /**
+     * Packs the paths of a batch of queries.
+     * @param paths the indices of the path of each query, empty if there is none or the start is the target
+     * @param distances the number of edges of the path of each query, -1 if there is none
+     */
+    public PathBatch(int[][] paths, int[] distances) {
+        if (paths.length != distances.length) {
+            throw new IllegalArgumentException("There must be one distance per path.");
+        }
+
+        this.offsets = new int[paths.length + 1];
+        for (int q = 0; q < paths.length; q++) {
+            this.offsets[q + 1] = this.offsets[q] + paths[q].length;
+        }
+
+        this.vertices = new int[this.offsets[paths.length]];
+        for (int q = 0; q < paths.length; q++) {
+            System.arraycopy(paths[q], 0, this.vertices, this.offsets[q], paths[q].length);
+        }
+        this.distances = distances.clone();
+    }
+
+    /**
+     * Returns the number of queries.
+     * @return the number of queries
+     */
+    public int size() {
+        return this.distances.length;
+    }
+
+    /**
+     * Checks if the query is part of the batch.
+     * @param query the position of the query
+     */
+    private void checkQuery(int query) {
+        if (query < 0 || query >= this.distances.length) {
+            throw new IndexOutOfBoundsException("Query " + query + " out of " + this.distances.length + " queries.");
+        }
+    }
+
+    /**
+     * Returns the number of edges of the path of a query.
+     * @param query the position of the query in the batch
+     * @return the number of edges, 0 if the start is the target and -1 if there is no path
+     */
+    public int getDistance(int query) {
+        checkQuery(query);
+        return this.distances[query];
+    }
+
+    /**
+     * Returns the number of vertices of the path of a query.
+     * @param query the position of the query in the batch
+     * @return the number of vertices, 0 if there is no path or the start is the target
+     */
+    public int getPathSize(int query) {
+        checkQuery(query);
+        return this.offsets[query + 1] - this.offsets[query];
+    }
+
+    /**
+     * Returns one vertex of the path of a query, without copying the path.
+     * @param query the position of the query in the batch
+     * @param position the position of the vertex in the path
+     * @return the index of the vertex
+     */
+    public int getVertex(int query, int position) {
+        if (position < 0 || position >= getPathSize(query)) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of " + getPathSize(query) + " vertices.");
+        }
+        return this.vertices[this.offsets[query] + position];
+    }
+
+    /**
+     * Returns a copy of the path of a query.
+     * @param query the position of the query in the batch
+     * @return the indices of the path, empty if there is no path or the start is the target
+     */
+    public int[] getPath(int query) {
+        checkQuery(query);
+        int[] path = new int[this.offsets[query + 1] - this.offsets[query]];
+        System.arraycopy(this.vertices, this.offsets[query], path, 0, path.length);
+        return path;
+    }
+}
@@ -0,0 +1,145 @@
+package collections.implementation;
+
+import java.util.Arrays;
+
+/**
+ * ProximityGraph chooses which points of a {@link SpatialGrid} to link so that every point is joined to the points
+ * around it, as when the routes of a new map are drawn from the coordinates of its places.
+ * Each point is linked to its K nearest points, to every point within a distance, or to the K nearest within a
+ * distance, and the links are found through the grid instead of by measuring every pair of points.
+ * The links may then be thinned out into a Gabriel or relative neighbourhood graph, which drop a link whenever a
+ * third point lies between its ends, so the result stays sparse and close to planar.
+ */
+public class ProximityGraph {
+
+    /**
+     * How the links are thinned out.
+     */
+    public enum Pruning {
+        /**
+         * Every link is kept
+         */
+        NONE,
+        /**
+         * A link is dropped if a third point lies inside the circle whose diameter is the link
+         */
+        GABRIEL,
+        /**
+         * A link is dropped if a third point is nearer to both of its ends than they are to each other
+         */
+        RELATIVE_NEIGHBOURHOOD
+    }
+
+    /**
+     * The points to be linked
+     */
+    private final SpatialGrid grid;
+
+    /**
+     * Creates the links between the points of a grid.
+     * @param grid the points to be linked, which must not change while the links are found
+     */
+    public ProximityGraph(SpatialGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Finds the links of every point.
+     * A link is made when either of its ends is among the chosen neighbours of the other, so every point gets at
+     * least the links it asked for, unless pruning drops some of them.
+     * @param k the number of nearest points each point is linked to, or 0 to link every point within the distance
+     * @param maxDistance the largest length of a link, in the unit of the grid radius, or infinity for no limit
+     * @param pruning how the links are thinned out
+     * @return the ends of each link, the smaller index first, sorted
+     */
+    public int[][] connect(int k, double maxDistance, Pruning pruning) {
+        if (k < 0 || maxDistance < 0 || Double.isNaN(maxDistance)) {
+            throw new IllegalArgumentException("The number of neighbours and the distance cannot be negative.");
+        }
+        if (k == 0 && Double.isInfinite(maxDistance)) {
+            throw new IllegalArgumentException("Either the number of neighbours or the distance must be limited.");
+        }
+
+        long[] links = new long[16];
+        int found = 0;
+        for (int point : this.grid.getPoints()) {
+            double longitude = this.grid.getLongitude(point);
+            double latitude = this.grid.getLatitude(point);
+            int[] neighbours = k == 0
+                    ? this.grid.withinDistance(longitude, latitude, maxDistance, other -> other != point)
+                    : this.grid.nearest(longitude, latitude, k, maxDistance, other -> other != point);
+
+            if (found + neighbours.length > links.length) {
+                links = Arrays.copyOf(links, Math.max(links.length * 2, found + neighbours.length));
+            }
+            for (int other : neighbours) {
+                links[found++] = key(point, other);
+            }
+        }
+
+        // drop the links found from both ends
+        Arrays.sort(links, 0, found);
+        int unique = 0;
+        for (int l = 0; l < found; l++) {
+            if (unique == 0 || links[l] != links[unique - 1]) {
+                links[unique++] = links[l];
+            }
+        }
+
+        int[][] result = new int[unique][];
+        int kept = 0;
+        for (int l = 0; l < unique; l++) {
+            int from = (int) (links[l] >>> 32);
+            int to = (int) links[l];
+            if (pruning == Pruning.NONE || !hasWitness(from, to, pruning)) {
+                result[kept++] = new int[] {from, to};
+            }
+        }
+        return Arrays.copyOf(result, kept);
+    }
+
+    /**
+     * Checks if a third point lies between the ends of a link, so that the pruning drops it.
+     * Any such point is nearer to the first end than the second end is, so only the points within the length of the
+     * link from the first end are looked at. Distances are compared as if the points were on a plane, which is close
+     * enough at the scale of a map.
+     * @param from the first end of the link
+     * @param to the second end of the link
+     * @param pruning the pruning to be checked
+     * @return true if the link should be dropped
+     */
+    private boolean hasWitness(int from, int to, Pruning pruning) {
+        double fromLongitude = this.grid.getLongitude(from);
+        double fromLatitude = this.grid.getLatitude(from);
+        double toLongitude = this.grid.getLongitude(to);
+        double toLatitude = this.grid.getLatitude(to);
+        double length = this.grid.distance(fromLongitude, fromLatitude, toLongitude, toLatitude);
+
+        int[] candidates = this.grid.withinDistance(fromLongitude, fromLatitude, length,
+                other -> other != from && other != to);
+        for (int witness : candidates) {
+            double toFrom = this.grid.distance(fromLongitude, fromLatitude,
+                    this.grid.getLongitude(witness), this.grid.getLatitude(witness));
+            double toTo = this.grid.distance(toLongitude, toLatitude,
+                    this.grid.getLongitude(witness), this.grid.getLatitude(witness));
+
+            boolean between = pruning == Pruning.GABRIEL
+                    ? toFrom * toFrom + toTo * toTo < length * length
+                    : Math.max(toFrom, toTo) < length;
+            if (between) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the key of a link, the same whichever end comes first.
+     * @param a one end of the link
+     * @param b the other end of the link
+     * @return the key, with the smaller end in the high half
+     */
+    private static long key(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
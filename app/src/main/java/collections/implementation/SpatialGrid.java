@@ -0,0 +1,553 @@
+package collections.implementation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * SpatialGrid indexes points on a sphere, given by longitude and latitude in degrees, in a uniform grid of cells
+ * of a fixed size in degrees, so that the points near a position can be found without looking at every point.
+ * Only the cells that hold points are stored, in a hash map.
+ * Nearest and radius queries look at the cells in square rings around the position, stopping as soon as the
+ * great-circle distance to anything outside the rings looked at is larger than what is still wanted, so they answer
+ * with exact great-circle distances. Bounding box queries only look at the cells that overlap the box.
+ * Each point is identified by a non-negative index chosen by the caller, usually the index of a vertex.
+ * Longitudes are not wrapped around the antimeridian.
+ */
+public class SpatialGrid {
+
+    /**
+     * The size of each cell, in degrees
+     */
+    private final double cellSize;
+
+    /**
+     * The radius of the sphere, which sets the unit of every distance
+     */
+    private final double radius;
+
+    /**
+     * The cells that hold points, keyed by {@link #cellKey(int, int)}
+     */
+    private final HashMap<Long, Cell> cells;
+
+    /**
+     * The longitude of each point
+     */
+    private double[] longitude;
+
+    /**
+     * The latitude of each point
+     */
+    private double[] latitude;
+
+    /**
+     * The position of each point in the array of its cell, -1 for indices that are not points
+     */
+    private int[] slot;
+
+    /**
+     * The number of points
+     */
+    private int count;
+
+    /**
+     * The lowest and highest column and row of a cell that ever held a point, so searches know where to stop
+     */
+    private int minColumn;
+    private int maxColumn;
+    private int minRow;
+    private int maxRow;
+
+    /**
+     * Creates an empty grid.
+     * @param cellSize the size of each cell, in degrees
+     * @param radius the radius of the sphere, in the unit the distances are wanted in
+     */
+    public SpatialGrid(double cellSize, double radius) {
+        if (!(cellSize > 0) || !(radius > 0)) {
+            throw new IllegalArgumentException("The cell size and the radius must be positive.");
+        }
+
+        this.cellSize = cellSize;
+        this.radius = radius;
+        this.cells = new HashMap<>();
+        this.longitude = new double[10];
+        this.latitude = new double[10];
+        this.slot = new int[10];
+        this.count = 0;
+        this.minColumn = Integer.MAX_VALUE;
+        this.maxColumn = Integer.MIN_VALUE;
+        this.minRow = Integer.MAX_VALUE;
+        this.maxRow = Integer.MIN_VALUE;
+        Arrays.fill(this.slot, -1);
+    }
+
+    /**
+     * Returns the number of points.
+     * @return the number of points
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Checks if the index is a point of the grid.
+     * @param index the index to be checked
+     * @return true if the index is a point
+     */
+    public boolean contains(int index) {
+        return index >= 0 && index < this.slot.length && this.slot[index] != -1;
+    }
+
+    /**
+     * Returns the longitude of a point.
+     * @param index the index of the point
+     * @return its longitude, in degrees
+     */
+    public double getLongitude(int index) {
+        checkPoint(index);
+        return this.longitude[index];
+    }
+
+    /**
+     * Returns the latitude of a point.
+     * @param index the index of the point
+     * @return its latitude, in degrees
+     */
+    public double getLatitude(int index) {
+        checkPoint(index);
+        return this.latitude[index];
+    }
+
+    /**
+     * Returns the indices of every point, in increasing order.
+     * @return the indices of the points
+     */
+    public int[] getPoints() {
+        int[] points = new int[this.count];
+        int found = 0;
+        for (int i = 0; i < this.slot.length && found < this.count; i++) {
+            if (this.slot[i] != -1) {
+                points[found++] = i;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Checks if the index is a point of the grid.
+     * @param index the index to be checked
+     */
+    private void checkPoint(int index) {
+        if (!contains(index)) {
+            throw new IllegalArgumentException("Index " + index + " is not a point of the grid.");
+        }
+    }
+
+    /**
+     * Returns the great-circle distance between two positions, with the haversine formula.
+     * @param longitude1 the longitude of the first position
+     * @param latitude1 the latitude of the first position
+     * @param longitude2 the longitude of the second position
+     * @param latitude2 the latitude of the second position
+     * @return the distance, in the unit of the radius
+     */
+    public double distance(double longitude1, double latitude1, double longitude2, double latitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        return 2 * this.radius * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Adds a point, or moves it if the index is already a point.
+     * @param index the index of the point, not negative
+     * @param longitude its longitude, in degrees
+     * @param latitude its latitude, in degrees
+     */
+    public void add(int index, double longitude, double latitude) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index " + index + " cannot be negative.");
+        }
+        if (contains(index)) {
+            move(index, longitude, latitude);
+            return;
+        }
+
+        if (index >= this.slot.length) {
+            int length = this.slot.length;
+            int capacity = Math.max(length * 2, index + 1);
+            this.longitude = Arrays.copyOf(this.longitude, capacity);
+            this.latitude = Arrays.copyOf(this.latitude, capacity);
+            this.slot = Arrays.copyOf(this.slot, capacity);
+            Arrays.fill(this.slot, length, capacity, -1);
+        }
+
+        this.longitude[index] = longitude;
+        this.latitude[index] = latitude;
+        insertInCell(index);
+        this.count++;
+    }
+
+    /**
+     * Moves a point to a new position.
+     * @param index the index of the point
+     * @param longitude its new longitude, in degrees
+     * @param latitude its new latitude, in degrees
+     */
+    public void move(int index, double longitude, double latitude) {
+        checkPoint(index);
+
+        long before = cellOf(this.longitude[index], this.latitude[index]);
+        long after = cellOf(longitude, latitude);
+        if (before != after) {
+            removeFromCell(index);
+            this.longitude[index] = longitude;
+            this.latitude[index] = latitude;
+            insertInCell(index);
+        } else {
+            this.longitude[index] = longitude;
+            this.latitude[index] = latitude;
+        }
+    }
+
+    /**
+     * Removes a point.
+     * @param index the index of the point
+     * @return true if the index was a point
+     */
+    public boolean remove(int index) {
+        if (!contains(index)) {
+            return false;
+        }
+
+        removeFromCell(index);
+        this.slot[index] = -1;
+        this.count--;
+        return true;
+    }
+
+    /**
+     * Follows a removal that moved every index after the removed one a position down, as some graphs do.
+     * The removed index is dropped first if it is still a point. Takes time proportional to the largest index.
+     * @param index the index that was removed
+     */
+    public void indexRemoved(int index) {
+        remove(index);
+        if (index >= this.slot.length) {
+            return;
+        }
+
+        for (Cell cell : this.cells.values()) {
+            for (int k = 0; k < cell.size; k++) {
+                if (cell.members[k] > index) {
+                    cell.members[k]--;
+                }
+            }
+        }
+
+        int moved = this.slot.length - index - 1;
+        System.arraycopy(this.longitude, index + 1, this.longitude, index, moved);
+        System.arraycopy(this.latitude, index + 1, this.latitude, index, moved);
+        System.arraycopy(this.slot, index + 1, this.slot, index, moved);
+        this.slot[this.slot.length - 1] = -1;
+    }
+
+    /**
+     * Removes every point.
+     */
+    public void clear() {
+        this.cells.clear();
+        Arrays.fill(this.slot, -1);
+        this.count = 0;
+        this.minColumn = Integer.MAX_VALUE;
+        this.maxColumn = Integer.MIN_VALUE;
+        this.minRow = Integer.MAX_VALUE;
+        this.maxRow = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Returns the K points nearest to a position, nearest first.
+     * @param longitude the longitude of the position, in degrees
+     * @param latitude the latitude of the position, in degrees
+     * @param k the number of points wanted
+     * @param filter the points that may be returned, or null to accept every point
+     * @return the indices of the points, fewer than K if there are not enough
+     */
+    public int[] nearest(double longitude, double latitude, int k, IntPredicate filter) {
+        return search(longitude, latitude, k, Double.POSITIVE_INFINITY, filter);
+    }
+
+    /**
+     * Returns the K points nearest to a position that are within a distance of it, nearest first.
+     * @param longitude the longitude of the position, in degrees
+     * @param latitude the latitude of the position, in degrees
+     * @param k the number of points wanted
+     * @param distance the largest distance, in the unit of the radius
+     * @param filter the points that may be returned, or null to accept every point
+     * @return the indices of the points, fewer than K if there are not enough
+     */
+    public int[] nearest(double longitude, double latitude, int k, double distance, IntPredicate filter) {
+        return search(longitude, latitude, k, distance, filter);
+    }
+
+    /**
+     * Returns the points within a distance of a position, nearest first.
+     * @param longitude the longitude of the position, in degrees
+     * @param latitude the latitude of the position, in degrees
+     * @param distance the largest distance, in the unit of the radius
+     * @param filter the points that may be returned, or null to accept every point
+     * @return the indices of the points
+     */
+    public int[] withinDistance(double longitude, double latitude, double distance, IntPredicate filter) {
+        return search(longitude, latitude, Integer.MAX_VALUE, distance, filter);
+    }
+
+    /**
+     * Returns the points inside a box of longitudes and latitudes, edges included, in no particular order.
+     * @param minLongitude the western edge, in degrees
+     * @param minLatitude the southern edge, in degrees
+     * @param maxLongitude the eastern edge, in degrees
+     * @param maxLatitude the northern edge, in degrees
+     * @param filter the points that may be returned, or null to accept every point
+     * @return the indices of the points
+     */
+    public int[] inBox(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude,
+                       IntPredicate filter) {
+        int[] result = new int[16];
+        int found = 0;
+        if (this.count == 0) {
+            return new int[0];
+        }
+
+        int fromColumn = Math.max(column(minLongitude), this.minColumn);
+        int toColumn = Math.min(column(maxLongitude), this.maxColumn);
+        int fromRow = Math.max(row(minLatitude), this.minRow);
+        int toRow = Math.min(row(maxLatitude), this.maxRow);
+
+        for (int c = fromColumn; c <= toColumn; c++) {
+            for (int r = fromRow; r <= toRow; r++) {
+                Cell cell = this.cells.get(cellKey(c, r));
+                if (cell == null) {
+                    continue;
+                }
+
+                for (int m = 0; m < cell.size; m++) {
+                    int index = cell.members[m];
+                    if (this.longitude[index] >= minLongitude && this.longitude[index] <= maxLongitude
+                            && this.latitude[index] >= minLatitude && this.latitude[index] <= maxLatitude
+                            && (filter == null || filter.test(index))) {
+                        if (found == result.length) {
+                            result = Arrays.copyOf(result, found * 2);
+                        }
+                        result[found++] = index;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Looks at the cells in growing square rings around a position, keeping the K nearest points within a distance.
+     * @param longitude the longitude of the position
+     * @param latitude the latitude of the position
+     * @param k the number of points wanted
+     * @param limit the largest distance
+     * @param filter the points that may be returned, or null to accept every point
+     * @return the indices of the points, nearest first
+     */
+    private int[] search(double longitude, double latitude, int k, double limit, IntPredicate filter) {
+        if (k < 1 || this.count == 0) {
+            return new int[0];
+        }
+
+        // the best points so far, sorted by distance
+        int capacity = Math.min(k, 16);
+        int[] best = new int[capacity];
+        double[] bestDistance = new double[capacity];
+        int found = 0;
+
+        int centerColumn = column(longitude);
+        int centerRow = row(latitude);
+        int rings = Math.max(Math.max(centerColumn - this.minColumn, this.maxColumn - centerColumn),
+                Math.max(centerRow - this.minRow, this.maxRow - centerRow));
+
+        for (int ring = 0; ring <= rings; ring++) {
+            for (int c = centerColumn - ring; c <= centerColumn + ring; c++) {
+                // inside the ring only the first and last rows, on its sides every row
+                int step = (c == centerColumn - ring || c == centerColumn + ring) ? 1 : Math.max(1, 2 * ring);
+                for (int r = centerRow - ring; r <= centerRow + ring; r += step) {
+                    Cell cell = this.cells.get(cellKey(c, r));
+                    if (cell == null) {
+                        continue;
+                    }
+
+                    for (int m = 0; m < cell.size; m++) {
+                        int index = cell.members[m];
+                        if (filter != null && !filter.test(index)) {
+                            continue;
+                        }
+
+                        double d = distance(longitude, latitude, this.longitude[index], this.latitude[index]);
+                        if (d > limit || (found == k && d >= bestDistance[found - 1])) {
+                            continue;
+                        }
+
+                        if (found == best.length && found < k) {
+                            int larger = (int) Math.min(k, (long) found * 2);
+                            best = Arrays.copyOf(best, larger);
+                            bestDistance = Arrays.copyOf(bestDistance, larger);
+                        }
+
+                        // insert in order, dropping the farthest if all K are already kept
+                        int position = found < k ? found++ : found - 1;
+                        while (position > 0 && bestDistance[position - 1] > d) {
+                            best[position] = best[position - 1];
+                            bestDistance[position] = bestDistance[position - 1];
+                            position--;
+                        }
+                        best[position] = index;
+                        bestDistance[position] = d;
+                    }
+                }
+            }
+
+            double outside = distanceOutside(longitude, latitude, centerColumn - ring, centerColumn + ring,
+                    centerRow - ring, centerRow + ring);
+            if (outside > limit || (found == k && outside >= bestDistance[found - 1])) {
+                break;
+            }
+        }
+        return Arrays.copyOf(best, found);
+    }
+
+    /**
+     * Returns a lower bound of the distance from a position inside a block of cells to any point outside it.
+     * A point beyond a parallel is at least the arc of meridian between the parallels away, and a point beyond a
+     * meridian at least the distance to that meridian, since the shortest way to it crosses the meridian.
+     * @param longitude the longitude of the position
+     * @param latitude the latitude of the position
+     * @param fromColumn the western column of the block
+     * @param toColumn the eastern column of the block
+     * @param fromRow the southern row of the block
+     * @param toRow the northern row of the block
+     * @return the lower bound, in the unit of the radius
+     */
+    private double distanceOutside(double longitude, double latitude, int fromColumn, int toColumn,
+                                   int fromRow, int toRow) {
+        double south = latitude - fromRow * this.cellSize;
+        double north = (toRow + 1) * this.cellSize - latitude;
+        double west = longitude - fromColumn * this.cellSize;
+        double east = (toColumn + 1) * this.cellSize - longitude;
+
+        double bound = this.radius * Math.toRadians(Math.min(south, north));
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        for (double gap : new double[] {west, east}) {
+            double angle = Math.toRadians(Math.min(gap, 90));
+            bound = Math.min(bound, this.radius * Math.asin(Math.min(1.0, Math.sin(angle) * cosLatitude)));
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the column of the cells that hold a longitude.
+     * @param longitude the longitude, in degrees
+     * @return the column
+     */
+    private int column(double longitude) {
+        return (int) Math.floor(longitude / this.cellSize);
+    }
+
+    /**
+     * Returns the row of the cells that hold a latitude.
+     * @param latitude the latitude, in degrees
+     * @return the row
+     */
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / this.cellSize);
+    }
+
+    /**
+     * Returns the key of a cell in the hash map.
+     * @param column the column of the cell
+     * @param row the row of the cell
+     * @return the key of the cell
+     */
+    private static long cellKey(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    /**
+     * Returns the key of the cell that holds a position.
+     * @param longitude the longitude, in degrees
+     * @param latitude the latitude, in degrees
+     * @return the key of the cell
+     */
+    private long cellOf(double longitude, double latitude) {
+        return cellKey(column(longitude), row(latitude));
+    }
+
+    /**
+     * Puts a point in the cell of its position.
+     * @param index the index of the point
+     */
+    private void insertInCell(int index) {
+        int column = column(this.longitude[index]);
+        int row = row(this.latitude[index]);
+        long key = cellKey(column, row);
+
+        Cell cell = this.cells.get(key);
+        if (cell == null) {
+            cell = new Cell();
+            this.cells.put(key, cell);
+        } else if (cell.size == cell.members.length) {
+            cell.members = Arrays.copyOf(cell.members, cell.size * 2);
+        }
+
+        this.slot[index] = cell.size;
+        cell.members[cell.size++] = index;
+
+        this.minColumn = Math.min(this.minColumn, column);
+        this.maxColumn = Math.max(this.maxColumn, column);
+        this.minRow = Math.min(this.minRow, row);
+        this.maxRow = Math.max(this.maxRow, row);
+    }
+
+    /**
+     * Takes a point out of its cell, moving the last point of the cell into its place.
+     * @param index the index of the point
+     */
+    private void removeFromCell(int index) {
+        long key = cellOf(this.longitude[index], this.latitude[index]);
+        Cell cell = this.cells.get(key);
+
+        int last = cell.members[--cell.size];
+        cell.members[this.slot[index]] = last;
+        this.slot[last] = this.slot[index];
+
+        if (cell.size == 0) {
+            this.cells.remove(key);
+        }
+    }
+
+    /**
+     * The points of one cell, in no particular order.
+     */
+    private static final class Cell {
+
+        /**
+         * The indices of the points, in the first {@link #size} positions
+         */
+        private int[] members = new int[4];
+
+        /**
+         * The number of points
+         */
+        private int size;
+    }
+}
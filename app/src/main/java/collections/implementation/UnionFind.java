@@ -0,0 +1,181 @@
+package collections.implementation;
+
+import java.util.Arrays;
+
+/**
+ * UnionFind keeps a partition of the indices [0, size) into disjoint sets.
+ * Sets are joined by size and paths are halved on every lookup, so any sequence of operations runs in
+ * nearly constant amortized time per operation.
+ * A whole set can also be split back into single indices, so that a caller that knows its members can
+ * join them again differently, and a single index can be removed from the partition.
+ */
+public class UnionFind {
+
+    /**
+     * The parent of each index, an index that is its own parent is the representative of its set
+     */
+    private int[] parent;
+
+    /**
+     * The number of indices in the set of each representative
+     */
+    private int[] setSize;
+
+    /**
+     * The number of indices in the partition
+     */
+    private int count;
+
+    /**
+     * The number of disjoint sets
+     */
+    private int numberOfSets;
+
+    /**
+     * Creates a partition where every index is alone in its set.
+     * @param size the number of indices
+     */
+    public UnionFind(int size) {
+        this.parent = new int[Math.max(10, size)];
+        this.setSize = new int[this.parent.length];
+        this.count = 0;
+        this.numberOfSets = 0;
+
+        for (int i = 0; i < size; i++) {
+            add();
+        }
+    }
+
+    /**
+     * Adds a new index, alone in its set, to the end of the partition.
+     * @return the new index
+     */
+    public int add() {
+        if (this.count == this.parent.length) {
+            this.parent = Arrays.copyOf(this.parent, this.count * 2);
+            this.setSize = Arrays.copyOf(this.setSize, this.count * 2);
+        }
+
+        int index = this.count++;
+        this.parent[index] = index;
+        this.setSize[index] = 1;
+        this.numberOfSets++;
+        return index;
+    }
+
+    /**
+     * Returns the number of indices in the partition.
+     * @return the number of indices
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     * @return the number of sets
+     */
+    public int getNumberOfSets() {
+        return this.numberOfSets;
+    }
+
+    /**
+     * Returns the representative of the set of the index.
+     * @param index the index
+     * @return the representative of its set
+     */
+    public int find(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index " + index + " is not in the partition.");
+        }
+
+        while (this.parent[index] != index) {
+            this.parent[index] = this.parent[this.parent[index]];
+            index = this.parent[index];
+        }
+        return index;
+    }
+
+    /**
+     * Checks if two indices are in the same set.
+     * @param first the first index
+     * @param second the second index
+     * @return true if they are in the same set
+     */
+    public boolean connected(int first, int second) {
+        return find(first) == find(second);
+    }
+
+    /**
+     * Returns the number of indices in the set of the index.
+     * @param index the index
+     * @return the size of its set
+     */
+    public int getSetSize(int index) {
+        return this.setSize[find(index)];
+    }
+
+    /**
+     * Joins the sets of two indices.
+     * @param first the first index
+     * @param second the second index
+     * @return true if they were in different sets
+     */
+    public boolean union(int first, int second) {
+        int firstRoot = find(first);
+        int secondRoot = find(second);
+
+        if (firstRoot == secondRoot) {
+            return false;
+        }
+
+        // the smaller set hangs from the larger one
+        if (this.setSize[firstRoot] < this.setSize[secondRoot]) {
+            int temp = firstRoot;
+            firstRoot = secondRoot;
+            secondRoot = temp;
+        }
+
+        this.parent[secondRoot] = firstRoot;
+        this.setSize[firstRoot] += this.setSize[secondRoot];
+        this.numberOfSets--;
+        return true;
+    }
+
+    /**
+     * Splits a whole set back into sets of one index each.
+     * The given indices must be every index of one set, since any other index could still point to them.
+     * @param members the indices of the set
+     * @param count the number of indices of the set, the first positions of members
+     */
+    public void split(int[] members, int count) {
+        for (int k = 0; k < count; k++) {
+            this.parent[members[k]] = members[k];
+            this.setSize[members[k]] = 1;
+        }
+        this.numberOfSets += count - 1;
+    }
+
+    /**
+     * Removes an index that is alone in its set, moving the indices after it one position down.
+     * @param index the index to be removed
+     */
+    public void remove(int index) {
+        if (getSetSize(index) != 1) {
+            throw new IllegalStateException("Only an index alone in its set can be removed.");
+        }
+
+        for (int i = index; i < this.count - 1; i++) {
+            this.parent[i] = this.parent[i + 1];
+            this.setSize[i] = this.setSize[i + 1];
+        }
+        this.count--;
+        this.numberOfSets--;
+
+        for (int i = 0; i < this.count; i++) {
+            if (this.parent[i] > index) {
+                this.parent[i]--;
+            }
+        }
+    }
+}
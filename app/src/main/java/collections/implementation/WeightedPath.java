@@ -0,0 +1,116 @@
+package collections.implementation;
+
+import java.util.Iterator;
+
+/**
+ * A path between two vertices of a network together with its total cost.
+ * @param <T> The type of the vertices
+ */
+public class WeightedPath<T> implements Iterable<T> {
+
+    /**
+     * The vertices of the path, from the start to the target
+     */
+    private final ArrayUnorderedList<T> path;
+
+    /**
+     * The sum of the weights of the edges of the path
+     */
+    private final double cost;
+
+    /**
+     * The number of vertices the search expanded before finding the path
+     */
+    private final int expandedVertices;
+
+    /**
+     * Constructor
+     * @param path The vertices of the path, from the start to the target
+     * @param cost The sum of the weights of the edges of the path
+     */
+    public WeightedPath(ArrayUnorderedList<T> path, double cost) {
+        this(path, cost, 0);
+    }
+
+    /**
+     * Constructor
+     * @param path The vertices of the path, from the start to the target
+     * @param cost The sum of the weights of the edges of the path
+     * @param expandedVertices The number of vertices the search expanded before finding the path
+     */
+    public WeightedPath(ArrayUnorderedList<T> path, double cost, int expandedVertices) {
+        this.path = path;
+        this.cost = cost;
+        this.expandedVertices = expandedVertices;
+    }
+
+    /**
+     * Builds the path that ends in the target by following a predecessor array back to the start.
+     * @param vertices The vertices of the network, by index
+     * @param predecessor The predecessor of each index, -1 for the start
+     * @param target The index of the last vertex of the path
+     * @param cost The sum of the weights of the edges of the path
+     * @param expandedVertices The number of vertices the search expanded before finding the path
+     * @param <T> The type of the vertices
+     * @return The path from the start to the target
+     */
+    public static <T> WeightedPath<T> fromPredecessors(T[] vertices, int[] predecessor, int target, double cost, int expandedVertices) {
+        ArrayUnorderedList<T> path = new ArrayUnorderedList<>();
+
+        for (int index = target; index != -1; index = predecessor[index]) {
+            path.addToFront(vertices[index]);
+        }
+        return new WeightedPath<>(path, cost, expandedVertices);
+    }
+
+    /**
+     * Returns an empty path, used when the target cannot be reached.
+     * @param expandedVertices The number of vertices the search expanded before giving up
+     * @param <T> The type of the vertices
+     * @return An empty path with infinite cost
+     */
+    public static <T> WeightedPath<T> unreachable(int expandedVertices) {
+        return new WeightedPath<>(new ArrayUnorderedList<>(), Double.POSITIVE_INFINITY, expandedVertices);
+    }
+
+    /**
+     * Returns the vertices of the path
+     * @return The vertices of the path, from the start to the target
+     */
+    public ArrayUnorderedList<T> getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the total cost of the path
+     * @return The sum of the weights of the edges of the path
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Returns how many vertices the search expanded, a measure of how much of the graph it had to look at
+     * @return The number of vertices the search expanded before finding the path
+     */
+    public int getExpandedVertices() {
+        return expandedVertices;
+    }
+
+    /**
+     * Checks if the path reaches the target
+     * @return true if the path has at least one vertex
+     */
+    public boolean isFound() {
+        return !path.isEmpty();
+    }
+
+    /**
+     * Returns an iterator over the vertices of the path
+     * @return An iterator from the start to the target
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return path.iterator();
+    }
+}
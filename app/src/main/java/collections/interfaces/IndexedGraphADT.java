@@ -0,0 +1,74 @@
+package collections.interfaces;
+
+/**
+ * IndexedGraphADT defines the interface to a graph whose vertices can also be reached by their
+ * position, so that traversal algorithms can work over integer indices instead of vertex values.
+ *
+ * @param <T> the type of elements in this graph
+ */
+public interface IndexedGraphADT<T> extends GraphADT<T> {
+
+    /**
+     * Returns the index of the given vertex.
+     *
+     * @param vertex the vertex to be found
+     * @return the index of the vertex, or -1 if it is not in this graph
+     */
+    public int getIndex(T vertex);
+
+    /**
+     * Checks if the index belongs to a vertex of this graph.
+     *
+     * @param index the index to be checked
+     * @return true if the index is valid, false otherwise
+     */
+    public boolean indexIsValid(int index);
+
+    /**
+     * Returns the vertex stored at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the vertex at the given index, or null if the index is not valid
+     */
+    public T getVertex(int index);
+
+    /**
+     * Removes the vertex stored at the given index.
+     *
+     * @param index the index of the vertex to be removed
+     */
+    public void removeVertex(int index);
+
+    /**
+     * Checks if there is an edge between the two given indices.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex
+     * @return true if both vertices are adjacent, false otherwise
+     */
+    public boolean isAdjacent(int index1, int index2);
+
+    /**
+     * Returns the indices of the vertices adjacent to the vertex at the given index.
+     *
+     * @param index the index of the vertex
+     * @return the indices of the neighbours, empty if the index is not valid
+     */
+    public int[] getNeighbourIndices(int index);
+
+    /**
+     * Returns the number of index slots, one more than the highest index a vertex can have.
+     * Backends that keep the slot of a removed vertex as a hole until {@link #compact()} return more than
+     * {@link #size()}, and the holes are not valid indices. Arrays indexed by vertex must have this length.
+     *
+     * @return the number of index slots
+     */
+    public int getSlotCount();
+
+    /**
+     * Moves the vertices down into the holes left by removed vertices, keeping their relative order,
+     * so that the indices go from 0 to size() - 1 again. Every index held outside the graph becomes stale.
+     * Backends that never leave holes do nothing.
+     */
+    public void compact();
+}
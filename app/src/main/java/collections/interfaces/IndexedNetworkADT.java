@@ -0,0 +1,19 @@
+package collections.interfaces;
+
+/**
+ * IndexedNetworkADT defines the interface to a network whose vertices can also be reached by their position,
+ * so that weighted algorithms can read edge weights by index.
+ *
+ * @param <T> the type of elements in this network
+ */
+public interface IndexedNetworkADT<T> extends IndexedGraphADT<T>, NetWorkADT<T> {
+
+    /**
+     * Returns the weight of the edge between the vertices at the given indices.
+     *
+     * @param first the index of the first vertex
+     * @param second the index of the second vertex
+     * @return the weight of the edge, or positive infinity if the vertices are not adjacent
+     */
+    public double getEdgeWeight(int first, int second);
+}
@@ -4,6 +4,7 @@ import collections.exceptions.EmptyCollectionException;
 import collections.exceptions.UnknownPathException;
 
 import collections.implementation.ArrayUnorderedList;
+import collections.implementation.WeightedPath;
 
 
 /**
@@ -32,4 +33,15 @@ public interface NetWorkADT<T> extends GraphADT<T> {
      * @throws UnknownPathException     if there is no path between the vertices
      */
     public ArrayUnorderedList<T> shortestPathWeight(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException;
+
+    /**
+     * Returns the cheapest path between two vertices of this network together with its total cost.
+     *
+     * @param vertex1 the first vertex
+     * @param vertex2 the second vertex
+     * @return the cheapest path and its cost
+     * @throws EmptyCollectionException if the collection is empty
+     * @throws UnknownPathException     if there is no path between the vertices
+     */
+    public WeightedPath<T> shortestWeightedPath(T vertex1, T vertex2) throws EmptyCollectionException, UnknownPathException;
 }
@@ -6,12 +6,14 @@ import api.interfaces.IImportExportFiles;
 import api.interfaces.ILocal;
 import api.interfaces.IRoute;
 import collections.exceptions.ElementNotFoundException;
+import collections.implementation.ProximityGraph;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.Random;
 
 public class LocalsManagementTest {
@@ -86,6 +88,29 @@ public class LocalsManagementTest {
         Assertions.assertEquals(expected, this.pathGraph.addPath(route));
     }
 
+    @Test
+    public void testConnectLocalsByProximity_CreatesOnlyMissingRoutes_WhenLocalsAreOnALine() {
+        LocalsManagement management = new LocalsManagement();
+        ILocal[] line = new ILocal[4];
+        for (int i = 0; i < line.length; i++) {
+            line[i] = new Portal(100, 200 + i, "Portal " + i, 10, new Coordinates(10 + i * 0.01, 40));
+            management.addLocals(line[i]);
+        }
+        management.addPath(new Route(line[0], line[1]));
+
+        Assertions.assertEquals("Foram criados 2 caminhos",
+                management.connectLocalsByProximity(2, Double.POSITIVE_INFINITY, ProximityGraph.Pruning.GABRIEL));
+        Assertions.assertEquals("Foram criados 0 caminhos",
+                management.connectLocalsByProximity(1, 5.0, ProximityGraph.Pruning.NONE));
+        int routes = 0;
+        for (Iterator<IRoute<ILocal>> iterator = management.getPathGraph().getRoutes(); iterator.hasNext(); iterator.next()) {
+            routes++;
+        }
+        Assertions.assertEquals(3, routes);
+        Assertions.assertThrows(NullPointerException.class,
+                () -> management.connectLocalsByProximity(2, 5.0, null));
+    }
+
     @Test
     public void testAddPath_ReturnNullPointerException_WhenSentANullReference() {
         Coordinates coordinates1 = new Coordinates(60,50);
@@ -0,0 +1,923 @@
+package api;
+
+import api.exceptions.NotPlaceInstanceException;
+import api.implementation.*;
+import api.interfaces.IConnector;
+import api.interfaces.ILocal;
+import api.interfaces.IPortal;
+import api.interfaces.IRoute;
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.AllPairsShortestPaths;
+import collections.implementation.BitMatrixGraph;
+import collections.implementation.MatrixGraph;
+import collections.implementation.Network;
+import collections.implementation.Pair;
+import collections.implementation.PathBatch;
+import collections.implementation.WeightedPath;
+import collections.interfaces.IndexedGraphADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PathGameGraphTest {
+
+    private PathGameGraph<ILocal> matrixGraph;
+
+    private PathGameGraph<ILocal> listGraph;
+
+    private ILocal[] locals;
+
+    /**
+     * Builds the same small map on both backends:
+     * P0 - P1 - P2 - P3 - P4 with a detour P0 - C5 - C6 - P4 and an extra connector C7 hanging from P2.
+     */
+    @BeforeEach
+    public void buildMapsBeforeTesting() {
+        this.locals = new ILocal[] {
+                new Portal(100, 0, "Portal 0", 10, new Coordinates(10.00, 40.00)),
+                new Portal(100, 1, "Portal 1", 10, new Coordinates(10.01, 40.00)),
+                new Portal(100, 2, "Portal 2", 10, new Coordinates(10.02, 40.00)),
+                new Portal(100, 3, "Portal 3", 10, new Coordinates(10.03, 40.00)),
+                new Portal(100, 4, "Portal 4", 10, new Coordinates(10.04, 40.00)),
+                new Connector(5, 5, "Connector 5", 50, new Coordinates(10.01, 40.02)),
+                new Connector(5, 6, "Connector 6", 50, new Coordinates(10.03, 40.02)),
+                new Connector(5, 7, "Connector 7", 50, new Coordinates(10.02, 39.99)),
+        };
+        this.matrixGraph = this.buildMapOn(new MatrixGraph<>());
+        this.listGraph = this.buildMapOn(new AdjacencyListGraph<>());
+    }
+
+    /**
+     * Adds the locals and routes of the small map to a backend.
+     */
+    private PathGameGraph<ILocal> buildMapOn(IndexedGraphADT<ILocal> backend) {
+        int[][] routes = {{0, 1}, {1, 2}, {2, 3}, {3, 4}, {0, 5}, {5, 6}, {6, 4}, {2, 7}};
+        PathGameGraph<ILocal> graph = new PathGameGraph<>(backend);
+
+        for (ILocal local : this.locals) {
+            graph.addVertex(local);
+        }
+        for (int[] route : routes) {
+            graph.addEdge(this.locals[route[0]], this.locals[route[1]]);
+        }
+        return graph;
+    }
+
+    private String pathToString(Iterator<ILocal> iterator) {
+        String result = "";
+        while (iterator.hasNext()) {
+            result += iterator.next().getId() + " ";
+        }
+        return result.trim();
+    }
+
+    @Test
+    public void testShortestPathBetweenTwoPoints_ReturnSamePath_OnBothBackends() throws NotPlaceInstanceException {
+        String expected = "0 5 6 4";
+
+        Assertions.assertEquals(expected, pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(expected, pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testShortestPathWithOnlyPortals_ReturnSamePath_OnBothBackends() throws NotPlaceInstanceException {
+        String expected = "0 1 2 3 4";
+
+        Assertions.assertEquals(expected, pathToString(this.matrixGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(expected, pathToString(this.listGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testRemoveVertex_KeepsRoutesConsistent_OnAdjacencyListBackend() throws NotPlaceInstanceException {
+        this.listGraph.removeVertex(this.locals[5]);
+
+        Assertions.assertEquals(7, this.listGraph.size());
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(1, this.listGraph.getNeighbours(this.locals[0]).size());
+    }
+
+    @Test
+    public void testGetPortalsAndConnectores_FollowAddsAndRemovals_OnBothBackends() {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph)) {
+            Assertions.assertEquals(5, graph.getNumberOfPortals());
+            Assertions.assertEquals(3, graph.getNumberOfConnectores());
+
+            graph.removeVertex(this.locals[1]);
+            graph.removeVertex(this.locals[6]);
+            graph.addVertex(new Connector(5, 8, "Connector 8", 50, new Coordinates(10.05, 40.00)));
+
+            Assertions.assertEquals(4, graph.getNumberOfPortals());
+            Assertions.assertEquals(3, graph.getNumberOfConnectores());
+
+            String portals = "";
+            Iterator<IPortal> portalIterator = graph.getPortals();
+            while (portalIterator.hasNext()) {
+                IPortal portal = portalIterator.next();
+                Assertions.assertEquals(portal, graph.get(graph.getIndex(portal)));
+                portals += portal.getId() + " ";
+            }
+            String connectors = "";
+            Iterator<IConnector> connectorIterator = graph.getConnectores();
+            while (connectorIterator.hasNext()) {
+                connectors += connectorIterator.next().getId() + " ";
+            }
+
+            Assertions.assertEquals(4, portals.split(" ").length);
+            Assertions.assertFalse(portals.contains("1"));
+            Assertions.assertEquals(3, connectors.split(" ").length);
+            Assertions.assertTrue(connectors.contains("8"));
+            Assertions.assertFalse(connectors.contains("6"));
+        }
+    }
+
+    @Test
+    public void testGetPortals_ThrowsConcurrentModificationException_WhenGraphChanges() {
+        Iterator<IPortal> iterator = this.matrixGraph.getPortals();
+        iterator.next();
+        this.matrixGraph.removeVertex(this.locals[3]);
+
+        Assertions.assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    }
+
+    @Test
+    public void testGetSnapshot_PublishesOnlyWhenTheBatchEnds() throws NotPlaceInstanceException {
+        Assertions.assertNull(this.listGraph.getSnapshot());
+        this.listGraph.setSnapshotReads(true);
+        PathGameGraph<ILocal> before = this.listGraph.getSnapshot();
+
+        this.listGraph.beginBatch();
+        this.listGraph.removeEdge(this.locals[0], this.locals[5]);
+        this.listGraph.addEdge(this.locals[1], this.locals[3]);
+        Assertions.assertSame(before, this.listGraph.getSnapshot());
+        this.listGraph.endBatch();
+
+        PathGameGraph<ILocal> after = this.listGraph.getSnapshot();
+        Assertions.assertTrue(after.isSnapshot());
+        Assertions.assertEquals("0 5 6 4", pathToString(before.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("0 1 3 4", pathToString(after.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(5, after.getNumberOfPortals());
+        Assertions.assertEquals(this.locals[5], before.nearestConnector(this.locals[0]));
+        Assertions.assertEquals(this.locals[7], after.nearestConnector(this.locals[0]));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> after.addEdge(this.locals[0], this.locals[4]));
+        Assertions.assertThrows(IllegalStateException.class, () -> this.listGraph.endBatch());
+    }
+
+    @Test
+    public void testGetSnapshot_AnswersReadersWhileTheMapChanges() throws InterruptedException {
+        PathGameGraph<ILocal> graph = new PathGameGraph<>();
+        int size = 60;
+        ILocal[] chain = new ILocal[size];
+        for (int i = 0; i < size; i++) {
+            chain[i] = new Portal(100, i, "Portal " + i, 10, new Coordinates(i * 0.001, 40));
+            graph.addVertex(chain[i]);
+            if (i > 0) {
+                graph.addEdge(chain[i - 1], chain[i]);
+            }
+        }
+        graph.setSnapshotReads(true);
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicInteger failures = new AtomicInteger(0);
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                while (!done.get()) {
+                    // each batch either adds or removes the shortcut 0 - 59, so the distance is 1 or 59
+                    try {
+                        int distance = graph.getSnapshot().distanceBetweenTwoPoints(chain[0], chain[size - 1],
+                                PathGameGraph.SearchType.UNRESTRICTED);
+                        if (distance != 1 && distance != size - 1) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (NotPlaceInstanceException | RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            readers[t].start();
+        }
+
+        for (int round = 0; round < 200; round++) {
+            graph.beginBatch();
+            graph.removeEdge(chain[10], chain[11]);
+            graph.addEdge(chain[10], chain[11]);
+            if (round % 2 == 0) {
+                graph.addEdge(chain[0], chain[size - 1]);
+            } else {
+                graph.removeEdge(chain[0], chain[size - 1]);
+            }
+            graph.endBatch();
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assertions.assertEquals(0, failures.get());
+    }
+
+    @Test
+    public void testGetSnapshot_BuildsItsLookupsWithoutWaiting_WhenAnotherThreadHoldsItsLock() throws Exception {
+        this.listGraph.setPrecomputedPaths(true);
+        this.listGraph.setSnapshotReads(true);
+        PathGameGraph<ILocal> snapshot = this.listGraph.getSnapshot();
+
+        synchronized (snapshot) {
+            // every lookup below is built on first use, which used to take the lock held here
+            CompletableFuture<String> answers = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return snapshot.distanceBetweenTwoPoints(this.locals[0], this.locals[4], PathGameGraph.SearchType.UNRESTRICTED)
+                            + " " + snapshot.nearestConnector(this.locals[2]).getId()
+                            + " " + snapshot.getNumberOfComponents()
+                            + " " + snapshot.getArticulationLocals().next().getId()
+                            + " " + countOf(snapshot.reachableWithin(this.locals[0], 1, PathGameGraph.SearchType.UNRESTRICTED))
+                            + " " + snapshot.betweennessCentrality(0).length;
+                } catch (NotPlaceInstanceException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Assertions.assertEquals("3 7 1 2 3 8", answers.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testShortestPaths_MatchSingleQueries_OnBothBackends() throws NotPlaceInstanceException {
+        ILocal[] sources = {this.locals[0], this.locals[0], this.locals[1], this.locals[7], this.locals[3]};
+        ILocal[] destinies = {this.locals[4], this.locals[3], this.locals[4], this.locals[6], this.locals[3]};
+
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph)) {
+            PathBatch unrestricted = graph.shortestPaths(sources, destinies, PathGameGraph.SearchType.UNRESTRICTED);
+            PathBatch portals = graph.shortestPaths(sources, destinies, PathGameGraph.SearchType.PORTAL_ONLY);
+            PathBatch connector = graph.shortestPaths(sources, destinies, PathGameGraph.SearchType.CONNECTOR_REQUIRED);
+
+            for (int q = 0; q < sources.length; q++) {
+                Assertions.assertEquals(graph.distanceBetweenTwoPoints(sources[q], destinies[q],
+                        PathGameGraph.SearchType.UNRESTRICTED), unrestricted.getDistance(q));
+                Assertions.assertEquals(graph.distanceBetweenTwoPoints(sources[q], destinies[q],
+                        PathGameGraph.SearchType.PORTAL_ONLY), portals.getDistance(q));
+            }
+
+            String path = "";
+            for (int k = 0; k < connector.getPathSize(2); k++) {
+                path += graph.get(connector.getVertex(2, k)).getId() + " ";
+            }
+            Assertions.assertEquals("1 0 5 6 4", path.trim());
+            Assertions.assertEquals(-1, portals.getDistance(3));
+            Assertions.assertEquals(0, unrestricted.getDistance(4));
+        }
+    }
+
+    @Test
+    public void testKShortestPaths_ReturnAlternativeRoutes_OnBothBackends() throws NotPlaceInstanceException {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph, this.buildMapOn(new Network<>()))) {
+            Iterator<WeightedPath<ILocal>> routes = graph.kShortestPaths(this.locals[0], this.locals[4], 3,
+                    PathGameGraph.SearchType.UNRESTRICTED);
+
+            WeightedPath<ILocal> best = routes.next();
+            Assertions.assertEquals("0 5 6 4", pathToString(best.iterator()));
+            Assertions.assertEquals(3, best.getCost(), 1e-9);
+            WeightedPath<ILocal> second = routes.next();
+            Assertions.assertEquals("0 1 2 3 4", pathToString(second.iterator()));
+            Assertions.assertEquals(4, second.getCost(), 1e-9);
+            Assertions.assertFalse(routes.hasNext());
+
+            routes = graph.kShortestPaths(this.locals[0], this.locals[4], 3, PathGameGraph.SearchType.PORTAL_ONLY);
+            Assertions.assertEquals("0 1 2 3 4", pathToString(routes.next().iterator()));
+            Assertions.assertFalse(routes.hasNext());
+        }
+    }
+
+    @Test
+    public void testKShortestPaths_FollowNetworkWeights_UnlessUnitWeightsAreUsed() throws NotPlaceInstanceException {
+        Network<ILocal> network = new Network<>();
+        PathGameGraph<ILocal> graph = this.buildMapOn(network);
+        network.setEdgeWeight(this.locals[5], this.locals[6], 2.5);
+
+        Iterator<WeightedPath<ILocal>> routes = graph.kShortestPaths(this.locals[0], this.locals[4], 2,
+                PathGameGraph.SearchType.UNRESTRICTED);
+        WeightedPath<ILocal> best = routes.next();
+        Assertions.assertEquals("0 1 2 3 4", pathToString(best.iterator()));
+        Assertions.assertEquals(4, best.getCost(), 1e-9);
+        Assertions.assertEquals(4.5, routes.next().getCost(), 1e-9);
+
+        graph.setUnitWeights(true);
+        routes = graph.kShortestPaths(this.locals[0], this.locals[4], 1, PathGameGraph.SearchType.UNRESTRICTED);
+        Assertions.assertEquals("0 5 6 4", pathToString(routes.next().iterator()));
+    }
+
+    @Test
+    public void testIteratorBFS_VisitsEveryLocal_OnLargeSparseMap() {
+        PathGameGraph<ILocal> graph = new PathGameGraph<>(new AdjacencyListGraph<>());
+        int size = 5000;
+        ILocal previous = null;
+
+        for (int i = 0; i < size; i++) {
+            ILocal local = new Portal(100, i, "Portal " + i, 10, new Coordinates(i * 0.001, 40));
+            graph.addVertex(local);
+            if (previous != null) {
+                graph.addEdge(previous, local);
+            }
+            previous = local;
+        }
+
+        int count = 0;
+        Iterator<ILocal> iterator = graph.iteratorBFS(graph.get(0));
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+
+        Assertions.assertEquals(size, count);
+        Assertions.assertTrue(graph.isConnected());
+    }
+
+    @Test
+    public void testGetIndex_StaysCorrectAfterRemovals_OnBothBackends() throws NotPlaceInstanceException {
+        this.matrixGraph.removeVertex(this.locals[1]);
+        this.listGraph.removeVertex(this.locals[1]);
+
+        // the matrix keeps the slots of the remaining locals until it is compacted
+        for (int i = 2; i < this.locals.length; i++) {
+            Assertions.assertEquals(i, this.matrixGraph.getIndex(this.locals[i]));
+            Assertions.assertEquals(i - 1, this.listGraph.getIndex(this.locals[i]));
+        }
+        Assertions.assertEquals(-1, this.matrixGraph.getIndex(this.locals[1]));
+        Assertions.assertEquals(-1, this.listGraph.getIndex(this.locals[1]));
+
+        this.matrixGraph.compact();
+        for (int i = 2; i < this.locals.length; i++) {
+            Assertions.assertEquals(i - 1, this.matrixGraph.getIndex(this.locals[i]));
+        }
+        Assertions.assertEquals(this.matrixGraph.size(), this.matrixGraph.getSlotCount());
+        Assertions.assertEquals("0 5 6 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testGetNeighbours_ResolvesACopyOfTheLocal() throws NotPlaceInstanceException {
+        // players keep their own copy of the local they are standing on
+        ILocal copy = new Portal(100, 2, "Portal 2", 0, new Coordinates(10.02, 40.00));
+
+        Assertions.assertEquals(3, this.matrixGraph.getNeighbours(copy).size());
+        Assertions.assertEquals(3, this.listGraph.getNeighbours(copy).size());
+    }
+
+    @Test
+    public void testGeographicShortestPath_ReturnShortestDistance_OnBothBackends() throws NotPlaceInstanceException {
+        double expectedCost = 0;
+        for (int i = 0; i < 4; i++) {
+            expectedCost += this.locals[i].getCoordinates().distanceTo(this.locals[i + 1].getCoordinates());
+        }
+
+        // fewer routes through the connectors, but a longer walk
+        WeightedPath<ILocal> matrixPath = this.matrixGraph.geographicShortestPath(this.locals[0], this.locals[4], PathGameGraph.SearchType.UNRESTRICTED);
+        WeightedPath<ILocal> listPath = this.listGraph.geographicShortestPath(this.locals[0], this.locals[4], PathGameGraph.SearchType.UNRESTRICTED);
+
+        Assertions.assertEquals("0 1 2 3 4", pathToString(matrixPath.iterator()));
+        Assertions.assertEquals("0 1 2 3 4", pathToString(listPath.iterator()));
+        Assertions.assertEquals(expectedCost, matrixPath.getCost(), 1e-9);
+        Assertions.assertEquals(expectedCost, listPath.getCost(), 1e-9);
+    }
+
+    @Test
+    public void testGeographicShortestPath_CrossAConnector_WhenConnectorRequired() throws NotPlaceInstanceException {
+        WeightedPath<ILocal> path = this.listGraph.geographicShortestPath(this.locals[0], this.locals[4], PathGameGraph.SearchType.CONNECTOR_REQUIRED);
+
+        // stepping to connector 7 and back is shorter than the detour through connectors 5 and 6
+        Assertions.assertEquals("0 1 2 7 2 3 4", pathToString(path.iterator()));
+    }
+
+    @Test
+    public void testGeographicShortestPath_SkipLocalsWithoutCoordinates() throws NotPlaceInstanceException {
+        ILocal unplaced = new Connector(5, 8, "Connector 8", 50, null);
+        this.listGraph.addVertex(unplaced);
+        this.listGraph.addEdge(this.locals[0], unplaced);
+        this.listGraph.addEdge(unplaced, this.locals[4]);
+
+        WeightedPath<ILocal> path = this.listGraph.geographicShortestPath(this.locals[0], this.locals[4], PathGameGraph.SearchType.UNRESTRICTED);
+        Assertions.assertEquals("0 1 2 3 4", pathToString(path.iterator()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> this.listGraph.geographicShortestPath(unplaced, this.locals[4], PathGameGraph.SearchType.UNRESTRICTED));
+    }
+
+    @Test
+    public void testGeographicShortestPath_ReturnEmptyPath_WhenFilterBlocksTarget() throws NotPlaceInstanceException {
+        WeightedPath<ILocal> path = this.matrixGraph.geographicShortestPath(this.locals[0], this.locals[4], PathGameGraph.SearchType.CONNECTOR_ONLY);
+
+        Assertions.assertFalse(path.isFound());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, path.getCost());
+        Assertions.assertEquals("5 6", pathToString(this.matrixGraph.geographicShortestPath(this.locals[5], this.locals[6], PathGameGraph.SearchType.CONNECTOR_ONLY).iterator()));
+    }
+
+    @Test
+    public void testGeographicShortestPath_ExpandOnlyPartOfTheMap_OnGrid() throws NotPlaceInstanceException {
+        PathGameGraph<ILocal> graph = new PathGameGraph<>(new AdjacencyListGraph<>());
+        int side = 20;
+        ILocal[][] grid = new ILocal[side][side];
+
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                grid[row][column] = new Portal(100, row * side + column, "Portal " + row + "-" + column, 10, new Coordinates(column * 0.01, 40 + row * 0.01));
+                graph.addVertex(grid[row][column]);
+                if (column > 0) {
+                    graph.addEdge(grid[row][column - 1], grid[row][column]);
+                }
+                if (row > 0) {
+                    graph.addEdge(grid[row - 1][column], grid[row][column]);
+                }
+            }
+        }
+
+        WeightedPath<ILocal> path = graph.geographicShortestPath(grid[10][0], grid[10][side - 1], PathGameGraph.SearchType.UNRESTRICTED);
+
+        Assertions.assertEquals(side, path.getPath().size());
+        Assertions.assertTrue(path.getExpandedVertices() < side * side / 4);
+    }
+
+    @Test
+    public void testPrecomputedPaths_ReturnSameLengthsAsSearch_ForEveryPair() throws NotPlaceInstanceException {
+        PathGameGraph.SearchType[] types = {PathGameGraph.SearchType.UNRESTRICTED, PathGameGraph.SearchType.PORTAL_ONLY, PathGameGraph.SearchType.CONNECTOR_ONLY};
+        int[][][] expected = new int[types.length][this.locals.length][this.locals.length];
+
+        for (int t = 0; t < types.length; t++) {
+            for (int i = 0; i < this.locals.length; i++) {
+                for (int j = 0; j < this.locals.length; j++) {
+                    expected[t][i][j] = this.listGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], types[t]);
+                }
+            }
+        }
+
+        this.listGraph.setPrecomputedPaths(true);
+        for (int t = 0; t < types.length; t++) {
+            for (int i = 0; i < this.locals.length; i++) {
+                for (int j = 0; j < this.locals.length; j++) {
+                    Assertions.assertEquals(expected[t][i][j], this.listGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], types[t]));
+                }
+            }
+        }
+        Assertions.assertEquals("0 5 6 4", pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.listGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("5 6", pathToString(this.listGraph.shortestPathWithOnlyConnectors(this.locals[5], this.locals[6])));
+    }
+
+    @Test
+    public void testPrecomputedPaths_Rebuild_WhenRoutesChange() throws NotPlaceInstanceException {
+        this.matrixGraph.setPrecomputedPaths(true);
+        Assertions.assertEquals("0 5 6 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+
+        int version = this.matrixGraph.getModificationCount();
+        this.matrixGraph.removeEdge(this.locals[5], this.locals[6]);
+
+        Assertions.assertEquals(version + 1, this.matrixGraph.getModificationCount());
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(-1, this.matrixGraph.distanceBetweenTwoPoints(this.locals[5], this.locals[6], PathGameGraph.SearchType.CONNECTOR_ONLY));
+    }
+
+    @Test
+    public void testPrecomputedPaths_FallBackToSearch_WhenTheMapIsTooLarge() throws NotPlaceInstanceException {
+        AdjacencyListGraph<ILocal> backend = new AdjacencyListGraph<>();
+        PathGameGraph<ILocal> graph = new PathGameGraph<>(backend);
+        int size = AllPairsShortestPaths.MAX_VERTICES + 1;
+        ILocal[] chain = new ILocal[size];
+        for (int i = 0; i < size; i++) {
+            chain[i] = new Connector(5, i, "Connector " + i, 50, new Coordinates(10 + i * 1e-4, 40.00));
+            graph.addVertex(chain[i]);
+            if (i > 0) {
+                graph.addEdge(chain[i - 1], chain[i]);
+            }
+        }
+
+        graph.setPrecomputedPaths(true);
+        Assertions.assertEquals(size - 1, graph.distanceBetweenTwoPoints(chain[0], chain[size - 1], PathGameGraph.SearchType.UNRESTRICTED));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AllPairsShortestPaths(backend, null));
+    }
+
+    @Test
+    public void testPathCache_CountHitsAndMisses_AndDropEntriesWhenRoutesChange() throws NotPlaceInstanceException {
+        this.listGraph.setPathCacheCapacity(2);
+
+        Assertions.assertEquals("0 5 6 4", pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("0 5 6 4", pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.listGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(1, this.listGraph.getPathCacheHits());
+        Assertions.assertEquals(2, this.listGraph.getPathCacheMisses());
+
+        this.listGraph.shortestPathWithOnlyConnectors(this.locals[5], this.locals[6]);
+        Assertions.assertEquals(1, this.listGraph.getPathCacheEvictions());
+
+        this.listGraph.removeEdge(this.locals[5], this.locals[6]);
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.listGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(1, this.listGraph.getPathCacheHits());
+    }
+
+    @Test
+    public void testShortestPathAtleastOneConnector_CrossAConnector_WhenShorterPathHasNone() throws NotPlaceInstanceException {
+        // 0 1 2 3 is shorter but has no connector
+        Assertions.assertEquals("0 5 6 4 3", pathToString(this.matrixGraph.shortestPathAtleastOneConnector(this.locals[0], this.locals[3])));
+        Assertions.assertEquals("0 5 6 4 3", pathToString(this.listGraph.shortestPathAtleastOneConnector(this.locals[0], this.locals[3])));
+    }
+
+    @Test
+    public void testShortestPathThroughTypes_StepIntoRequiredLocalAndBack() throws NotPlaceInstanceException {
+        this.listGraph.removeEdge(this.locals[5], this.locals[6]);
+
+        Assertions.assertEquals("1 2 7 2 3", pathToString(this.listGraph.shortestPathThroughTypes(this.locals[1], this.locals[3], IConnector.class)));
+        Assertions.assertEquals("1 2 3", pathToString(this.listGraph.shortestPathThroughTypes(this.locals[1], this.locals[3], IPortal.class)));
+        Assertions.assertEquals("", pathToString(this.listGraph.shortestPathThroughTypes(this.locals[1], this.locals[3], Player.class)));
+    }
+
+    @Test
+    public void testShortestPathWithEnergy_DetourThroughConnector_WhenEnergyIsLow() throws NotPlaceInstanceException {
+        WeightedPath<ILocal> plenty = this.listGraph.shortestPathWithEnergy(this.locals[1], this.locals[4], 10, 1, 100);
+        WeightedPath<ILocal> low = this.listGraph.shortestPathWithEnergy(this.locals[1], this.locals[4], 2, 1, 100);
+
+        Assertions.assertEquals("1 2 3 4", pathToString(plenty.iterator()));
+        // with 2 energy the player must recharge at connector 5 on the way
+        Assertions.assertEquals("1 0 5 6 4", pathToString(low.iterator()));
+        Assertions.assertEquals(4, low.getCost());
+    }
+
+    @Test
+    public void testShortestPathWithEnergy_ReturnEmptyPath_WhenNoRouteIsFeasible() throws NotPlaceInstanceException {
+        WeightedPath<ILocal> path = this.matrixGraph.shortestPathWithEnergy(this.locals[1], this.locals[4], 1, 1, 100);
+
+        Assertions.assertFalse(path.isFound());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> this.matrixGraph.shortestPathWithEnergy(this.locals[1], this.locals[4], 10, 1, 5));
+    }
+
+    @Test
+    public void testContractionHierarchies_ReturnSameLengthsAsSearch_AndRebuildAfterChange() throws NotPlaceInstanceException {
+        PathGameGraph.SearchType[] types = {PathGameGraph.SearchType.UNRESTRICTED, PathGameGraph.SearchType.PORTAL_ONLY, PathGameGraph.SearchType.CONNECTOR_ONLY};
+        int[][][] expected = new int[types.length][this.locals.length][this.locals.length];
+
+        for (int t = 0; t < types.length; t++) {
+            for (int i = 0; i < this.locals.length; i++) {
+                for (int j = 0; j < this.locals.length; j++) {
+                    expected[t][i][j] = this.matrixGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], types[t]);
+                }
+            }
+        }
+
+        this.matrixGraph.setContractionHierarchies(true);
+        this.matrixGraph.buildContractionHierarchies();
+        for (int t = 0; t < types.length; t++) {
+            for (int i = 0; i < this.locals.length; i++) {
+                for (int j = 0; j < this.locals.length; j++) {
+                    Assertions.assertEquals(expected[t][i][j], this.matrixGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], types[t]));
+                }
+            }
+        }
+        Assertions.assertEquals("0 5 6 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+
+        // the first query after a change runs a plain search while the hierarchy is rebuilt
+        this.matrixGraph.removeEdge(this.locals[5], this.locals[6]);
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        this.matrixGraph.buildContractionHierarchies();
+        Assertions.assertEquals("0 1 2 3 4", pathToString(this.matrixGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testContractionHierarchies_CountRoutes_OnNetworkBackend() throws NotPlaceInstanceException {
+        PathGameGraph<ILocal> networkGraph = this.buildMapOn(new Network<>());
+        int[][] expected = new int[this.locals.length][this.locals.length];
+
+        for (int i = 0; i < this.locals.length; i++) {
+            for (int j = 0; j < this.locals.length; j++) {
+                expected[i][j] = networkGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], PathGameGraph.SearchType.UNRESTRICTED);
+            }
+        }
+        Assertions.assertEquals(3, expected[0][4]);
+
+        networkGraph.setContractionHierarchies(true);
+        networkGraph.buildContractionHierarchies();
+        for (int i = 0; i < this.locals.length; i++) {
+            for (int j = 0; j < this.locals.length; j++) {
+                Assertions.assertEquals(expected[i][j], networkGraph.distanceBetweenTwoPoints(this.locals[i], this.locals[j], PathGameGraph.SearchType.UNRESTRICTED));
+            }
+        }
+        Assertions.assertEquals("0 5 6 4", pathToString(networkGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testContractionHierarchies_FollowTheWeightMode_OnNetworkBackend() throws NotPlaceInstanceException {
+        Network<ILocal> network = new Network<>();
+        PathGameGraph<ILocal> graph = this.buildMapOn(network);
+        network.setEdgeWeight(this.locals[5], this.locals[6], 2.5);
+
+        // the tables count routes, so they are left unused while the weights are read
+        graph.setPrecomputedPaths(true);
+        Assertions.assertEquals("0 1 2 3 4", pathToString(graph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        graph.setPrecomputedPaths(false);
+
+        graph.setContractionHierarchies(true);
+        Assertions.assertEquals("0 1 2 3 4", pathToString(graph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        graph.buildContractionHierarchies();
+        Assertions.assertEquals("0 1 2 3 4", pathToString(graph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals(4, graph.distanceBetweenTwoPoints(this.locals[0], this.locals[4], PathGameGraph.SearchType.UNRESTRICTED));
+
+        graph.setUnitWeights(true);
+        Assertions.assertEquals("0 5 6 4", pathToString(graph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        graph.buildContractionHierarchies();
+        Assertions.assertEquals("0 5 6 4", pathToString(graph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+    }
+
+    @Test
+    public void testNearestConnector_FollowRouteAndConnectorChanges() throws NotPlaceInstanceException {
+        Assertions.assertEquals(1, this.listGraph.distanceToNearestConnector(this.locals[2]));
+        Assertions.assertEquals(this.locals[7], this.listGraph.nearestConnector(this.locals[2]));
+        Assertions.assertEquals(2, this.listGraph.distanceToNearestConnector(this.locals[3]));
+
+        this.listGraph.removeVertex(this.locals[7]);
+        Assertions.assertEquals(3, this.listGraph.distanceToNearestConnector(this.locals[2]));
+
+        this.listGraph.removeEdge(this.locals[6], this.locals[4]);
+        Assertions.assertEquals(4, this.listGraph.distanceToNearestConnector(this.locals[3]));
+        Assertions.assertEquals(this.locals[5], this.listGraph.nearestConnector(this.locals[3]));
+    }
+
+    @Test
+    public void testNearestNeutralPortal_SkipPortal_AfterItIsConquered() throws NotPlaceInstanceException {
+        Assertions.assertEquals(this.locals[0], this.matrixGraph.nearestNeutralPortal(this.locals[0]));
+        Assertions.assertEquals(-1, this.matrixGraph.distanceToNearestEnemyPortal(this.locals[0], "Sparks"));
+
+        ((Portal) this.locals[0]).setPlayerTeam("Giants");
+        this.matrixGraph.updateLocal(this.locals[0]);
+
+        Assertions.assertEquals(1, this.matrixGraph.distanceToNearestNeutralPortal(this.locals[0]));
+        Assertions.assertEquals(0, this.matrixGraph.distanceToNearestEnemyPortal(this.locals[0], "Sparks"));
+        Assertions.assertEquals(this.locals[0], this.matrixGraph.nearestEnemyPortal(this.locals[5], "Sparks"));
+        Assertions.assertNull(this.matrixGraph.nearestEnemyPortal(this.locals[5], "Giants"));
+    }
+
+    @Test
+    public void testNearestEnemyPortal_StayCorrect_WhenManyTeamsAreAskedAbout() throws NotPlaceInstanceException {
+        ((Portal) this.locals[4]).setPlayerTeam("Giants");
+        this.listGraph.updateLocal(this.locals[4]);
+        Assertions.assertEquals(2, this.listGraph.distanceToNearestEnemyPortal(this.locals[2], "Sparks"));
+
+        for (int team = 0; team < 10; team++) {
+            Assertions.assertEquals(2, this.listGraph.distanceToNearestEnemyPortal(this.locals[2], "Team " + team));
+        }
+
+        ((Portal) this.locals[1]).setPlayerTeam("Giants");
+        this.listGraph.updateLocal(this.locals[1]);
+        Assertions.assertEquals(1, this.listGraph.distanceToNearestEnemyPortal(this.locals[2], "Sparks"));
+        Assertions.assertEquals(this.locals[1], this.listGraph.nearestEnemyPortal(this.locals[0], "Team 9"));
+        Assertions.assertNull(this.listGraph.nearestEnemyPortal(this.locals[0], "Giants"));
+    }
+
+    @Test
+    public void testComponents_FollowRouteAndLocalRemovals_OnBothBackends() throws NotPlaceInstanceException {
+        for (PathGameGraph<ILocal> pathGraph : List.of(this.matrixGraph, this.listGraph)) {
+            Assertions.assertTrue(pathGraph.isConnected());
+            Assertions.assertEquals(8, pathGraph.getComponentSize(this.locals[3]));
+            Assertions.assertFalse(pathGraph.getIsolatedLocals().hasNext());
+
+            pathGraph.removeEdge(this.locals[2], this.locals[7]);
+            Assertions.assertFalse(pathGraph.isConnected());
+            Assertions.assertEquals(2, pathGraph.getNumberOfComponents());
+            Iterator<ILocal> isolated = pathGraph.getIsolatedLocals();
+            Assertions.assertEquals(this.locals[7], isolated.next());
+            Assertions.assertFalse(isolated.hasNext());
+
+            pathGraph.removeVertex(this.locals[3]);
+            Assertions.assertEquals(2, pathGraph.getNumberOfComponents());
+            pathGraph.removeEdge(this.locals[0], this.locals[5]);
+            Assertions.assertEquals(3, pathGraph.getNumberOfComponents());
+            Assertions.assertEquals(3, pathGraph.getComponentSize(this.locals[4]));
+            Assertions.assertEquals(pathGraph.getComponentId(this.locals[0]), pathGraph.getComponentId(this.locals[2]));
+            Assertions.assertNotEquals(pathGraph.getComponentId(this.locals[0]), pathGraph.getComponentId(this.locals[4]));
+
+            pathGraph.addEdge(this.locals[7], this.locals[6]);
+            Assertions.assertEquals(4, pathGraph.getComponentSize(this.locals[5]));
+        }
+    }
+
+    @Test
+    public void testTypedPaths_MatchOtherBackends_OnBitMatrixBackend() throws NotPlaceInstanceException {
+        PathGameGraph<ILocal> bitGraph = new PathGameGraph<>(new BitMatrixGraph<>());
+        for (ILocal local : this.locals) {
+            bitGraph.addVertex(local);
+        }
+        int[][] routes = {{0, 1}, {1, 2}, {2, 3}, {3, 4}, {0, 5}, {5, 6}, {6, 4}, {2, 7}};
+        for (int[] route : routes) {
+            bitGraph.addEdge(this.locals[route[0]], this.locals[route[1]]);
+        }
+
+        Assertions.assertEquals("0 5 6 4", pathToString(bitGraph.shortestPathBetweenTwoPoints(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("0 1 2 3 4", pathToString(bitGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4])));
+        Assertions.assertEquals("5 6", pathToString(bitGraph.shortestPathWithOnlyConnectors(this.locals[5], this.locals[6])));
+
+        bitGraph.removeVertex(this.locals[1]);
+        Assertions.assertFalse(bitGraph.shortestPathWithOnlyPortals(this.locals[0], this.locals[4]).hasNext());
+        Assertions.assertEquals(pathToString(this.listGraph.shortestPathAtleastOneConnector(this.locals[2], this.locals[4])),
+                pathToString(bitGraph.shortestPathAtleastOneConnector(this.locals[2], this.locals[4])));
+    }
+
+    @Test
+    public void testSpatialQueries_FollowAddsMovesAndRemovals_OnBothBackends() {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph)) {
+            Assertions.assertEquals("2 7 1", pathToString(graph.nearestLocals(10.019, 39.996, 3, null)));
+            Assertions.assertEquals("7 5", pathToString(graph.nearestLocals(10.019, 39.996, 2, IConnector.class)));
+            Assertions.assertEquals("2 1 3", pathToString(graph.nearestLocals(10.019, 40.0, 3, IPortal.class)));
+            Assertions.assertEquals("2 1 3", pathToString(graph.localsWithinDistance(10.019, 40.0, 1.0, IPortal.class)));
+            Assertions.assertEquals(4, countOf(graph.localsInBoundingBox(10.005, 39.98, 10.035, 40.01, null)));
+
+            Connector moved = (Connector) this.locals[7];
+            moved.getCoordinates().setLongitude(10.045);
+            graph.updateLocal(moved);
+            Assertions.assertEquals("7", pathToString(graph.nearestLocals(10.05, 39.99, 1, null)));
+
+            graph.removeVertex(this.locals[1]);
+            Assertions.assertEquals("2 0", pathToString(graph.nearestLocals(10.011, 40.0, 2, IPortal.class)));
+
+            graph.addVertex(new Portal(100, 8, "Portal 8", 10, new Coordinates(10.011, 40.0)));
+            Assertions.assertEquals("8 2", pathToString(graph.nearestLocals(10.012, 40.0, 2, IPortal.class)));
+            moved.getCoordinates().setLongitude(10.02);
+        }
+    }
+
+    @Test
+    public void testReachableWithin_ReturnsLocalsInBudget_WithTheirWayBack() throws NotPlaceInstanceException {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph, this.buildMapOn(new Network<>()))) {
+            Assertions.assertEquals(1, countOf(graph.reachableWithin(this.locals[0], 0, PathGameGraph.SearchType.UNRESTRICTED)));
+
+            Iterator<Pair<ILocal>> reached = graph.reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.UNRESTRICTED);
+            String result = "";
+            Pair<ILocal> last = null;
+            while (reached.hasNext()) {
+                last = reached.next();
+                result += last.getVertex().getId() + ":" + (int) last.getCost() + " ";
+            }
+            Assertions.assertEquals("0:0 1:1 5:1 2:2 6:2 ", result);
+            Assertions.assertEquals(this.locals[5], last.getPrevious().getVertex());
+            Assertions.assertEquals(this.locals[0], last.getPrevious().getPrevious().getVertex());
+
+            Assertions.assertEquals(4, countOf(graph.reachableWithin(this.locals[1], 2, PathGameGraph.SearchType.PORTAL_ONLY)));
+            Assertions.assertEquals(3, countOf(graph.reachableWithin(this.locals[0], 5, PathGameGraph.SearchType.CONNECTOR_ONLY)));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> graph.reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.CONNECTOR_REQUIRED));
+        }
+    }
+
+    @Test
+    public void testReachableWithin_FollowNetworkWeights_UnlessUnitWeightsAreUsed() throws NotPlaceInstanceException {
+        Network<ILocal> network = new Network<>();
+        PathGameGraph<ILocal> graph = this.buildMapOn(network);
+        network.setEdgeWeight(this.locals[0], this.locals[5], 5);
+        graph.setSnapshotReads(true);
+
+        // the detour through C5 now costs more than the budget
+        Assertions.assertEquals(3, countOf(graph.reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.UNRESTRICTED)));
+        Assertions.assertEquals(3, countOf(graph.getSnapshot().reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.UNRESTRICTED)));
+
+        graph.setUnitWeights(true);
+
+        Assertions.assertTrue(graph.getSnapshot().usesUnitWeights());
+        Assertions.assertEquals(5, countOf(graph.reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.UNRESTRICTED)));
+        Assertions.assertEquals(5, countOf(graph.getSnapshot().reachableWithin(this.locals[0], 2, PathGameGraph.SearchType.UNRESTRICTED)));
+    }
+
+    @Test
+    public void testPortalsByBetweenness_RankChokepointsFirst_OnBothBackends() {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph, this.buildMapOn(new Network<>()))) {
+            double[] centrality = graph.betweennessCentrality(0);
+            Assertions.assertEquals(0, centrality[graph.getIndex(this.locals[7])], 1e-9);
+            Assertions.assertTrue(centrality[graph.getIndex(this.locals[2])] > centrality[graph.getIndex(this.locals[3])]);
+
+            Iterator<IPortal> ranking = graph.portalsByBetweenness(0);
+            Assertions.assertEquals(this.locals[2], ranking.next());
+            Assertions.assertEquals(5, countOf(graph.portalsByBetweenness(0)));
+
+            graph.removeEdge(this.locals[0], this.locals[5]);
+            Assertions.assertTrue(graph.betweennessCentrality(0)[graph.getIndex(this.locals[5])] < centrality[graph.getIndex(this.locals[5])]);
+            Assertions.assertEquals(5, countOf(graph.portalsByBetweenness(3)));
+        }
+    }
+
+    @Test
+    public void testBetweennessCentrality_FollowsTheWeightMode_OnNetworkBackend() {
+        Network<ILocal> network = new Network<>();
+        PathGameGraph<ILocal> graph = this.buildMapOn(network);
+        network.setEdgeWeight(this.locals[5], this.locals[6], 2.5);
+        int portal = graph.getIndex(this.locals[1]);
+        int connector = graph.getIndex(this.locals[5]);
+
+        graph.setUnitWeights(true);
+        double[] counted = graph.betweennessCentrality(0);
+        graph.setUnitWeights(false);
+        double[] weighted = graph.betweennessCentrality(0);
+
+        // the heavy route between the connectors sends the paths between the ends of the map through the portals
+        Assertions.assertTrue(weighted[portal] > counted[portal]);
+        Assertions.assertTrue(weighted[connector] < counted[connector]);
+    }
+
+    @Test
+    public void testArticulationLocalsAndBridges_FollowAddedAndRemovedRoutes() throws NotPlaceInstanceException {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph)) {
+            graph.setIncrementalBiconnectivity(graph == this.listGraph);
+
+            Assertions.assertEquals("2", pathToString(graph.getArticulationLocals()));
+            IRoute<ILocal> bridge = graph.getBridgeRoutes().next();
+            Assertions.assertEquals(this.locals[2], bridge.getFrom());
+            Assertions.assertEquals(this.locals[7], bridge.getTo());
+            Assertions.assertTrue(graph.isBridgeRoute(this.locals[2], this.locals[7]));
+            Assertions.assertFalse(graph.isBridgeRoute(this.locals[2], this.locals[3]));
+
+            ILocal missing = new Connector(5, 8, "Connector 8", 50, new Coordinates(10.05, 40.00));
+            graph.addEdge(this.locals[7], missing);
+            graph.addEdge(this.locals[2], this.locals[7]);
+            Assertions.assertEquals("2", pathToString(graph.getArticulationLocals()));
+            Assertions.assertEquals(1, countOf(graph.getBridgeRoutes()));
+
+            graph.addEdge(this.locals[7], this.locals[3]);
+            Assertions.assertFalse(graph.getArticulationLocals().hasNext());
+            Assertions.assertFalse(graph.getBridgeRoutes().hasNext());
+
+            graph.removeEdge(this.locals[0], this.locals[5]);
+            Assertions.assertTrue(graph.isArticulationLocal(this.locals[6]));
+            Assertions.assertTrue(graph.isBridgeRoute(this.locals[5], this.locals[6]));
+            Assertions.assertEquals(5, countOf(graph.getBridgeRoutes()));
+        }
+    }
+
+    @Test
+    public void testSubscribePath_NotifiesOnlyWhenThePathChanges_OnBothBackends() throws NotPlaceInstanceException {
+        for (PathGameGraph<ILocal> graph : List.of(this.matrixGraph, this.listGraph)) {
+            List<String> notified = new ArrayList<>();
+            PathGameGraph<ILocal>.PathSubscription subscription = graph.subscribePath(this.locals[0], this.locals[4],
+                    (source, destiny, path) -> notified.add(pathToString(path)));
+
+            Assertions.assertEquals("0 5 6 4", pathToString(subscription.getPath()));
+            Assertions.assertEquals(3, subscription.getDistance());
+
+            graph.removeEdge(this.locals[2], this.locals[7]);
+            graph.addEdge(this.locals[1], this.locals[3]);
+            Assertions.assertTrue(notified.isEmpty());
+
+            graph.removeEdge(this.locals[0], this.locals[5]);
+            Assertions.assertEquals(List.of("0 1 3 4"), notified);
+            Assertions.assertEquals(3, subscription.getDistance());
+
+            graph.addEdge(this.locals[0], this.locals[4]);
+            Assertions.assertEquals(List.of("0 1 3 4", "0 4"), notified);
+
+            subscription.cancel();
+            graph.removeEdge(this.locals[0], this.locals[4]);
+            Assertions.assertEquals(2, notified.size());
+        }
+    }
+
+    @Test
+    public void testSubscribePath_KeepsApartDestiniesThatShareAName() throws NotPlaceInstanceException {
+        ILocal portal = new Portal(100, 20, "X", 10, new Coordinates(10.05, 40.00));
+        ILocal connector = new Connector(5, 21, "X", 50, new Coordinates(10.00, 40.01));
+        this.listGraph.addVertex(portal);
+        this.listGraph.addVertex(connector);
+        this.listGraph.addEdge(this.locals[4], portal);
+        this.listGraph.addEdge(this.locals[1], connector);
+
+        PathGameGraph<ILocal>.PathSubscription toPortal = this.listGraph.subscribePath(this.locals[0], portal, (source, destiny, path) -> { });
+        PathGameGraph<ILocal>.PathSubscription toConnector = this.listGraph.subscribePath(this.locals[1], connector, (source, destiny, path) -> { });
+
+        Assertions.assertEquals(4, toPortal.getDistance());
+        Assertions.assertEquals(1, toConnector.getDistance());
+        Assertions.assertEquals("1 21", pathToString(toConnector.getPath()));
+    }
+
+    @Test
+    public void testSubscribePath_ListenerMayWaitForOtherThreadsThatQueryTheGraph() throws Exception {
+        AtomicInteger distance = new AtomicInteger(-2);
+        this.listGraph.subscribePath(this.locals[0], this.locals[4], (source, destiny, path) -> {
+            try {
+                distance.set(CompletableFuture.supplyAsync(() -> this.listGraph.getPathCacheHits() == 0
+                        ? countOf(path) - 1 : -3).get(5, TimeUnit.SECONDS).intValue());
+            } catch (Exception e) {
+                distance.set(-4);
+            }
+        });
+
+        this.listGraph.removeEdge(this.locals[5], this.locals[6]);
+        Assertions.assertEquals(4, distance.get());
+    }
+
+    private static int countOf(Iterator<?> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+}
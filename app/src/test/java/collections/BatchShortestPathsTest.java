@@ -0,0 +1,113 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.BatchShortestPaths;
+import collections.implementation.BidirectionalBFS;
+import collections.implementation.LayeredBFS;
+import collections.implementation.PathBatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+public class BatchShortestPathsTest {
+
+    private AdjacencyListGraph<Integer> randomGraph(Random random, int size, int edges) {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(size), random.nextInt(size));
+        }
+        return graph;
+    }
+
+    private void assertValidPath(AdjacencyListGraph<Integer> graph, PathBatch batch, int query, int source, int target) {
+        int size = batch.getPathSize(query);
+        Assertions.assertEquals(source, batch.getVertex(query, 0));
+        Assertions.assertEquals(target, batch.getVertex(query, size - 1));
+        for (int k = 1; k < size; k++) {
+            Assertions.assertTrue(graph.isAdjacent(batch.getVertex(query, k - 1), batch.getVertex(query, k)));
+        }
+    }
+
+    @Test
+    public void testSearch_MatchBidirectionalBFS_OnRandomQueries() {
+        Random random = new Random(18);
+        AdjacencyListGraph<Integer> graph = randomGraph(random, 300, 450);
+        IntPredicate allowed = index -> index % 7 != 0;
+
+        // few distinct sources, so most queries share a search
+        int count = 400;
+        int[] sources = new int[count];
+        int[] targets = new int[count];
+        for (int q = 0; q < count; q++) {
+            sources[q] = random.nextInt(40);
+            targets[q] = random.nextInt(300);
+        }
+
+        PathBatch batch = new BatchShortestPaths(graph, allowed, null).search(sources, targets);
+        Assertions.assertEquals(count, batch.size());
+
+        for (int q = 0; q < count; q++) {
+            int[] expected = new BidirectionalBFS(graph).search(sources[q], targets[q], allowed);
+            Assertions.assertEquals(expected.length, batch.getPathSize(q));
+            if (sources[q] == targets[q]) {
+                Assertions.assertEquals(0, batch.getDistance(q));
+            } else if (expected.length == 0) {
+                Assertions.assertEquals(-1, batch.getDistance(q));
+            } else {
+                Assertions.assertEquals(expected.length - 1, batch.getDistance(q));
+                assertValidPath(graph, batch, q, sources[q], targets[q]);
+                for (int k = 1; k < batch.getPathSize(q); k++) {
+                    Assertions.assertTrue(allowed.test(batch.getVertex(q, k)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_MatchLayeredBFS_WhenAVertexKindIsRequired() {
+        Random random = new Random(81);
+        AdjacencyListGraph<Integer> graph = randomGraph(random, 120, 200);
+        IntPredicate required = index -> index % 10 == 3;
+
+        int count = 150;
+        int[] sources = new int[count];
+        int[] targets = new int[count];
+        for (int q = 0; q < count; q++) {
+            sources[q] = random.nextInt(120);
+            targets[q] = random.nextInt(120);
+        }
+
+        PathBatch batch = new BatchShortestPaths(graph, null, required).search(sources, targets);
+
+        for (int q = 0; q < count; q++) {
+            int[] expected = new LayeredBFS(graph).search(sources[q], targets[q], required);
+            Assertions.assertEquals(expected.length, batch.getPathSize(q));
+            if (expected.length > 0) {
+                assertValidPath(graph, batch, q, sources[q], targets[q]);
+                boolean passed = false;
+                for (int k = 0; k < batch.getPathSize(q); k++) {
+                    passed |= required.test(batch.getVertex(q, k));
+                }
+                Assertions.assertTrue(passed);
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_ReturnNoPath_ForIndicesOutsideTheGraph() {
+        AdjacencyListGraph<Integer> graph = randomGraph(new Random(1), 5, 10);
+        PathBatch batch = new BatchShortestPaths(graph, null, null).search(new int[] {-1, 0, 9}, new int[] {0, 9, 0});
+
+        for (int q = 0; q < 3; q++) {
+            Assertions.assertEquals(-1, batch.getDistance(q));
+            Assertions.assertEquals(0, batch.getPath(q).length);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BatchShortestPaths(graph, null, null).search(new int[] {0}, new int[0]));
+    }
+}
@@ -0,0 +1,127 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.BetweennessCentrality;
+import collections.implementation.Network;
+import collections.interfaces.IndexedGraphADT;
+import collections.interfaces.IndexedNetworkADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class BetweennessCentralityTest {
+
+    /**
+     * Measures every vertex from the cost and number of shortest paths between every pair, found with Floyd-Warshall.
+     */
+    private double[] bruteForce(IndexedGraphADT<Integer> graph) {
+        int n = graph.getSlotCount();
+        double[][] cost = new double[n][n];
+        double[][] count = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(cost[i], Double.POSITIVE_INFINITY);
+            cost[i][i] = 0;
+            count[i][i] = 1;
+            for (int j : graph.getNeighbourIndices(i)) {
+                cost[i][j] = graph instanceof IndexedNetworkADT ? ((IndexedNetworkADT<Integer>) graph).getEdgeWeight(i, j) : 1;
+                count[i][j] = 1;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i == k || j == k || i == j) {
+                        continue;
+                    }
+                    double through = cost[i][k] + cost[k][j];
+                    if (through < cost[i][j] - 1e-9) {
+                        cost[i][j] = through;
+                        count[i][j] = count[i][k] * count[k][j];
+                    } else if (Math.abs(through - cost[i][j]) <= 1e-9) {
+                        count[i][j] += count[i][k] * count[k][j];
+                    }
+                }
+            }
+        }
+
+        double[] centrality = new double[n];
+        for (int v = 0; v < n; v++) {
+            for (int s = 0; s < n; s++) {
+                for (int t = s + 1; t < n; t++) {
+                    if (s != v && t != v && cost[s][t] < Double.POSITIVE_INFINITY
+                            && Math.abs(cost[s][v] + cost[v][t] - cost[s][t]) <= 1e-9) {
+                        centrality[v] += count[s][v] * count[v][t] / count[s][t];
+                    }
+                }
+            }
+        }
+        return centrality;
+    }
+
+    @Test
+    public void testCompute_MatchesBruteForce_OnRandomGraphsAndNetworks() {
+        Random random = new Random(23);
+
+        for (int round = 0; round < 20; round++) {
+            int size = 8 + random.nextInt(30);
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+            Network<Integer> network = new Network<>();
+            for (int i = 0; i < size; i++) {
+                graph.addVertex(i);
+                network.addVertex(i);
+            }
+            for (int i = 0; i < size * 2; i++) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                if (first != second) {
+                    graph.addEdge(first, second);
+                    network.addEdge(first, second, 1 + random.nextInt(3));
+                }
+            }
+
+            double[] expected = bruteForce(graph);
+            double[] found = new BetweennessCentrality(graph).compute();
+            double[] expectedWeighted = bruteForce(network);
+            double[] foundWeighted = new BetweennessCentrality(network).compute(0, 0, new ForkJoinPool(3));
+            for (int i = 0; i < size; i++) {
+                Assertions.assertEquals(expected[i], found[i], 1e-6);
+                Assertions.assertEquals(expectedWeighted[i], foundWeighted[i], 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void testCompute_CountsPairsThroughTheMiddleOfAChain() {
+        AdjacencyListGraph<Integer> chain = new AdjacencyListGraph<>();
+        for (int i = 0; i < 5; i++) {
+            chain.addVertex(i);
+            if (i > 0) {
+                chain.addEdge(i - 1, i);
+            }
+        }
+
+        Assertions.assertArrayEquals(new double[] {0, 3, 4, 3, 0}, new BetweennessCentrality(chain).compute(), 1e-9);
+    }
+
+    @Test
+    public void testCompute_SampledModeIsRepeatableAndExactWithEverySource() {
+        Random random = new Random(3);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 200; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(random.nextInt(i), i);
+            }
+        }
+        BetweennessCentrality measure = new BetweennessCentrality(graph);
+        double[] exact = measure.compute();
+
+        Assertions.assertArrayEquals(exact, measure.compute(200, 1, ForkJoinPool.commonPool()), 1e-6);
+        double[] sampled = measure.compute(50, 7, ForkJoinPool.commonPool());
+        Assertions.assertArrayEquals(sampled, measure.compute(50, 7, ForkJoinPool.commonPool()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> measure.compute(-1, 0, ForkJoinPool.commonPool()));
+    }
+}
@@ -0,0 +1,137 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.Biconnectivity;
+import collections.interfaces.IndexedGraphADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BiconnectivityTest {
+
+    /**
+     * Counts the connected components, ignoring one vertex and the edge between two vertices.
+     */
+    private int components(IndexedGraphADT<Integer> graph, int skippedVertex, int edgeFrom, int edgeTo) {
+        int n = graph.getSlotCount();
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        int count = 0;
+        for (int start = 0; start < n; start++) {
+            if (start == skippedVertex || visited[start] || !graph.indexIsValid(start)) {
+                continue;
+            }
+            count++;
+            int top = 0;
+            stack[top++] = start;
+            visited[start] = true;
+            while (top > 0) {
+                int x = stack[--top];
+                for (int y : graph.getNeighbourIndices(x)) {
+                    boolean skippedEdge = (x == edgeFrom && y == edgeTo) || (x == edgeTo && y == edgeFrom);
+                    if (y != skippedVertex && !skippedEdge && !visited[y]) {
+                        visited[y] = true;
+                        stack[top++] = y;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private void assertMatchesBruteForce(IndexedGraphADT<Integer> graph, Biconnectivity analysis) {
+        int n = graph.getSlotCount();
+        int whole = components(graph, -1, -1, -1);
+        List<Integer> expectedPoints = new ArrayList<>();
+        for (int v = 0; v < n; v++) {
+            int without = components(graph, v, -1, -1);
+            boolean articulation = without > whole - (graph.getNeighbourIndices(v).length == 0 ? 1 : 0);
+            Assertions.assertEquals(articulation, analysis.isArticulationPoint(v), "vertex " + v);
+            if (articulation) {
+                expectedPoints.add(v);
+            }
+            for (int u : graph.getNeighbourIndices(v)) {
+                Assertions.assertEquals(components(graph, -1, v, u) > whole, analysis.isBridge(v, u), "edge " + v + "-" + u);
+            }
+        }
+
+        int bridges = 0;
+        for (int[] bridge : analysis.getBridges()) {
+            Assertions.assertTrue(bridge[0] < bridge[1]);
+            Assertions.assertTrue(components(graph, -1, bridge[0], bridge[1]) > whole);
+            bridges++;
+        }
+        Assertions.assertEquals(expectedPoints.size(), analysis.getArticulationPoints().length);
+        Assertions.assertTrue(bridges <= n);
+    }
+
+    @Test
+    public void testSearch_MatchesBruteForce_OnRandomGraphs() {
+        Random random = new Random(24);
+        for (int round = 0; round < 40; round++) {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+            int size = 5 + random.nextInt(25);
+            for (int i = 0; i < size; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < size + random.nextInt(size); i++) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                if (first != second) {
+                    graph.addEdge(first, second);
+                }
+            }
+
+            assertMatchesBruteForce(graph, new Biconnectivity(graph));
+        }
+    }
+
+    @Test
+    public void testEdgeAdded_KeepsTheAnswersOfAFreshSearch() {
+        Random random = new Random(124);
+        for (int round = 0; round < 10; round++) {
+            AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+            Biconnectivity analysis = new Biconnectivity(graph);
+            int size = 10 + random.nextInt(20);
+
+            for (int step = 0; step < size * 3; step++) {
+                if (graph.size() < size && (graph.size() < 2 || random.nextInt(3) == 0)) {
+                    graph.addVertex(graph.size());
+                    analysis.vertexAdded();
+                    continue;
+                }
+                int first = random.nextInt(graph.size());
+                int second = random.nextInt(graph.size());
+                if (first != second) {
+                    graph.addEdge(first, second);
+                    analysis.edgeAdded(first, second);
+                }
+                assertMatchesBruteForce(graph, analysis);
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_DoesNotOverflowTheStack_OnALongChain() {
+        AdjacencyListGraph<Integer> chain = new AdjacencyListGraph<>();
+        int size = 100000;
+        for (int i = 0; i < size; i++) {
+            chain.addVertex(i);
+            if (i > 0) {
+                chain.addEdge(i - 1, i);
+            }
+        }
+
+        Biconnectivity analysis = new Biconnectivity(chain);
+        Assertions.assertEquals(size - 2, analysis.getArticulationPoints().length);
+        Assertions.assertEquals(size - 1, analysis.getBridges().length);
+
+        chain.addEdge(0, size - 1);
+        analysis.edgeAdded(0, size - 1);
+        Assertions.assertEquals(0, analysis.getArticulationPoints().length);
+        Assertions.assertEquals(0, analysis.getBridges().length);
+    }
+}
@@ -0,0 +1,141 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.BidirectionalBFS;
+import collections.implementation.MatrixGraph;
+import collections.interfaces.IndexedGraphADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BidirectionalBFSTest {
+
+    /**
+     * Length of the shortest path with a plain one-sided BFS, -1 if the target cannot be reached.
+     */
+    private int referenceLength(IndexedGraphADT<Integer> graph, int start, int target) {
+        int[] length = new int[graph.size()];
+        int[] queue = new int[graph.size()];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < length.length; i++) {
+            length[i] = -1;
+        }
+        length[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int index = queue[head++];
+            for (int i : graph.getNeighbourIndices(index)) {
+                if (length[i] == -1) {
+                    length[i] = length[index] + 1;
+                    queue[tail++] = i;
+                }
+            }
+        }
+        return length[target];
+    }
+
+    private void assertIsPath(IndexedGraphADT<Integer> graph, int[] path, int start, int target) {
+        Assertions.assertEquals(start, path[0]);
+        Assertions.assertEquals(target, path[path.length - 1]);
+        for (int i = 1; i < path.length; i++) {
+            Assertions.assertTrue(graph.isAdjacent(path[i - 1], path[i]));
+        }
+    }
+
+    @Test
+    public void testSearch_ReturnSameLengthAsOneSidedBFS_OnRandomGraphs() {
+        Random random = new Random(42);
+
+        for (int round = 0; round < 20; round++) {
+            IndexedGraphADT<Integer> graph = round % 2 == 0 ? new AdjacencyListGraph<>() : new MatrixGraph<>();
+            int size = 60;
+            for (int i = 0; i < size; i++) {
+                graph.addVertex(i);
+            }
+            for (int i = 0; i < size + round * 3; i++) {
+                graph.addEdge(random.nextInt(size), random.nextInt(size));
+            }
+
+            BidirectionalBFS search = new BidirectionalBFS(graph);
+            for (int query = 0; query < 30; query++) {
+                int start = random.nextInt(size);
+                int target = random.nextInt(size);
+                int[] path = search.search(start, target);
+                int expected = start == target ? -1 : referenceLength(graph, start, target);
+
+                if (expected == -1) {
+                    Assertions.assertEquals(0, path.length);
+                } else {
+                    Assertions.assertEquals(expected, path.length - 1);
+                    assertIsPath(graph, path, start, target);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_OnlyStepIntoAllowedVertices_WhenFiltered() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(i);
+        }
+        // 0 - 1 - 5 is short but 1 is odd, 0 - 2 - 4 - 5 only uses even vertices after the start
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 5);
+        graph.addEdge(0, 2);
+        graph.addEdge(2, 4);
+        graph.addEdge(4, 5);
+
+        BidirectionalBFS search = new BidirectionalBFS(graph);
+
+        Assertions.assertArrayEquals(new int[] {0, 1, 5}, search.search(0, 5));
+        Assertions.assertArrayEquals(new int[] {0, 2, 4, 5}, search.search(0, 5, index -> index != 1));
+        Assertions.assertEquals(0, search.search(0, 5, index -> index % 2 == 0).length);
+    }
+
+    @Test
+    public void testSearch_ReusesItsArrays_WhenTheGraphGrowsBetweenSearches() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        graph.addVertex(0);
+        graph.addVertex(1);
+        graph.addEdge(0, 1);
+
+        BidirectionalBFS search = new BidirectionalBFS(graph);
+        Assertions.assertArrayEquals(new int[] {0, 1}, search.search(0, 1));
+
+        for (int i = 2; i < 40; i++) {
+            graph.addVertex(i);
+            graph.addEdge(i - 1, i);
+            Assertions.assertEquals(i, search.search(0, i).length - 1);
+            Assertions.assertEquals(i - 1, search.search(1, i).length - 1);
+        }
+        graph.removeEdge(20, 21);
+        Assertions.assertEquals(0, search.search(0, 39).length);
+        Assertions.assertArrayEquals(new int[] {21, 22, 23}, search.search(21, 23));
+    }
+
+    @Test
+    public void testSearch_VisitFewerVertices_OnBranchingMap() {
+        // a binary tree where the start and target are two leaves under the same grandparent
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        int size = (1 << 14) - 1;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 1; i < size; i++) {
+            graph.addEdge((i - 1) / 2, i);
+        }
+
+        int start = size - 1;
+        int target = size - 4;
+        BidirectionalBFS search = new BidirectionalBFS(graph);
+        int[] path = search.search(start, target);
+
+        Assertions.assertEquals(referenceLength(graph, start, target), path.length - 1);
+        Assertions.assertTrue(search.getVisitedVertices() < 20);
+    }
+}
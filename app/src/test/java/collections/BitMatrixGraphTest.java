@@ -0,0 +1,104 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.BitMatrixGraph;
+import collections.implementation.BidirectionalBFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+
+public class BitMatrixGraphTest {
+
+    private HashSet<Integer> toSet(Iterator<Integer> iterator) {
+        HashSet<Integer> result = new HashSet<>();
+        while (iterator.hasNext()) {
+            Assertions.assertTrue(result.add(iterator.next()));
+        }
+        return result;
+    }
+
+    @Test
+    public void testRandomChanges_MatchAdjacencyListGraph_AcrossWordBoundaries() {
+        Random random = new Random(14);
+        BitMatrixGraph<Integer> bits = new BitMatrixGraph<>();
+        AdjacencyListGraph<Integer> list = new AdjacencyListGraph<>();
+        int nextValue = 0;
+
+        for (; nextValue < 150; nextValue++) {
+            bits.addVertex(nextValue);
+            list.addVertex(nextValue);
+        }
+
+        for (int step = 0; step < 600; step++) {
+            int size = list.size();
+            Integer first = list.getVertex(random.nextInt(size));
+            Integer second = list.getVertex(random.nextInt(size));
+
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    bits.addEdge(first, second);
+                    list.addEdge(first, second);
+                    break;
+                case 2:
+                    bits.removeEdge(first, second);
+                    list.removeEdge(first, second);
+                    break;
+                case 3:
+                    bits.addVertex(nextValue);
+                    list.addVertex(nextValue++);
+                    break;
+                default:
+                    bits.removeVertex(first);
+                    list.removeVertex(first);
+                    break;
+            }
+
+            Assertions.assertEquals(list.size(), bits.size());
+            int vertex = random.nextInt(list.size());
+            int target = random.nextInt(list.size());
+            Assertions.assertEquals(list.getVertex(vertex), bits.getVertex(vertex));
+
+            int[] expected = list.getNeighbourIndices(vertex);
+            Arrays.sort(expected);
+            Assertions.assertArrayEquals(expected, bits.getNeighbourIndices(vertex));
+            Assertions.assertEquals(toSet(list.iteratorBFS(list.getVertex(vertex))), toSet(bits.iteratorBFS(bits.getVertex(vertex))));
+            Assertions.assertEquals(toSet(list.iteratorDFS(list.getVertex(vertex))), toSet(bits.iteratorDFS(bits.getVertex(vertex))));
+            Assertions.assertEquals(new BidirectionalBFS(list).search(vertex, target).length,
+                    bits.shortestPath(vertex, target, null).length);
+        }
+    }
+
+    @Test
+    public void testShortestPath_StepOnlyIntoAllowedVertices() {
+        BitMatrixGraph<String> graph = new BitMatrixGraph<>();
+        for (String vertex : new String[] {"A", "B", "C", "D"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "D");
+        graph.addEdge("A", "C");
+        graph.addEdge("C", "D");
+
+        long[] withoutB = {0b1101L};
+
+        Assertions.assertArrayEquals(new int[] {0, 1, 3}, graph.shortestPath(0, 3, null));
+        Assertions.assertArrayEquals(new int[] {0, 2, 3}, graph.shortestPath(0, 3, withoutB));
+        Assertions.assertEquals(0, graph.shortestPath(0, 1, withoutB).length);
+        Assertions.assertTrue(graph.isConnected());
+    }
+
+    @Test
+    public void testRemoveBit_MoveHigherBitsAcrossWords() {
+        long[] words = {1L << 63 | 1L << 5, 1L | 1L << 10};
+
+        BitMatrixGraph.removeBit(words, 3);
+
+        Assertions.assertEquals(1L << 62 | 1L << 4 | 1L << 63, words[0]);
+        Assertions.assertEquals(1L << 9, words[1]);
+    }
+}
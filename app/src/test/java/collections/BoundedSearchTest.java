@@ -0,0 +1,151 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.BoundedSearch;
+import collections.implementation.Network;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class BoundedSearchTest {
+
+    /**
+     * Returns the cost of the cheapest path from the source to every vertex, by relaxing every edge until nothing changes.
+     */
+    private double[] bellmanFord(Network<Integer> network, int source, boolean[] allowed) {
+        double[] cost = new double[network.getSlotCount()];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[source] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < cost.length; i++) {
+                for (int j : network.getNeighbourIndices(i)) {
+                    if (allowed[j] && cost[i] + network.getEdgeWeight(i, j) < cost[j]) {
+                        cost[j] = cost[i] + network.getEdgeWeight(i, j);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return cost;
+    }
+
+    @Test
+    public void testSearch_MatchBruteForceCosts_OnRandomNetworks() {
+        Random random = new Random(22);
+        Network<Integer> network = new Network<>();
+        BoundedSearch search = new BoundedSearch(network);
+
+        for (int round = 0; round < 30; round++) {
+            int size = 20 + round;
+            while (network.size() < size) {
+                network.addVertex(network.size());
+            }
+            for (int i = 0; i < 3; i++) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                if (first != second) {
+                    network.addEdge(first, second, 1 + random.nextInt(9));
+                }
+            }
+
+            boolean[] allowed = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                allowed[i] = i % 5 != 4;
+            }
+            int source = random.nextInt(size);
+            double budget = random.nextInt(25);
+            double[] expected = bellmanFord(network, source, allowed);
+
+            int[] reached = search.search(source, budget, i -> allowed[i]);
+            int inBudget = 0;
+            for (double cost : expected) {
+                if (cost <= budget) {
+                    inBudget++;
+                }
+            }
+
+            Assertions.assertEquals(inBudget, reached.length);
+            Assertions.assertEquals(source, reached[0]);
+            for (int position = 0; position < reached.length; position++) {
+                Assertions.assertEquals(expected[reached[position]], search.getCost(position), 1e-9);
+                if (position > 0) {
+                    Assertions.assertTrue(search.getCost(position - 1) <= search.getCost(position));
+                    int previous = search.getPredecessor(position);
+                    Assertions.assertEquals(search.getCost(position),
+                            expected[previous] + network.getEdgeWeight(previous, reached[position]), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_StopsAtTheBudget_OnUnweightedGraphs() {
+        AdjacencyListGraph<Integer> chain = new AdjacencyListGraph<>();
+        for (int i = 0; i < 10; i++) {
+            chain.addVertex(i);
+            if (i > 0) {
+                chain.addEdge(i - 1, i);
+            }
+        }
+        BoundedSearch search = new BoundedSearch(chain);
+
+        Assertions.assertArrayEquals(new int[] {4, 3, 5, 2, 6}, search.search(4, 2.5, null));
+        Assertions.assertEquals(2.0, search.getCost(4));
+        Assertions.assertEquals(5, search.getPredecessor(4));
+        Assertions.assertEquals(-1, search.getPredecessor(0));
+
+        Assertions.assertArrayEquals(new int[] {4, 3}, search.search(4, 9, i -> i < 5 && i != 2));
+        Assertions.assertArrayEquals(new int[] {4}, search.search(4, 0, null));
+        Assertions.assertEquals(0, search.search(4, -1, null).length);
+        Assertions.assertEquals(0, search.search(42, 3, null).length);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> search.getCost(0));
+
+        Assertions.assertArrayEquals(new int[] {4, 5, 6, 7}, search.path(4, 7, null));
+        Assertions.assertEquals(0, search.path(4, 7, i -> i != 6).length);
+    }
+
+    @Test
+    public void testPath_MatchBruteForceCosts_OnRandomNetworks() {
+        Random random = new Random(23);
+        Network<Integer> network = new Network<>();
+        int size = 40;
+        for (int i = 0; i < size; i++) {
+            network.addVertex(i);
+        }
+        for (int i = 0; i < size * 2; i++) {
+            int first = random.nextInt(size);
+            int second = random.nextInt(size);
+            if (first != second) {
+                network.addEdge(first, second, 1 + random.nextInt(9));
+            }
+        }
+        boolean[] allowed = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            allowed[i] = i % 7 != 6;
+        }
+        BoundedSearch search = new BoundedSearch(network);
+
+        for (int query = 0; query < 50; query++) {
+            int source = random.nextInt(size);
+            int target = random.nextInt(size);
+            double expected = bellmanFord(network, source, allowed)[target];
+            int[] path = search.path(source, target, i -> allowed[i]);
+
+            if (source == target || expected == Double.POSITIVE_INFINITY) {
+                Assertions.assertEquals(0, path.length);
+            } else {
+                double cost = 0;
+                for (int i = 1; i < path.length; i++) {
+                    cost += network.getEdgeWeight(path[i - 1], path[i]);
+                }
+                Assertions.assertEquals(source, path[0]);
+                Assertions.assertEquals(target, path[path.length - 1]);
+                Assertions.assertEquals(expected, cost, 1e-9);
+            }
+        }
+    }
+}
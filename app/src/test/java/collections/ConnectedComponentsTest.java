@@ -0,0 +1,110 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.ConnectedComponents;
+import collections.implementation.MatrixGraph;
+import collections.interfaces.IndexedGraphADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class ConnectedComponentsTest {
+
+    private void assertSameComponents(ConnectedComponents expected, ConnectedComponents actual, int size) {
+        Assertions.assertEquals(expected.getNumberOfComponents(), actual.getNumberOfComponents());
+        Assertions.assertEquals(expected.isConnected(), actual.isConnected());
+
+        for (int i = 0; i < size; i++) {
+            Assertions.assertEquals(expected.getComponentSize(i), actual.getComponentSize(i));
+            Assertions.assertEquals(expected.isIsolated(i), actual.isIsolated(i));
+            for (int j = i + 1; j < size; j++) {
+                Assertions.assertEquals(expected.connected(i, j), actual.connected(i, j));
+            }
+        }
+    }
+
+    private int randomIndex(IndexedGraphADT<Integer> graph, Random random) {
+        int index;
+        do {
+            index = random.nextInt(graph.getSlotCount());
+        } while (!graph.indexIsValid(index));
+        return index;
+    }
+
+    private void runRandomChanges(IndexedGraphADT<Integer> graph, long seed) {
+        Random random = new Random(seed);
+        int nextValue = 0;
+
+        for (; nextValue < 30; nextValue++) {
+            graph.addVertex(nextValue);
+        }
+        for (int i = 0; i < 25; i++) {
+            graph.addEdge(random.nextInt(30), random.nextInt(30));
+        }
+
+        ConnectedComponents components = new ConnectedComponents(graph);
+
+        for (int step = 0; step < 300; step++) {
+            int size = graph.size();
+            int first = randomIndex(graph, random);
+            int second = randomIndex(graph, random);
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    graph.addEdge(graph.getVertex(first), graph.getVertex(second));
+                    components.edgeAdded(first, second);
+                    break;
+                case 1:
+                    graph.removeEdge(graph.getVertex(first), graph.getVertex(second));
+                    components.edgeRemoved(first, second);
+                    break;
+                case 2:
+                    graph.addVertex(nextValue++);
+                    components.vertexAdded();
+                    break;
+                default:
+                    if (size > 5) {
+                        components.vertexRemoving(first);
+                        graph.removeVertex(graph.getVertex(first));
+                        components.vertexRemoved(first);
+                    }
+                    break;
+            }
+
+            assertSameComponents(new ConnectedComponents(graph), components, graph.getSlotCount());
+        }
+    }
+
+    @Test
+    public void testIncrementalUpdates_MatchRebuild_OnBothBackends() {
+        runRandomChanges(new AdjacencyListGraph<>(), 5);
+        runRandomChanges(new MatrixGraph<>(), 6);
+    }
+
+    @Test
+    public void testEdgeRemoved_SplitComponent_OnlyWhenNoOtherPathExists() {
+        AdjacencyListGraph<String> graph = new AdjacencyListGraph<>();
+        for (String vertex : new String[] {"A", "B", "C", "D"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "A");
+        graph.addEdge("C", "D");
+        ConnectedComponents components = new ConnectedComponents(graph);
+
+        Assertions.assertTrue(components.isConnected());
+
+        graph.removeEdge("A", "B");
+        components.edgeRemoved(0, 1);
+        Assertions.assertTrue(components.isConnected());
+
+        graph.removeEdge("C", "D");
+        components.edgeRemoved(2, 3);
+        Assertions.assertEquals(2, components.getNumberOfComponents());
+        Assertions.assertTrue(components.isIsolated(3));
+        Assertions.assertEquals(3, components.getComponentSize(0));
+        Assertions.assertNotEquals(components.getComponent(0), components.getComponent(3));
+    }
+}
@@ -0,0 +1,144 @@
+package collections;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.UnknownPathException;
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.AdjacencyListNetwork;
+import collections.implementation.BidirectionalBFS;
+import collections.implementation.ContractionHierarchy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void testDistance_MatchDijkstra_OnRandomNetworks() throws EmptyCollectionException {
+        Random random = new Random(7);
+
+        for (int round = 0; round < 10; round++) {
+            AdjacencyListNetwork<Integer> network = new AdjacencyListNetwork<>();
+            int size = 80;
+            for (int i = 0; i < size; i++) {
+                network.addVertex(i);
+            }
+            for (int i = 0; i < size * 2; i++) {
+                network.addEdge(random.nextInt(size), random.nextInt(size), 1 + random.nextInt(20));
+            }
+
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(network, null);
+            for (int query = 0; query < 40; query++) {
+                int source = random.nextInt(size);
+                int target = random.nextInt(size);
+                double expected;
+                try {
+                    expected = network.shortestWeightedPath(source, target).getCost();
+                } catch (UnknownPathException e) {
+                    expected = Double.POSITIVE_INFINITY;
+                }
+
+                Assertions.assertEquals(expected, hierarchy.distance(source, target), 1e-9);
+
+                int[] path = hierarchy.path(source, target);
+                if (expected == Double.POSITIVE_INFINITY) {
+                    Assertions.assertEquals(0, path.length);
+                } else {
+                    double cost = 0;
+                    for (int i = 1; i < path.length; i++) {
+                        cost += network.getEdgeWeight(path[i - 1], path[i]);
+                    }
+                    Assertions.assertEquals(source, path[0]);
+                    Assertions.assertEquals(target, path[path.length - 1]);
+                    Assertions.assertEquals(expected, cost, 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPath_MatchFilteredBFS_WhenVerticesAreFiltered() {
+        Random random = new Random(11);
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        int size = 100;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < size * 3; i++) {
+            graph.addEdge(random.nextInt(size), random.nextInt(size));
+        }
+
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, index -> index % 3 != 0);
+        BidirectionalBFS search = new BidirectionalBFS(graph);
+
+        for (int source = 0; source < size; source += 7) {
+            for (int target = 1; target < size; target += 5) {
+                if (source == target) {
+                    continue;
+                }
+                int expected = search.search(source, target, index -> index % 3 != 0).length;
+                int[] path = hierarchy.path(source, target);
+
+                Assertions.assertEquals(expected, path.length);
+                for (int i = 1; i < path.length; i++) {
+                    Assertions.assertTrue(graph.isAdjacent(path[i - 1], path[i]));
+                    Assertions.assertTrue(path[i] % 3 != 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPath_UnpackEveryShortcut_OnLongChain() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        int size = 3000;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(i - 1, i);
+            }
+        }
+
+        int[] path = ContractionHierarchy.build(graph, null).path(0, size - 1);
+
+        Assertions.assertEquals(size, path.length);
+        for (int i = 0; i < size; i++) {
+            Assertions.assertEquals(i, path[i]);
+        }
+    }
+
+    @Test
+    public void testDistance_StayCorrect_WhenManyThreadsQueryAtOnce() throws InterruptedException {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        int size = 400;
+        for (int i = 0; i < size; i++) {
+            graph.addVertex(i);
+            if (i > 0) {
+                graph.addEdge(i - 1, i);
+            }
+        }
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, null);
+        AtomicInteger failures = new AtomicInteger(0);
+
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; t++) {
+            int offset = t;
+            readers[t] = new Thread(() -> {
+                for (int source = offset; source < size; source += readers.length) {
+                    int target = size - 1 - source;
+                    if (hierarchy.distance(source, target) != Math.abs(target - source)
+                            || hierarchy.path(source, target).length != Math.abs(target - source) + 1) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            readers[t].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assertions.assertEquals(0, failures.get());
+    }
+}
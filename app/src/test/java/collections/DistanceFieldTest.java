@@ -0,0 +1,133 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.DistanceField;
+import collections.implementation.MatrixGraph;
+import collections.interfaces.IndexedGraphADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+public class DistanceFieldTest {
+
+    private int randomIndex(IndexedGraphADT<Integer> graph, Random random) {
+        int index;
+        do {
+            index = random.nextInt(graph.getSlotCount());
+        } while (!graph.indexIsValid(index));
+        return index;
+    }
+
+    @Test
+    public void testIncrementalUpdates_MatchRebuild_OnBothBackends() {
+        runRandomChanges(new AdjacencyListGraph<>(), 3);
+        runRandomChanges(new MatrixGraph<>(), 4);
+    }
+
+    @Test
+    public void testTrackedChanges_CoverOnlyTheRepairedVertices() {
+        IndexedGraphADT<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(i);
+        }
+        // 0 - 1 - 2 - 3 and 0 - 4 - 5
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(0, 4);
+        graph.addEdge(4, 5);
+
+        DistanceField field = new DistanceField(graph, index -> graph.getVertex(index) == 0);
+        field.trackChanges();
+        Assertions.assertTrue(field.hasChanged(5));
+        field.clearChanges();
+
+        graph.removeEdge(1, 2);
+        field.edgeRemoved(graph.getIndex(1), graph.getIndex(2));
+        Assertions.assertTrue(field.hasChanged(2));
+        Assertions.assertTrue(field.hasChanged(3));
+        Assertions.assertFalse(field.hasChanged(1));
+        Assertions.assertFalse(field.hasChanged(5));
+        Assertions.assertEquals(-1, field.getDistance(3));
+
+        field.clearChanges();
+        graph.addEdge(5, 3);
+        field.edgeAdded(graph.getIndex(5), graph.getIndex(3));
+        Assertions.assertTrue(field.hasChanged(3));
+        Assertions.assertTrue(field.hasChanged(2));
+        Assertions.assertFalse(field.hasChanged(4));
+        Assertions.assertEquals(4, field.getDistance(2));
+    }
+
+    private void runRandomChanges(IndexedGraphADT<Integer> graph, long seed) {
+        Random random = new Random(seed);
+        HashSet<Integer> sources = new HashSet<>();
+        int nextValue = 0;
+
+        for (; nextValue < 40; nextValue++) {
+            graph.addVertex(nextValue);
+            if (random.nextInt(8) == 0) {
+                sources.add(nextValue);
+            }
+        }
+        for (int i = 0; i < 60; i++) {
+            graph.addEdge(random.nextInt(40), random.nextInt(40));
+        }
+
+        DistanceField field = new DistanceField(graph, index -> sources.contains(graph.getVertex(index)));
+
+        for (int step = 0; step < 400; step++) {
+            int size = graph.size();
+            int first = randomIndex(graph, random);
+            int second = randomIndex(graph, random);
+
+            switch (random.nextInt(5)) {
+                case 0:
+                    graph.addEdge(graph.getVertex(first), graph.getVertex(second));
+                    field.edgeAdded(first, second);
+                    break;
+                case 1:
+                    graph.removeEdge(graph.getVertex(first), graph.getVertex(second));
+                    field.edgeRemoved(first, second);
+                    break;
+                case 2:
+                    if (!sources.remove(graph.getVertex(first))) {
+                        sources.add(graph.getVertex(first));
+                    }
+                    field.sourceChanged(first);
+                    break;
+                case 3:
+                    Integer value = nextValue++;
+                    graph.addVertex(value);
+                    field.vertexAdded(graph.getIndex(value));
+                    graph.addEdge(value, graph.getVertex(first));
+                    field.edgeAdded(graph.getIndex(value), first);
+                    break;
+                default:
+                    if (size > 10) {
+                        field.vertexRemoving(first);
+                        graph.removeVertex(graph.getVertex(first));
+                        field.vertexRemoved(first);
+                    }
+                    break;
+            }
+
+            DistanceField expected = new DistanceField(graph, index -> sources.contains(graph.getVertex(index)));
+            for (int i = 0; i < graph.getSlotCount(); i++) {
+                Assertions.assertEquals(expected.getDistance(i), field.getDistance(i));
+
+                int nearest = field.getNearest(i);
+                if (nearest != -1) {
+                    Assertions.assertTrue(sources.contains(graph.getVertex(nearest)));
+                }
+                int nextHop = field.getNextHop(i);
+                if (nextHop != -1) {
+                    Assertions.assertTrue(graph.isAdjacent(i, nextHop));
+                    Assertions.assertEquals(field.getDistance(i) - 1, field.getDistance(nextHop));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package collections;
+
+import collections.implementation.GraphSnapshot;
+import collections.implementation.MatrixGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+public class GraphSnapshotTest {
+
+    private int count(Iterator<Integer> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testSnapshot_KeepsTopology_WhenGraphChangesAfterwards() {
+        Random random = new Random(17);
+        MatrixGraph<Integer> graph = new MatrixGraph<>();
+        for (int i = 0; i < 60; i++) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < 150; i++) {
+            graph.addEdge(random.nextInt(60), random.nextInt(60));
+        }
+        graph.removeVertex(Integer.valueOf(7));
+
+        GraphSnapshot<Integer> snapshot = new GraphSnapshot<>(graph);
+        int[][] expected = new int[graph.getSlotCount()][];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = graph.getNeighbourIndices(i);
+            Arrays.sort(expected[i]);
+        }
+
+        graph.removeVertex(Integer.valueOf(3));
+        graph.addEdge(10, 20);
+        graph.addVertex(100);
+
+        Assertions.assertEquals(59, snapshot.size());
+        Assertions.assertEquals(60, snapshot.getSlotCount());
+        Assertions.assertFalse(snapshot.indexIsValid(7));
+        Assertions.assertEquals(3, snapshot.getIndex(3));
+        Assertions.assertEquals(-1, snapshot.getIndex(100));
+        for (int i = 0; i < expected.length; i++) {
+            int[] neighbours = snapshot.getNeighbourIndices(i);
+            Arrays.sort(neighbours);
+            Assertions.assertArrayEquals(expected[i], neighbours);
+            for (int j : neighbours) {
+                Assertions.assertTrue(snapshot.isAdjacent(i, j));
+                Assertions.assertTrue(snapshot.isAdjacent(j, i));
+            }
+        }
+    }
+
+    @Test
+    public void testTraversals_VisitTheReachableVertices() {
+        MatrixGraph<Integer> graph = new MatrixGraph<>();
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(i);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(4, 5);
+
+        GraphSnapshot<Integer> snapshot = new GraphSnapshot<>(graph);
+
+        Assertions.assertEquals(4, count(snapshot.iteratorBFS(0)));
+        Assertions.assertEquals(4, count(snapshot.iteratorDFS(3)));
+        Assertions.assertEquals(4, count(snapshot.iteratorShortestPath(0, 3)));
+        Assertions.assertEquals(0, count(snapshot.iteratorShortestPath(0, 5)));
+        Assertions.assertFalse(snapshot.isConnected());
+    }
+
+    @Test
+    public void testChanges_ThrowUnsupportedOperationException() {
+        MatrixGraph<Integer> graph = new MatrixGraph<>();
+        graph.addVertex(0);
+        graph.addVertex(1);
+        GraphSnapshot<Integer> snapshot = new GraphSnapshot<>(graph);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.addVertex(2));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge(0, 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.removeVertex(0));
+        Assertions.assertThrows(UnsupportedOperationException.class, snapshot::compact);
+    }
+}
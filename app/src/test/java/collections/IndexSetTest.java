@@ -0,0 +1,72 @@
+package collections;
+
+import collections.implementation.IndexSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class IndexSetTest {
+
+    @Test
+    public void testAddAndRemove_KeepMembersDense() {
+        IndexSet set = new IndexSet();
+
+        Assertions.assertTrue(set.add(3));
+        Assertions.assertTrue(set.add(40));
+        Assertions.assertFalse(set.add(3));
+        Assertions.assertTrue(set.add(7));
+        Assertions.assertTrue(set.remove(3));
+        Assertions.assertFalse(set.remove(3));
+
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertTrue(set.contains(40));
+        Assertions.assertTrue(set.contains(7));
+        Assertions.assertFalse(set.contains(3));
+        Assertions.assertEquals(47, set.get(0) + set.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> set.get(2));
+    }
+
+    @Test
+    public void testIndexRemoved_ShiftLaterIndicesDown() {
+        IndexSet set = new IndexSet();
+        set.add(1);
+        set.add(4);
+        set.add(6);
+
+        set.indexRemoved(4);
+        Assertions.assertEquals(2, set.size());
+        Assertions.assertTrue(set.contains(1));
+        Assertions.assertTrue(set.contains(5));
+        Assertions.assertFalse(set.contains(6));
+
+        set.indexRemoved(2);
+        Assertions.assertTrue(set.contains(1));
+        Assertions.assertTrue(set.contains(4));
+        Assertions.assertTrue(set.remove(4));
+        Assertions.assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testRandomOperations_MatchHashSet() {
+        Random random = new Random(16);
+        IndexSet set = new IndexSet();
+        Set<Integer> expected = new HashSet<>();
+
+        for (int round = 0; round < 2000; round++) {
+            int index = random.nextInt(100);
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.add(index), set.add(index));
+            } else {
+                Assertions.assertEquals(expected.remove(index), set.remove(index));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), set.size());
+        for (int i = 0; i < set.size(); i++) {
+            Assertions.assertTrue(expected.contains(set.get(i)));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.KShortestPaths;
+import collections.implementation.Network;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+public class KShortestPathsTest {
+
+    /**
+     * Collects the cost of every loopless path from the index to the target.
+     */
+    private void enumerate(Network<Integer> network, int index, int target, boolean[] onPath, double cost,
+                           List<Double> costs) {
+        if (index == target) {
+            costs.add(cost);
+            return;
+        }
+        onPath[index] = true;
+        for (int i : network.getNeighbourIndices(index)) {
+            if (!onPath[i]) {
+                enumerate(network, i, target, onPath, cost + network.getEdgeWeight(index, i), costs);
+            }
+        }
+        onPath[index] = false;
+    }
+
+    @Test
+    public void testSearch_MatchBruteForceCosts_OnRandomNetworks() {
+        Random random = new Random(19);
+
+        for (int round = 0; round < 30; round++) {
+            Network<Integer> network = new Network<>();
+            int size = 6 + random.nextInt(5);
+            for (int i = 0; i < size; i++) {
+                network.addVertex(i);
+            }
+            for (int i = 0; i < size * 2; i++) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                if (first != second) {
+                    network.addEdge(first, second, 1 + random.nextInt(9));
+                }
+            }
+
+            List<Double> expected = new ArrayList<>();
+            enumerate(network, 0, size - 1, new boolean[size], 0, expected);
+            Collections.sort(expected);
+
+            KShortestPaths search = new KShortestPaths(network, null);
+            int[][] paths = search.search(0, size - 1, 6);
+
+            Assertions.assertEquals(Math.min(6, expected.size()), paths.length);
+            HashSet<String> distinct = new HashSet<>();
+            for (int rank = 0; rank < paths.length; rank++) {
+                Assertions.assertEquals(expected.get(rank), search.getCost(rank), 1e-9);
+                Assertions.assertEquals(0, paths[rank][0]);
+                Assertions.assertEquals(size - 1, paths[rank][paths[rank].length - 1]);
+
+                HashSet<Integer> visited = new HashSet<>();
+                double cost = 0;
+                for (int p = 0; p < paths[rank].length; p++) {
+                    Assertions.assertTrue(visited.add(paths[rank][p]));
+                    if (p > 0) {
+                        Assertions.assertTrue(network.isAdjacent(paths[rank][p - 1], paths[rank][p]));
+                        cost += network.getEdgeWeight(paths[rank][p - 1], paths[rank][p]);
+                    }
+                }
+                Assertions.assertEquals(search.getCost(rank), cost, 1e-9);
+                Assertions.assertTrue(distinct.add(Arrays.toString(paths[rank])));
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_KeepFiltersAndRequirements() {
+        // 0 - 1 - 2 - 5, 0 - 3 - 5 and 0 - 4 - 5
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(i);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 5);
+        graph.addEdge(0, 3);
+        graph.addEdge(3, 5);
+        graph.addEdge(0, 4);
+        graph.addEdge(4, 5);
+
+        Assertions.assertEquals(3, new KShortestPaths(graph, null).search(0, 5, 5).length);
+        Assertions.assertEquals(2, new KShortestPaths(graph, index -> index != 3).search(0, 5, 5).length);
+
+        KShortestPaths search = new KShortestPaths(graph, null);
+        int[][] paths = search.search(0, 5, 5, index -> index == 2);
+        Assertions.assertEquals(1, paths.length);
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 5}, paths[0]);
+        Assertions.assertEquals(3.0, search.getCost(0), 1e-9);
+
+        Assertions.assertEquals(0, search.search(0, 0, 3).length);
+    }
+
+    @Test
+    public void testSearch_ReturnFiveRoutes_OnLargeGrid() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        int side = 100;
+        for (int i = 0; i < side * side; i++) {
+            graph.addVertex(i);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int index = row * side + column;
+                if (column + 1 < side) {
+                    graph.addEdge(index, index + 1);
+                }
+                if (row + 1 < side) {
+                    graph.addEdge(index, index + side);
+                }
+            }
+        }
+
+        KShortestPaths search = new KShortestPaths(graph, null);
+        int[][] paths = search.search(0, side * side - 1, 5);
+
+        Assertions.assertEquals(5, paths.length);
+        for (int rank = 0; rank < 5; rank++) {
+            // every monotone route across the grid is a shortest one
+            Assertions.assertEquals(2 * (side - 1), search.getCost(rank), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package collections;
+
+import collections.implementation.LRUCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LRUCacheTest {
+
+    @Test
+    public void testPut_EvictLeastRecentlyUsed_WhenFull() {
+        LRUCache<String, Integer> cache = new LRUCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // reading "a" makes "b" the least recently used entry
+        Assertions.assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertEquals(3, cache.get("c"));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(3, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testConstructor_ThrowIllegalArgumentException_WhenCapacityIsZero() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LRUCache<String, Integer>(0));
+    }
+}
@@ -0,0 +1,62 @@
+package collections;
+
+import collections.implementation.AdjacencyListGraph;
+import collections.implementation.LayeredBFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+public class LayeredBFSTest {
+
+    /**
+     * Star around 0 with leaves 1 to 4, plus the chain 1 - 5 - 4.
+     */
+    private AdjacencyListGraph<Integer> buildGraph() {
+        AdjacencyListGraph<Integer> graph = new AdjacencyListGraph<>();
+        for (int i = 0; i < 6; i++) {
+            graph.addVertex(i);
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(0, 2);
+        graph.addEdge(0, 3);
+        graph.addEdge(0, 4);
+        graph.addEdge(1, 5);
+        graph.addEdge(5, 4);
+        return graph;
+    }
+
+    @Test
+    public void testSearch_ReturnPlainShortestPath_WithoutRequirements() {
+        Assertions.assertArrayEquals(new int[] {1, 0, 4}, new LayeredBFS(buildGraph()).search(1, 4));
+    }
+
+    @Test
+    public void testSearch_PassThroughEveryRequiredKind() {
+        LayeredBFS search = new LayeredBFS(buildGraph());
+
+        Assertions.assertArrayEquals(new int[] {1, 5, 4}, search.search(1, 4, index -> index == 5));
+        Assertions.assertArrayEquals(new int[] {1, 0, 2, 0, 4}, search.search(1, 4, index -> index == 2));
+
+        int[] path = search.search(1, 4, index -> index == 2, index -> index == 3);
+        Assertions.assertEquals(7, path.length);
+        Assertions.assertEquals(1, path[0]);
+        Assertions.assertEquals(4, path[6]);
+    }
+
+    @Test
+    public void testSearch_ReturnEmptyPath_WhenRequirementCannotBeMet() {
+        Assertions.assertEquals(0, new LayeredBFS(buildGraph()).search(1, 4, index -> index > 10).length);
+    }
+
+    @Test
+    public void testSearch_RejectTooManyRequirements() {
+        IntPredicate[] requirements = new IntPredicate[LayeredBFS.MAX_REQUIREMENTS + 1];
+        Arrays.fill(requirements, (IntPredicate) index -> true);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LayeredBFS(buildGraph()).search(1, 4, requirements));
+        Assertions.assertEquals(3, new LayeredBFS(buildGraph())
+                .search(1, 4, Arrays.copyOf(requirements, LayeredBFS.MAX_REQUIREMENTS)).length);
+    }
+}
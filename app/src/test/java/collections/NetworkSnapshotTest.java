@@ -0,0 +1,52 @@
+package collections;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.UnknownPathException;
+import collections.implementation.Network;
+import collections.implementation.NetworkSnapshot;
+import collections.implementation.WeightedPath;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+public class NetworkSnapshotTest {
+
+    @Test
+    public void testSnapshot_KeepsWeights_WhenNetworkChangesAfterwards() throws EmptyCollectionException, UnknownPathException {
+        Network<String> network = new Network<>();
+        for (String vertex : new String[] {"A", "B", "C", "D"}) {
+            network.addVertex(vertex);
+        }
+        network.addEdge("A", "B", 1);
+        network.addEdge("B", "D", 1);
+        network.addEdge("A", "C", 0.5);
+        network.addEdge("C", "D", 0.25);
+
+        NetworkSnapshot<String> snapshot = new NetworkSnapshot<>(network);
+        network.setEdgeWeight("C", "D", 10);
+        network.addEdge("A", "D", 0.1);
+
+        Assertions.assertEquals(0.25, snapshot.getEdgeWeight(snapshot.getIndex("D"), snapshot.getIndex("C")), 1e-9);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, snapshot.getEdgeWeight(snapshot.getIndex("A"), snapshot.getIndex("D")));
+
+        WeightedPath<String> path = snapshot.shortestWeightedPath("A", "D");
+        Assertions.assertEquals(0.75, path.getCost(), 1e-9);
+        String vertices = "";
+        for (Iterator<String> iterator = path.iterator(); iterator.hasNext(); ) {
+            vertices += iterator.next();
+        }
+        Assertions.assertEquals("ACD", vertices);
+    }
+
+    @Test
+    public void testChanges_ThrowUnsupportedOperationException() {
+        Network<String> network = new Network<>();
+        network.addVertex("A");
+        network.addVertex("B");
+        NetworkSnapshot<String> snapshot = new NetworkSnapshot<>(network);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge("A", "B", 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge("A", "B"));
+    }
+}
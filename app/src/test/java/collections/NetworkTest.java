@@ -0,0 +1,169 @@
+package collections;
+
+import collections.exceptions.EmptyCollectionException;
+import collections.exceptions.UnknownPathException;
+import collections.implementation.AdjacencyListNetwork;
+import collections.implementation.MinimumSpanningForest;
+import collections.implementation.Network;
+import collections.implementation.WeightedPath;
+import collections.interfaces.IndexedNetworkADT;
+import collections.interfaces.NetWorkADT;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class NetworkTest {
+
+    /**
+     * Builds A - B - C - D with fractional weights and two expensive shortcuts A - C and B - D.
+     */
+    private <N extends NetWorkADT<String>> N buildNetwork(N network) throws EmptyCollectionException {
+        String[] vertices = {"A", "B", "C", "D", "E"};
+        for (String vertex : vertices) {
+            network.addVertex(vertex);
+        }
+        network.addEdge("A", "B", 0.4);
+        network.addEdge("B", "C", 0.4);
+        network.addEdge("C", "D", 0.3);
+        network.addEdge("A", "C", 0.9);
+        network.addEdge("B", "D", 0.8);
+        return network;
+    }
+
+    private String pathToString(Iterator<String> iterator) {
+        String result = "";
+        while (iterator.hasNext()) {
+            result += iterator.next();
+        }
+        return result;
+    }
+
+    @Test
+    public void testShortestWeightedPath_ComparesFractionalWeights_OnBothNetworks() throws EmptyCollectionException, UnknownPathException {
+        NetWorkADT<String> matrix = buildNetwork(new Network<>());
+        NetWorkADT<String> list = buildNetwork(new AdjacencyListNetwork<>());
+
+        WeightedPath<String> matrixPath = matrix.shortestWeightedPath("A", "D");
+        WeightedPath<String> listPath = list.shortestWeightedPath("A", "D");
+
+        Assertions.assertEquals("ABCD", pathToString(matrixPath.iterator()));
+        Assertions.assertEquals("ABCD", pathToString(listPath.iterator()));
+        Assertions.assertEquals(1.1, matrixPath.getCost(), 1e-9);
+        Assertions.assertEquals(1.1, listPath.getCost(), 1e-9);
+    }
+
+    @Test
+    public void testIteratorShortestWeight_UsesTheSameWeightInBothDirections() throws EmptyCollectionException, UnknownPathException {
+        Network<String> network = buildNetwork(new Network<>());
+
+        Assertions.assertEquals("DCBA", pathToString(network.iteratorShortestWeight("D", "A")));
+        Assertions.assertEquals(1.1, network.shortestWeightedPath("D", "A").getCost(), 1e-9);
+    }
+
+    @Test
+    public void testShortestWeightedPath_ThrowsUnknownPathException_WhenTargetIsUnreachable() throws EmptyCollectionException {
+        NetWorkADT<String> matrix = buildNetwork(new Network<>());
+        NetWorkADT<String> list = buildNetwork(new AdjacencyListNetwork<>());
+
+        Assertions.assertThrows(UnknownPathException.class, () -> matrix.shortestWeightedPath("A", "E"));
+        Assertions.assertThrows(UnknownPathException.class, () -> list.shortestWeightedPath("A", "E"));
+    }
+
+    @Test
+    public void testMstNetwork_ReturnSpanningForest_WhenNetworkIsDisconnected() throws EmptyCollectionException {
+        Network<String> matrix = buildNetwork(new Network<>()).mstNetwork();
+        AdjacencyListNetwork<String> list = buildNetwork(new AdjacencyListNetwork<>()).mstNetwork();
+
+        for (IndexedNetworkADT<String> forest : List.<IndexedNetworkADT<String>>of(matrix, list)) {
+            Assertions.assertEquals(5, forest.size());
+            Assertions.assertEquals(0.4, forest.getEdgeWeight(0, 1), 1e-9);
+            Assertions.assertEquals(0.4, forest.getEdgeWeight(1, 2), 1e-9);
+            Assertions.assertEquals(0.3, forest.getEdgeWeight(2, 3), 1e-9);
+            Assertions.assertFalse(forest.isAdjacent(0, 2));
+            Assertions.assertFalse(forest.isAdjacent(1, 3));
+        }
+        Assertions.assertEquals(0.3, matrix.getEdgeWeight("C", "D"), 1e-9);
+        Assertions.assertEquals(0.4, list.getEdgeWeight("B", "A"), 1e-9);
+    }
+
+    @Test
+    public void testMinimumSpanningForest_MatchPrimWeight_OnRandomNetworks() {
+        Random random = new Random(12);
+
+        for (int round = 0; round < 20; round++) {
+            Network<Integer> network = new Network<>();
+            int size = 5 + random.nextInt(30);
+            for (int i = 0; i < size; i++) {
+                network.addVertex(i);
+            }
+            for (int i = 0; i < size * 2; i++) {
+                int first = random.nextInt(size);
+                int second = random.nextInt(size);
+                if (first != second) {
+                    // few distinct weights, so many edges tie
+                    network.addEdge(first, second, random.nextInt(5));
+                }
+            }
+
+            MinimumSpanningForest forest = new MinimumSpanningForest(network);
+
+            // O(V^2) Prim started again from every vertex not yet reached
+            boolean[] inTree = new boolean[size];
+            double[] best = new double[size];
+            double expectedWeight = 0;
+            int expectedTrees = 0;
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+
+            for (int added = 0; added < size; added++) {
+                int next = -1;
+                for (int i = 0; i < size; i++) {
+                    if (!inTree[i] && (next == -1 || best[i] < best[next])) {
+                        next = i;
+                    }
+                }
+                if (best[next] == Double.POSITIVE_INFINITY) {
+                    expectedTrees++;
+                } else {
+                    expectedWeight += best[next];
+                }
+                inTree[next] = true;
+                for (int i = 0; i < size; i++) {
+                    best[i] = Math.min(best[i], network.getEdgeWeight(next, i));
+                }
+            }
+
+            Assertions.assertEquals(expectedWeight, forest.getTotalWeight(), 1e-9);
+            Assertions.assertEquals(expectedTrees, forest.getNumberOfTrees());
+            Assertions.assertEquals(size - expectedTrees, forest.getNumberOfEdges());
+        }
+    }
+
+    @Test
+    public void testRemoveVertex_KeepsWeightsWithTheirSlots_UntilCompacted() throws EmptyCollectionException, UnknownPathException {
+        Network<String> network = buildNetwork(new Network<>());
+
+        network.removeVertex("B");
+        Assertions.assertEquals(4, network.size());
+        Assertions.assertEquals(5, network.getSlotCount());
+        Assertions.assertEquals(-1, network.getIndex("B"));
+        Assertions.assertEquals(0.3, network.getEdgeWeight("C", "D"), 1e-9);
+
+        // the new vertex takes the free slot and none of the old weights
+        network.addVertex("F");
+        Assertions.assertEquals(1, network.getIndex("F"));
+        Assertions.assertEquals(5, network.getSlotCount());
+        Assertions.assertFalse(network.isAdjacent(0, 1));
+        network.removeVertex("F");
+
+        network.compact();
+        Assertions.assertEquals(4, network.getSlotCount());
+        Assertions.assertEquals(1, network.getIndex("C"));
+        Assertions.assertEquals(0.9, network.getEdgeWeight("A", "C"), 1e-9);
+        Assertions.assertEquals("ACD", pathToString(network.iteratorShortestWeight("A", "D")));
+        Assertions.assertEquals(1.2, network.shortestWeightedPath("A", "D").getCost(), 1e-9);
+    }
+}
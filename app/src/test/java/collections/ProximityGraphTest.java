@@ -0,0 +1,99 @@
+package collections;
+
+import collections.implementation.ProximityGraph;
+import collections.implementation.SpatialGrid;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class ProximityGraphTest {
+
+    private static final double RADIUS = 6371.0;
+
+    @Test
+    public void testConnect_LinksEachPointToItsNearest_LikeBruteForce() {
+        Random random = new Random(21);
+        int count = 300;
+        SpatialGrid grid = randomGrid(random, count);
+        int k = 4;
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Integer[] others = new Integer[count - 1];
+            for (int j = 0, o = 0; j < count; j++) {
+                if (j != i) {
+                    others[o++] = j;
+                }
+            }
+            final int from = i;
+            Arrays.sort(others, (a, b) -> Double.compare(distance(grid, from, a), distance(grid, from, b)));
+            for (int n = 0; n < k; n++) {
+                expected.add(Math.min(i, others[n]) + "-" + Math.max(i, others[n]));
+            }
+        }
+
+        Set<String> found = new HashSet<>();
+        for (int[] link : new ProximityGraph(grid).connect(k, Double.POSITIVE_INFINITY, ProximityGraph.Pruning.NONE)) {
+            Assertions.assertTrue(link[0] < link[1]);
+            found.add(link[0] + "-" + link[1]);
+        }
+
+        Assertions.assertEquals(expected, found);
+    }
+
+    @Test
+    public void testConnect_PrunedGraphsAreNestedAndWithinTheDistance() {
+        SpatialGrid grid = randomGrid(new Random(5), 250);
+        ProximityGraph proximity = new ProximityGraph(grid);
+
+        Set<String> all = keys(proximity.connect(0, 4.0, ProximityGraph.Pruning.NONE));
+        Set<String> gabriel = keys(proximity.connect(0, 4.0, ProximityGraph.Pruning.GABRIEL));
+        Set<String> relative = keys(proximity.connect(0, 4.0, ProximityGraph.Pruning.RELATIVE_NEIGHBOURHOOD));
+
+        Assertions.assertTrue(all.containsAll(gabriel));
+        Assertions.assertTrue(gabriel.containsAll(relative));
+        Assertions.assertTrue(gabriel.size() < all.size());
+        for (int[] link : proximity.connect(0, 4.0, ProximityGraph.Pruning.NONE)) {
+            Assertions.assertTrue(distance(grid, link[0], link[1]) <= 4.0);
+        }
+    }
+
+    @Test
+    public void testConnect_DropsLinksWithAPointBetweenTheirEnds() {
+        SpatialGrid grid = new SpatialGrid(0.05, RADIUS);
+        for (int i = 0; i < 4; i++) {
+            grid.add(i, 10 + i * 0.01, 40);
+        }
+
+        Assertions.assertEquals(5, new ProximityGraph(grid).connect(2, Double.POSITIVE_INFINITY,
+                ProximityGraph.Pruning.NONE).length);
+        Assertions.assertEquals(Set.of("0-1", "1-2", "2-3"), keys(new ProximityGraph(grid).connect(2,
+                Double.POSITIVE_INFINITY, ProximityGraph.Pruning.GABRIEL)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ProximityGraph(grid).connect(0,
+                Double.POSITIVE_INFINITY, ProximityGraph.Pruning.NONE));
+    }
+
+    private static SpatialGrid randomGrid(Random random, int count) {
+        SpatialGrid grid = new SpatialGrid(0.02, RADIUS);
+        for (int i = 0; i < count; i++) {
+            grid.add(i, 10 + random.nextDouble() * 0.4, 40 + random.nextDouble() * 0.3);
+        }
+        return grid;
+    }
+
+    private static double distance(SpatialGrid grid, int a, int b) {
+        return grid.distance(grid.getLongitude(a), grid.getLatitude(a), grid.getLongitude(b), grid.getLatitude(b));
+    }
+
+    private static Set<String> keys(int[][] links) {
+        Set<String> keys = new HashSet<>();
+        for (int[] link : links) {
+            keys.add(link[0] + "-" + link[1]);
+        }
+        return keys;
+    }
+}
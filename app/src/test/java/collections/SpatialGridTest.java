@@ -0,0 +1,153 @@
+package collections;
+
+import collections.implementation.SpatialGrid;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+public class SpatialGridTest {
+
+    private static final double RADIUS = 6371.0;
+
+    @Test
+    public void testNearest_MatchesBruteForce_OnRandomPoints() {
+        Random random = new Random(20);
+        int count = 600;
+        double[] longitude = new double[count];
+        double[] latitude = new double[count];
+        SpatialGrid grid = new SpatialGrid(0.05, RADIUS);
+
+        for (int i = 0; i < count; i++) {
+            longitude[i] = -8.7 + random.nextDouble() * 1.5;
+            latitude[i] = 41.0 + random.nextDouble() * 0.8;
+            grid.add(i, longitude[i], latitude[i]);
+        }
+
+        for (int query = 0; query < 100; query++) {
+            double lon = -9.0 + random.nextDouble() * 2.2;
+            double lat = 40.8 + random.nextDouble() * 1.2;
+            int k = 1 + random.nextInt(12);
+
+            int[] found = grid.nearest(lon, lat, k, index -> index % 3 != 0);
+            double[] expected = bruteForce(grid, longitude, latitude, lon, lat, index -> index % 3 != 0);
+
+            Assertions.assertEquals(k, found.length);
+            for (int r = 0; r < k; r++) {
+                Assertions.assertEquals(expected[r], grid.distance(lon, lat, longitude[found[r]], latitude[found[r]]), 1e-9);
+                Assertions.assertNotEquals(0, found[r] % 3);
+            }
+        }
+    }
+
+    @Test
+    public void testWithinDistance_ReturnsEveryPointInRange_NearestFirst() {
+        Random random = new Random(7);
+        int count = 400;
+        double[] longitude = new double[count];
+        double[] latitude = new double[count];
+        SpatialGrid grid = new SpatialGrid(0.02, RADIUS);
+
+        for (int i = 0; i < count; i++) {
+            longitude[i] = 10 + random.nextDouble() * 0.5;
+            latitude[i] = 40 + random.nextDouble() * 0.5;
+            grid.add(i, longitude[i], latitude[i]);
+        }
+
+        for (int query = 0; query < 50; query++) {
+            double lon = 10 + random.nextDouble() * 0.5;
+            double lat = 40 + random.nextDouble() * 0.5;
+            double km = random.nextDouble() * 8;
+
+            int[] found = grid.withinDistance(lon, lat, km, null);
+            int expected = 0;
+            for (int i = 0; i < count; i++) {
+                if (grid.distance(lon, lat, longitude[i], latitude[i]) <= km) {
+                    expected++;
+                }
+            }
+
+            Assertions.assertEquals(expected, found.length);
+            for (int r = 1; r < found.length; r++) {
+                Assertions.assertTrue(grid.distance(lon, lat, longitude[found[r - 1]], latitude[found[r - 1]])
+                        <= grid.distance(lon, lat, longitude[found[r]], latitude[found[r]]));
+            }
+        }
+    }
+
+    @Test
+    public void testInBox_FindsOnlyPointsInsideTheBox() {
+        SpatialGrid grid = new SpatialGrid(0.1, RADIUS);
+        grid.add(0, 10.00, 40.00);
+        grid.add(1, 10.25, 40.25);
+        grid.add(2, 10.50, 40.50);
+        grid.add(3, 11.00, 40.10);
+
+        int[] found = grid.inBox(10.0, 40.0, 10.5, 40.5, null);
+        Arrays.sort(found);
+
+        Assertions.assertArrayEquals(new int[] {0, 1, 2}, found);
+        Assertions.assertArrayEquals(new int[] {1}, grid.inBox(10.0, 40.0, 10.5, 40.5, index -> index == 1));
+        Assertions.assertEquals(0, grid.inBox(20, 20, 21, 21, null).length);
+    }
+
+    @Test
+    public void testMoveAndRemove_UpdateTheAnswers() {
+        SpatialGrid grid = new SpatialGrid(0.05, RADIUS);
+        grid.add(0, 10.00, 40.00);
+        grid.add(1, 10.30, 40.00);
+        grid.add(2, 10.60, 40.00);
+
+        Assertions.assertArrayEquals(new int[] {2}, grid.nearest(10.61, 40.0, 1, null));
+
+        grid.move(0, 10.62, 40.0);
+        Assertions.assertArrayEquals(new int[] {0, 2}, grid.nearest(10.625, 40.0, 2, null));
+
+        Assertions.assertTrue(grid.remove(0));
+        Assertions.assertFalse(grid.remove(0));
+        Assertions.assertEquals(2, grid.size());
+        Assertions.assertArrayEquals(new int[] {2, 1}, grid.nearest(10.625, 40.0, 5, null));
+    }
+
+    @Test
+    public void testIndexRemoved_ShiftsLaterPointsDown() {
+        SpatialGrid grid = new SpatialGrid(0.05, RADIUS);
+        grid.add(0, 10.00, 40.00);
+        grid.add(1, 10.30, 40.00);
+        grid.add(2, 10.60, 40.00);
+
+        grid.indexRemoved(1);
+
+        Assertions.assertEquals(2, grid.size());
+        Assertions.assertTrue(grid.contains(1));
+        Assertions.assertFalse(grid.contains(2));
+        Assertions.assertArrayEquals(new int[] {1}, grid.nearest(10.6, 40.0, 1, null));
+    }
+
+    @Test
+    public void testNearest_ReturnsNothing_WhenEmpty() {
+        SpatialGrid grid = new SpatialGrid(0.05, RADIUS);
+
+        Assertions.assertEquals(0, grid.nearest(0, 0, 3, null).length);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SpatialGrid(0, RADIUS));
+    }
+
+    /**
+     * Returns the sorted distances from a position to every accepted point.
+     */
+    private static double[] bruteForce(SpatialGrid grid, double[] longitude, double[] latitude, double lon, double lat,
+                                       IntPredicate filter) {
+        double[] distances = new double[longitude.length];
+        int found = 0;
+        for (int i = 0; i < longitude.length; i++) {
+            if (filter.test(i)) {
+                distances[found++] = grid.distance(lon, lat, longitude[i], latitude[i]);
+            }
+        }
+        double[] result = Arrays.copyOf(distances, found);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package collections;
+
+import collections.implementation.UnionFind;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UnionFindTest {
+
+    @Test
+    public void testUnion_JoinSetsAndCountThem() {
+        UnionFind sets = new UnionFind(6);
+
+        Assertions.assertEquals(6, sets.getNumberOfSets());
+        Assertions.assertTrue(sets.union(0, 1));
+        Assertions.assertTrue(sets.union(2, 3));
+        Assertions.assertTrue(sets.union(1, 3));
+        Assertions.assertFalse(sets.union(0, 2));
+
+        Assertions.assertEquals(3, sets.getNumberOfSets());
+        Assertions.assertTrue(sets.connected(0, 3));
+        Assertions.assertFalse(sets.connected(0, 4));
+        Assertions.assertEquals(4, sets.getSetSize(2));
+        Assertions.assertEquals(1, sets.getSetSize(5));
+    }
+
+    @Test
+    public void testAdd_GrowPastInitialCapacity() {
+        UnionFind sets = new UnionFind(0);
+
+        for (int i = 0; i < 25; i++) {
+            Assertions.assertEquals(i, sets.add());
+            if (i > 0) {
+                sets.union(i - 1, i);
+            }
+        }
+
+        Assertions.assertEquals(1, sets.getNumberOfSets());
+        Assertions.assertEquals(25, sets.getSetSize(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> sets.find(25));
+    }
+}